@@ -23,7 +23,15 @@
 package com.inet.jortho;
 
 import java.awt.EventQueue;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 import javax.swing.event.DocumentEvent;
 import javax.swing.event.DocumentListener;
@@ -33,16 +41,102 @@ import javax.swing.text.Document;
 import javax.swing.text.Element;
 import javax.swing.text.Highlighter;
 import javax.swing.text.JTextComponent;
+import javax.swing.text.Position;
 import javax.swing.text.Highlighter.Highlight;
 
 /**
  * This class check a <code>JTextComponent</code> automatically (in the background) for orthography. Spell error are
  * highlighted with a red zigzag line.
+ * <p>
+ * Changed text ranges are queued as dirty. One background worker shared by all text components reads the
+ * paragraphs of the dirty ranges, checks their text and updates the highlights of a whole batch in one pass
+ * on the event dispatch thread. The misspellings of already checked paragraph texts are cached, so unchanged
+ * paragraphs are not checked again as long as dictionary, locale and options stay the same.
  * 
  * @author Volker Berlin
  */
 class AutoSpellChecker implements DocumentListener, LanguageChangeListener {
 	private static final RedZigZagPainter painter = new RedZigZagPainter();
+	private static final ThreadPoolExecutor worker = createWorker();
+	private static final CheckedParagraphs checkedParagraphs = new CheckedParagraphs(2000);
+
+	/**
+	 * The text of a paragraph and the offsets and lengths of its misspelled words.
+	 */
+	static final class Paragraph {
+		final int startOffset;
+		final String text;
+		int[] misspellings;
+
+		Paragraph(final int startOffset, final String text) {
+			this.startOffset = startOffset;
+			this.text = text;
+		}
+	}
+
+	/**
+	 * Cache of the misspellings of checked paragraph texts. It is cleared if the dictionary, 
+	 * its words, the locale or the options change.
+	 */
+	static final class CheckedParagraphs {
+		private final LinkedHashMap<String, int[]> misspellings;
+		private Dictionary dictionary;
+		private int dictionaryModificationCount;
+		private Locale locale;
+		private int optionFlags;
+
+		CheckedParagraphs(final int maximumSize) {
+			misspellings = new LinkedHashMap<String, int[]>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(final Map.Entry<String, int[]> eldest) {
+					return size() > maximumSize;
+				}
+			};
+		}
+
+		synchronized int[] get(final String text, final Dictionary dictionary, final Locale locale,
+		                       final SpellCheckerOptions options) {
+			final int optionFlags = optionFlags(options);
+			final int modificationCount = dictionary.getModificationCount();
+			if (this.dictionary != dictionary || dictionaryModificationCount != modificationCount
+			        || !locale.equals(this.locale) || this.optionFlags != optionFlags) {
+				misspellings.clear();
+				this.dictionary = dictionary;
+				dictionaryModificationCount = modificationCount;
+				this.locale = locale;
+				this.optionFlags = optionFlags;
+				return null;
+			}
+			return misspellings.get(text);
+		}
+
+		synchronized void put(final String text, final Dictionary dictionary, final int[] paragraphMisspellings) {
+			if (this.dictionary == dictionary) {
+				misspellings.put(text, paragraphMisspellings);
+			}
+		}
+
+		private static int optionFlags(final SpellCheckerOptions options) {
+			return (options.isCaseSensitive() ? 1 : 0) | (options.getIgnoreCapitalization() ? 2 : 0)
+			        | (options.isIgnoreAllCapsWords() ? 4 : 0) | (options.isIgnoreWordsWithNumbers() ? 8 : 0);
+		}
+	}
+
+	private static ThreadPoolExecutor createWorker() {
+		final ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 10, TimeUnit.SECONDS,
+		    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+			    public Thread newThread(final Runnable r) {
+				    final Thread thread = new Thread(r, "JOrtho auto spell checker");
+				    thread.setPriority(Thread.NORM_PRIORITY - 1);
+				    thread.setDaemon(true);
+				    return thread;
+			    }
+		    });
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
 
 	/**
 	 * Remove the AutoSpellChecker from the given JTextComponent.
@@ -56,6 +150,7 @@ class AutoSpellChecker implements DocumentListener, LanguageChangeListener {
 			if (listener instanceof AutoSpellChecker) {
 				final AutoSpellChecker autoSpell = (AutoSpellChecker) listener;
 				doc.removeDocumentListener(autoSpell);
+				autoSpell.disabled = true;
 				AutoSpellChecker.removeHighlights(text);
 			}
 		}
@@ -86,9 +181,12 @@ class AutoSpellChecker implements DocumentListener, LanguageChangeListener {
 		}
 	}
 
-	private Dictionary dictionary;
+	private volatile Dictionary dictionary;
+	private volatile boolean disabled;
+	private final ArrayList<Position[]> dirtyRanges = new ArrayList<Position[]>();
+	private boolean checkScheduled;
 	private final JTextComponent jText;
-	private Locale locale;
+	private volatile Locale locale;
 	private final SpellCheckerOptions options;
 
 	public AutoSpellChecker(final JTextComponent text, final SpellCheckerOptions options) {
@@ -114,8 +212,8 @@ class AutoSpellChecker implements DocumentListener, LanguageChangeListener {
 	}
 
 	/**
-	//     * Check the completely text. Because this can consume many times with large Documents that this will do in a thread
-	 * in the background step by step.
+	 * Check the completely text. Because this can consume many times with large Documents that this will do in a thread
+	 * in the background.
 	 */
 	private void checkAll() {
 		if (jText == null) {
@@ -126,110 +224,169 @@ class AutoSpellChecker implements DocumentListener, LanguageChangeListener {
 			AutoSpellChecker.removeHighlights(jText);
 			return;
 		}
-		final Thread thread = new Thread(new Runnable() {
-			public void run() {
-				final Document document = jText.getDocument();
-				for (int i = 0; i < document.getLength();) {
-					try {
-						final Element element = ((AbstractDocument) document).getParagraphElement(i);
-						i = element.getEndOffset();
-						checkElement(element);
-					}
-					catch (final java.lang.Exception ex) {
-						return;
-					}
-				}
-			}
-		}, "JOrtho checkall");
-		thread.setPriority(Thread.NORM_PRIORITY - 1);
-		thread.setDaemon(true);
-		thread.start();
+		final Document document = jText.getDocument();
+		checkElements(document.getStartPosition().getOffset(), document.getLength());
 	}
 
 	/**
-	 * Check the spelling of the text of an element.
-	 * 
-	 * @param element
-	 *            the to checking Element
+	 * Queue the paragraphs on the given position for the check in the background.
 	 */
-	private void checkElement(final javax.swing.text.Element element) {
+	private void checkElements(final int offset, final int length) {
+		final Document document = jText.getDocument();
+		final Position[] range;
 		try {
-			if(! EventQueue.isDispatchThread()){
-				try {
-	                EventQueue.invokeAndWait(new Runnable() {
-	                	public void run() {
-	                		checkElement(element);
-	                		return;
-	                	}
-	                });
-                }
-                catch (Exception e) {
-	                e.printStackTrace();
-                }
-			}
-			final int i = element.getStartOffset();
-			final int l = ((AbstractDocument) jText.getDocument()).getLength();
-			final int j = Math.min(element.getEndOffset(), l);
-			if (i >= j) {
-				return;
-			}
-			// prevent a NPE if the dictionary is currently not loaded.
-			final Dictionary dic = dictionary;
-			final Locale loc = locale;
-			if (dic == null || loc == null) {
+			range = new Position[] { document.createPosition(offset), document.createPosition(offset + length) };
+		}
+		catch (final BadLocationException e) {
+			e.printStackTrace();
+			return;
+		}
+		synchronized (dirtyRanges) {
+			dirtyRanges.add(range);
+			if (checkScheduled) {
 				return;
 			}
-			final Tokenizer tok = new Tokenizer(jText, dic, loc, i, j, options);
-			String word;
-			final Highlighter highlighter = jText.getHighlighter();
-			while ((word = tok.nextInvalidWord()) != null) {
-				final int wordOffset = tok.getWordOffset();
-				highlighter.addHighlight(wordOffset, wordOffset + word.length(), painter);
+			checkScheduled = true;
+		}
+		worker.execute(new Runnable() {
+			public void run() {
+				checkDirtyRanges();
 			}
+		});
+	}
+
+	/**
+	 * Check the paragraphs of all queued ranges and show the result in one pass in the event dispatch thread.
+	 * It runs in the background worker.
+	 */
+	private void checkDirtyRanges() {
+		final Position[][] ranges;
+		synchronized (dirtyRanges) {
+			ranges = dirtyRanges.toArray(new Position[dirtyRanges.size()][]);
+			dirtyRanges.clear();
+			checkScheduled = false;
 		}
-		catch (final BadLocationException e) {
-			e.printStackTrace();
+		// prevent a NPE if the dictionary is currently not loaded.
+		final Dictionary dic = dictionary;
+		final Locale loc = locale;
+		if (dic == null || loc == null || disabled) {
+			return;
 		}
+		final AbstractDocument document = (AbstractDocument) jText.getDocument();
+		final List<Paragraph> paragraphs = readParagraphs(document, ranges);
+		for (final Paragraph paragraph : paragraphs) {
+			int[] misspellings = checkedParagraphs.get(paragraph.text, dic, loc, options);
+			if (misspellings == null) {
+				misspellings = findMisspellings(paragraph.text, dic, loc);
+				checkedParagraphs.put(paragraph.text, dic, misspellings);
+			}
+			paragraph.misspellings = misspellings;
+		}
+		EventQueue.invokeLater(new Runnable() {
+			public void run() {
+				updateHighlights(document, dic, paragraphs);
+			}
+		});
 	}
 
-	private void removeHighlighters(final javax.swing.text.Element element) {
-	    {
-	    	final int i = element.getStartOffset();
-	    	final int j = element.getEndOffset();
-	    	final Highlighter highlighter = jText.getHighlighter();
-	    	final Highlight[] highlights = highlighter.getHighlights();
-	    	for (int k = highlights.length; --k >= 0;) {
-	    		final Highlight highlight = highlights[k];
-	    		final int hlStartOffset = highlight.getStartOffset();
-	    		final int hlEndOffset = highlight.getEndOffset();
-	    		if ((i <= hlStartOffset && hlStartOffset <= j) || (i <= hlEndOffset && hlEndOffset <= j)) {
-	    			if (highlight.getPainter() == painter) {
-	    				highlighter.removeHighlight(highlight);
-	    			}
-	    		}
-	    	}
-	    }
-    }
+	/**
+	 * Read the paragraphs of the ranges under the read lock of the document. 
+	 * Every paragraph is read only once.
+	 */
+	static List<Paragraph> readParagraphs(final AbstractDocument document, final Position[][] ranges) {
+		final LinkedHashMap<Integer, Paragraph> paragraphs = new LinkedHashMap<Integer, Paragraph>();
+		document.render(new Runnable() {
+			public void run() {
+				final int documentLength = document.getLength();
+				for (final Position[] range : ranges) {
+					int offset = range[0].getOffset();
+					final int end = range[1].getOffset();
+					do {
+						// We need to use a ParagraphElement because a CharacterElement produce problems with formating in a word
+						final Element element = document.getParagraphElement(offset);
+						final int startOffset = element.getStartOffset();
+						final int endOffset = Math.min(element.getEndOffset(), documentLength);
+						if (startOffset <= endOffset && !paragraphs.containsKey(startOffset)) {
+							try {
+								paragraphs.put(startOffset,
+								    new Paragraph(startOffset, document.getText(startOffset, endOffset - startOffset)));
+							}
+							catch (final BadLocationException e) {
+								e.printStackTrace();
+							}
+						}
+						offset = element.getEndOffset();
+					} while (offset <= end && offset < documentLength);
+				}
+			}
+		});
+		return new ArrayList<Paragraph>(paragraphs.values());
+	}
 
 	/**
-	 * Check the Elements on the given position.
+	 * Check the spelling of the text of a paragraph.
+	 * 
+	 * @return pairs of offset and length of the misspelled words
 	 */
-	private void checkElements(int offset, final int length) {
-		final int end = offset + length;
-		final Document document = jText.getDocument();
-		Element element;
-		do {
+	private int[] findMisspellings(final String text, final Dictionary dic, final Locale loc) {
+		final Tokenizer tok = new Tokenizer(text, dic, loc, options);
+		int[] misspellings = new int[0];
+		String word;
+		while ((word = tok.nextInvalidWord()) != null) {
+			final int count = misspellings.length;
+			final int[] newMisspellings = new int[count + 2];
+			System.arraycopy(misspellings, 0, newMisspellings, 0, count);
+			newMisspellings[count] = tok.getWordOffset();
+			newMisspellings[count + 1] = word.length();
+			misspellings = newMisspellings;
+		}
+		return misspellings;
+	}
+
+	/**
+	 * Replace the highlights of the checked paragraphs. Paragraphs changed in the meantime are skipped because they
+	 * are queued again.
+	 */
+	private void updateHighlights(final AbstractDocument document, final Dictionary dic,
+	                              final List<Paragraph> paragraphs) {
+		if (disabled || dic != dictionary || document != jText.getDocument()) {
+			return;
+		}
+		final Highlighter highlighter = jText.getHighlighter();
+		for (final Paragraph paragraph : paragraphs) {
+			final int startOffset = paragraph.startOffset;
+			final int endOffset = startOffset + paragraph.text.length();
 			try {
-				// We need to use a ParagraphElement because a CharacterElement produce problems with formating in a word
-				element = ((AbstractDocument) document).getParagraphElement(offset);
+				if (endOffset > document.getLength()
+				        || !paragraph.text.equals(document.getText(startOffset, endOffset - startOffset))) {
+					continue;
+				}
+				removeHighlighters(startOffset, endOffset);
+				final int[] misspellings = paragraph.misspellings;
+				for (int i = 0; i < misspellings.length; i += 2) {
+					final int wordOffset = startOffset + misspellings[i];
+					highlighter.addHighlight(wordOffset, wordOffset + misspellings[i + 1], painter);
+				}
 			}
-			catch (final java.lang.Exception ex) {
-				return;
+			catch (final BadLocationException e) {
+				e.printStackTrace();
 			}
-			removeHighlighters(element);
-			checkElement(element);
-			offset = element.getEndOffset();
-		} while (offset <= end && offset < document.getLength());
+		}
+	}
+
+	private void removeHighlighters(final int i, final int j) {
+		final Highlighter highlighter = jText.getHighlighter();
+		final Highlight[] highlights = highlighter.getHighlights();
+		for (int k = highlights.length; --k >= 0;) {
+			final Highlight highlight = highlights[k];
+			final int hlStartOffset = highlight.getStartOffset();
+			final int hlEndOffset = highlight.getEndOffset();
+			if ((i <= hlStartOffset && hlStartOffset <= j) || (i <= hlEndOffset && hlEndOffset <= j)) {
+				if (highlight.getPainter() == painter) {
+					highlighter.removeHighlight(highlight);
+				}
+			}
+		}
 	}
 
 	/**
@@ -34,16 +34,22 @@ import java.util.zip.DeflaterOutputStream;
 import java.util.zip.InflaterInputStream;
 
 /**
- * A container for a word list.
+ * A container for a word list. The words can be completed by a read only word tree, 
+ * for example a {@link MappedDictionary}; then added words are held in this container only.
  * @author Volker Berlin
  */
 final class Dictionary extends DictionaryBase {
+	private char[] tree;
+	private final DictionaryBase baseWords;
+	private volatile int modificationCount;
+
 	/**
 	 * Create an empty Dictionary.
 	 */
 	public Dictionary() {
 		tree = new char[10000];
 		tree[size++] = LAST_CHAR;
+		baseWords = null;
 	}
 
 	/**
@@ -52,14 +58,49 @@ final class Dictionary extends DictionaryBase {
 	 * @see DictionaryFactory
 	 */
 	public Dictionary(final char[] tree) {
-		super(tree);
+		this(tree, null);
+	}
+
+	/**
+	 * Create an Dictionary from a serialize Dictionary which completes the read only base words.
+	 * This is used from the DictionaryFactory.
+	 * @param tree the serialized additional words
+	 * @param baseWords the read only words or null
+	 * @see DictionaryFactory#create(DictionaryBase)
+	 */
+	Dictionary(final char[] tree, final DictionaryBase baseWords) {
+		this.tree = tree;
+		size = tree.length;
+		this.baseWords = baseWords;
+	}
+
+	@Override
+	protected char charAt(final int index) {
+		return tree[index];
+	}
+
+	@Override
+	public synchronized boolean exist(final String word) {
+		return baseWords != null && baseWords.exist(word) || super.exist(word);
+	}
+
+	@Override
+	synchronized void addSuggestions(final Suggestions suggesions, final String word) {
+		if (baseWords != null) {
+			baseWords.addSuggestions(suggesions, word);
+		}
+		super.addSuggestions(suggesions, word);
 	}
 
 	/**
 	 * Add a word to the tree. If it already exist then it has no effect. 
 	 * @param word the new word.
 	 */
-	public void add(final String word) {
+	public synchronized void add(final String word) {
+		if (baseWords != null && baseWords.exist(word)) {
+			return;
+		}
+		modificationCount++;
 		idx = 0;
 		for (int i = 0; i < word.length(); i++) {
 			final char c = word.charAt(i);
@@ -107,7 +148,14 @@ final class Dictionary extends DictionaryBase {
 	}
 
 	/**
-	 * Get the size of chars that this dictionary need in memory.
+	 * Get the count of the words added since creation. Results of checks with an older count can be outdated.
+	 */
+	int getModificationCount() {
+		return modificationCount;
+	}
+
+	/**
+	 * Get the size of chars that this dictionary need in memory. The read only base words are not counted.
 	 */
 	public int getDataSize() {
 		return size;
@@ -27,13 +27,17 @@ import java.util.Collections;
 import java.util.List;
 
 /**
+ * The search over a serialized word tree. Every node of the tree is a sorted list of items with 3 chars:
+ * the character, the word end flag 0x8000 with the high part of the offset of the next node and
+ * the low part of the offset. A node ends with {@link #LAST_CHAR}.
+ * The subclasses define where the tree chars are stored. The searches are synchronized because they use
+ * the current position as state and the automatic spell checking searches in a background thread.
  * @author Volker Berlin
  */
 abstract class DictionaryBase {
 	protected static final char LAST_CHAR = 0xFFFF;
 	protected int idx;
 	protected int size;
-	protected char[] tree;
 
 	/**
 	 * Empty Constructor.
@@ -42,10 +46,11 @@ abstract class DictionaryBase {
 		/* empty */
 	}
 
-	DictionaryBase(final char[] tree) {
-		this.tree = tree;
-		size = tree.length;
-	}
+	/**
+	 * Returns the char of the tree at the given index.
+	 * @param index index in the tree, smaller than size
+	 */
+	protected abstract char charAt(int index);
 
 	/**
 	 * Returns an int that describe the dissimilarity of the characters. 
@@ -71,14 +76,14 @@ abstract class DictionaryBase {
 	 * @param word the word to check. Can't be null.
 	 * @return true if the word exist.
 	 */
-	public boolean exist(final String word) {
+	public synchronized boolean exist(final String word) {
 		idx = 0;
 		for (int i = 0; i < word.length(); i++) {
 			final char c = word.charAt(i);
-			while (idx < size && tree[idx] < c) {
+			while (idx < size && charAt(idx) < c) {
 				idx += 3;
 			}
-			if ((idx >= size || tree[idx] != c)) {
+			if ((idx >= size || charAt(idx) != c)) {
 				return false;
 			}
 			if (i == word.length() - 1 && isWordMatch()) {
@@ -96,14 +101,14 @@ abstract class DictionaryBase {
 	 * Check if on the current item position a word ends.
 	 */
 	private boolean isWordMatch() {
-		return (tree[idx + 1] & 0x8000) > 0;
+		return (charAt(idx + 1) & 0x8000) > 0;
 	}
 
 	/**
 	 * Read the offset in the tree of the next character. 
 	 */
 	final int readIndex() {
-		return ((tree[idx + 1] & 0x7fff) << 16) + tree[idx + 2];
+		return ((charAt(idx + 1) & 0x7fff) << 16) + charAt(idx + 2);
 	}
 
 	/**
@@ -113,10 +118,10 @@ abstract class DictionaryBase {
 	 * @return true if found
 	 */
 	private boolean searchChar(final char c) {
-		while (idx < size && tree[idx] < c) {
+		while (idx < size && charAt(idx) < c) {
 			idx += 3;
 		}
-		if ((idx >= size || tree[idx] != c)) {
+		if ((idx >= size || charAt(idx) != c)) {
 			return false;
 		}
 		return true;
@@ -128,18 +133,27 @@ abstract class DictionaryBase {
 	 * @return a list of class Suggestion.
 	 * @see Suggestion
 	 */
-	public List<Suggestion> searchSuggestions(final String word) {
+	public synchronized List<Suggestion> searchSuggestions(final String word) {
 		if (word.length() == 0 || exist(word)) {
 			return new ArrayList<Suggestion>();
 		}
 		final Suggestions suggesions = new Suggestions(Math.min(20, 4 + word.length()));
-		idx = 0;
-		searchSuggestions(suggesions, word, 0, 0, 0);
+		addSuggestions(suggesions, word);
 		final List<Suggestion> list = suggesions.getlist();
 		Collections.sort(list);
 		return list;
 	}
 
+	/**
+	 * Adds the suggestions of this tree for the wrong spelled word to the list.
+	 * @param suggesions the container for the found words
+	 * @param word the wrong spelled word. Can't be null or empty.
+	 */
+	synchronized void addSuggestions(final Suggestions suggesions, final String word) {
+		idx = 0;
+		searchSuggestions(suggesions, word, 0, 0, 0);
+	}
+
 	/**
 	 * Es wird nach verschiedenen Regeln nach aehnlichen Woertern gesucht.
 	 * Je nach Regel gibt es einen anderen diff. Jekleiner der diff desto aehnlicher.
@@ -207,8 +221,8 @@ abstract class DictionaryBase {
 		// Missing letters, we need to add one character
 		{
 			int tempIdx = idx = lastIdx;
-			while (idx < size && tree[idx] < LAST_CHAR) {
-				final char newChar = tree[idx];
+			while (idx < size && charAt(idx) < LAST_CHAR) {
+				final char newChar = charAt(idx);
 				idx = readIndex();
 				if (idx > 0 && newChar != currentChar) {
 					final StringBuilder buffer = new StringBuilder(chars);
@@ -222,15 +236,15 @@ abstract class DictionaryBase {
 		if (charPosition < chars.length()) {
 			currentChar = chars.charAt(charPosition);
 			int tempIdx = idx = lastIdx;
-			while (idx < size && tree[idx] < LAST_CHAR) {
+			while (idx < size && charAt(idx) < LAST_CHAR) {
 				if (isWordMatch()) {
 					final StringBuilder buffer = new StringBuilder();
 					buffer.append(chars, 0, charPosition);
-					buffer.append(tree[idx]);
+					buffer.append(charAt(idx));
 					list.add(new Suggestion(buffer, diff + 5 + (chars.length() - buffer.length()) * 5));
 				}
 				if (charPosition + 1 < chars.length()) {
-					final char newChar = tree[idx];
+					final char newChar = charAt(idx);
 					idx = readIndex();
 					if (idx > 0 && newChar != currentChar) {
 						final StringBuilder buffer = new StringBuilder(chars);
@@ -246,9 +260,9 @@ abstract class DictionaryBase {
 	private void searchSuggestionsLonger(final Suggestions list, final CharSequence chars, final int originalLength,
 	                                     final int lastIdx, final int diff) {
 		idx = lastIdx;
-		while (idx < size && tree[idx] < LAST_CHAR) {
+		while (idx < size && charAt(idx) < LAST_CHAR) {
 			if (isWordMatch()) {
-				list.add(new Suggestion(chars.toString() + tree[idx], diff));
+				list.add(new Suggestion(chars.toString() + charAt(idx), diff));
 			}
 			idx += 3;
 		}
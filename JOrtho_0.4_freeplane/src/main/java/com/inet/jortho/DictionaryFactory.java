@@ -172,13 +172,22 @@ class DictionaryFactory {
 	 * @return a Dictionary object.
 	 */
 	public Dictionary create() {
+		return create(null);
+	}
+
+	/**
+	 * Create from the data in this factory a Dictionary object which completes the given read only words.
+	 * @param baseWords the read only words, for example a {@link MappedDictionary}, or null
+	 * @return a Dictionary object.
+	 */
+	Dictionary create(final DictionaryBase baseWords) {
 		tree = new char[10000];
 		root.save(this);
 		//shrink the array
 		final char[] temp = new char[size];
 		System.arraycopy(tree, 0, temp, 0, size);
 		tree = temp;
-		return new Dictionary(tree);
+		return new Dictionary(tree, baseWords);
 	}
 
 	/**
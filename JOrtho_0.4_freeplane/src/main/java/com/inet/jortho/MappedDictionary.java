@@ -0,0 +1,225 @@
+/*
+ *  JOrtho
+ *
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU General Public License as 
+ *  published by the Free Software Foundation; either version 2 of the
+ *  License, or (at your option) any later version. 
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307
+ *  USA.
+ */
+package com.inet.jortho;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.lang.ref.WeakReference;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A read only dictionary which searches directly in a compiled word tree mapped from a file. 
+ * The compiled file is created from the compressed word list on the first use. Its name contains the version
+ * of the word list, so a changed word list is compiled into a new file instead of replacing a file
+ * which may still be mapped, and the files of other versions are deleted. All dictionaries of the same file
+ * share one mapping, which is released with the last of them.
+ * <p>
+ * File format: magic, format version, last modified and length of the word list, 
+ * count of tree chars (all big endian) followed by the tree chars like in {@link Dictionary#toArray()}.
+ */
+final class MappedDictionary extends DictionaryBase {
+	private static final int MAGIC = 0x4A4F7274; // "JOrt"
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4;
+
+	private static final class MappedTree {
+		final long fileLastModified;
+		final long fileLength;
+		final long sourceLastModified;
+		final long sourceLength;
+		final WeakReference<CharBuffer> tree;
+
+		MappedTree(final long fileLastModified, final long fileLength, final long sourceLastModified,
+		           final long sourceLength, final CharBuffer tree) {
+			this.fileLastModified = fileLastModified;
+			this.fileLength = fileLength;
+			this.sourceLastModified = sourceLastModified;
+			this.sourceLength = sourceLength;
+			this.tree = new WeakReference<CharBuffer>(tree);
+		}
+
+		boolean isMappedFrom(final long fileLastModified, final long fileLength, final long sourceLastModified,
+		                     final long sourceLength) {
+			return this.fileLastModified == fileLastModified && this.fileLength == fileLength
+			        && this.sourceLastModified == sourceLastModified && this.sourceLength == sourceLength;
+		}
+	}
+
+	private static final Map<File, MappedTree> mappedTrees = new HashMap<File, MappedTree>();
+	private final CharBuffer tree;
+
+	private MappedDictionary(final CharBuffer tree) {
+		this.tree = tree;
+		size = tree.limit();
+	}
+
+	@Override
+	protected char charAt(final int index) {
+		return tree.get(index);
+	}
+
+	/**
+	 * Open the compiled dictionary of the compressed word list. If the compiled file in the cache directory
+	 * does not exist or belongs to an other version of the word list then it is compiled.
+	 * @param wordList the compressed word list like used by {@link DictionaryFactory#loadWordList(URL)}
+	 * @param cacheDirectory the directory for the compiled files
+	 * @return the dictionary or null if the version of the word list can not be determined
+	 * @throws IOException if an I/O error occurs.
+	 */
+	static MappedDictionary open(final URL wordList, final File cacheDirectory) throws IOException {
+		final URLConnection connection = wordList.openConnection();
+		final long sourceLastModified;
+		final long sourceLength;
+		try {
+			sourceLastModified = connection.getLastModified();
+			sourceLength = connection.getContentLengthLong();
+		}
+		finally {
+			connection.getInputStream().close();
+		}
+		if (sourceLastModified <= 0) {
+			return null;
+		}
+		final String wordListName = new File(wordList.getPath()).getName();
+		final String compiledFilePrefix = wordListName + "_" + Integer.toHexString(wordList.toString().hashCode())
+		        + "_";
+		final File compiledFile = new File(cacheDirectory, compiledFilePrefix + Long.toHexString(sourceLastModified)
+		        + "_" + Long.toHexString(sourceLength) + ".trie");
+		CharBuffer tree = map(compiledFile, sourceLastModified, sourceLength);
+		if (tree == null) {
+			deleteOtherVersions(cacheDirectory, compiledFilePrefix, compiledFile);
+			compile(wordList, compiledFile, sourceLastModified, sourceLength);
+			tree = map(compiledFile, sourceLastModified, sourceLength);
+			if (tree == null) {
+				throw new IOException("Invalid compiled dictionary " + compiledFile);
+			}
+		}
+		return new MappedDictionary(tree);
+	}
+
+	/**
+	 * Map the tree of the compiled file.
+	 * @return the tree or null if the file does not exist or was compiled from an other word list version.
+	 */
+	private static synchronized CharBuffer map(final File compiledFile, final long sourceLastModified,
+	                                           final long sourceLength) throws IOException {
+		final long fileLastModified = compiledFile.lastModified();
+		final long fileLength = compiledFile.length();
+		final MappedTree mappedTree = mappedTrees.get(compiledFile);
+		if (mappedTree != null
+		        && mappedTree.isMappedFrom(fileLastModified, fileLength, sourceLastModified, sourceLength)) {
+			final CharBuffer tree = mappedTree.tree.get();
+			if (tree != null) {
+				return tree;
+			}
+		}
+		mappedTrees.remove(compiledFile);
+		if (fileLength < HEADER_SIZE) {
+			return null;
+		}
+		try (final RandomAccessFile file = new RandomAccessFile(compiledFile, "r")) {
+			final FileChannel channel = file.getChannel();
+			final ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+			while (header.hasRemaining() && channel.read(header) >= 0) {
+				/* read the full header */
+			}
+			((Buffer) header).flip();
+			if (header.remaining() < HEADER_SIZE || header.getInt() != MAGIC || header.getInt() != VERSION
+			        || header.getLong() != sourceLastModified || header.getLong() != sourceLength) {
+				return null;
+			}
+			final int treeSize = header.getInt();
+			if (channel.size() != HEADER_SIZE + 2L * treeSize) {
+				return null;
+			}
+			final CharBuffer tree = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, 2L * treeSize)
+			    .asCharBuffer();
+			mappedTrees.put(compiledFile, new MappedTree(fileLastModified, fileLength, sourceLastModified, sourceLength,
+			    tree));
+			return tree;
+		}
+	}
+
+	/**
+	 * Forget the mapping of the file, so that it is not returned for the file replacing it.
+	 * Dictionaries using the mapping keep it until they are garbage collected.
+	 */
+	private static synchronized void evict(final File compiledFile) {
+		mappedTrees.remove(compiledFile);
+	}
+
+	/**
+	 * Delete the compiled files of other word list versions. A file which is still mapped can not be deleted
+	 * on some platforms, it is deleted by a later call.
+	 */
+	private static void deleteOtherVersions(final File cacheDirectory, final String compiledFilePrefix,
+	                                        final File compiledFile) {
+		final File[] files = cacheDirectory.listFiles();
+		if (files == null) {
+			return;
+		}
+		for (final File file : files) {
+			final String name = file.getName();
+			if (name.startsWith(compiledFilePrefix) && name.endsWith(".trie") && !file.equals(compiledFile)) {
+				evict(file);
+				file.delete();
+			}
+		}
+	}
+
+	private static void compile(final URL wordList, final File compiledFile, final long sourceLastModified,
+	                            final long sourceLength) throws IOException {
+		final DictionaryFactory factory = new DictionaryFactory();
+		factory.loadWordList(wordList);
+		final char[] tree = factory.create().toArray();
+		final File directory = compiledFile.getParentFile();
+		directory.mkdirs();
+		final File tempFile = File.createTempFile("dictionary", ".tmp", directory);
+		try {
+			try (final RandomAccessFile file = new RandomAccessFile(tempFile, "rw")) {
+				final ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + 2 * tree.length);
+				buffer.putInt(MAGIC).putInt(VERSION).putLong(sourceLastModified).putLong(sourceLength)
+				    .putInt(tree.length);
+				buffer.asCharBuffer().put(tree);
+				((Buffer) buffer).rewind();
+				final FileChannel channel = file.getChannel();
+				while (buffer.hasRemaining()) {
+					channel.write(buffer);
+				}
+			}
+			evict(compiledFile);
+			Files.move(tempFile.toPath(), compiledFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			tempFile.delete();
+		}
+	}
+}
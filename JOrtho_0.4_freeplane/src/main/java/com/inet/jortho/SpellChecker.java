@@ -30,6 +30,7 @@ import java.awt.event.ActionEvent;
 import java.awt.event.ItemEvent;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseListener;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.StringReader;
@@ -212,8 +213,21 @@ public class SpellChecker {
 				public void run() {
 					try {
 						final DictionaryFactory factory = new DictionaryFactory();
+						DictionaryBase compiledWords = null;
 						try {
-							factory.loadWordList(new URL(baseURL, "dictionary_" + locale + extension));
+							final URL wordList = new URL(baseURL, "dictionary_" + locale + extension);
+							final File cacheDirectory = dictionaryCacheDirectory;
+							if (cacheDirectory != null) {
+								try {
+									compiledWords = MappedDictionary.open(wordList, cacheDirectory);
+								}
+								catch (final IOException ex) {
+									ex.printStackTrace();
+								}
+							}
+							if (compiledWords == null) {
+								factory.loadWordList(wordList);
+							}
 							final UserDictionaryProvider provider = userDictionaryProvider;
 							if (provider != null) {
 								final String userWords = provider.getUserWords(locale);
@@ -225,7 +239,7 @@ public class SpellChecker {
 						catch (final Exception ex) {
 							JOptionPane.showMessageDialog(null, ex.toString(), "Error", JOptionPane.ERROR_MESSAGE);
 						}
-						currentDictionary = factory.create();
+						currentDictionary = factory.create(compiledWords);
 						try {
 	                        EventQueue.invokeAndWait(new Runnable() {
 	                        	public void run() {
@@ -292,6 +306,7 @@ public class SpellChecker {
 
 	private static String applicationName;
 	private static Dictionary currentDictionary;
+	private static volatile File dictionaryCacheDirectory;
 	private static Locale currentLocale;
 	private static final SpellCheckerOptions globalOptions = new SpellCheckerOptions();
 	private final static ArrayList<LanguageAction> languages = new ArrayList<LanguageAction>();
@@ -746,6 +761,17 @@ public class SpellChecker {
 		SpellChecker.userDictionaryProvider = userDictionaryProvider;
 	}
 
+	/**
+	 * Sets the directory for the compiled dictionaries. The word lists are compiled there on their first use and
+	 * later the compiled files are mapped read only into memory instead of building the dictionary in the heap. 
+	 * If null, the default, the dictionaries are built from the word lists every time.
+	 * 
+	 * @param directory the directory for the compiled dictionaries or null
+	 */
+	public static void setDictionaryCacheDirectory(final File directory) {
+		SpellChecker.dictionaryCacheDirectory = directory;
+	}
+
 	/**
 	 * Show the Spell Checker dialog for the given JTextComponent. It will be do nothing if
 	 * the JTextComponent is not editable or there are no dictionary loaded.
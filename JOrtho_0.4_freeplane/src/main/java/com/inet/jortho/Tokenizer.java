@@ -69,6 +69,25 @@ public class Tokenizer {
 		endWord = BreakIterator.DONE;
 	}
 
+	/**
+	 * Create a tokenizer for the text of a single paragraph. The word offsets are relative to the text start.
+	 * It does not access any document and can be used in any thread.
+	 */
+	Tokenizer(final String paragraph, final Dictionary dictionary, final Locale locale,
+	          final SpellCheckerOptions options) {
+		this.dictionary = dictionary;
+		doc = null;
+		this.options = options == null ? SpellChecker.getOptions() : options;
+		sentences = BreakIterator.getSentenceInstance(locale);
+		words = new LetterBasedBreakIterator();
+		paragraphOffset = 0;
+		endOffset = paragraph.length();
+		phrase = paragraph;
+		sentences.setText(phrase);
+		endSentence = sentences.first();
+		endWord = BreakIterator.DONE;
+	}
+
 	/**
 	 * Create a Tokenizer for the current paragraph
 	 * @param jText the checking JTextComponent
@@ -0,0 +1,181 @@
+/*
+ *  JOrtho
+ *
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU General Public License as 
+ *  published by the Free Software Foundation; either version 2 of the
+ *  License, or (at your option) any later version. 
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307
+ *  USA.
+ */
+package com.inet.jortho;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import javax.swing.text.AbstractDocument;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.PlainDocument;
+import javax.swing.text.Position;
+
+import junit.framework.TestCase;
+
+public class AutoSpellCheckerTest extends TestCase {
+	private static final int[] MISSPELLINGS = { 0, 4 };
+
+	private Dictionary dictionary;
+	private SpellCheckerOptions options;
+	private AutoSpellChecker.CheckedParagraphs checkedParagraphs;
+
+	@Override
+	protected void setUp() throws Exception {
+		dictionary = new Dictionary();
+		dictionary.add("word");
+		options = new SpellCheckerOptions();
+		checkedParagraphs = new AutoSpellChecker.CheckedParagraphs(2);
+	}
+
+	private int[] cached(final String text) {
+		return checkedParagraphs.get(text, dictionary, Locale.ENGLISH, options);
+	}
+
+	private void cache(final String text) {
+		assertNull(cached(text));
+		checkedParagraphs.put(text, dictionary, MISSPELLINGS);
+		assertSame(MISSPELLINGS, cached(text));
+	}
+
+	public void testKeepMisspellingsOfCheckedTexts() {
+		cache("wrod");
+		assertSame(MISSPELLINGS, cached("wrod"));
+		assertNull(cached("other"));
+	}
+
+	public void testForgetMisspellingsAfterDictionaryChanges() {
+		cache("wrod");
+		dictionary = new Dictionary();
+		assertNull(cached("wrod"));
+	}
+
+	public void testForgetMisspellingsAfterWordsAreAdded() {
+		cache("wrod");
+		dictionary.add("wrod");
+		assertNull(cached("wrod"));
+	}
+
+	public void testForgetMisspellingsAfterLocaleChanges() {
+		cache("wrod");
+		assertNull(checkedParagraphs.get("wrod", dictionary, Locale.GERMAN, options));
+		assertNull(cached("wrod"));
+	}
+
+	public void testForgetMisspellingsAfterOptionsChange() {
+		cache("wrod");
+		options.setCaseSensitive(!options.isCaseSensitive());
+		assertNull(cached("wrod"));
+		cache("wrod");
+		options.setIgnoreCapitalization(!options.getIgnoreCapitalization());
+		assertNull(cached("wrod"));
+		cache("wrod");
+		options.setIgnoreAllCapsWords(!options.isIgnoreAllCapsWords());
+		assertNull(cached("wrod"));
+		cache("wrod");
+		options.setIgnoreWordsWithNumbers(!options.isIgnoreWordsWithNumbers());
+		assertNull(cached("wrod"));
+	}
+
+	public void testNotKeepMisspellingsFoundWithOtherDictionary() {
+		cache("wrod");
+		checkedParagraphs.put("other", new Dictionary(), MISSPELLINGS);
+		assertNull(cached("other"));
+	}
+
+	public void testForgetLeastRecentlyUsedTexts() {
+		cache("first");
+		cache("second");
+		assertNotNull(cached("first"));
+		cache("third");
+		assertNotNull(cached("first"));
+		assertNull(cached("second"));
+	}
+
+	private static Position[] dirtyRange(final AbstractDocument document, final int offset, final int length)
+	        throws BadLocationException {
+		return new Position[] { document.createPosition(offset), document.createPosition(offset + length) };
+	}
+
+	private static List<String> paragraphTexts(final AbstractDocument document, final List<Position[]> ranges) {
+		final List<String> texts = new ArrayList<String>();
+		for (final AutoSpellChecker.Paragraph paragraph : AutoSpellChecker.readParagraphs(document,
+		    ranges.toArray(new Position[ranges.size()][]))) {
+			texts.add(paragraph.startOffset + ":" + paragraph.text);
+		}
+		return texts;
+	}
+
+	/**
+	 * Several edits of the same paragraph queue several dirty ranges, but the paragraph is read once.
+	 */
+	public void testReadEditedParagraphOnce() throws Exception {
+		final AbstractDocument document = new PlainDocument();
+		document.insertString(0, "first\nsecond\nthird", null);
+		final List<Position[]> ranges = new ArrayList<Position[]>();
+		document.insertString(6, "a", null);
+		ranges.add(dirtyRange(document, 6, 1));
+		document.insertString(8, "b", null);
+		ranges.add(dirtyRange(document, 8, 1));
+		document.remove(7, 1);
+		ranges.add(dirtyRange(document, 7, 0));
+		final List<String> texts = paragraphTexts(document, ranges);
+		assertEquals(1, texts.size());
+		assertEquals("6:abecond\n", texts.get(0));
+	}
+
+	/**
+	 * Dirty ranges move with later edits, so the paragraphs read at the end contain all edits.
+	 */
+	public void testReadParagraphsOfMovedAndOverlappingRanges() throws Exception {
+		final AbstractDocument document = new PlainDocument();
+		document.insertString(0, "first\nsecond\nthird", null);
+		final List<Position[]> ranges = new ArrayList<Position[]>();
+		document.insertString(17, "x", null);
+		ranges.add(dirtyRange(document, 17, 1));
+		document.insertString(0, "new\n", null);
+		ranges.add(dirtyRange(document, 0, 4));
+		ranges.add(dirtyRange(document, 0, document.getLength()));
+		final List<String> texts = paragraphTexts(document, ranges);
+		assertEquals(4, texts.size());
+		assertEquals("17:thirxd", texts.get(0));
+		assertEquals("0:new\n", texts.get(1));
+		assertEquals("4:first\n", texts.get(2));
+		assertEquals("10:second\n", texts.get(3));
+	}
+
+	/**
+	 * A range of a paragraph split by a later edit covers both parts.
+	 */
+	public void testReadBothPartsOfSplitParagraph() throws Exception {
+		final AbstractDocument document = new PlainDocument();
+		document.insertString(0, "first\nsecond", null);
+		final List<Position[]> ranges = new ArrayList<Position[]>();
+		document.insertString(8, "x", null);
+		ranges.add(dirtyRange(document, 6, 7));
+		document.insertString(9, "\n", null);
+		ranges.add(dirtyRange(document, 9, 1));
+		final List<String> texts = paragraphTexts(document, ranges);
+		assertEquals(2, texts.size());
+		assertEquals("6:sex\n", texts.get(0));
+		assertEquals("10:cond", texts.get(1));
+	}
+}
@@ -0,0 +1,186 @@
+/*
+ *  JOrtho
+ *
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software; you can redistribute it and/or
+ *  modify it under the terms of the GNU General Public License as 
+ *  published by the Free Software Foundation; either version 2 of the
+ *  License, or (at your option) any later version. 
+ *
+ *  This program is distributed in the hope that it will be useful, but
+ *  WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ *  General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program; if not, write to the Free Software
+ *  Foundation, Inc., 59 Temple Place, Suite 330, Boston, MA 02111-1307
+ *  USA.
+ */
+package com.inet.jortho;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DeflaterOutputStream;
+
+import junit.framework.TestCase;
+
+public class MappedDictionaryTest extends TestCase {
+	private static final String[] WORDS = { "house", "horse", "mouse", "hose", "houses", "tree", "trees", "three",
+	        "Z\u00fcrich", "apple" };
+	private static final String[] CHECKED_WORDS = { "house", "houses", "hous", "hause", "tre", "trees", "thre",
+	        "Z\u00fcrich", "Zurich", "appel", "xyz", "" };
+
+	private File directory;
+	private File wordList;
+	private File cacheDirectory;
+
+	@Override
+	protected void setUp() throws Exception {
+		directory = Files.createTempDirectory("jortho").toFile();
+		wordList = new File(directory, "dictionary_en.ortho");
+		cacheDirectory = new File(directory, "compiled");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		delete(directory);
+	}
+
+	private static void delete(final File file) {
+		final File[] children = file.listFiles();
+		if (children != null) {
+			for (final File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private void writeWordList(final String[] words, final long lastModified) throws IOException {
+		try (final OutputStream output = new DeflaterOutputStream(new FileOutputStream(wordList))) {
+			for (final String word : words) {
+				output.write((word + "\n").getBytes(StandardCharsets.UTF_8));
+			}
+		}
+		wordList.setLastModified(lastModified);
+	}
+
+	private URL wordListUrl() throws IOException {
+		return wordList.toURI().toURL();
+	}
+
+	private DictionaryBase heapDictionary() throws IOException {
+		final DictionaryFactory factory = new DictionaryFactory();
+		factory.loadWordList(wordListUrl());
+		return factory.create();
+	}
+
+	private File compiledFile() {
+		final File[] files = cacheDirectory.listFiles();
+		assertNotNull(files);
+		assertEquals(1, files.length);
+		return files[0];
+	}
+
+	private static List<String> suggestions(final DictionaryBase dictionary, final String word) {
+		final List<String> suggestions = new ArrayList<String>();
+		for (final Suggestion suggestion : dictionary.searchSuggestions(word)) {
+			suggestions.add(suggestion.getWord());
+		}
+		return suggestions;
+	}
+
+	private static void assertSameWords(final DictionaryBase expected, final DictionaryBase actual) {
+		for (final String word : CHECKED_WORDS) {
+			assertEquals(word, expected.exist(word), actual.exist(word));
+			assertEquals(word, suggestions(expected, word), suggestions(actual, word));
+		}
+	}
+
+	/**
+	 * The compiled and mapped word tree finds the same words and suggestions as the dictionary in the heap.
+	 */
+	public void testCompiledDictionaryMatchesHeapDictionary() throws Exception {
+		writeWordList(WORDS, 1000000000L);
+		final MappedDictionary compiled = MappedDictionary.open(wordListUrl(), cacheDirectory);
+		assertNotNull(compiled);
+		assertSameWords(heapDictionary(), compiled);
+		final MappedDictionary mapped = MappedDictionary.open(wordListUrl(), cacheDirectory);
+		assertSameWords(heapDictionary(), mapped);
+	}
+
+	/**
+	 * Added words complete the mapped words without changing them.
+	 */
+	public void testUserWordsCompleteMappedDictionary() throws Exception {
+		writeWordList(WORDS, 1000000000L);
+		final DictionaryFactory factory = new DictionaryFactory();
+		factory.add("freeplane");
+		final Dictionary dictionary = factory.create(MappedDictionary.open(wordListUrl(), cacheDirectory));
+		assertTrue(dictionary.exist("freeplane"));
+		assertTrue(dictionary.exist("house"));
+		assertTrue(suggestions(dictionary, "hous").contains("house"));
+		assertFalse(MappedDictionary.open(wordListUrl(), cacheDirectory).exist("freeplane"));
+	}
+
+	/**
+	 * A changed word list is compiled into a new file without replacing the file mapped by dictionaries
+	 * of the older version, and the file of the older version is deleted.
+	 */
+	public void testRecompileStaleDictionary() throws Exception {
+		writeWordList(WORDS, 1000000000L);
+		final MappedDictionary oldDictionary = MappedDictionary.open(wordListUrl(), cacheDirectory);
+		final File oldCompiledFile = compiledFile();
+		final String[] changedWords = WORDS.clone();
+		changedWords[0] = "freeplane";
+		writeWordList(changedWords, 2000000000L);
+		final MappedDictionary dictionary = MappedDictionary.open(wordListUrl(), cacheDirectory);
+		assertTrue(dictionary.exist("freeplane"));
+		assertFalse(dictionary.exist("house"));
+		assertSameWords(heapDictionary(), dictionary);
+		assertFalse(oldCompiledFile.equals(compiledFile()));
+		assertTrue(oldDictionary.exist("house"));
+		assertFalse(oldDictionary.exist("freeplane"));
+	}
+
+	/**
+	 * The compiled file of a word list version is mapped again after its dictionaries have been released.
+	 */
+	public void testMapCompiledDictionaryAgain_afterDictionariesAreReleased() throws Exception {
+		writeWordList(WORDS, 1000000000L);
+		MappedDictionary.open(wordListUrl(), cacheDirectory);
+		final long lastModified = compiledFile().lastModified();
+		System.gc();
+		final MappedDictionary dictionary = MappedDictionary.open(wordListUrl(), cacheDirectory);
+		assertSameWords(heapDictionary(), dictionary);
+		assertEquals(lastModified, compiledFile().lastModified());
+	}
+
+	/**
+	 * Truncated files and files which are no compiled dictionaries are compiled again.
+	 */
+	public void testRecompileCorruptDictionary() throws Exception {
+		writeWordList(WORDS, 1000000000L);
+		MappedDictionary.open(wordListUrl(), cacheDirectory);
+		final File compiledFile = compiledFile();
+		final byte[] content = Files.readAllBytes(compiledFile.toPath());
+
+		Files.write(compiledFile.toPath(), Arrays.copyOf(content, content.length - 2));
+		assertSameWords(heapDictionary(), MappedDictionary.open(wordListUrl(), cacheDirectory));
+		assertEquals(content.length, compiledFile().length());
+
+		Files.write(compiledFile.toPath(), "no dictionary".getBytes(StandardCharsets.UTF_8));
+		assertSameWords(heapDictionary(), MappedDictionary.open(wordListUrl(), cacheDirectory));
+		assertEquals(content.length, compiledFile().length());
+	}
+}
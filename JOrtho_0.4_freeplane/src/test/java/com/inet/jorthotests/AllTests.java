@@ -9,6 +9,8 @@ package com.inet.jorthotests;
 import junit.framework.Test;
 import junit.framework.TestSuite;
 
+import com.inet.jortho.AutoSpellCheckerTest;
+import com.inet.jortho.MappedDictionaryTest;
 import com.inet.jortho.SpellChecker;
 
 public class AllTests {
@@ -41,6 +43,8 @@ public class AllTests {
 		final TestSuite suite = new TestSuite("JOrtho Tests");
 		suite.addTestSuite(EventTest.class);
 		suite.addTestSuite(MemoryTest.class);
+		suite.addTestSuite(MappedDictionaryTest.class);
+		suite.addTestSuite(AutoSpellCheckerTest.class);
 		return suite;
 	}
 }
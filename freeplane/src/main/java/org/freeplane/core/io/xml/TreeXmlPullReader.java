@@ -0,0 +1,429 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.io.xml;
+
+import java.io.Reader;
+import java.util.Hashtable;
+import java.util.List;
+
+import javax.xml.stream.Location;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import org.freeplane.core.io.IAttributeHandler;
+import org.freeplane.core.io.IElementContentHandler;
+import org.freeplane.core.io.IElementDOMHandler;
+import org.freeplane.core.io.IElementHandler;
+import org.freeplane.core.io.ListHashTable;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.core.util.HtmlUtils;
+import org.freeplane.core.util.LogUtils;
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.freeplane.n3.nanoxml.XMLException;
+import org.freeplane.n3.nanoxml.XMLParseException;
+
+/**
+ * Pull based alternative to {@link TreeXmlReader}.
+ *
+ * It feeds the same handlers registered in {@link ReadManager}, but it does not build an {@link XMLElement}
+ * for every parsed element. Elements are only materialized for unknown content which must be preserved
+ * and for the unhandled attributes and children of elements processed by
+ * {@link IElementDOMHandler} and {@link IElementContentHandler}.
+ *
+ * @author Dimitry Polivaev
+ */
+public class TreeXmlPullReader {
+	private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+	private static XMLInputFactory createInputFactory() {
+		final XMLInputFactory factory = XMLInputFactory.newInstance();
+		factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_COALESCING, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+		factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+		// html content like notes contains entities like &nbsp; which are not declared,
+		// they are passed as entity references instead of failing
+		factory.setProperty(XMLInputFactory.IS_REPLACING_ENTITY_REFERENCES, Boolean.FALSE);
+		return factory;
+	}
+
+	private class ElementFrame {
+		final String tag;
+		final IElementHandler handler;
+		final int lineNr;
+		private XMLElement dom;
+		private StringBuilder text;
+
+		ElementFrame(final String tag, final IElementHandler handler, final XMLElement dom, final int lineNr) {
+			this.tag = tag;
+			this.handler = handler;
+			this.dom = dom;
+			this.lineNr = lineNr;
+		}
+
+		boolean keepsDom() {
+			return handler == null || handler instanceof IElementDOMHandler
+			        || handler instanceof IElementContentHandler;
+		}
+
+		XMLElement dom() {
+			if (dom == null) {
+				dom = new XMLElement(tag, null, lineNr);
+			}
+			return dom;
+		}
+
+		void addChild(final XMLElement child) {
+			if (keepsDom()) {
+				flushText();
+				dom().addChild(child);
+			}
+		}
+
+		void addText(final String characters) {
+			if (keepsDom()) {
+				if (text == null) {
+					text = new StringBuilder(characters.length());
+				}
+				text.append(characters);
+			}
+		}
+
+		void flushText() {
+			if (text == null) {
+				return;
+			}
+			final String content = text.toString();
+			text = null;
+			if (content.trim().isEmpty()) {
+				return;
+			}
+			final XMLElement contentElement = new XMLElement(null, null, lineNr);
+			contentElement.setContent(content);
+			dom().addChild(contentElement);
+		}
+
+		XMLElement completedDom() {
+			flushText();
+			final XMLElement completed = dom();
+			if (completed.getChildrenCount() == 1) {
+				final XMLElement child = completed.getChildAtIndex(0);
+				if (child.getName() == null) {
+					completed.setContent(child.getContent());
+					completed.removeChildAtIndex(0);
+				}
+			}
+			return completed;
+		}
+	}
+
+	final private ReadManager parseManager;
+	private XMLStreamReader reader;
+
+	public TreeXmlPullReader(final ReadManager parseManager) {
+		super();
+		this.parseManager = parseManager;
+	}
+
+	public void load(final Reader pReader) throws XMLException {
+		load(null, pReader);
+	}
+
+	public void load(final Object currentElement, final Reader pReader) throws XMLException {
+		try {
+			reader = INPUT_FACTORY.createXMLStreamReader(pReader);
+			try {
+				while (reader.hasNext()) {
+					if (reader.next() == XMLStreamConstants.START_ELEMENT) {
+						readElement(currentElement, null);
+					}
+				}
+			}
+			finally {
+				reader.close();
+				reader = null;
+			}
+		}
+		catch (final XMLStreamException e) {
+			final Location location = e.getLocation();
+			throw new XMLParseException(null, location != null ? location.getLineNumber() : -1, e.getMessage());
+		}
+	}
+
+	private void readElement(final Object parent, final ElementFrame parentFrame) throws XMLStreamException {
+		final String tag = elementName();
+		final int lineNr = reader.getLocation().getLineNumber();
+		final List<IElementHandler> handlers = getElementHandlers().list(tag);
+		IElementHandler handler = null;
+		Object element = null;
+		XMLElement attributes = null;
+		if (handlers != null && handlers.size() == 1) {
+			handler = handlers.get(0);
+			element = createElement(handler, parent, tag, null);
+		}
+		if (element == null && handlers != null) {
+			attributes = readAttributes(new XMLElement(tag, null, lineNr));
+			for (final IElementHandler candidate : handlers) {
+				handler = candidate;
+				element = createElement(handler, parent, tag, attributes);
+				if (element != null) {
+					break;
+				}
+			}
+		}
+		if (element == null) {
+			if (parentFrame != null && parentFrame.keepsDom()) {
+				parentFrame.addChild(readUnknownElement(lineNr));
+			}
+			else {
+				skipElement();
+			}
+			return;
+		}
+		final ElementFrame frame = new ElementFrame(tag, handler, attributes, lineNr);
+		processAttributes(frame, element);
+		try {
+			if (handler instanceof IElementContentHandler) {
+				final String content = readRawContent();
+				((IElementContentHandler) handler).endElement(parent, tag, element, frame.dom(), content);
+				return;
+			}
+			readChildren(frame, element);
+			if (handler instanceof IElementDOMHandler) {
+				((IElementDOMHandler) handler).endElement(parent, tag, element, frame.completedDom());
+			}
+		}
+		catch (final XMLStreamException e) {
+			throw e;
+		}
+		catch (final Exception e) {
+			LogUtils.severe("Can not process element " + tag, e);
+		}
+	}
+
+	private Object createElement(final IElementHandler handler, final Object parent, final String tag,
+	                             final XMLElement attributes) {
+		try {
+			return handler.createElement(parent, tag, attributes);
+		}
+		catch (final Exception e) {
+			LogUtils.severe("Can not process element " + tag, e);
+			return null;
+		}
+	}
+
+	private void processAttributes(final ElementFrame frame, final Object element) {
+		final Hashtable<String, IAttributeHandler> attributeHandlersForTag = getAttributeLoaders().get(frame.tag);
+		final int attributeCount = reader.getAttributeCount();
+		for (int i = 0; i < attributeCount; i++) {
+			final String key = attributeName(i);
+			final String value = reader.getAttributeValue(i);
+			if (setAttribute(attributeHandlersForTag, element, key, value)) {
+				if (frame.dom != null) {
+					frame.dom.removeAttribute(key);
+				}
+			}
+			else if (frame.keepsDom() && !frame.dom().hasAttribute(key)) {
+				frame.dom().setAttribute(key, value);
+			}
+		}
+	}
+
+	private boolean setAttribute(final Hashtable<String, IAttributeHandler> attributeHandlersForTag,
+	                             final Object element, final String key, final String value) {
+		if (attributeHandlersForTag == null) {
+			return false;
+		}
+		final IAttributeHandler attributeHandler = attributeHandlersForTag.get(key);
+		if (attributeHandler == null) {
+			return false;
+		}
+		try {
+			attributeHandler.setAttribute(element, value);
+			return true;
+		}
+		catch (final Exception e) {
+			LogUtils.severe("Can not process attribute" + key + " = '" + value + "'", e);
+			return false;
+		}
+	}
+
+	private void readChildren(final ElementFrame frame, final Object element) throws XMLStreamException {
+		for (;;) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					frame.flushText();
+					readElement(element, frame);
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					frame.addText(reader.getText());
+					break;
+				case XMLStreamConstants.ENTITY_REFERENCE:
+					frame.addText(entityReference());
+					break;
+				case XMLStreamConstants.COMMENT:
+					frame.flushText();
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					return;
+				default:
+					break;
+			}
+		}
+	}
+
+	private XMLElement readUnknownElement(final int lineNr) throws XMLStreamException {
+		final ElementFrame frame = new ElementFrame(elementName(), null, null, lineNr);
+		final XMLElement dom = readAttributes(frame.dom());
+		for (;;) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					frame.addChild(readUnknownElement(reader.getLocation().getLineNumber()));
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.CDATA:
+				case XMLStreamConstants.SPACE:
+					frame.addText(reader.getText());
+					break;
+				case XMLStreamConstants.ENTITY_REFERENCE:
+					frame.addText(entityReference());
+					break;
+				case XMLStreamConstants.COMMENT:
+					frame.flushText();
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					frame.completedDom();
+					return dom;
+				default:
+					break;
+			}
+		}
+	}
+
+	private void skipElement() throws XMLStreamException {
+		int level = 0;
+		for (;;) {
+			switch (reader.next()) {
+				case XMLStreamConstants.START_ELEMENT:
+					level++;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					if (level == 0) {
+						return;
+					}
+					level--;
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	private XMLElement readAttributes(final XMLElement element) {
+		final int attributeCount = reader.getAttributeCount();
+		for (int i = 0; i < attributeCount; i++) {
+			element.setAttribute(attributeName(i), reader.getAttributeValue(i));
+		}
+		return element;
+	}
+
+	/** Reproduces the element content as xml text like {@link XMLParser} does for content handlers. */
+	private String readRawContent() throws XMLStreamException {
+		final StringBuilder content = new StringBuilder();
+		int level = 0;
+		boolean startTagOpen = false;
+		for (;;) {
+			final int event = reader.next();
+			if (startTagOpen) {
+				startTagOpen = false;
+				if (event == XMLStreamConstants.END_ELEMENT) {
+					content.append("/>");
+					level--;
+					continue;
+				}
+				content.append('>');
+			}
+			switch (event) {
+				case XMLStreamConstants.START_ELEMENT:
+					level++;
+					content.append('<').append(elementName());
+					final int attributeCount = reader.getAttributeCount();
+					for (int i = 0; i < attributeCount; i++) {
+						content.append(' ').append(attributeName(i)).append("=\"")
+						    .append(HtmlUtils.toXMLEscapedText(reader.getAttributeValue(i))).append('"');
+					}
+					startTagOpen = true;
+					break;
+				case XMLStreamConstants.END_ELEMENT:
+					if (level == 0) {
+						return content.toString();
+					}
+					level--;
+					content.append("</").append(elementName()).append('>');
+					break;
+				case XMLStreamConstants.CHARACTERS:
+				case XMLStreamConstants.SPACE:
+					content.append(HtmlUtils.toXMLEscapedText(reader.getText()));
+					break;
+				case XMLStreamConstants.CDATA:
+					content.append("<![CDATA[").append(reader.getText()).append("]]>");
+					break;
+				case XMLStreamConstants.ENTITY_REFERENCE:
+					content.append(entityReference());
+					break;
+				case XMLStreamConstants.COMMENT:
+					content.append("<!--").append(reader.getText()).append("-->");
+					break;
+				default:
+					break;
+			}
+		}
+	}
+
+	/** returns undeclared entities like &amp;nbsp; unresolved as the xml reader does for element content */
+	private String entityReference() {
+		return "&" + reader.getLocalName() + ";";
+	}
+
+	private String elementName() {
+		return qualifiedName(reader.getPrefix(), reader.getLocalName());
+	}
+
+	private String attributeName(final int index) {
+		return qualifiedName(reader.getAttributePrefix(index), reader.getAttributeLocalName(index));
+	}
+
+	private String qualifiedName(final String prefix, final String localName) {
+		if (prefix == null || prefix.isEmpty()) {
+			return localName;
+		}
+		return prefix + ':' + localName;
+	}
+
+	private Hashtable<String, Hashtable<String, IAttributeHandler>> getAttributeLoaders() {
+		return parseManager.getAttributeHandlers();
+	}
+
+	private ListHashTable<String, IElementHandler> getElementHandlers() {
+		return parseManager.getElementHandlers();
+	}
+}
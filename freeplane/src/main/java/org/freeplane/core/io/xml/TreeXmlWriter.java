@@ -20,6 +20,7 @@
 package org.freeplane.core.io.xml;
 
 import java.awt.Point;
+import java.io.FilterWriter;
 import java.io.IOException;
 import java.io.Writer;
 import java.util.Collection;
@@ -69,11 +70,44 @@ public class TreeXmlWriter implements ITreeWriter {
 		return TreeXmlWriter.listToString(l);
 	}
 
+	private static class RecordingWriter extends FilterWriter {
+		private StringBuilder record;
+
+		RecordingWriter(final Writer out) {
+			super(out);
+		}
+
+		@Override
+		public void write(final int c) throws IOException {
+			out.write(c);
+			if (record != null) {
+				record.append((char) c);
+			}
+		}
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			out.write(cbuf, off, len);
+			if (record != null) {
+				record.append(cbuf, off, len);
+			}
+		}
+
+		@Override
+		public void write(final String str, final int off, final int len) throws IOException {
+			out.write(str, off, len);
+			if (record != null) {
+				record.append(str, off, off + len);
+			}
+		}
+	}
+
 	private boolean elementStarted = false;
 	final private HashMap<Object, Object> hints;
 	final private WriteManager writeManager;
 	private XMLElement xmlElement;
 	final private XMLWriter xmlwriter;
+	final private RecordingWriter recordingWriter;
 
 	public void flush() {
 	    xmlwriter.flush();
@@ -82,7 +116,8 @@ public class TreeXmlWriter implements ITreeWriter {
 	public TreeXmlWriter(final WriteManager writeManager, final Writer writer, boolean restrictedCharset) {
 		super();
 		this.writeManager = writeManager;
-		xmlwriter = new XMLWriter(writer, restrictedCharset);
+		recordingWriter = new RecordingWriter(writer);
+		xmlwriter = new XMLWriter(recordingWriter, restrictedCharset);
 		hints = new HashMap<Object, Object>();
 	}
 
@@ -161,11 +196,43 @@ public class TreeXmlWriter implements ITreeWriter {
 		if (content.equals("")) {
 			return;
 		}
+		writePendingStartTag();
+		xmlwriter.write(content);
+	}
+
+	/**
+	 * Writes the start tag of the current element unless it is already written,
+	 * the same way it happens before its first child element or content.
+	 */
+	public void writePendingStartTag() throws IOException {
 		if (elementStarted == false && xmlElement != null) {
 			xmlwriter.write(xmlElement, true, 0, true, false);
 			elementStarted = true;
 		}
-		xmlwriter.write(content);
+	}
+
+	/**
+	 * Starts collecting all written characters,
+	 * parts of them can be retrieved by {@link #getRecordedOutput(int, int)} until {@link #stopRecording()} is called.
+	 */
+	public void startRecording() {
+		recordingWriter.record = new StringBuilder();
+	}
+
+	public void stopRecording() {
+		recordingWriter.record = null;
+	}
+
+	public boolean isRecording() {
+		return recordingWriter.record != null;
+	}
+
+	public int getRecordedLength() {
+		return recordingWriter.record.length();
+	}
+
+	public String getRecordedOutput(final int start, final int end) {
+		return recordingWriter.record.substring(start, end);
 	}
 
 	public void addExtensionAttributes(final Object map, final Collection<IExtension> extensions) {
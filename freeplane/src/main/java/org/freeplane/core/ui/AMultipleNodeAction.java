@@ -45,9 +45,16 @@ public abstract class AMultipleNodeAction extends AFreeplaneAction {
 	@Override
 	public void actionPerformed(final ActionEvent e) {
 		final Collection<NodeModel> nodes = getNodes();
-        for (final NodeModel selected : nodes.toArray(new NodeModel[]{})) {
-			actionPerformed(e, selected);
+		final NodeModel[] selectedNodes = nodes.toArray(new NodeModel[]{});
+		if (selectedNodes.length == 1) {
+			actionPerformed(e, selectedNodes[0]);
+			return;
 		}
+		Controller.getCurrentModeController().getMapController().runInNodeChangeBatch(() -> {
+			for (final NodeModel selected : selectedNodes) {
+				actionPerformed(e, selected);
+			}
+		});
 	}
 
 	protected List<NodeModel> getNodes() {
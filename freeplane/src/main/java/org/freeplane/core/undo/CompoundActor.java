@@ -31,6 +31,7 @@ import java.util.ListIterator;
  */
 public class CompoundActor implements IActor {
 	final private LinkedList<IActor> actors;
+	private long retainedSize;
 
 	public CompoundActor() {
 		this(new LinkedList<IActor>());
@@ -39,6 +40,8 @@ public class CompoundActor implements IActor {
 	@SuppressWarnings("unchecked")
 	public CompoundActor(final LinkedList<? extends IActor> actors) {
 		this.actors = (LinkedList<IActor>) actors;
+		for (final IActor actor : actors)
+			retainedSize += actor.getRetainedSize();
 	}
 
 	public void act() {
@@ -49,6 +52,13 @@ public class CompoundActor implements IActor {
 
 	public void add(final IActor firstActor) {
 		actors.add(firstActor);
+		retainedSize += firstActor.getRetainedSize();
+	}
+
+	/** returns the sum of the sizes the actors reported when they were added */
+	@Override
+	public long getRetainedSize() {
+		return retainedSize;
 	}
 
 	public String getDescription() {
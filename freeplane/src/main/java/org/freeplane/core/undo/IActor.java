@@ -20,6 +20,9 @@
 package org.freeplane.core.undo;
 
 public interface IActor {
+	/** size assumed for actors which do not estimate their size */
+	long DEFAULT_RETAINED_SIZE = 256;
+
 	void act();
 
 	String getDescription();
@@ -29,4 +32,10 @@ public interface IActor {
 	default boolean isReadonly() {
 		return false;
 	}
+
+	/** returns the approximate number of bytes of the objects this actor keeps alive,
+	 * used to limit the memory of the undo history */
+	default long getRetainedSize() {
+		return DEFAULT_RETAINED_SIZE;
+	}
 }
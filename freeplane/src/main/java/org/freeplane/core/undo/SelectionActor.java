@@ -20,6 +20,11 @@ public class SelectionActor implements IActor {
 		return lastSelectionActor;
 	}
 
+	@Override
+	public long getRetainedSize() {
+		return DEFAULT_RETAINED_SIZE + 64L * nodeIDs.length;
+	}
+
 	private SelectionActor(IMapSelection selection) {
 		super();
 		map = selection.getSelected().getMap();
@@ -28,6 +28,7 @@ import java.util.ListIterator;
 import javax.swing.event.ChangeEvent;
 import javax.swing.event.ChangeListener;
 
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.features.map.IMapSelection;
 import org.freeplane.features.map.MapModel;
@@ -56,10 +57,10 @@ public class UndoHandler implements IUndoHandler {
 		int commitDelay = COMMIT_DELAY;
 	}
 
-	/**
-	 *
-	 */
+	private static final String UNDO_LEVELS_PROPERTY = "undo_levels";
 	private static final int MAX_ENTRIES = 100;
+	private static final String UNDO_MEMORY_SIZE_PROPERTY = "undo_memory_size";
+	private static final int DEFAULT_UNDO_MEMORY_SIZE_MB = 64;
 	private static final long TIME_TO_BEGIN_NEW_ACTION = 100;
 	private boolean actionFrameStarted;
 	private ListIterator<CompoundActor> actorIterator;
@@ -133,17 +134,38 @@ public class UndoHandler implements IUndoHandler {
 			}
 			compoundActor.add(actor);
 			actorIterator.add(compoundActor);
-			final int maxEntries = UndoHandler.MAX_ENTRIES;
-			while (actorList.size() > maxEntries) {
-				actorList.removeFirst();
-				actorIterator = actorList.listIterator(actorList.size());
-			}
+			removeOldestEntries();
 		}
 		startActionFrame();
 		timeOfLastAdd = currentTime;
 		fireStateChanged();
 	}
 
+	/** removes the oldest entries exceeding the undo levels and, outside of transactions,
+	 * the entries exceeding the memory size of the undo history, the latest entry is always kept */
+	private void removeOldestEntries() {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		final int maxEntries = Math.max(1, resourceController.getIntProperty(UNDO_LEVELS_PROPERTY, MAX_ENTRIES));
+		boolean removed = false;
+		while (actorList.size() > maxEntries) {
+			actorList.removeFirst();
+			removed = true;
+		}
+		if (transactionList.isEmpty() && actorList.size() > 1) {
+			final long maxRetainedSize = resourceController.getLongProperty(UNDO_MEMORY_SIZE_PROPERTY,
+			    DEFAULT_UNDO_MEMORY_SIZE_MB) * 1024 * 1024;
+			long retainedSize = 0;
+			for (final CompoundActor actor : actorList)
+				retainedSize += actor.getRetainedSize();
+			while (retainedSize > maxRetainedSize && actorList.size() > 1) {
+				retainedSize -= actorList.removeFirst().getRetainedSize();
+				removed = true;
+			}
+		}
+		if (removed)
+			actorIterator = actorList.listIterator(actorList.size());
+	}
+
 	private void fireStateChanged() {
 		for (final ChangeListener listener : listeners) {
 			listener.stateChanged(event);
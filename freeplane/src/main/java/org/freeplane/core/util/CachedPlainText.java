@@ -0,0 +1,45 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+/**
+ * Plain text converted by {@link HtmlUtils#htmlToPlain(String)} together with the html text it was converted from.
+ * Models keep it to convert their html text only once after each change.
+ * Instances are immutable, so a model can replace its instance from any thread
+ * without keeping plain text of an older html text.
+ */
+public final class CachedPlainText {
+	private final String html;
+	private final String plainText;
+
+	private CachedPlainText(final String html, final String plainText) {
+		this.html = html;
+		this.plainText = plainText;
+	}
+
+	/** returns the given instance if it was converted from the same html text instance, or a new converted instance */
+	public static CachedPlainText of(final CachedPlainText cachedPlainText, final String html) {
+		if (cachedPlainText != null && cachedPlainText.html == html)
+			return cachedPlainText;
+		return new CachedPlainText(html, HtmlUtils.htmlToPlain(html));
+	}
+
+	public String getPlainText() {
+		return plainText;
+	}
+}
@@ -0,0 +1,153 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounded pipe passing characters written by one thread to a reader in another thread in chunks.
+ * The writer waits while the pipe is full. Characters written after the reader has been closed are discarded,
+ * so a reader which does not need all input never blocks the writer.
+ */
+public class CharPipe {
+	private static final int CHUNK_SIZE = 8 * 1024;
+	private static final int DEFAULT_CAPACITY = 16;
+	private static final char[] END_OF_STREAM = new char[0];
+
+	private final BlockingQueue<char[]> chunks;
+	private volatile boolean readerClosed;
+	private final Writer writer = new PipeWriter();
+	private final Reader reader = new PipeReader();
+
+	public CharPipe() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/** @param capacity maximal number of chunks of {@value #CHUNK_SIZE} characters waiting for the reader */
+	public CharPipe(final int capacity) {
+		chunks = new ArrayBlockingQueue<char[]>(capacity);
+	}
+
+	public Writer getWriter() {
+		return writer;
+	}
+
+	public Reader getReader() {
+		return reader;
+	}
+
+	private void send(final char[] chunk) throws IOException {
+		try {
+			while (!readerClosed) {
+				if (chunks.offer(chunk, 100, TimeUnit.MILLISECONDS))
+					return;
+			}
+		}
+		catch (final InterruptedException e) {
+			throw new InterruptedIOException();
+		}
+	}
+
+	private class PipeWriter extends Writer {
+		private char[] buffer = new char[CHUNK_SIZE];
+		private int count;
+		private boolean closed;
+
+		@Override
+		public void write(final char[] cbuf, int off, int len) throws IOException {
+			if (closed)
+				throw new IOException("Pipe closed");
+			while (len > 0) {
+				final int copied = Math.min(len, buffer.length - count);
+				System.arraycopy(cbuf, off, buffer, count, copied);
+				count += copied;
+				off += copied;
+				len -= copied;
+				if (count == buffer.length) {
+					send(buffer);
+					buffer = new char[CHUNK_SIZE];
+					count = 0;
+				}
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (count > 0) {
+				send(Arrays.copyOf(buffer, count));
+				count = 0;
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed)
+				return;
+			try {
+				flush();
+				send(END_OF_STREAM);
+			}
+			finally {
+				closed = true;
+			}
+		}
+	}
+
+	private class PipeReader extends Reader {
+		private char[] chunk;
+		private int position;
+
+		@Override
+		public int read(final char[] cbuf, final int off, final int len) throws IOException {
+			if (readerClosed)
+				throw new IOException("Pipe closed");
+			if (len == 0)
+				return 0;
+			if (chunk == END_OF_STREAM)
+				return -1;
+			if (chunk == null || position == chunk.length) {
+				try {
+					chunk = chunks.take();
+				}
+				catch (final InterruptedException e) {
+					throw new InterruptedIOException();
+				}
+				position = 0;
+				if (chunk == END_OF_STREAM)
+					return -1;
+			}
+			final int read = Math.min(len, chunk.length - position);
+			System.arraycopy(chunk, position, cbuf, off, read);
+			position += read;
+			return read;
+		}
+
+		@Override
+		public void close() {
+			readerClosed = true;
+			chunks.clear();
+		}
+	}
+}
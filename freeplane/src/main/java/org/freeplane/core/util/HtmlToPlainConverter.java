@@ -0,0 +1,269 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+/**
+ * Scans html text once and produces the same plain text as the sequence of regular expression replacements
+ * in {@link HtmlUtils#htmlToPlainByPatterns(String, boolean)}.
+ * <p>
+ * The replacements are applied one after another to the whole text, so a tag can consume white space
+ * which earlier replacements have produced. The scanner keeps track of it by the following modes:
+ * after &lt;p&gt;, &lt;div&gt; and &lt;tr&gt; all white space and the tags replaced before them are skipped,
+ * after other removed tags the following spaces are skipped.
+ * Closing tags remove the spaces before them unless a removed tag lies in between.
+ * <p>
+ * Texts containing a '&lt;' which is not followed by a '&gt;' before the next '&lt;' can not be scanned
+ * because the regular expressions match across such characters, {@link #convert(String, boolean)} returns null for them.
+ */
+final class HtmlToPlainConverter {
+	private static final int BR = 0;
+	private static final int P = 1;
+	private static final int DIV = 2;
+	private static final int TR = 3;
+	private static final int DT = 4;
+	private static final int DD = 5;
+	private static final int TD = 6;
+	private static final int LIST = 7;
+	private static final int LI = 8;
+	private static final int CLOSING = 9;
+	private static final int OTHER = 10;
+
+	private static final int NO_SKIPPING = -1;
+	private static final int SKIPPING_SPACES = -2;
+
+	private final String html;
+	private final boolean removeNewLines;
+	private final StringBuilder text;
+	private int skipping = NO_SKIPPING;
+	private int closingTagSpacesStart = 0;
+
+	/** returns the plain text or null if the text can not be scanned */
+	static String convert(final String html, final boolean removeNewLines) {
+		final HtmlToPlainConverter converter = new HtmlToPlainConverter(html, removeNewLines);
+		if (!converter.removeMarkup())
+			return null;
+		return decodeEntities(converter.text.toString().trim());
+	}
+
+	private HtmlToPlainConverter(final String html, final boolean removeNewLines) {
+		this.html = html;
+		this.removeNewLines = removeNewLines;
+		this.text = new StringBuilder(html.length());
+	}
+
+	private boolean removeMarkup() {
+		final int length = html.length();
+		final int lastTagEnd = html.lastIndexOf('>');
+		boolean afterTagEnd = false;
+		for (int i = 0; i < length;) {
+			final char c = html.charAt(i);
+			if (c == '<' && i < lastTagEnd) {
+				final int tagEnd = html.indexOf('>', i + 1);
+				if (tagEnd == i + 1 || html.lastIndexOf('<', tagEnd) != i)
+					return false;
+				onTag(tagType(i));
+				i = tagEnd + 1;
+				afterTagEnd = true;
+			}
+			else if (c == ' ' || c == '\n' || c == '\t') {
+				int runEnd = i + 1;
+				while (runEnd < length && isRunCharacter(html.charAt(runEnd)))
+					runEnd++;
+				onWhiteSpace(i, runEnd, afterTagEnd);
+				i = runEnd;
+				afterTagEnd = false;
+			}
+			else {
+				onCharacter(c);
+				i++;
+				afterTagEnd = c == '>';
+			}
+		}
+		return true;
+	}
+
+	private static boolean isRunCharacter(final char c) {
+		return c == ' ' || c == '\n' || c == '\t';
+	}
+
+	private int tagType(final int tagStart) {
+		if (startsWith(tagStart + 1, "br"))
+			return BR;
+		if (startsWith(tagStart + 1, "p"))
+			return P;
+		if (startsWith(tagStart + 1, "div"))
+			return DIV;
+		if (startsWith(tagStart + 1, "tr"))
+			return TR;
+		if (startsWith(tagStart + 1, "dt"))
+			return DT;
+		if (startsWith(tagStart + 1, "dd"))
+			return DD;
+		if (startsWith(tagStart + 1, "td"))
+			return TD;
+		if (startsWith(tagStart + 1, "ul") || startsWith(tagStart + 1, "ol"))
+			return LIST;
+		if (startsWith(tagStart + 1, "li"))
+			return LI;
+		if (html.charAt(tagStart + 1) == '/')
+			return CLOSING;
+		return OTHER;
+	}
+
+	private boolean startsWith(final int start, final String lowerCaseName) {
+		return matchesIgnoringAsciiCase(html, start, lowerCaseName);
+	}
+
+	/** compares like regular expressions with flag (?i) which ignore the case of ASCII letters only */
+	private static boolean matchesIgnoringAsciiCase(final String text, final int start, final String lowerCaseName) {
+		if (start + lowerCaseName.length() > text.length())
+			return false;
+		for (int i = 0; i < lowerCaseName.length(); i++) {
+			final char c = text.charAt(start + i);
+			final char expected = lowerCaseName.charAt(i);
+			if (c != expected && (expected < 'a' || expected > 'z' || (c | 0x20) != expected))
+				return false;
+		}
+		return true;
+	}
+
+	private void onTag(final int type) {
+		if (skipping > type)
+			return;
+		switch (type) {
+			case BR:
+				append("\n");
+				break;
+			case P:
+			case DIV:
+			case TR:
+				append("\n");
+				skipping = type;
+				break;
+			case DT:
+			case LIST:
+				append("\n");
+				break;
+			case DD:
+				append("\n   ");
+				break;
+			case TD:
+				if (skipping != SKIPPING_SPACES)
+					append(" ");
+				break;
+			case LI:
+				append("\n   * ");
+				break;
+			case CLOSING:
+				int spacesStart = text.length();
+				while (spacesStart > closingTagSpacesStart && text.charAt(spacesStart - 1) == ' ')
+					spacesStart--;
+				text.setLength(spacesStart);
+				if (skipping != SKIPPING_SPACES)
+					skipping = NO_SKIPPING;
+				break;
+			default:
+				closingTagSpacesStart = text.length();
+				skipping = SKIPPING_SPACES;
+				break;
+		}
+	}
+
+	private void onWhiteSpace(final int start, final int end, final boolean afterTagEnd) {
+		if (skipping >= 0)
+			return;
+		int runStart = start;
+		if (afterTagEnd) {
+			while (runStart < end && html.charAt(runStart) != ' ')
+				runStart++;
+		}
+		if (runStart == end)
+			return;
+		if (removeNewLines) {
+			if (skipping == NO_SKIPPING)
+				text.append(' ');
+			return;
+		}
+		if (skipping == SKIPPING_SPACES) {
+			while (runStart < end && html.charAt(runStart) == ' ')
+				runStart++;
+			if (runStart == end)
+				return;
+			skipping = NO_SKIPPING;
+		}
+		text.append(html, runStart, end);
+	}
+
+	private void onCharacter(final char c) {
+		if (skipping >= 0 && (c == '\r' || c == '\f' || c == '\u000B'))
+			return;
+		skipping = NO_SKIPPING;
+		text.append(c);
+	}
+
+	private void append(final String replacement) {
+		skipping = NO_SKIPPING;
+		text.append(replacement);
+	}
+
+	/** decodes entities like {@link HtmlUtils#unescapeHTMLUnicodeEntity(String)} followed by the named entity
+	 * replacements, removes spaces and tabs before line breaks and replaces non breaking spaces by spaces */
+	private static String decodeEntities(final String text) {
+		final String unescapedText = text.indexOf('&') >= 0 ? HtmlUtils.unescapeHTMLUnicodeEntity(text) : text;
+		final int length = unescapedText.length();
+		final StringBuilder result = new StringBuilder(length);
+		int spacesStart = -1;
+		for (int i = 0; i < length;) {
+			char c = unescapedText.charAt(i++);
+			if (c == '&') {
+				if (matchesIgnoringAsciiCase(unescapedText, i, "lt;")) {
+					c = '<';
+					i += 3;
+				}
+				else if (matchesIgnoringAsciiCase(unescapedText, i, "gt;")) {
+					c = '>';
+					i += 3;
+				}
+				else if (matchesIgnoringAsciiCase(unescapedText, i, "quot;")) {
+					c = '"';
+					i += 5;
+				}
+				else if (matchesIgnoringAsciiCase(unescapedText, i, "nbsp;")) {
+					c = ' ';
+					i += 5;
+				}
+				else if (matchesIgnoringAsciiCase(unescapedText, i, "amp;")) {
+					i += 4;
+				}
+			}
+			if (c == ' ' || c == '\t') {
+				if (spacesStart < 0)
+					spacesStart = result.length();
+			}
+			else {
+				if (c == '\n' && spacesStart >= 0)
+					result.setLength(spacesStart);
+				else if (c == '\u00a0')
+					c = ' ';
+				spacesStart = -1;
+			}
+			result.append(c);
+		}
+		return result.toString();
+	}
+}
@@ -21,13 +21,40 @@ package org.freeplane.core.util;
 
 import java.util.Date;
 import java.util.Timer;
+import java.util.TimerTask;
 
 /**
  * @author Dimitry Polivaev
  * 22.07.2009
  */
 public class SysUtils {
+	private static final int CANCELLED_TASKS_BEFORE_PURGE = 256;
+	private static Timer sharedTimer;
+	private static int cancelledSharedTimerTasks;
+
 	static public Timer createTimer(final String name) {
 		return new Timer(name + '(' + new Date().toString() + ')');
 	}
+
+	/**
+	 * Returns the timer shared by tasks which are created for each node, like reminders,
+	 * so that the number of timer threads does not depend on the number of tasks.
+	 * The tasks must return quickly and must not throw exceptions because it would stop the timer.
+	 * They are stopped by {@link #cancelSharedTimerTask(TimerTask)}, the shared timer must never be cancelled.
+	 */
+	static public synchronized Timer getSharedTimer() {
+		if (sharedTimer == null) {
+			sharedTimer = new Timer("SharedTimer", true);
+		}
+		return sharedTimer;
+	}
+
+	/** Cancels a task of the shared timer and removes cancelled tasks from the timer queue from time to time. */
+	static public synchronized void cancelSharedTimerTask(final TimerTask task) {
+		task.cancel();
+		if (++cancelledSharedTimerTasks >= CANCELLED_TASKS_BEFORE_PURGE) {
+			cancelledSharedTimerTasks = 0;
+			getSharedTimer().purge();
+		}
+	}
 }
@@ -21,17 +21,15 @@ package org.freeplane.core.util;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.PipedReader;
-import java.io.PipedWriter;
 import java.io.Reader;
 import java.io.Writer;
 import java.net.URL;
 
 import javax.xml.transform.Result;
 import javax.xml.transform.Source;
+import javax.xml.transform.Templates;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
-import javax.xml.transform.TransformerFactoryConfigurationError;
+import javax.xml.transform.TransformerConfigurationException;
 import javax.xml.transform.stream.StreamResult;
 import javax.xml.transform.stream.StreamSource;
 
@@ -55,31 +53,31 @@ public class XsltPipeReaderFactory {
 			LogUtils.severe("Can't find " + xsltResource + " as resource.");
 			throw new IllegalArgumentException("Can't find " + xsltResource + " as resource.");
 		}
-		final PipedReader reader = new PipedReader();
-		final Writer writer = new PipedWriter(reader);
-		final Thread transformationThread = new Thread(new Runnable() {
-			
+		final Templates templates;
+		try {
+			templates = XsltTemplates.get(xsltUrl);
+		}
+		catch (final TransformerConfigurationException e) {
+			throw new IOException(e);
+		}
+		final CharPipe pipe = new CharPipe();
+		XsltPipeTransformation.execute(new Runnable() {
 			@Override
 			public void run() {
-				try (InputStream xsltFile =xsltUrl.openStream();
-				        Writer writerToClose = writer){
-					final Result result = new StreamResult(writer);
-					transform(new StreamSource(in), xsltFile, result);
+				try (Writer writerToClose = pipe.getWriter()){
+					final Result result = new StreamResult(writerToClose);
+					transform(new StreamSource(in), templates, result);
 				} catch (IOException e) {
 					e.printStackTrace();
 				}
 			}
-		}, "XSLT Transformation");
-		transformationThread.start();
-		return reader;
+		});
+		return pipe.getReader();
 	}
 
-	private void transform(final Source xmlSource, final InputStream xsltStream, final Result result)
-			throws TransformerFactoryConfigurationError {
-		final Source xsltSource = new StreamSource(xsltStream);
+	private void transform(final Source xmlSource, final Templates templates, final Result result) {
 		try {
-			final TransformerFactory transFact = TransformerFactory.newInstance();
-			final Transformer trans = transFact.newTransformer(xsltSource);
+			final Transformer trans = templates.newTransformer();
 			trans.transform(xmlSource, result);
 		}
 		catch (final Exception e) {
@@ -0,0 +1,169 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+
+import javax.xml.transform.Result;
+import javax.xml.transform.Source;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Transforms xml while it is written without keeping the whole document in memory.
+ * The xml is written in the calling thread and passed through a {@link CharPipe} to the transformers
+ * running in a shared thread pool.
+ */
+public class XsltPipeTransformation {
+	public interface XmlProducer {
+		void writeXml(Writer writer) throws IOException;
+	}
+
+	private static final ExecutorService transformationExecutor = Executors.newCachedThreadPool(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			final Thread thread = new Thread(r, "XSLT Transformation");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	private final List<Transformer> transformers = new ArrayList<Transformer>(1);
+	private final List<Result> results = new ArrayList<Result>(1);
+
+	/** adds transformation of the same xml, all added transformations run at the same time */
+	public XsltPipeTransformation add(final Transformer transformer, final Result result) {
+		transformers.add(transformer);
+		results.add(result);
+		return this;
+	}
+
+	/** runs the transformation asynchronously and closes the reader when it is done */
+	private static Future<Void> transformAsync(final Transformer transformer, final Source source, final Reader reader,
+	                                   final Result result) {
+		return transformationExecutor.submit(() -> {
+			try {
+				transformer.transform(source, result);
+				return null;
+			}
+			finally {
+				reader.close();
+			}
+		});
+	}
+
+	static void execute(final Runnable transformation) {
+		transformationExecutor.execute(transformation);
+	}
+
+	public void transform(final XmlProducer producer) throws TransformerException, IOException {
+		final List<Future<Void>> transformations = new ArrayList<Future<Void>>(transformers.size());
+		final List<Writer> writers = new ArrayList<Writer>(transformers.size());
+		for (int i = 0; i < transformers.size(); i++) {
+			final CharPipe pipe = new CharPipe();
+			final Reader reader = pipe.getReader();
+			transformations.add(transformAsync(transformers.get(i), new StreamSource(reader), reader, results.get(i)));
+			writers.add(pipe.getWriter());
+		}
+		Exception producerException = null;
+		try {
+			producer.writeXml(writers.size() == 1 ? writers.get(0) : new TeeWriter(writers));
+		}
+		catch (IOException | RuntimeException e) {
+			producerException = e;
+		}
+		finally {
+			// transformations of incomplete xml fail and report their errors
+			for (final Writer writer : writers)
+				writer.close();
+		}
+		for (final Future<Void> transformation : transformations)
+			waitFor(transformation);
+		if (producerException instanceof IOException)
+			throw (IOException) producerException;
+		if (producerException instanceof RuntimeException)
+			throw (RuntimeException) producerException;
+	}
+
+	private static void waitFor(final Future<Void> transformation) throws TransformerException, IOException {
+		boolean interrupted = false;
+		try {
+			while (true) {
+				try {
+					transformation.get();
+					return;
+				}
+				catch (final InterruptedException e) {
+					interrupted = true;
+				}
+			}
+		}
+		catch (final ExecutionException e) {
+			final Throwable cause = e.getCause();
+			if (cause instanceof TransformerException)
+				throw (TransformerException) cause;
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new TransformerException(cause);
+		}
+		finally {
+			if (interrupted)
+				Thread.currentThread().interrupt();
+		}
+	}
+
+	private static class TeeWriter extends Writer {
+		private final List<Writer> writers;
+
+		TeeWriter(final List<Writer> writers) {
+			this.writers = writers;
+		}
+
+		@Override
+		public void write(final char[] cbuf, final int off, final int len) throws IOException {
+			for (final Writer writer : writers)
+				writer.write(cbuf, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			for (final Writer writer : writers)
+				writer.flush();
+		}
+
+		@Override
+		public void close() throws IOException {
+			for (final Writer writer : writers)
+				writer.close();
+		}
+	}
+}
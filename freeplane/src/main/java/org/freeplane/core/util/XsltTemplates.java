@@ -0,0 +1,79 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+import java.io.BufferedInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.xml.transform.Templates;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamSource;
+
+/**
+ * Keeps compiled XSLT stylesheets.
+ * Stylesheet files are compiled again after they have been modified,
+ * other resources like stylesheets in jar files are compiled only once.
+ */
+public class XsltTemplates {
+	private static class CompiledStylesheet {
+		final long lastModified;
+		final Templates templates;
+
+		CompiledStylesheet(final long lastModified, final Templates templates) {
+			this.lastModified = lastModified;
+			this.templates = templates;
+		}
+	}
+
+	private static final ConcurrentHashMap<String, CompiledStylesheet> stylesheets = new ConcurrentHashMap<String, CompiledStylesheet>();
+
+	public static Templates get(final File xsltFile) throws IOException, TransformerConfigurationException {
+		return get(xsltFile.toURI().toURL());
+	}
+
+	public static Templates get(final URL xsltUrl) throws IOException, TransformerConfigurationException {
+		final String key = xsltUrl.toExternalForm();
+		final long lastModified = lastModified(xsltUrl);
+		final CompiledStylesheet compiledStylesheet = stylesheets.get(key);
+		if (compiledStylesheet != null && compiledStylesheet.lastModified == lastModified)
+			return compiledStylesheet.templates;
+		final Templates templates;
+		try (InputStream xsltStream = new BufferedInputStream(xsltUrl.openStream())) {
+			templates = TransformerFactory.newInstance().newTemplates(new StreamSource(xsltStream, key));
+		}
+		stylesheets.put(key, new CompiledStylesheet(lastModified, templates));
+		return templates;
+	}
+
+	private static long lastModified(final URL url) {
+		if (!"file".equals(url.getProtocol()))
+			return 0;
+		try {
+			return new File(url.toURI()).lastModified();
+		}
+		catch (final URISyntaxException | IllegalArgumentException e) {
+			return 0;
+		}
+	}
+}
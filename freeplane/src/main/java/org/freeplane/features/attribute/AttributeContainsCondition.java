@@ -19,13 +19,17 @@
  */
 package org.freeplane.features.attribute;
 
+import java.util.function.Predicate;
+
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.filter.StringMatchingStrategy;
 import org.freeplane.features.filter.condition.ASelectableCondition;
 import org.freeplane.features.filter.condition.ConditionFactory;
 import org.freeplane.features.filter.condition.StringConditionAdapter;
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.text.TextController;
+import org.freeplane.features.text.TextIndex;
 import org.freeplane.n3.nanoxml.XMLElement;
 
 /**
@@ -91,6 +95,11 @@ public class AttributeContainsCondition extends StringConditionAdapter {
 		return false;
 	}
 
+	@Override
+	public Predicate<NodeModel> createCandidateFilter(final MapModel map) {
+		return matchApproximately ? null : TextIndex.nodesPossiblyContaining(map, value);
+	}
+
 	private boolean checkText(String text) {
 	    return stringMatchingStrategy.matches(normalizedValue(), normalize(text), true);
     }
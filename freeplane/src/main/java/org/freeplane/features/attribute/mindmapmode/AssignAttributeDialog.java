@@ -62,6 +62,7 @@ import org.freeplane.features.attribute.NodeAttributeTableModel;
 import org.freeplane.features.filter.Filter;
 import org.freeplane.features.map.IMapSelection;
 import org.freeplane.features.map.IMapSelectionListener;
+import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
@@ -209,6 +210,8 @@ class AssignAttributeDialog extends JDialog implements IAttributesListener, IMap
 	private abstract class IteratingAction implements ActionListener {
 		@Override
 		public void actionPerformed(final ActionEvent e) {
+			final MapController mapController = Controller.getCurrentModeController().getMapController();
+			mapController.beginNodeChangeBatch();
 			try {
 				if (selectedBtn.getModel().isSelected()) {
 					final Collection<NodeModel> selecteds = mapSelection.getSelection();
@@ -224,6 +227,9 @@ class AssignAttributeDialog extends JDialog implements IAttributesListener, IMap
 			}
 			catch (final NullPointerException ex) {
 			}
+			finally {
+				mapController.endNodeChangeBatch();
+			}
 		}
 
 		private void iterate(final NodeModel node) {
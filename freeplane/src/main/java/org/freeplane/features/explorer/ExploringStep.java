@@ -115,7 +115,10 @@ enum ExploringStep {
 		@Override
 		List<NodeModel> getNodes(NodeModel start, final NodeMatcher nodeMatcher, AccessedNodes accessedNodes) {
 			accessedNodes.accessBranch(start);
-			return NodeStream.of(start).skip(1).filter(nodeMatcher::matches).collect(Collectors.toList());
+			return NodeStream.of(start).skip(1)
+					.filter(nodeMatcher.createCandidateFilter(start.getMap()))
+					.filter(nodeMatcher::matches)
+					.collect(Collectors.toList());
 		}
 	};
 
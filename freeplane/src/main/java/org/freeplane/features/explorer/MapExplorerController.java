@@ -6,7 +6,6 @@ import org.freeplane.core.io.IAttributeWriter;
 import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
-import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.map.MapController;
@@ -80,7 +79,7 @@ public class MapExplorerController  implements IExtension{
 		if(!alias.isEmpty())
 			sb.append('~').append(alias);
 		else
-			sb.append('\'').append(TextUtils.getShortText(HtmlUtils.htmlToPlain(node.getText()), 10, "...")).append('\'');
+			sb.append('\'').append(TextUtils.getShortText(node.getPlainText(), 10, "...")).append('\'');
 		return sb.toString();
 	}
 
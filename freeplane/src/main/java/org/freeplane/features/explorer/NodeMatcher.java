@@ -1,12 +1,14 @@
 package org.freeplane.features.explorer;
 
 import org.apache.commons.lang.StringUtils;
-import org.freeplane.core.util.HtmlUtils;
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.text.TextIndex;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Predicate;
 
 class NodeMatcher {
 	enum MatchedElement{
@@ -87,7 +89,17 @@ class NodeMatcher {
 		if(matchedElement == MatchedElement.ALIAS)
 			return matches(node.getExtension(NodeAlias.class));
 		else
-			return matches(HtmlUtils.htmlToPlain(node.getText()));
+			return matches(node.getPlainText());
+	}
+
+	/** Returns a predicate rejecting nodes of the given map whose text can not match, the other nodes still have to be matched. */
+	Predicate<NodeModel> createCandidateFilter(MapModel map) {
+		if(matchedElement == MatchedElement.TEXT || matchedElement == MatchedElement.START) {
+			final Predicate<NodeModel> candidateFilter = TextIndex.nodesPossiblyContaining(map, matchedString);
+			if(candidateFilter != null)
+				return candidateFilter;
+		}
+		return node -> true;
 	}
 
 	private boolean matches(NodeAlias alias) {
@@ -46,6 +46,7 @@ import org.freeplane.features.map.IMapSelection.NodePosition;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
+import org.freeplane.features.ui.CloseableRenderedImage;
 
 /**
  * @author foltin
@@ -74,7 +75,7 @@ public class ExportToImage implements IExportEngine {
 	}
 
 	public void export(MapModel map, final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, File toFile) {
-		RenderedImage image = null;
+		CloseableRenderedImage image = null;
 		try {
 			image = placedNode != null ? new ImageCreator(getImageResolutionDPI()).createBufferedImage(map, slideSize, placedNode, placedNodePosition) : new ImageCreator(getImageResolutionDPI()).createBufferedImage(map);
 			if (image != null) {
@@ -84,6 +85,11 @@ public class ExportToImage implements IExportEngine {
 		catch (final OutOfMemoryError ex) {
 			UITools.errorMessage(TextUtils.getText("out_of_memory"));
 		}
+		finally {
+			if (image != null) {
+				image.close();
+			}
+		}
 	}
 
 	public boolean exportToImage(final RenderedImage image, File chosenFile) {
@@ -102,7 +108,7 @@ public class ExportToImage implements IExportEngine {
 				try ( final FileOutputStream outFile = new FileOutputStream(chosenFile);
 		              final ImageOutputStream stream = ImageIO.createImageOutputStream(outFile);
 				){
-					writer.setOutput(ImageIO.createImageOutputStream(outFile));
+					writer.setOutput(stream);
 					writer.write(metadata, new IIOImage(image, null, metadata), writeParam);
 					break;
 				}
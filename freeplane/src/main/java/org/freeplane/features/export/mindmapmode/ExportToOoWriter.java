@@ -23,16 +23,16 @@ import org.freeplane.core.ui.components.UITools;
 import org.freeplane.core.util.FileUtils;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
+import org.freeplane.core.util.XsltPipeTransformation;
+import org.freeplane.core.util.XsltTemplates;
 import org.freeplane.features.map.MapWriter.Mode;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
 import javax.swing.filechooser.FileFilter;
-import javax.xml.transform.Result;
-import javax.xml.transform.Source;
 import javax.xml.transform.Transformer;
-import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.TransformerConfigurationException;
+import javax.xml.transform.TransformerException;
 import javax.xml.transform.stream.StreamResult;
-import javax.xml.transform.stream.StreamSource;
 import java.io.*;
 import java.net.URL;
 import java.util.List;
@@ -65,51 +65,42 @@ public class ExportToOoWriter implements IExportEngine {
 		}
 	}
 
-	/**
-	 * @return true, if successful.
-	 */
-	private void applyXsltFile(final String xsltFileName, final StringWriter writer, final Result result) {
+	private Transformer newTransformer(final String xsltFileName) throws IOException, TransformerConfigurationException {
 		final URL xsltUrl = ResourceController.getResourceController().getResource(xsltFileName);
 		if (xsltUrl == null) {
 			LogUtils.severe("Can't find " + xsltFileName + " as resource.");
 			throw new IllegalArgumentException("Can't find " + xsltFileName + " as resource.");
 		}
-		try (InputStream xsltStream = new BufferedInputStream(xsltUrl.openStream())){
-			final StringReader reader = new StringReader(writer.getBuffer().toString());
-			final TransformerFactory transFact = TransformerFactory.newInstance();
-			final Source xsltSource = new StreamSource(xsltStream);
-			final Transformer trans = transFact.newTransformer(xsltSource);
-			trans.transform(new StreamSource(reader), result);
-			return;
-		}
-		catch (final Exception e) {
-			UITools.errorMessage(e.getMessage());
-			LogUtils.warn(e);
-			return;
-		}
+		return XsltTemplates.get(xsltUrl).newTransformer();
 	}
 
 
 	public void exportToOoWriter(List<NodeModel> branches, final File file) throws IOException {
 		try (final ZipOutputStream zipout = new ZipOutputStream(new FileOutputStream(file));){
-			final StringWriter writer = new StringWriter();
-			new BranchXmlWriter(branches).writeXml(writer, Mode.EXPORT);
-			final Result result = new StreamResult(zipout);
+			// the map xml is transformed by all stylesheets at once,
+			// content is written directly into the zip file and the small manifest and styles are buffered
+			final ByteArrayOutputStream manifest = new ByteArrayOutputStream();
+			final ByteArrayOutputStream styles = new ByteArrayOutputStream();
+			final XsltPipeTransformation transformation = new XsltPipeTransformation()
+			    .add(newTransformer("/xslt/export2oowriter.xsl"), new StreamResult(zipout))
+			    .add(newTransformer("/xslt/export2oowriter.manifest.xsl"), new StreamResult(manifest))
+			    .add(newTransformer("/xslt/export2oowriter.styles.xsl"), new StreamResult(styles));
 
-			ZipEntry entry = new ZipEntry("content.xml");
-			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.xsl", writer, result);
+			zipout.putNextEntry(new ZipEntry("content.xml"));
+			transformation.transform(writer -> new BranchXmlWriter(branches).writeXml(writer, Mode.EXPORT));
 			zipout.closeEntry();
 
-			entry = new ZipEntry("META-INF/manifest.xml");
-			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.manifest.xsl", writer, result);
+			zipout.putNextEntry(new ZipEntry("META-INF/manifest.xml"));
+			manifest.writeTo(zipout);
 			zipout.closeEntry();
 
-			entry = new ZipEntry("styles.xml");
-			zipout.putNextEntry(entry);
-			applyXsltFile("/xslt/export2oowriter.styles.xsl", writer, result);
+			zipout.putNextEntry(new ZipEntry("styles.xml"));
+			styles.writeTo(zipout);
 			zipout.closeEntry();
 		}
+		catch (final TransformerException e) {
+			UITools.errorMessage(e.getMessage());
+			LogUtils.warn(e);
+		}
 	}
 }
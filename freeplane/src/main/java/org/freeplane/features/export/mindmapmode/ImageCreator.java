@@ -20,12 +20,12 @@
 package org.freeplane.features.export.mindmapmode;
 
 import java.awt.Dimension;
-import java.awt.image.RenderedImage;
 
 import org.freeplane.features.map.IMapSelection.NodePosition;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
+import org.freeplane.features.ui.CloseableRenderedImage;
 
 /**
  * @author foltin
@@ -38,20 +38,20 @@ class ImageCreator{
 	    this.imageResolutionInDpi = imageResolutionInDpi;
     }
 
-	public RenderedImage createBufferedImage(MapModel map) {
+	public CloseableRenderedImage createBufferedImage(MapModel map) {
 		final Controller controller = Controller.getCurrentController();
 		if(! map.equals(controller.getMap())) {
 			return null;
         }
-        return controller.getMapViewManager().createImage(imageResolutionInDpi);
+        return controller.getMapViewManager().createCloseableImage(imageResolutionInDpi);
 	}
 
-	public RenderedImage createBufferedImage(MapModel map, final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition) {
+	public CloseableRenderedImage createBufferedImage(MapModel map, final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition) {
 		final Controller controller = Controller.getCurrentController();
 		if(! map.equals(controller.getMap())) {
 			return null;
         }
-        return controller.getMapViewManager().createImage(slideSize, placedNode, placedNodePosition, imageResolutionInDpi);
+        return controller.getMapViewManager().createCloseableImage(slideSize, placedNode, placedNodePosition, imageResolutionInDpi);
 	}
 
 	public int getImageResolutionDPI() {
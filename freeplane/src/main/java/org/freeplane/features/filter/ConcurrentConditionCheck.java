@@ -0,0 +1,122 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.filter;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+
+/**
+ * Checks a condition for many nodes in the fork join pool.
+ * The results are stored in an array using the same indices as the checked nodes.
+ * Starting a check for a map cancels the check still running for the same map,
+ * the cancelled check stops without checking its remaining nodes.
+ */
+class ConcurrentConditionCheck {
+	static final String MIN_NODE_COUNT_PROPERTY = "filter.parallelEvaluationMinNodeCount";
+	private static final int NODES_PER_TASK = 256;
+	private static final Map<MapModel, ConcurrentConditionCheck> runningChecks = Collections
+	    .synchronizedMap(new WeakHashMap<MapModel, ConcurrentConditionCheck>());
+
+	static boolean isEnabledFor(final ICondition condition) {
+		return condition != null && condition.canBeCheckedConcurrently() && getMinNodeCount() > 0;
+	}
+
+	static int getMinNodeCount() {
+		return ResourceController.getResourceController().getIntProperty(MIN_NODE_COUNT_PROPERTY, 0);
+	}
+
+	private class CheckTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int start;
+		private final int end;
+
+		CheckTask(final int start, final int end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		protected void compute() {
+			if (cancelled) {
+				return;
+			}
+			if (end - start <= NODES_PER_TASK) {
+				for (int i = start; i < end && !cancelled; i++) {
+					results[i] = condition.checkNode(nodes[i]);
+				}
+			}
+			else {
+				final int middle = (start + end) >>> 1;
+				invokeAll(new CheckTask(start, middle), new CheckTask(middle, end));
+			}
+		}
+	}
+
+	private final ICondition condition;
+	private final NodeModel[] nodes;
+	private final boolean[] results;
+	private volatile boolean cancelled;
+
+	ConcurrentConditionCheck(final ICondition condition, final NodeModel[] nodes) {
+		this.condition = condition;
+		this.nodes = nodes;
+		this.results = new boolean[nodes.length];
+	}
+
+	/**
+	 * Blocks until all nodes are checked
+	 * or until another check for the same map is started and cancels this one.
+	 * Checks without map neither cancel other checks nor can be cancelled by them.
+	 * @return false if the check has been cancelled and its results are incomplete
+	 */
+	boolean run(final MapModel map) {
+		if (map != null) {
+			final ConcurrentConditionCheck previousCheck = runningChecks.put(map, this);
+			if (previousCheck != null) {
+				previousCheck.cancel();
+			}
+		}
+		try {
+			if (!cancelled) {
+				ForkJoinPool.commonPool().invoke(new CheckTask(0, nodes.length));
+			}
+		}
+		finally {
+			if (map != null) {
+				runningChecks.remove(map, this);
+			}
+		}
+		return !cancelled;
+	}
+
+	void cancel() {
+		cancelled = true;
+	}
+
+	boolean isSatisfied(final int nodeIndex) {
+		return results[nodeIndex];
+	}
+}
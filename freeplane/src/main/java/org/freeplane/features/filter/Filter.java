@@ -19,7 +19,12 @@
  */
 package org.freeplane.features.filter;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import java.util.WeakHashMap;
+import java.util.function.Predicate;
 
 import javax.swing.Icon;
 
@@ -62,6 +67,10 @@ public class Filter implements IExtension {
 	private FilterInfoAccessor accessor;
     private final boolean hidesMatchingNodes;
     private final Filter baseFilter;
+	private ConcurrentConditionCheck concurrentConditionCheck;
+	private int checkedNodeIndex;
+	private Predicate<NodeModel> candidateFilter;
+	private boolean superseded;
 
 	public Filter(final ICondition condition, final boolean hidesMatchingNodes, final boolean areAncestorsShown,
 	              final boolean areDescendantsShown, Filter baseFilter) {
@@ -104,36 +113,107 @@ public class Filter implements IExtension {
 	}
 
 	public void calculateFilterResults(final MapModel map) {
+		calculateFilterResults(map, false);
+	}
+
+	/**
+	 * Calculates the results of the filter applied to the map.
+	 * A calculation started later for the same map supersedes this one.
+	 * @return false if the calculation has been superseded, its results are incomplete and must not be applied
+	 */
+	boolean calculateAppliedFilterResults(final MapModel map) {
+		return calculateFilterResults(map, true);
+	}
+
+	private boolean calculateFilterResults(final MapModel map, final boolean appliedToMap) {
 	    this.accessor = new FilterInfoAccessor();
 		final NodeModel root = map.getRootNode();
 		resetFilter(root);
 		checkNode(root);
-		if (filterChildren(root, false, false)) {
-			addFilterResult(root, FilterInfo.FILTER_SHOW_AS_ANCESTOR);
+		try {
+			candidateFilter = createCandidateFilter(map);
+			if (!checkConditionConcurrently(appliedToMap ? map : null, root.getChildren())) {
+				/* a newer filter for the map replaces this one */
+				superseded = true;
+				return false;
+			}
+			if (filterChildren(root, false, false)) {
+				addFilterResult(root, FilterInfo.FILTER_SHOW_AS_ANCESTOR);
+			}
+			return true;
+		}
+		finally {
+			concurrentConditionCheck = null;
+			candidateFilter = null;
 		}
 	}
 
 	public void calculateFilterResults(final NodeModel root) {
 	    this.accessor = new FilterInfoAccessor();
-	    applyFilter(root, false, false, false);
+		try {
+			candidateFilter = createCandidateFilter(root.getMap());
+			checkConditionConcurrently(null, Collections.singletonList(root));
+			applyFilter(root, false, false, false);
+		}
+		finally {
+			concurrentConditionCheck = null;
+			candidateFilter = null;
+		}
+	}
+
+	/**
+	 * Checks the condition in advance for all given subtrees, the results are used by applyFilter in the same order.
+	 * @param map the map whose filter is calculated, or null if the filter is not applied to the map
+	 * @return false if the check has been cancelled by a newer check for the same map
+	 */
+	private boolean checkConditionConcurrently(final MapModel map, final List<NodeModel> subtreeRoots) {
+		if (!ConcurrentConditionCheck.isEnabledFor(condition)) {
+			return true;
+		}
+		final List<NodeModel> nodes = new ArrayList<NodeModel>();
+		for (final NodeModel subtreeRoot : subtreeRoots) {
+			addSubtreeInApplicationOrder(subtreeRoot, nodes);
+		}
+		if (nodes.size() < ConcurrentConditionCheck.getMinNodeCount()) {
+			return true;
+		}
+		final ConcurrentConditionCheck check = new ConcurrentConditionCheck(
+		    node -> isCandidate(node) && condition.checkNode(node), nodes.toArray(new NodeModel[nodes.size()]));
+		if (!check.run(map)) {
+			return false;
+		}
+		concurrentConditionCheck = check;
+		checkedNodeIndex = 0;
+		return true;
+	}
+
+	private void addSubtreeInApplicationOrder(final NodeModel node, final List<NodeModel> nodes) {
+		nodes.add(node);
+		for (final NodeModel child : node.getChildren()) {
+			addSubtreeInApplicationOrder(child, nodes);
+		}
+	}
+
+	private boolean checkCondition(final NodeModel node) {
+		if (concurrentConditionCheck != null) {
+			return concurrentConditionCheck.isSatisfied(checkedNodeIndex++);
+		}
+		return isCandidate(node) && condition.checkNode(node);
+	}
+
+	private Predicate<NodeModel> createCandidateFilter(final MapModel map) {
+		return condition == null ? null : condition.createCandidateFilter(map);
+	}
+
+	private boolean isCandidate(final NodeModel node) {
+		return candidateFilter == null || candidateFilter.test(node);
 	}
 
 	private boolean applyFilter(final NodeModel node,
 	                            final boolean hasMatchingAncestor, final boolean hasHiddenAncestor,
 	                            boolean hasMatchingDescendant) {
-		final boolean conditionSatisfied =  (condition == null || condition.checkNode(node));
-		final boolean matchesCombinedFilter;
-		if(appliesToVisibleNodesOnly()) {
-		    FilterInfo filterInfo = baseFilter.getFilterInfo(node);
-            final boolean alreadyMatched = filterInfo.isMatched();
-		    if(hidesMatchingNodes)
-		        matchesCombinedFilter = conditionSatisfied || alreadyMatched;
-		    else
-		        matchesCombinedFilter = conditionSatisfied && (alreadyMatched || filterInfo.isNotChecked());
-		}
-		else {
-		    matchesCombinedFilter = conditionSatisfied;
-		}
+		final boolean conditionSatisfied =  (condition == null || checkCondition(node));
+		final boolean matchesCombinedFilter = matchesCombinedFilter(node, conditionSatisfied);
 		resetFilter(node);
 		if (hasMatchingAncestor) {
 			addFilterResult(node, FilterInfo.FILTER_SHOW_AS_DESCENDANT);
@@ -155,6 +235,159 @@ public class Filter implements IExtension {
 		return hasMatchingDescendant;
 	}
 
+	private boolean matchesCombinedFilter(final NodeModel node, final boolean conditionSatisfied) {
+		if(appliesToVisibleNodesOnly()) {
+		    FilterInfo filterInfo = baseFilter.getFilterInfo(node);
+            final boolean alreadyMatched = filterInfo.isMatched();
+		    if(hidesMatchingNodes)
+		        return conditionSatisfied || alreadyMatched;
+		    else
+		        return conditionSatisfied && (alreadyMatched || filterInfo.isNotChecked());
+		}
+		else {
+		    return conditionSatisfied;
+		}
+	}
+
+	/**
+	 * Checks the condition for the changed node again
+	 * and repairs the flags of its ancestors and descendants affected by the change.
+	 * @return nodes whose visibility has changed
+	 */
+	Collection<NodeModel> updateFilterResults(final NodeModel node) {
+		final Collection<NodeModel> changedNodes = new ArrayList<NodeModel>();
+		if (condition == null || node.isRoot()) {
+			return changedNodes;
+		}
+		final FilterInfo filterInfo = getFilterInfo(node);
+		final boolean wasVisible = isVisible(node);
+		final boolean wasMatched = filterInfo.isMatched();
+		final boolean wasChecked = ! filterInfo.isNotChecked();
+		final boolean matches = matchesCombinedFilter(node, condition.checkNode(node));
+		if (wasChecked && wasMatched == matches) {
+			return changedNodes;
+		}
+		final boolean hasMatchingAncestor = hasMatchingAncestor(node);
+		filterInfo.reset();
+		if (hasMatchingAncestor) {
+			filterInfo.add(FilterInfo.FILTER_SHOW_AS_DESCENDANT);
+		}
+		filterInfo.add(matches ? FilterInfo.FILTER_SHOW_AS_MATCHED : FilterInfo.FILTER_SHOW_AS_HIDDEN);
+		if (hasMatchingChild(node)) {
+			filterInfo.add(FilterInfo.FILTER_SHOW_AS_ANCESTOR);
+		}
+		if (wasVisible != isVisible(node)) {
+			changedNodes.add(node);
+		}
+		if (!hasMatchingAncestor) {
+			updateDescendantFlags(node, matches, changedNodes);
+		}
+		updateAncestorFlags(node.getParentNode(), changedNodes);
+		return changedNodes;
+	}
+
+	/**
+	 * Repairs the flags of the moved node and of its old and new ancestors without checking the condition again.
+	 * @return nodes whose visibility has changed
+	 */
+	Collection<NodeModel> updateFilterResultsAfterMove(final NodeModel oldParent, final NodeModel child) {
+		final Collection<NodeModel> changedNodes = new ArrayList<NodeModel>();
+		if (condition == null) {
+			return changedNodes;
+		}
+		updateAncestorFlags(oldParent, changedNodes);
+		final FilterInfo filterInfo = getFilterInfo(child);
+		if (!filterInfo.isNotChecked()) {
+			final boolean hasMatchingAncestor = hasMatchingAncestor(child);
+			if (filterInfo.matches(FilterInfo.FILTER_SHOW_AS_DESCENDANT) != hasMatchingAncestor) {
+				updateDescendantFlag(child, hasMatchingAncestor, changedNodes);
+			}
+			updateAncestorFlags(child.getParentNode(), changedNodes);
+		}
+		return changedNodes;
+	}
+
+	/**
+	 * Repairs the flags of the ancestors after a node was removed.
+	 * @return nodes whose visibility has changed
+	 */
+	Collection<NodeModel> updateFilterResultsAfterDeletion(final NodeModel parent) {
+		final Collection<NodeModel> changedNodes = new ArrayList<NodeModel>();
+		if (condition != null) {
+			updateAncestorFlags(parent, changedNodes);
+		}
+		return changedNodes;
+	}
+
+	private boolean hasMatchingAncestor(final NodeModel node) {
+		for (NodeModel ancestor = node.getParentNode(); ancestor != null && !ancestor.isRoot(); ancestor = ancestor
+		    .getParentNode()) {
+			if (getFilterInfo(ancestor).isMatched()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasMatchingChild(final NodeModel node) {
+		for (final NodeModel child : node.getChildren()) {
+			final FilterInfo childInfo = getFilterInfo(child);
+			if (childInfo.isMatched() || childInfo.matches(FilterInfo.FILTER_SHOW_AS_ANCESTOR)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void updateAncestorFlags(final NodeModel firstAncestor, final Collection<NodeModel> changedNodes) {
+		for (NodeModel ancestor = firstAncestor; ancestor != null; ancestor = ancestor.getParentNode()) {
+			final FilterInfo filterInfo = getFilterInfo(ancestor);
+			final boolean hasMatchingDescendant = hasMatchingChild(ancestor);
+			if (filterInfo.matches(FilterInfo.FILTER_SHOW_AS_ANCESTOR) == hasMatchingDescendant) {
+				return;
+			}
+			final boolean wasVisible = isVisible(ancestor);
+			if (hasMatchingDescendant) {
+				filterInfo.add(FilterInfo.FILTER_SHOW_AS_ANCESTOR);
+			}
+			else {
+				filterInfo.remove(FilterInfo.FILTER_SHOW_AS_ANCESTOR);
+			}
+			if (wasVisible != isVisible(ancestor)) {
+				changedNodes.add(ancestor);
+			}
+		}
+	}
+
+	private void updateDescendantFlags(final NodeModel node, final boolean hasMatchingAncestor,
+	                                   final Collection<NodeModel> changedNodes) {
+		for (final NodeModel child : node.getChildren()) {
+			final FilterInfo filterInfo = getFilterInfo(child);
+			if (!filterInfo.isNotChecked()
+			        && filterInfo.matches(FilterInfo.FILTER_SHOW_AS_DESCENDANT) != hasMatchingAncestor) {
+				updateDescendantFlag(child, hasMatchingAncestor, changedNodes);
+			}
+		}
+	}
+
+	private void updateDescendantFlag(final NodeModel node, final boolean hasMatchingAncestor,
+	                                  final Collection<NodeModel> changedNodes) {
+		final FilterInfo filterInfo = getFilterInfo(node);
+		final boolean wasVisible = isVisible(node);
+		if (hasMatchingAncestor) {
+			filterInfo.add(FilterInfo.FILTER_SHOW_AS_DESCENDANT);
+		}
+		else {
+			filterInfo.remove(FilterInfo.FILTER_SHOW_AS_DESCENDANT);
+		}
+		if (wasVisible != isVisible(node)) {
+			changedNodes.add(node);
+		}
+		if (!filterInfo.isMatched()) {
+			updateDescendantFlags(node, hasMatchingAncestor, changedNodes);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see freeplane.controller.filter.Filter#areAncestorsShown()
@@ -199,7 +432,7 @@ public class Filter implements IExtension {
 	}
 
 	public boolean canUseFilterResultsFrom(final Filter oldFilter) {
-		return baseFilter == oldFilter && (condition != null && condition.equals(baseFilter.getCondition()) || condition == null
+		return baseFilter == oldFilter && (oldFilter == null || !oldFilter.superseded) && (condition != null && condition.equals(baseFilter.getCondition()) || condition == null
 		                && baseFilter.getCondition() == null);
 	}
 
@@ -39,6 +39,7 @@ import java.io.Writer;
 import java.security.AccessControlException;
 import java.util.Collection;
 import java.util.Vector;
+import java.util.function.Predicate;
 
 import javax.swing.BorderFactory;
 import javax.swing.ButtonModel;
@@ -84,6 +85,7 @@ import org.freeplane.features.highlight.NodeHighlighter;
 import org.freeplane.features.map.CloneOfSelectedViewCondition;
 import org.freeplane.features.map.IMapSelection;
 import org.freeplane.features.map.MapChangeEvent;
+import org.freeplane.features.map.MapController;
 import org.freeplane.features.map.MapController.Direction;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.MapNavigationUtils;
@@ -188,6 +190,13 @@ public class FilterController implements IExtension, IMapViewChangeListener {
 		return getController(Controller.getCurrentController());
 	}
 	
+    /** Registers listeners updating the active filter of changed maps if enabled by property {@value FilterUpdater#UPDATE_ON_CHANGE_PROPERTY} */
+    public void updateFiltersOnChangesFrom(final MapController mapController) {
+        final FilterUpdater filterUpdater = new FilterUpdater(mapController);
+        mapController.addNodeChangeListener(filterUpdater);
+        mapController.addMapChangeListener(filterUpdater);
+    }
+
     public static Filter getFilter(MapModel map) {
         IMapSelection selection = Controller.getCurrentController().getSelection();
         if(selection != null && selection.getMap() == map) {
@@ -421,10 +430,12 @@ public class FilterController implements IExtension, IMapViewChangeListener {
             getHistory().add(filter);
         }
         else {
-            Filter oldFilter = map.putExtension(Filter.class, filter);
+            Filter oldFilter = map.getExtension(Filter.class);
             if (oldFilter == null || force || !filter.canUseFilterResultsFrom(oldFilter)) {
-                filter.calculateFilterResults(map);
+                if (!filter.calculateAppliedFilterResults(map))
+                    return;
             }
+            map.putExtension(Filter.class, filter);
         }
     }
 
@@ -435,14 +446,16 @@ public class FilterController implements IExtension, IMapViewChangeListener {
             	filter.displayFilterStatus();
             	Controller.getCurrentController().getViewController().setWaitingCursor(true);
             	final Filter oldFilter = selection.getFilter();
-            	selection.setFilter(filter);
             	MapModel map = selection.getSelected().getMap();
                 if (force || !filter.canUseFilterResultsFrom(oldFilter)) {
-            		filter.calculateFilterResults(map);
+                    /* a newer filter applied to the map meanwhile replaces this one */
+            		if (!filter.calculateAppliedFilterResults(map))
+            		    return;
             	}
                 else {
                     filter.useFilterResultsFrom(oldFilter);
                 }
+            	selection.setFilter(filter);
             	refreshMap(this, map);
             	selectVisibleNodes(selection);
             }
@@ -808,6 +821,7 @@ public class FilterController implements IExtension, IMapViewChangeListener {
 
 	NodeModel findNext(final NodeModel from, final NodeModel end, final Direction direction,
 	                   final ASelectableCondition condition, Filter filter) {
+		final Predicate<NodeModel> candidateFilter = condition == null ? null : condition.createCandidateFilter(from.getMap());
 		NodeModel next = from;
 		for (;;) {
 			do {
@@ -828,7 +842,8 @@ public class FilterController implements IExtension, IMapViewChangeListener {
 			if (next == from) {
 				break;
 			}
-			if (condition == null || condition.checkNode(next)) {
+			if (condition == null
+			        || (candidateFilter == null || candidateFilter.test(next)) && condition.checkNode(next)) {
 				return next;
 			}
 		}
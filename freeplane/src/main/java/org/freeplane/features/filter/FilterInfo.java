@@ -48,6 +48,10 @@ public class FilterInfo {
 		info |= flag;
 	}
 
+	void remove(final int flag) {
+		info &= ~flag;
+	}
+
 	/**
 	 */
 	public boolean canBeAncestor() {
@@ -0,0 +1,96 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.filter;
+
+import java.util.Collection;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.IMapSelection;
+import org.freeplane.features.map.INodeChangeListener;
+import org.freeplane.features.map.MapController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeMoveEvent;
+import org.freeplane.features.mode.Controller;
+
+/**
+ * Keeps the active filter up to date while the map is edited.
+ * Only changed nodes are checked again, inserted nodes stay unchecked until they are changed.
+ */
+class FilterUpdater implements INodeChangeListener, IMapChangeListener {
+	static final String UPDATE_ON_CHANGE_PROPERTY = "filter.reapplyOnChange";
+	private final MapController mapController;
+
+	FilterUpdater(final MapController mapController) {
+		this.mapController = mapController;
+	}
+
+	@Override
+	public void nodeChanged(final NodeChangeEvent event) {
+		if (Filter.class.equals(event.getProperty()) || !isEnabled()) {
+			return;
+		}
+		final NodeModel node = event.getNode();
+		final MapModel map = node.getMap();
+		if (map == null || !node.isRoot() && node.getParentNode() == null) {
+			return;
+		}
+		final Filter filter = FilterController.getFilter(map);
+		refresh(map, filter, filter.updateFilterResults(node));
+	}
+
+	@Override
+	public void onNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+		if (!isEnabled()) {
+			return;
+		}
+		final MapModel map = nodeDeletionEvent.parent.getMap();
+		final Filter filter = FilterController.getFilter(map);
+		refresh(map, filter, filter.updateFilterResultsAfterDeletion(nodeDeletionEvent.parent));
+	}
+
+	@Override
+	public void onNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+		if (!isEnabled()) {
+			return;
+		}
+		final MapModel map = nodeMoveEvent.child.getMap();
+		final Filter filter = FilterController.getFilter(map);
+		refresh(map, filter, filter.updateFilterResultsAfterMove(nodeMoveEvent.oldParent, nodeMoveEvent.child));
+	}
+
+	private boolean isEnabled() {
+		return ResourceController.getResourceController().getBooleanProperty(UPDATE_ON_CHANGE_PROPERTY);
+	}
+
+	private void refresh(final MapModel map, final Filter filter, final Collection<NodeModel> changedNodes) {
+		if (changedNodes.isEmpty()) {
+			return;
+		}
+		for (final NodeModel node : changedNodes) {
+			mapController.nodeRefresh(new NodeChangeEvent(node, Filter.class, null, null, false, false));
+		}
+		final IMapSelection selection = Controller.getCurrentController().getSelection();
+		if (selection != null && selection.getMap() == map && selection.getFilter() == filter) {
+			FilterController.getCurrentFilterController().selectVisibleNodes(selection);
+		}
+	}
+}
@@ -25,7 +25,9 @@ public interface StringMatchingStrategy {
 	
 	double APPROXIMATE_MATCHING_MINPROB = ResourceController.getResourceController().getDoubleProperty("approximate_search_threshold");
 	
-	static final StringMatchingStrategy DEFAULT_APPROXIMATE_STRING_MATCHING_STRATEGY = new PseudoDamerauLevenshtein();
+	/** Creates a new matcher for each call because PseudoDamerauLevenshtein keeps its matrix in fields */
+	static final StringMatchingStrategy DEFAULT_APPROXIMATE_STRING_MATCHING_STRATEGY =
+			(searchTerm, searchText, subStringMatch) -> new PseudoDamerauLevenshtein().matches(searchTerm, searchText, subStringMatch);
 	static final StringMatchingStrategy EXACT_STRING_MATCHING_STRATEGY = new ExactStringMatchingStrategy();
 	
 	/**
@@ -55,5 +55,14 @@ abstract class CombinedConditions extends ASelectableCondition implements ICombi
     }
 
     protected abstract ASelectableCondition[] getConditions();
+
+    @Override
+    public boolean canBeCheckedConcurrently() {
+        for(ASelectableCondition condition : getConditions()) {
+            if(! condition.canBeCheckedConcurrently())
+                return false;
+        }
+        return true;
+    }
     
 }
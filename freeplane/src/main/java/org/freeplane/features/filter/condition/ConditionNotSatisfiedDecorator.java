@@ -64,6 +64,11 @@ public class ConditionNotSatisfiedDecorator extends ASelectableCondition impleme
 		return !originalCondition.checkNode(node);
 	}
 
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return originalCondition.canBeCheckedConcurrently();
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -1,5 +1,8 @@
 package org.freeplane.features.filter.condition;
 
+import java.util.function.Predicate;
+
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 
 public class DelegateCondition extends ASelectableCondition {
@@ -17,6 +20,16 @@ public class DelegateCondition extends ASelectableCondition {
         return delegate.checkNode(node);
     }
 
+    @Override
+    public Predicate<NodeModel> createCandidateFilter(MapModel map) {
+        return delegate.createCandidateFilter(map);
+    }
+
+    @Override
+    public boolean canCacheResult() {
+        return delegate.canCacheResult();
+    }
+
     @Override
     protected String createDescription() {
         return "<" + name + ">";
@@ -22,12 +22,14 @@ package org.freeplane.features.filter.condition;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Vector;
+import java.util.function.Predicate;
 import java.util.stream.Stream;
 
 import javax.swing.JComponent;
 import javax.swing.JLabel;
 
 import org.freeplane.core.util.TextUtils;
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.n3.nanoxml.XMLElement;
 
@@ -83,6 +85,20 @@ public class DisjunctConditions extends CombinedConditions implements ICombinedC
 		return false;
 	}
 
+	@Override
+	public Predicate<NodeModel> createCandidateFilter(final MapModel map) {
+		Predicate<NodeModel> candidateFilter = null;
+		for (final ASelectableCondition condition : conditions) {
+			final Predicate<NodeModel> conditionCandidateFilter = condition.createCandidateFilter(map);
+			if (conditionCandidateFilter == null) {
+				return null;
+			}
+			candidateFilter = candidateFilter == null ? conditionCandidateFilter
+			        : candidateFilter.or(conditionCandidateFilter);
+		}
+		return candidateFilter;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see
@@ -19,8 +19,36 @@
  */
 package org.freeplane.features.filter.condition;
 
+import java.util.function.Predicate;
+
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 
 public interface ICondition {
 	boolean checkNode(NodeModel node);
+
+	/**
+	 * Conditions returning true can check different nodes at the same time in several threads,
+	 * provided that the map is not modified meanwhile.
+	 */
+	default boolean canBeCheckedConcurrently() {
+		return false;
+	}
+
+	/**
+	 * Returns a predicate which is false for nodes of the given map that certainly do not satisfy the condition,
+	 * or null if every node has to be checked. Nodes accepted by the predicate still have to be checked.
+	 */
+	default Predicate<NodeModel> createCandidateFilter(MapModel map) {
+		return null;
+	}
+
+	/**
+	 * Conditions returning false can change their result for a node although neither the node
+	 * nor its parent, children or position have changed, e.g. because they depend on the selection or on the current time.
+	 * Styles of nodes checked by such conditions can not be cached.
+	 */
+	default boolean canCacheResult() {
+		return true;
+	}
 }
@@ -61,6 +61,11 @@ public class SelectedViewCondition extends ASelectableCondition implements Condi
     public boolean canBePersisted() {
         return false;
     }
+
+    @Override
+    public boolean canCacheResult() {
+        return false;
+    }
  
 	@Override
     public ASelectableCondition createSnapshotCondition() {
@@ -300,7 +300,7 @@ public class MIconController extends IconController {
 
 			@Override
 			public void act() {
-				oldIconSize = node.getSharedData().getIcons().getIconSize();
+				oldIconSize = node.getSharedData().getIconSize();
 				node.getSharedData().getIcons().setIconSize(iconSize);
 				Controller.getCurrentModeController().getMapController().nodeChanged(node, NodeModel.NODE_ICON_SIZE, null, iconSize);
 			}
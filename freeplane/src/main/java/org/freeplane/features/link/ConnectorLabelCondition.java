@@ -88,6 +88,12 @@ public abstract class ConnectorLabelCondition extends StringConditionAdapter {
 		return false;
 	}
 
+	/** Connectors are also checked at their target nodes, whose changes are not reported when connectors change. */
+	@Override
+	public boolean canCacheResult() {
+		return false;
+	}
+
 	abstract protected String createDescription();
 
 	protected abstract String getName();
@@ -64,6 +64,11 @@ public class CloneOfSelectedViewCondition extends ASelectableCondition implement
         return false;
     }
 
+    @Override
+    public boolean canCacheResult() {
+        return false;
+    }
+
 	public ASelectableCondition createSnapshotCondition() {
 	    return new CloneOfSelectedViewSnapshotCondition(Controller.getCurrentController().getSelection().getSelection());
     }
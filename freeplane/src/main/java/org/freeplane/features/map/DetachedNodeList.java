@@ -97,4 +97,8 @@ public class DetachedNodeList implements Clones {
 	public CloneType getCloneType() {
 		return cloneType;
 	}
+
+	boolean isDetachedWithoutClones(NodeModel node) {
+		return clone == node && clonedNode == node;
+	}
 }
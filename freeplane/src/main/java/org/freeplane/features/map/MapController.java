@@ -32,10 +32,13 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.Date;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map.Entry;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.swing.Action;
@@ -314,6 +317,11 @@ implements IExtension, NodeChangeAnnouncer{
 	final private MapWriter mapWriter;
  	final private ModeController modeController;
 	final LinkedList<INodeChangeListener> nodeChangeListeners;
+	final private Set<INodeChangeListener> uiNodeChangeListeners;
+	private final Object nodeChangeBatchLock = new Object();
+	private Thread nodeChangeBatchThread;
+	private int nodeChangeBatchDepth;
+	private final LinkedHashMap<NodeRefreshKey, NodeChangeEvent> batchedNodeChanges = new LinkedHashMap<NodeRefreshKey, NodeChangeEvent>();
 	final private ReadManager readManager;
 	private final WriteManager writeManager;
 
@@ -346,6 +354,10 @@ implements IExtension, NodeChangeAnnouncer{
 		writeManager.addExtensionElementWriter(UnknownElements.class, unknownElementWriter);
 		mapChangeListeners = new LinkedList<IMapChangeListener>();
 		nodeChangeListeners = new LinkedList<INodeChangeListener>();
+		uiNodeChangeListeners = Collections.newSetFromMap(new IdentityHashMap<INodeChangeListener, Boolean>());
+		final SerializedNodeCache.Invalidator serializedNodeCacheInvalidator = new SerializedNodeCache.Invalidator();
+		addNodeChangeListener(serializedNodeCacheInvalidator);
+		addMapChangeListener(serializedNodeCacheInvalidator);
 		actionEnablerOnChange = new ActionEnablerOnChange(modeController);
 		actionSelectorOnChange = new ActionSelectorOnChange(modeController);
 		addNodeSelectionListener(actionEnablerOnChange);
@@ -536,8 +548,10 @@ implements IExtension, NodeChangeAnnouncer{
 	}
 
 	public void addUINodeChangeListener(final INodeChangeListener listener) {
-		if(!GraphicsEnvironment.isHeadless())
+		if(!GraphicsEnvironment.isHeadless()) {
 			nodeChangeListeners.add(listener);
+			uiNodeChangeListeners.add(listener);
+		}
 	}
 
 	public void addNodeChangeListener(final INodeChangeListener listener) {
@@ -636,10 +650,97 @@ implements IExtension, NodeChangeAnnouncer{
 	}
 
 	private void fireNodeChanged(final NodeModel node, final NodeChangeEvent nodeChangeEvent) {
+		if (isNodeChangeBatchRunning()) {
+			final INodeChangeListener[] modelNodeChangeListeners = getNodeChangeListeners(false);
+			node.fireNodeChanged(modelNodeChangeListeners, nodeChangeEvent, false);
+			batchNodeChange(nodeChangeEvent);
+			return;
+		}
 		final INodeChangeListener[] nodeChangeListeners = this.nodeChangeListeners.toArray(new INodeChangeListener[]{});
 	    node.fireNodeChanged(nodeChangeListeners, nodeChangeEvent);
 	}
 
+	private INodeChangeListener[] getNodeChangeListeners(final boolean uiListeners) {
+		final ArrayList<INodeChangeListener> listeners = new ArrayList<INodeChangeListener>(nodeChangeListeners.size());
+		for (final INodeChangeListener listener : nodeChangeListeners) {
+			if (uiNodeChangeListeners.contains(listener) == uiListeners)
+				listeners.add(listener);
+		}
+		return listeners.toArray(new INodeChangeListener[listeners.size()]);
+	}
+
+	/**
+	 * Starts collecting node changes for bulk operations. Until the matching {@link #endNodeChangeBatch()}
+	 * node change listeners added by {@link #addNodeChangeListener(INodeChangeListener)} are notified immediately,
+	 * but user interface listeners and node views receive one event per changed node and property at the end,
+	 * except for nodes which are no longer in the map then.
+	 * Map changes like node insertion, deletion and moves are never collected.
+	 * Batches can be nested, only changes made in the thread starting the outermost batch are collected.
+	 * Batches can be started in any thread, for example by scripts; while one thread runs a batch,
+	 * the changes of other threads are delivered immediately.
+	 */
+	public void beginNodeChangeBatch() {
+		synchronized (nodeChangeBatchLock) {
+			if (nodeChangeBatchDepth == 0)
+				nodeChangeBatchThread = Thread.currentThread();
+			else if (nodeChangeBatchThread != Thread.currentThread())
+				return;
+			nodeChangeBatchDepth++;
+		}
+	}
+
+	/** Ends the batch started by {@link #beginNodeChangeBatch()} and delivers the collected changes if it is the outermost one. */
+	public void endNodeChangeBatch() {
+		final NodeChangeEvent[] events;
+		synchronized (nodeChangeBatchLock) {
+			if (nodeChangeBatchDepth == 0 || nodeChangeBatchThread != Thread.currentThread())
+				return;
+			if (--nodeChangeBatchDepth > 0)
+				return;
+			nodeChangeBatchThread = null;
+			if (batchedNodeChanges.isEmpty())
+				return;
+			events = batchedNodeChanges.values().toArray(new NodeChangeEvent[batchedNodeChanges.size()]);
+			batchedNodeChanges.clear();
+		}
+		final INodeChangeListener[] uiNodeChangeListeners = getNodeChangeListeners(true);
+		// nodes deleted during the batch have no views to update
+		for (final NodeChangeEvent event : events)
+			event.getNode().fireAttachedNodesChanged(uiNodeChangeListeners, event);
+	}
+
+	/** Runs the bulk operation in a node change batch, see {@link #beginNodeChangeBatch()} */
+	public void runInNodeChangeBatch(final Runnable operation) {
+		beginNodeChangeBatch();
+		try {
+			operation.run();
+		}
+		finally {
+			endNodeChangeBatch();
+		}
+	}
+
+	private boolean isNodeChangeBatchRunning() {
+		synchronized (nodeChangeBatchLock) {
+			return nodeChangeBatchDepth > 0 && nodeChangeBatchThread == Thread.currentThread();
+		}
+	}
+
+	/** keeps the first old value and the last new value of every changed node and property */
+	private void batchNodeChange(final NodeChangeEvent event) {
+		final NodeRefreshKey key = new NodeRefreshKey(event.getNode(), event.getProperty());
+		synchronized (nodeChangeBatchLock) {
+			final NodeChangeEvent batchedEvent = batchedNodeChanges.get(key);
+			if (batchedEvent == null)
+				batchedNodeChanges.put(key, event);
+			else
+				batchedNodeChanges.put(key, new NodeChangeEvent(event.getNode(), event.getProperty(),
+				    batchedEvent.getOldValue(), event.getNewValue(),
+				    batchedEvent.setsDirtyFlag() || event.setsDirtyFlag(),
+				    batchedEvent.updatesModificationTime() || event.updatesModificationTime()));
+		}
+	}
+
 	protected void fireNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
 		final IMapChangeListener[] list = mapChangeListeners.toArray(new IMapChangeListener[]{});
 		for (final IMapChangeListener next : list) {
@@ -1013,6 +1114,7 @@ implements IExtension, NodeChangeAnnouncer{
 			final INodeChangeListener next = iterator.next();
 			if (next instanceof IActionOnChange && ((IActionOnChange) next).getAction() == action) {
 				iterator.remove();
+				uiNodeChangeListeners.remove(next);
 				return;
 			}
 		}
@@ -1031,6 +1133,7 @@ implements IExtension, NodeChangeAnnouncer{
 
 	public void removeNodeChangeListener(final INodeChangeListener listener) {
 		nodeChangeListeners.remove(listener);
+		uiNodeChangeListeners.remove(listener);
 	}
 
 	void removeNodeSelectionListener(final Class<? extends IActionOnChange> clazz, final Action action) {
@@ -47,7 +47,7 @@ public class MapModel {
 	private final ExtensionContainer extensionContainer;
 	private IconRegistry iconRegistry;
 	final private List<IMapChangeListener> listeners;
-	final private Map<String, NodeModel> nodes;
+	final private NodeRegistry nodes;
 	private boolean readOnly = false;
 	private NodeModel root;
 	private URL url;
@@ -57,7 +57,7 @@ public class MapModel {
 		extensionContainer = new ExtensionContainer(new HashMap<Class<? extends IExtension>, IExtension>());
 		this.root = null;
 		listeners = new LinkedList<IMapChangeListener>();
-		nodes = new HashMap<String, NodeModel>();
+		nodes = new NodeRegistry();
 		this.iconRegistry = iconRegistry;
 		this.nodeChangeAnnouncer = nodeChangeAnnouncer;
 	}
@@ -113,16 +113,15 @@ public class MapModel {
 		if (proposedID != null && !"".equals(proposedID) && getNodeForID(proposedID) == null) {
 			return proposedID;
 		}
-		String returnValue;
+		int idNumber;
 		do {
-			final String prefix = "ID_";
-			/*
-			 * The prefix is to enable the id to be an ID in the sense of
-			 * XML/DTD.
-			 */
-			returnValue = prefix + Integer.toString(ran.nextInt(UNDEFINED_NODE_ID));
-		} while (nodes.containsKey(returnValue));
-		return returnValue;
+			idNumber = ran.nextInt(UNDEFINED_NODE_ID);
+		} while (nodes.contains(idNumber));
+		/*
+		 * The prefix is to enable the id to be an ID in the sense of
+		 * XML/DTD.
+		 */
+		return NodeRegistry.id(idNumber);
 	}
 
 	public <T extends IExtension> T getExtension(final Class<T> clazz) {
@@ -198,6 +197,23 @@ public class MapModel {
 		}
 	}
 
+	/** registers the node for its id without converting generated ids to strings */
+	private void registryID(final NodeModel nodeModel) {
+		final int idNumber = nodeModel.getIdNumber();
+		if (idNumber != NodeRegistry.NO_ID_NUMBER) {
+			final NodeModel old = nodes.put(idNumber, nodeModel);
+			if (null != old && nodeModel != old) {
+				throw new RuntimeException("id " + NodeRegistry.id(idNumber) + " already registered");
+			}
+		}
+		else {
+			final String id = nodeModel.getID();
+			if (id != null) {
+				registryID(id, nodeModel);
+			}
+		}
+	}
+
 	/**
 	 * @param nodeModel
 	 * @return
@@ -216,10 +232,7 @@ public class MapModel {
 		if (depth > 400) {
 			throw new StackOverflowError();
 		}
-		final String id = nodeModel.getID();
-		if (id != null) {
-			registryID(id, nodeModel);
-		}
+		registryID(nodeModel);
 		final Iterator<NodeModel> iterator = nodeModel.getChildren().iterator();
 		while (iterator.hasNext()) {
 			final NodeModel next = iterator.next();
@@ -279,9 +292,15 @@ public class MapModel {
 		for (final NodeModel child : children) {
 			unregistryNodes(child);
 		}
-		final String id = node.getID();
-		if (id != null) {
-			nodes.put(id, null);
+		final int idNumber = node.getIdNumber();
+		if (idNumber != NodeRegistry.NO_ID_NUMBER) {
+			nodes.put(idNumber, null);
+		}
+		else {
+			final String id = node.getID();
+			if (id != null) {
+				nodes.put(id, null);
+			}
 		}
 	}
 
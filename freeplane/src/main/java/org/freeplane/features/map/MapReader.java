@@ -27,7 +27,9 @@ import java.util.Map;
 import org.freeplane.core.io.IElementDOMHandler;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.UnknownElements;
+import org.freeplane.core.io.xml.TreeXmlPullReader;
 import org.freeplane.core.io.xml.TreeXmlReader;
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.features.map.MapWriter.Hint;
 import org.freeplane.features.map.MapWriter.Mode;
 import org.freeplane.n3.nanoxml.XMLElement;
@@ -38,6 +40,8 @@ import org.freeplane.n3.nanoxml.XMLException;
  * 20.12.2008
  */
 public class MapReader implements IElementDOMHandler {
+	public static final String STREAMING_LOADER_PROPERTY = "load_maps_with_streaming_parser";
+
 	public class NodeTreeCreator {
 		private MapModel createdMap;
 		private final Map<Object, Object> hints;
@@ -56,10 +60,12 @@ public class MapReader implements IElementDOMHandler {
 
 		public NodeModel create(final Reader pReader) throws XMLException {
 			final NodeTreeCreator oldNodeTreeCreator = nodeTreeCreator;
-			final TreeXmlReader reader = new TreeXmlReader(readManager);
 			try {
 				nodeTreeCreator = this;
-				reader.load(createdMap, pReader);
+				if (ResourceController.getResourceController().getBooleanProperty(STREAMING_LOADER_PROPERTY))
+					new TreeXmlPullReader(readManager).load(createdMap, pReader);
+				else
+					new TreeXmlReader(readManager).load(createdMap, pReader);
 				final NodeModel node = nodeBuilder.getMapChild();
 				return node;
 			}
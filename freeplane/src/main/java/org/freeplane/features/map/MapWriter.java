@@ -41,6 +41,8 @@ import org.freeplane.n3.nanoxml.XMLElement;
  */
 public class MapWriter implements IElementWriter, IAttributeWriter {
 
+	public static final String NODE_CACHE_PROPERTY = "cache_saved_nodes";
+
 	public enum WriterHint {
 		FORCE_FORMATTING, ALREADY_WRITTEN
 	}
@@ -116,20 +118,51 @@ public class MapWriter implements IElementWriter, IAttributeWriter {
 		if (oldNodeWriter != null)
 			oldNodeWriter.unregisterFrom(writeManager);
 		LinkBuilder currentLinkBuilder = new LinkBuilder(mapController.getModeController().getExtension(LinkController.class));
-		currentNodeWriter = new NodeWriter(mapController, currentLinkBuilder, nodeTag, writeChildren, writeInvisible);
+		final SerializedNodeCache nodeCache = getNodeCache(xmlWriter, node, writeInvisible, writeChildren);
+		final TreeXmlWriter recordingWriter = nodeCache != null ? (TreeXmlWriter) xmlWriter : null;
+		currentNodeWriter = new NodeWriter(mapController, currentLinkBuilder, nodeTag, writeChildren, writeInvisible,
+		    nodeCache, recordingWriter);
+		boolean written = false;
 		try {
 			currentNodeWriter.registerBy(writeManager);
+			if (recordingWriter != null)
+				recordingWriter.startRecording();
 			xmlWriter.addElement(node, nodeTag);
+			if (recordingWriter != null)
+				nodeCache.setOutput(recordingWriter.getRecordedOutput(0, recordingWriter.getRecordedLength()));
+			written = true;
 		}
 		finally {
-			
+			if (recordingWriter != null) {
+				recordingWriter.stopRecording();
+				if (!written)
+					node.getMap().removeExtension(SerializedNodeCache.class);
+			}
 			currentNodeWriter.unregisterFrom(writeManager);
-				if (oldNodeWriter != null)
+			if (oldNodeWriter != null)
 				oldNodeWriter.registerBy(writeManager);
 			currentNodeWriter = oldNodeWriter;
 		}
 	}
 
+	private SerializedNodeCache getNodeCache(final ITreeWriter xmlWriter, final NodeModel node,
+	                                         final boolean writeInvisible, final boolean writeChildren) {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		if (!resourceController.getBooleanProperty(NODE_CACHE_PROPERTY)
+		        || !node.isRoot()
+		        || !(xmlWriter instanceof TreeXmlWriter)
+		        || ((TreeXmlWriter) xmlWriter).isRecording()
+		        || !Mode.FILE.equals(xmlWriter.getHint(Hint.MODE))
+		        || Boolean.TRUE.equals(xmlWriter.getHint(WriterHint.FORCE_FORMATTING))
+		        || !writeInvisible || !writeChildren) {
+			return null;
+		}
+		final String writerSettings = resourceController.getBooleanProperty("useAsciiCharset") + ";"
+		        + resourceController.getProperty(NodeBuilder.RESOURCES_SAVE_FOLDING) + ";"
+		        + resourceController.getBooleanProperty(NodeBuilder.RESOURCES_SAVE_MODIFICATION_TIMES);
+		return SerializedNodeCache.getCache(node.getMap(), writerSettings);
+	}
+
 	public void writeNodeAsXml(final Writer writer, final NodeModel node, final Mode mode,
 	                           final boolean writeInvisible, final boolean writeChildren, boolean forceFormat) throws IOException {
 		final TreeXmlWriter xmlWriter = createTreeWriter(writer);
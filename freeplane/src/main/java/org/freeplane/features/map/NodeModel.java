@@ -68,19 +68,28 @@ public class NodeModel{
 	public static final String NODE_ICON_SIZE = "icon_size";
 	static public final Object HYPERLINK_CHANGED = "hyperlink_changed";
 
+	/** shared by all nodes without children, replaced by an array list when the first child is added */
+	private static final List<NodeModel> NO_CHILDREN = Collections.emptyList();
+	/** marks attached nodes without clones, whose clone lists contain only the node itself */
+	private static final Clones[] ATTACHED_WITHOUT_CLONES = new Clones[0];
+
 	private List<NodeModel> children;
 	private NodeModel parent;
+	/** the id if it does not follow the scheme of generated ids, which are kept as number only */
 	private String id;
+	private int idNumber = NodeRegistry.NO_ID_NUMBER;
 	private MapModel map = null;
 	private int position = NodeModel.UNKNOWN_POSITION;
 	private NodeModel preferredChild;
 	private Collection<INodeView> views = null;
 
 	private SharedNodeData sharedData;
+	/** null for detached nodes without clones, {@link #ATTACHED_WITHOUT_CLONES} for attached nodes without clones,
+	 * otherwise the clone lists indexed by clone type */
 	private Clones[] clones;
 
 	void setClones(Clones clones) {
-		this.clones[clones.getCloneType().ordinal()] = clones;
+		putClones(clones);
 		for(NodeModel clone : clones)
 			clone.fireNodeChanged(new NodeChangeEvent(this, NodeModel.UNKNOWN_PROPERTY, null, null, false, false));
 	}
@@ -95,16 +104,16 @@ public class NodeModel{
 
 	public NodeModel(final Object userObject, final MapModel map) {
 		this.map = map;
-		children = new ArrayList<NodeModel>();
+		children = NO_CHILDREN;
 		sharedData = new SharedNodeData();
 		init(userObject);
-		clones = new Clones[]{new DetachedNodeList(this, TREE), new DetachedNodeList(this, CONTENT)};
+		clones = null;
 	}
 
 	private NodeModel(NodeModel toBeCloned, CloneType cloneType){
 		this.map = toBeCloned.map;
 		this.sharedData = toBeCloned.sharedData;
-		children = new ArrayList<NodeModel>();
+		children = NO_CHILDREN;
 		clones = new Clones[]{new DetachedNodeList(this, cloneType == TREE ? toBeCloned : this, TREE), new DetachedNodeList(this, toBeCloned, CONTENT)};
 	}
 
@@ -162,6 +171,13 @@ public class NodeModel{
 	    this.children = chidren;
     }
 
+	/** returns the child list for adding children, it is allocated when the first child is added */
+	protected List<NodeModel> getModifiableChildrenInternal() {
+		if (children == NO_CHILDREN)
+			children = new ArrayList<NodeModel>();
+		return children;
+	}
+
 	public Enumeration<NodeModel> children() {
 		final Iterator<NodeModel> i = getChildrenInternal().iterator();
 		return new Enumeration<NodeModel>() {
@@ -178,14 +194,16 @@ public class NodeModel{
 	}
 
 	public boolean containsExtension(final Class<? extends IExtension> clazz) {
-		return getExtensionContainer().containsExtension(clazz);
+		return getReadOnlyExtensionContainer().containsExtension(clazz);
 	}
 
 	public String createID() {
-		if (id == null) {
-			id = getMap().registryNode(this);
+		if (!hasID()) {
+			final String newId = getMap().registryNode(this);
+			storeID(newId);
+			return newId;
 		}
-		return id;
+		return getID();
 	}
 
 	public void fireNodeChanged(final NodeChangeEvent nodeChangeEvent) {
@@ -246,11 +264,11 @@ public class NodeModel{
 	}
 
     public <T extends IExtension> T getExtension(final Class<T> clazz) {
-		return getExtensionContainer().getExtension(clazz);
+		return getReadOnlyExtensionContainer().getExtension(clazz);
 	}
 
 	public Map<Class<? extends IExtension>, IExtension> getSharedExtensions() {
-		return getExtensionContainer().getExtensions();
+		return getReadOnlyExtensionContainer().getExtensions();
 	};
 
 	public HistoryInformationModel getHistoryInformation() {
@@ -258,17 +276,28 @@ public class NodeModel{
 	}
 
 	public NamedIcon getIcon(final int position) {
-		return getIconModel().getIcon(position);
+		return sharedData.getReadOnlyIcons().getIcon(position);
 	}
 
 	public List<NamedIcon> getIcons() {
-		return getIconModel().getIcons();
+		return sharedData.getReadOnlyIcons().getIcons();
 	}
 
+	/**
+	 * returns the id, ids following the scheme of generated ids are converted to a new string on each call.
+	 * Keeping the string would make every node of a saved map hold it.
+	 */
 	public String getID() {
+		if (idNumber != NodeRegistry.NO_ID_NUMBER)
+			return NodeRegistry.id(idNumber);
 		return id;
 	}
 
+	/** returns the number of a generated id or {@link NodeRegistry#NO_ID_NUMBER} for other ids */
+	int getIdNumber() {
+		return idNumber;
+	}
+
 	public int getIndex(final NodeModel node) {
 		return children.indexOf(node);
 	}
@@ -335,17 +364,17 @@ public class NodeModel{
 	}
 
 	public boolean hasID() {
-		return id != null;
+		return id != null || idNumber != NodeRegistry.NO_ID_NUMBER;
 	}
 
 	public void insert(final NodeModel child, int index) {
 		final NodeModel childNode = child;
 		if (index < 0) {
 			index = getChildCount();
-			children.add(index, child);
+			getModifiableChildrenInternal().add(index, child);
 		}
 		else {
-			children.add(index, child);
+			getModifiableChildrenInternal().add(index, child);
 			preferredChild = childNode;
 		}
 		child.setParent(this);
@@ -443,11 +472,12 @@ public class NodeModel{
     }
 
 	public <T extends IExtension> T removeExtension(final Class<T> clazz){
-		return getExtensionContainer().removeExtension(clazz);
+		return getReadOnlyExtensionContainer().containsExtension(clazz) ? getExtensionContainer().removeExtension(clazz) : null;
 	}
 
 	public boolean removeExtension(final IExtension extension) {
-		return getExtensionContainer().removeExtension(extension);
+		return getReadOnlyExtensionContainer().containsExtension(extension.getClass())
+		        && getExtensionContainer().removeExtension(extension);
 	}
 
 	/**
@@ -476,6 +506,7 @@ public class NodeModel{
 		boolean wasFolded = isFolded();
 		if (wasFolded != folded && isAccessible()) {
 			sharedData.setFolded(folded && ! AlwaysUnfoldedNode.isAlwaysUnfolded(this));
+			SerializedNodeCache.nodeChanged(this);
 		}
 		fireNodeChanged(new NodeChangeEvent(this, NodeChangeType.FOLDING, Boolean.valueOf(wasFolded), Boolean.valueOf(folded), false, false));
 	}
@@ -485,10 +516,15 @@ public class NodeModel{
 	}
 
 	public void setID(final String value) {
-		id = value;
+		storeID(value);
 		getMap().registryID(value, this);
 	}
 
+	private void storeID(final String value) {
+		idNumber = NodeRegistry.idNumber(value);
+		id = idNumber == NodeRegistry.NO_ID_NUMBER ? value : null;
+	}
+
 	public void setLeft(final boolean isLeft) {
 		position = isLeft ? NodeModel.LEFT_POSITION : NodeModel.RIGHT_POSITION;
 		if (!isRoot()) {
@@ -525,8 +561,8 @@ public class NodeModel{
     }
 
 	private void attachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.attach();
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).attach();
 	}
 
 	private void detach() {
@@ -536,13 +572,13 @@ public class NodeModel{
     }
 
 	private void detachClones() {
-		for(Clones clonesGroup : clones)
-			clonesGroup.detach(this);
+		for(CloneType cloneType : CloneType.values())
+			clones(cloneType).detach(this);
 	}
 
 
 	boolean isAttached() {
-	    return clones[0].size() != 0;
+	    return cloneCount(TREE_CLONE_INDEX) != 0;
     }
 
 	public final void setText(final String text) {
@@ -557,9 +593,14 @@ public class NodeModel{
 		sharedData.setXmlText(pXmlText);
 	}
 
+	/** returns {@link HtmlUtils#htmlToPlain(String)} of the text, which is converted only once after each text change */
+	public String getPlainText() {
+		return sharedData.getPlainText();
+	}
+
 	@Override
 	public String toString() {
-		return HtmlUtils.htmlToPlain(getText());
+		return getPlainText();
 	}
 
 	public int depth() {
@@ -586,22 +627,39 @@ public class NodeModel{
 	    return sharedData.getExtensionContainer();
     }
 
+	private ExtensionContainer getReadOnlyExtensionContainer() {
+	    return sharedData.getReadOnlyExtensionContainer();
+    }
+
 	private NodeIconSetModel getIconModel() {
 	    return sharedData.getIcons();
     }
 
 	void fireNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
-		for(NodeModel node : clones[CONTENT.ordinal()]){
+		fireNodeChanged(nodeChangeListeners, nodeChangeEvent, true);
+	}
+
+	void fireNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent, boolean notifyViews) {
+		for(NodeModel node : clones(CONTENT)){
 			final NodeChangeEvent cloneEvent = nodeChangeEvent.forNode(node);
-			node.fireSingleNodeChanged(nodeChangeListeners, cloneEvent);
+			node.fireSingleNodeChanged(nodeChangeListeners, cloneEvent, notifyViews);
 		}
 	}
 
-	private void fireSingleNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
+	/** notifies listeners and views of the clones still contained in the map */
+	void fireAttachedNodesChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent) {
+		for(NodeModel node : clones(CONTENT)){
+			if(node.isAttached())
+				node.fireSingleNodeChanged(nodeChangeListeners, nodeChangeEvent.forNode(node), true);
+		}
+	}
+
+	private void fireSingleNodeChanged(INodeChangeListener[] nodeChangeListeners, final NodeChangeEvent nodeChangeEvent, boolean notifyViews) {
 	    for (final INodeChangeListener listener : nodeChangeListeners) {
 			listener.nodeChanged(nodeChangeEvent);
 		}
-		fireNodeChanged(nodeChangeEvent);
+	    if (notifyViews)
+	    	fireNodeChanged(nodeChangeEvent);
     }
 
     public NodeModel cloneTree(){
@@ -631,8 +689,8 @@ public class NodeModel{
 	public void convertToClone(NodeModel node, CloneType cloneType) {
 		sharedData = node.sharedData;
 		if(cloneType == TREE)
-			this.clones[TREE.ordinal()] = new DetachedNodeList(this, node, TREE);
-		this.clones[CONTENT.ordinal()] = new DetachedNodeList(this, node, CONTENT);
+			putClones(new DetachedNodeList(this, node, TREE));
+		putClones(new DetachedNodeList(this, node, CONTENT));
     }
 
 	public  Clones subtreeClones() {
@@ -644,9 +702,44 @@ public class NodeModel{
     }
 
 	Clones clones(final CloneType cloneType) {
+		if (clones == null)
+			return new DetachedNodeList(this, cloneType);
+		if (clones == ATTACHED_WITHOUT_CLONES)
+			return new SingleNodeList(this, cloneType);
 		return clones[cloneType.ordinal()];
 	}
 
+	private int cloneCount(final int cloneTypeIndex) {
+		if (clones == null)
+			return 0;
+		if (clones == ATTACHED_WITHOUT_CLONES)
+			return 1;
+		return clones[cloneTypeIndex].size();
+	}
+
+	/** keeps the clone lists without allocating them for nodes without clones */
+	private void putClones(final Clones newClones) {
+		final Clones[] allClones = new Clones[] { clones(TREE), clones(CONTENT) };
+		allClones[newClones.getCloneType().ordinal()] = newClones;
+		if (isDetachedWithoutClones(allClones[TREE_CLONE_INDEX])
+		        && isDetachedWithoutClones(allClones[CONTENT_CLONE_INDEX]))
+			clones = null;
+		else if (allClones[TREE_CLONE_INDEX] instanceof SingleNodeList
+		        && allClones[CONTENT_CLONE_INDEX] instanceof SingleNodeList)
+			clones = ATTACHED_WITHOUT_CLONES;
+		else
+			clones = allClones;
+	}
+
+	/** false for nodes in one of the states kept without clone lists */
+	boolean hasCloneLists() {
+		return clones != null && clones != ATTACHED_WITHOUT_CLONES;
+	}
+
+	private boolean isDetachedWithoutClones(final Clones clones) {
+		return clones instanceof DetachedNodeList && ((DetachedNodeList) clones).isDetachedWithoutClones(this);
+	}
+
 	public boolean subtreeContainsCloneOf(NodeModel node) {
 		for(NodeModel clone : node.subtreeClones())
 			if(equals(clone))
@@ -674,12 +767,12 @@ public class NodeModel{
     }
 
 	public boolean isCloneTreeRoot(){
-		return parent != null && parent.clones[TREE_CLONE_INDEX].size() < clones[TREE_CLONE_INDEX].size()
-				|| clones[TREE_CLONE_INDEX].size() == 1 && clones[CONTENT_CLONE_INDEX].size() > 1;
+		return parent != null && parent.cloneCount(TREE_CLONE_INDEX) < cloneCount(TREE_CLONE_INDEX)
+				|| cloneCount(TREE_CLONE_INDEX) == 1 && cloneCount(CONTENT_CLONE_INDEX) > 1;
 	}
 
 	public boolean isCloneTreeNode(){
-		return parent != null && clones[TREE_CLONE_INDEX].size() > 1 && parent.clones[TREE_CLONE_INDEX].size() == clones[TREE_CLONE_INDEX].size();
+		return parent != null && cloneCount(TREE_CLONE_INDEX) > 1 && parent.cloneCount(TREE_CLONE_INDEX) == cloneCount(TREE_CLONE_INDEX);
 	}
 
 	public int nextNodeIndex(int index, final boolean leftSide) {
@@ -718,9 +811,11 @@ public class NodeModel{
 		Clones[] clonesSwap = clones;
 		this.clones = duplicate.clones;
 		duplicate.clones = clonesSwap;
-		for(CloneType cloneType : CloneType.values()) {
-			final DetachedNodeList detachedClone = (DetachedNodeList) clones[cloneType.ordinal()];
-			clones[cloneType.ordinal()] = detachedClone.forClone(this);
+		if (clones != null) {
+			for(CloneType cloneType : CloneType.values()) {
+				final DetachedNodeList detachedClone = (DetachedNodeList) clones[cloneType.ordinal()];
+				putClones(detachedClone.forClone(this));
+			}
 		}
 
 		this.attachClones();
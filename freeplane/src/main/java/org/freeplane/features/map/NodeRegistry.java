@@ -0,0 +1,144 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.map;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps node ids to nodes of a map.
+ * Ids of the form {@code ID_<number>} generated by {@link MapModel#generateNodeID(String)} are kept
+ * by their number in an open addressing hash table, other ids in a hash map.
+ * <p>
+ * Ids are never removed, unregistered ids stay reserved mapped to null,
+ * so that they are not generated again while undoable actions can restore their nodes.
+ */
+class NodeRegistry {
+	static final int NO_ID_NUMBER = -1;
+	private static final String ID_PREFIX = "ID_";
+	private static final int EMPTY = -1;
+	private static final int INITIAL_CAPACITY = 64;
+
+	private int[] numbers;
+	private NodeModel[] nodes;
+	private int numberCount;
+	private final Map<String, NodeModel> otherNodes;
+
+	NodeRegistry() {
+		numbers = createNumbers(INITIAL_CAPACITY);
+		nodes = new NodeModel[INITIAL_CAPACITY];
+		numberCount = 0;
+		otherNodes = new HashMap<String, NodeModel>();
+	}
+
+	/** returns the number of ids of the form {@code ID_<number>} which convert back to the same id,
+	 * otherwise {@link #NO_ID_NUMBER} */
+	static int idNumber(final String id) {
+		if (id == null || !id.startsWith(ID_PREFIX))
+			return NO_ID_NUMBER;
+		final int length = id.length();
+		final int start = ID_PREFIX.length();
+		if (length == start || length - start > 10 || id.charAt(start) == '0' && length > start + 1)
+			return NO_ID_NUMBER;
+		long number = 0;
+		for (int i = start; i < length; i++) {
+			final char c = id.charAt(i);
+			if (c < '0' || c > '9')
+				return NO_ID_NUMBER;
+			number = number * 10 + c - '0';
+		}
+		return number <= Integer.MAX_VALUE ? (int) number : NO_ID_NUMBER;
+	}
+
+	static String id(final int idNumber) {
+		return ID_PREFIX + idNumber;
+	}
+
+	NodeModel get(final String id) {
+		final int idNumber = idNumber(id);
+		if (idNumber == NO_ID_NUMBER)
+			return otherNodes.get(id);
+		return nodes[indexOf(idNumber)];
+	}
+
+	/** returns true if the id has been registered, even if its node has been unregistered */
+	boolean contains(final int idNumber) {
+		return numbers[indexOf(idNumber)] != EMPTY;
+	}
+
+	/** registers the node for the id and returns the node previously registered for it */
+	NodeModel put(final String id, final NodeModel node) {
+		final int idNumber = idNumber(id);
+		if (idNumber == NO_ID_NUMBER)
+			return otherNodes.put(id, node);
+		return put(idNumber, node);
+	}
+
+	/** registers the node for the generated id with the given number and returns the node previously registered for it */
+	NodeModel put(final int idNumber, final NodeModel node) {
+		final int index = indexOf(idNumber);
+		final NodeModel oldNode = nodes[index];
+		nodes[index] = node;
+		if (numbers[index] == EMPTY) {
+			numbers[index] = idNumber;
+			numberCount++;
+			if (numberCount > numbers.length / 2)
+				grow();
+		}
+		return oldNode;
+	}
+
+	/** returns the index of the number or of the empty slot where it belongs */
+	private int indexOf(final int idNumber) {
+		final int mask = numbers.length - 1;
+		int index = hash(idNumber) & mask;
+		for (;;) {
+			final int number = numbers[index];
+			if (number == idNumber || number == EMPTY)
+				return index;
+			index = (index + 1) & mask;
+		}
+	}
+
+	/** spreads sequential numbers over the table */
+	private static int hash(final int idNumber) {
+		final int hash = idNumber * 0x9E3779B9;
+		return hash ^ (hash >>> 16);
+	}
+
+	private void grow() {
+		final int[] oldNumbers = numbers;
+		final NodeModel[] oldNodes = nodes;
+		numbers = createNumbers(oldNumbers.length * 2);
+		nodes = new NodeModel[oldNumbers.length * 2];
+		for (int i = 0; i < oldNumbers.length; i++) {
+			if (oldNumbers[i] != EMPTY) {
+				final int index = indexOf(oldNumbers[i]);
+				numbers[index] = oldNumbers[i];
+				nodes[index] = oldNodes[i];
+			}
+		}
+	}
+
+	private static int[] createNumbers(final int capacity) {
+		final int[] numbers = new int[capacity];
+		Arrays.fill(numbers, EMPTY);
+		return numbers;
+	}
+}
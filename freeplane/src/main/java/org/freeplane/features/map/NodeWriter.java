@@ -57,10 +57,27 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 
 	private final Map<SharedNodeData, NodeModel> alreadyWrittenSharedContent;
 	private final LinkBuilder linkBuilder;
+	private final SerializedNodeCache nodeCache;
+	private final TreeXmlWriter recordingWriter;
+	private int childrenStart;
+	private int childrenEnd;
+	private boolean childrenCacheable;
+	/* starts of the written element's xml in the last and in the current output of the node cache */
+	private int elementOldStart;
+	private int elementNewStart;
 
 	public NodeWriter(final MapController mapController, LinkBuilder linkBuilder, final String nodeTag, final boolean writeChildren,
 	                  final boolean writeInvisible) {
+		this(mapController, linkBuilder, nodeTag, writeChildren, writeInvisible, null, null);
+	}
+
+	NodeWriter(final MapController mapController, LinkBuilder linkBuilder, final String nodeTag, final boolean writeChildren,
+	                  final boolean writeInvisible, SerializedNodeCache nodeCache, TreeXmlWriter recordingWriter) {
 		this.linkBuilder = linkBuilder;
+		this.nodeCache = nodeCache;
+		this.recordingWriter = recordingWriter;
+		this.elementOldStart = nodeCache != null ? nodeCache.getRootStart() : -1;
+		this.elementNewStart = 0;
 		alreadyWrittenSharedContent = new HashMap<SharedNodeData, NodeModel>();
 		this.mapController = mapController;
 		this.shouldWriteChildren = writeChildren;
@@ -73,16 +90,69 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 		        || saveFolding.equals(NodeBuilder.RESOURCES_SAVE_FOLDING_IF_MAP_IS_CHANGED);
 	}
 
-	private void saveChildren(final ITreeWriter writer, final NodeModel node) throws IOException {
+	private boolean saveChildren(final ITreeWriter writer, final NodeModel node) throws IOException {
+		boolean childrenCacheable = true;
 		for (final NodeModel child: node.getChildren()) {
 		if (writeInvisible || child.isVisible(FilterController.getFilter(node.getMap()))) {
 				writer.setHint(WriterHint.ALREADY_WRITTEN, isAlreadyWritten(child));
-				writer.addElement(child, nodeTag);
+				if (nodeCache != null)
+					childrenCacheable &= saveCachedChild(writer, child);
+				else
+					writer.addElement(child, nodeTag);
 			}
 			else {
 				saveChildren(writer, child);
 			}
 		}
+		return childrenCacheable;
+	}
+
+	private boolean saveCachedChild(final ITreeWriter writer, final NodeModel child) throws IOException {
+		final int oldStart = nodeCache.getStart(child, elementOldStart);
+		final int newStart = recordingWriter.getRecordedLength();
+		final boolean cacheable = nodeCache.canCache(child);
+		final boolean folded = mapController.isFolded(child);
+		final SerializedNodeCache.Fragment cachedFragment = cacheable && oldStart >= 0 ? nodeCache.get(child, folded) : null;
+		if (cachedFragment != null && cachedFragment.isSubtreeUnchanged()) {
+			writer.addElementContent(nodeCache.getOutput(oldStart, oldStart + cachedFragment.length));
+			nodeCache.move(child, newStart - elementNewStart);
+			return true;
+		}
+		final int parentOldStart = elementOldStart;
+		final int parentNewStart = elementNewStart;
+		elementOldStart = oldStart;
+		elementNewStart = newStart;
+		final SerializedNodeCache.Fragment fragment;
+		try {
+			if (cachedFragment != null) {
+				writer.addElementContent(nodeCache.getOutput(oldStart, oldStart + cachedFragment.headLength));
+				boolean childrenCacheable = true;
+				if (cachedFragment.hasChildren) {
+					childrenCacheable = saveChildren(writer, child);
+					final int oldEnd = oldStart + cachedFragment.length;
+					writer.addElementContent(nodeCache.getOutput(oldEnd - cachedFragment.tailLength, oldEnd));
+				}
+				fragment = new SerializedNodeCache.Fragment(newStart - parentNewStart,
+				    recordingWriter.getRecordedLength() - newStart, cachedFragment.headLength, cachedFragment.tailLength,
+				    folded, cachedFragment.hasChildren, childrenCacheable);
+			}
+			else {
+				writer.addElement(child, nodeTag);
+				final int end = recordingWriter.getRecordedLength();
+				if (childrenStart >= 0)
+					fragment = new SerializedNodeCache.Fragment(newStart - parentNewStart, end - newStart,
+					    childrenStart - newStart, end - childrenEnd, folded, true, cacheable && childrenCacheable);
+				else
+					fragment = new SerializedNodeCache.Fragment(newStart - parentNewStart, end - newStart,
+					    end - newStart, 0, folded, false, cacheable);
+			}
+		}
+		finally {
+			elementOldStart = parentOldStart;
+			elementNewStart = parentNewStart;
+		}
+		nodeCache.put(child, fragment);
+		return fragment.subtreeCacheable;
 	}
 
 	/*
@@ -157,7 +227,7 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 			final IconController iconController = IconController.getController();
 			iconSize = iconController.getIconSize(node);
 		} else
-			iconSize = node.getSharedData().getIcons().getIconSize();
+			iconSize = node.getSharedData().getIconSize();
 		if (iconSize != null) {
 			writer.addAttribute("ICON_SIZE", iconSize.toString());
 		}
@@ -195,9 +265,26 @@ public class NodeWriter implements IElementWriter, IAttributeWriter {
 				writer.addElement(null, xmlNode.getChildAtIndex(i));
 			}
 		}
+		int childrenStart = -1;
+		int childrenEnd = -1;
+		boolean childrenCacheable = true;
 		if (mayWriteChildren && shouldWriteChildren && node.getChildren().size()>0) {
-			saveChildren(writer, node);
+			if (nodeCache != null) {
+				recordingWriter.writePendingStartTag();
+				childrenStart = recordingWriter.getRecordedLength();
+			}
+			childrenCacheable = saveChildren(writer, node);
+			if (nodeCache != null) {
+				childrenEnd = recordingWriter.getRecordedLength();
+			}
+		}
+		else if (nodeCache != null && node.hasChildren()) {
+			childrenCacheable = false;
+			nodeCache.removeChildren(node);
 		}
+		this.childrenStart = childrenStart;
+		this.childrenEnd = childrenEnd;
+		this.childrenCacheable = childrenCacheable;
 	}
 
 	private Object mode(final ITreeWriter writer) {
@@ -0,0 +1,288 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.map;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.features.link.NodeLinks;
+
+/**
+ * Keeps the xml written for the nodes of a map when it was saved last time.
+ * The output of the last save is kept as a single string, and each node only knows where its xml starts
+ * relative to the xml of its parent, how long it is, and how long its head and tail are.
+ * The head contains the start tag and everything written before the first child node, the tail contains the end tag.
+ * Unchanged subtrees are copied from the last output without being visited,
+ * nodes with changed descendants are written by copying their head and tail around the children.
+ * {@link Invalidator} marks changed nodes and their ancestors.
+ */
+class SerializedNodeCache implements IExtension {
+	static class Fragment {
+		/** start relative to the start of the parent's xml, or absolute after the node was moved */
+		private int start;
+		private boolean absolute;
+		final int length;
+		final int headLength;
+		final int tailLength;
+		final boolean folded;
+		final boolean hasChildren;
+		/** the subtree contains no nodes which are always written again */
+		final boolean subtreeCacheable;
+		private boolean contentChanged;
+		private boolean subtreeChanged;
+
+		Fragment(final int start, final int length, final int headLength, final int tailLength, final boolean folded,
+		         final boolean hasChildren, final boolean subtreeCacheable) {
+			this.start = start;
+			this.length = length;
+			this.headLength = headLength;
+			this.tailLength = tailLength;
+			this.folded = folded;
+			this.hasChildren = hasChildren;
+			this.subtreeCacheable = subtreeCacheable;
+		}
+
+		boolean isSubtreeUnchanged() {
+			return subtreeCacheable && !subtreeChanged;
+		}
+	}
+
+	static class Invalidator implements INodeChangeListener, IMapChangeListener {
+		@Override
+		public void nodeChanged(final NodeChangeEvent event) {
+			final SerializedNodeCache cache = getCache(event.getNode());
+			if (cache != null) {
+				cache.contentChanged(event.getNode());
+			}
+		}
+
+		@Override
+		public void mapChanged(final MapChangeEvent event) {
+			final MapModel map = event.getMap();
+			if (map != null) {
+				map.removeExtension(SerializedNodeCache.class);
+			}
+		}
+
+		@Override
+		public void onPreNodeDelete(final NodeDeletionEvent nodeDeletionEvent) {
+			final SerializedNodeCache cache = getCache(nodeDeletionEvent.parent);
+			if (cache != null) {
+				cache.remove(nodeDeletionEvent.node);
+				cache.subtreeChanged(nodeDeletionEvent.parent);
+			}
+		}
+
+		@Override
+		public void onNodeInserted(final NodeModel parent, final NodeModel child, final int newIndex) {
+			final SerializedNodeCache cache = getCache(parent);
+			if (cache != null) {
+				cache.fragments.remove(child);
+				cache.clonesChanged(child);
+				cache.subtreeChanged(parent);
+			}
+		}
+
+		@Override
+		public void onPreNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+			final SerializedNodeCache cache = getCache(nodeMoveEvent.oldParent);
+			if (cache != null) {
+				cache.keepAbsoluteStart(nodeMoveEvent.child);
+				cache.subtreeChanged(nodeMoveEvent.oldParent);
+			}
+		}
+
+		@Override
+		public void onNodeMoved(final NodeMoveEvent nodeMoveEvent) {
+			final SerializedNodeCache cache = getCache(nodeMoveEvent.newParent);
+			if (cache != null) {
+				/* the position attribute depends on the parent */
+				cache.contentChanged(nodeMoveEvent.child);
+			}
+		}
+	}
+
+	static SerializedNodeCache getCache(final MapModel map, final String writerSettings) {
+		SerializedNodeCache cache = map.getExtension(SerializedNodeCache.class);
+		if (cache == null || !cache.writerSettings.equals(writerSettings)) {
+			cache = new SerializedNodeCache(writerSettings);
+			map.putExtension(SerializedNodeCache.class, cache);
+		}
+		return cache;
+	}
+
+	private static SerializedNodeCache getCache(final NodeModel node) {
+		final MapModel map = node.getMap();
+		return map != null ? map.getExtension(SerializedNodeCache.class) : null;
+	}
+
+	/** Called for changes which are not reported to node change listeners, like folding */
+	static void nodeChanged(final NodeModel node) {
+		final SerializedNodeCache cache = getCache(node);
+		if (cache != null) {
+			cache.contentChanged(node);
+		}
+	}
+
+	private final Map<NodeModel, Fragment> fragments;
+	private final String writerSettings;
+	private String output;
+
+	private SerializedNodeCache(final String writerSettings) {
+		this.writerSettings = writerSettings;
+		fragments = new HashMap<NodeModel, Fragment>();
+	}
+
+	/** Nodes written with references to other nodes or clones are always written again. */
+	boolean canCache(final NodeModel node) {
+		return EncryptionModel.getModel(node) == null && node.allClones().size() == 1
+		        && node.getExtension(NodeLinks.class) == null;
+	}
+
+	/** Start of the root node's xml in the last output, or -1 if there is none */
+	int getRootStart() {
+		return output != null ? 0 : -1;
+	}
+
+	/** Start of the node's xml in the last output, or -1 if it is unknown */
+	int getStart(final NodeModel node, final int parentStart) {
+		final Fragment fragment = fragments.get(node);
+		if (fragment == null) {
+			return -1;
+		}
+		if (fragment.absolute) {
+			return fragment.start;
+		}
+		return parentStart >= 0 ? parentStart + fragment.start : -1;
+	}
+
+	private int getAbsoluteStart(final NodeModel node) {
+		final NodeModel parentNode = node.getParentNode();
+		if (parentNode == null) {
+			return getRootStart();
+		}
+		final Fragment fragment = fragments.get(node);
+		if (fragment == null) {
+			return -1;
+		}
+		if (fragment.absolute) {
+			return fragment.start;
+		}
+		return getStart(node, getAbsoluteStart(parentNode));
+	}
+
+	/** Node's own xml if neither it nor its folding state changed */
+	Fragment get(final NodeModel node, final boolean folded) {
+		final Fragment fragment = fragments.get(node);
+		if (fragment == null || fragment.contentChanged || fragment.folded != folded
+		        || fragment.hasChildren != node.hasChildren()) {
+			return null;
+		}
+		return fragment;
+	}
+
+	String getOutput(final int start, final int end) {
+		return output.substring(start, end);
+	}
+
+	void put(final NodeModel node, final Fragment fragment) {
+		fragments.put(node, fragment);
+	}
+
+	/** Keeps the fragment of a copied subtree, whose descendants keep their relative positions */
+	void move(final NodeModel node, final int start) {
+		final Fragment fragment = fragments.get(node);
+		fragment.start = start;
+		fragment.absolute = false;
+	}
+
+	/** Forgets the children, which were not written */
+	void removeChildren(final NodeModel node) {
+		for (final NodeModel child : node.getChildren()) {
+			fragments.remove(child);
+		}
+	}
+
+	/** Replaces the output, all fragments written or moved since the last save refer to it */
+	void setOutput(final String output) {
+		this.output = output;
+	}
+
+	private void contentChanged(final NodeModel node) {
+		final Fragment fragment = fragments.get(node);
+		if (fragment != null) {
+			fragment.contentChanged = true;
+		}
+		subtreeChanged(node);
+	}
+
+	private void subtreeChanged(final NodeModel node) {
+		for (NodeModel ancestor = node; ancestor != null; ancestor = ancestor.getParentNode()) {
+			final Fragment fragment = fragments.get(ancestor);
+			if (fragment != null) {
+				if (fragment.subtreeChanged) {
+					return;
+				}
+				fragment.subtreeChanged = true;
+			}
+		}
+	}
+
+	private void keepAbsoluteStart(final NodeModel node) {
+		final Fragment fragment = fragments.get(node);
+		if (fragment == null) {
+			return;
+		}
+		final int start = getAbsoluteStart(node);
+		if (start >= 0) {
+			fragment.start = start;
+			fragment.absolute = true;
+		}
+		else {
+			fragments.remove(node);
+		}
+	}
+
+	/* The first written clone contains the shared content, the other ones refer to it. */
+	private void clonesChanged(final NodeModel node) {
+		otherClonesChanged(node);
+		for (final NodeModel child : node.getChildren()) {
+			clonesChanged(child);
+		}
+	}
+
+	private void otherClonesChanged(final NodeModel node) {
+		final Clones clones = node.allClones();
+		if (clones.size() > 1) {
+			for (final NodeModel clone : clones) {
+				if (clone != node) {
+					contentChanged(clone);
+				}
+			}
+		}
+	}
+
+	private void remove(final NodeModel node) {
+		fragments.remove(node);
+		otherClonesChanged(node);
+		for (final NodeModel child : node.getChildren()) {
+			remove(child);
+		}
+	}
+}
@@ -19,8 +19,14 @@
  */
 package org.freeplane.features.map;
 
+import java.util.Collections;
+import java.util.Date;
+
+import org.freeplane.api.LengthUnit;
+import org.freeplane.api.Quantity;
 import org.freeplane.core.extension.ExtensionContainer;
 import org.freeplane.core.extension.SmallExtensionMap;
+import org.freeplane.core.util.CachedPlainText;
 import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.core.util.XmlUtils;
 
@@ -28,35 +34,66 @@ import org.freeplane.core.util.XmlUtils;
  * @author  Dimitry Polivaev 05.02.2014
  */
 public class SharedNodeData {
-	final private ExtensionContainer extensionContainer;
-	private HistoryInformationModel historyInformation;
-	final private NodeIconSetModel icons;
+	/** returned for reading while no extensions or icons have been added, never modified */
+	private static final ExtensionContainer NO_EXTENSIONS = new ExtensionContainer(Collections.emptyMap());
+	private static final NodeIconSetModel NO_ICONS = new NodeIconSetModel();
+
+	private ExtensionContainer extensionContainer;
+	private NodeIconSetModel icons;
+	/** history information times in milliseconds, 0 if not set */
+	private long createdAt;
+	private long lastModifiedAt;
+	private boolean hasHistoryInformation;
 	private Object userObject;
 	private String xmlText;
+	private CachedPlainText plainText;
 	private boolean folded;
 
 	public SharedNodeData() {
-		extensionContainer = new ExtensionContainer(new SmallExtensionMap());
-		icons = new NodeIconSetModel();
 		folded = false;
 	}
 
+	/** returns the extension container for modifications, it is allocated on the first call */
 	public ExtensionContainer getExtensionContainer() {
+		if (extensionContainer == null)
+			extensionContainer = new ExtensionContainer(new SmallExtensionMap());
 		return extensionContainer;
 	}
 
+	/** returns the extension container or a shared empty container which must not be modified */
+	ExtensionContainer getReadOnlyExtensionContainer() {
+		return extensionContainer != null ? extensionContainer : NO_EXTENSIONS;
+	}
+
+	/** returns a view of the history information stored in this object or null if it is not set */
 	public HistoryInformationModel getHistoryInformation() {
-		return historyInformation;
+		return hasHistoryInformation ? new SharedHistoryInformation() : null;
 	}
 
 	public void setHistoryInformation(HistoryInformationModel historyInformation) {
-		this.historyInformation = historyInformation;
+		hasHistoryInformation = historyInformation != null;
+		if (hasHistoryInformation) {
+			createdAt = historyInformation.getCreatedAt().getTime();
+			lastModifiedAt = historyInformation.getLastModifiedAt().getTime();
+		}
 	}
 
+	/** returns the icons for modifications, they are allocated on the first call */
 	public NodeIconSetModel getIcons() {
+		if (icons == null)
+			icons = new NodeIconSetModel();
 		return icons;
 	}
 
+	/** returns the icons or a shared empty icon set which must not be modified */
+	NodeIconSetModel getReadOnlyIcons() {
+		return icons != null ? icons : NO_ICONS;
+	}
+
+	public Quantity<LengthUnit> getIconSize() {
+		return icons != null ? icons.getIconSize() : null;
+	}
+
 	public Object getUserObject() {
 		return userObject;
 	}
@@ -67,10 +104,21 @@ public class SharedNodeData {
 		}
 		else{
 			xmlText = null;
+			plainText = null;
 			this.userObject = data;
 		}
 	}
 
+	/** returns the plain text of the user object, which is converted only once after each text change */
+	public String getPlainText() {
+		final Object userObject = this.userObject;
+		if (!(userObject instanceof String))
+			return userObject == null ? "" : HtmlUtils.htmlToPlain(userObject.toString());
+		final CachedPlainText plainText = CachedPlainText.of(this.plainText, (String) userObject);
+		this.plainText = plainText;
+		return plainText.getPlainText();
+	}
+
 	public String getXmlText() {
 		return xmlText;
 	}
@@ -78,9 +126,11 @@ public class SharedNodeData {
 	public void setXmlText(String content) {
 		xmlText = XmlUtils.makeValidXml(content);
 		userObject = HtmlUtils.toHtml(xmlText);
+		plainText = null;
 	}
 
 	public void setText(String text) {
+		plainText = null;
 		try {
 			userObject = XmlUtils.makeValidXml(text);
 			xmlText = HtmlUtils.toXhtml(text);
@@ -101,4 +151,35 @@ public class SharedNodeData {
 	public boolean isFolded() {
 		return folded;
 	}
+
+	private class SharedHistoryInformation extends HistoryInformationModel {
+		SharedHistoryInformation() {
+			super(0, 0);
+		}
+
+		@Override
+		public Date getCreatedAt() {
+			return new Date(SharedNodeData.this.createdAt);
+		}
+
+		@Override
+		public Date getLastModifiedAt() {
+			return new Date(SharedNodeData.this.lastModifiedAt);
+		}
+
+		@Override
+		public void setCreatedAt(final Date createdAt) {
+			SharedNodeData.this.createdAt = createdAt.getTime();
+		}
+
+		@Override
+		public void setLastModifiedAt(final Date lastModifiedAt) {
+			SharedNodeData.this.lastModifiedAt = lastModifiedAt.getTime();
+		}
+
+		@Override
+		public boolean isSet() {
+			return SharedNodeData.this.createdAt != 0 || SharedNodeData.this.lastModifiedAt != 0;
+		}
+	}
 }
\ No newline at end of file
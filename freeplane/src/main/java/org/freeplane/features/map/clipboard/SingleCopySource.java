@@ -211,6 +211,11 @@ class SingleCopySource extends NodeModel {
 	    return delegate.getText();
     }
 
+	@Override
+    public String getPlainText() {
+	    return delegate.getPlainText();
+    }
+
 	@Override
     public Collection<INodeView> getViewers() {
 	    return delegate.getViewers();
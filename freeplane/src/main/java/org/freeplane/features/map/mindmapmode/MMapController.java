@@ -112,6 +112,7 @@ public class MMapController extends MapController {
 	public static final int NEW_SIBLING_BEFORE = 4;
 	public static final int NEW_SIBLING_BEHIND = 3;
 	public static final String RESOURCES_CONVERT_TO_CURRENT_VERSION = "convert_to_current_version";
+	private static final long ESTIMATED_NODE_SIZE = 1024;
 
 	public MMapController(ModeController modeController) {
 		super(modeController);
@@ -368,6 +369,11 @@ public class MMapController extends MapController {
 			public void undo() {
 				deleteWithoutUndo(parent, index);
 			}
+
+			@Override
+			public long getRetainedSize() {
+				return estimateSubtreeSize(newNode);
+			}
 		};
 		Controller.getCurrentModeController().execute(actor, map);
     }
@@ -504,10 +510,23 @@ public class MMapController extends MapController {
 			public void undo() {
 				(Controller.getCurrentModeController().getMapController()).insertNodeIntoWithoutUndo(node, parentNode, index);
         	}
+
+        	@Override
+			public long getRetainedSize() {
+        		return estimateSubtreeSize(node);
+        	}
         };
 		Controller.getCurrentModeController().execute(actor, parentNode.getMap());
     }
 
+	/** approximates the memory of the nodes of the subtree including their texts and extensions */
+	private static long estimateSubtreeSize(final NodeModel node) {
+		long size = ESTIMATED_NODE_SIZE + 2L * node.getText().length();
+		for (final NodeModel child : node.getChildren())
+			size += estimateSubtreeSize(child);
+		return size;
+	}
+
 	private void deleteWithoutUndo(final NodeModel parent, final int index) {
 	    final NodeModel child = parent.getChildAt(index);
 	    final NodeDeletionEvent nodeDeletionEvent = new NodeDeletionEvent(parent, child, index);
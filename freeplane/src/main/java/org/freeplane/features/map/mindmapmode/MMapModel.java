@@ -23,11 +23,11 @@ import java.awt.GraphicsEnvironment;
 import java.io.File;
 import java.net.URL;
 import java.util.Timer;
+import java.util.TimerTask;
 
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.undo.IUndoHandler;
 import org.freeplane.core.undo.UndoHandler;
-import org.freeplane.core.util.SysUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.mode.Controller;
@@ -41,8 +41,9 @@ import org.freeplane.features.url.mindmapmode.MFileManager;
 
 public class MMapModel extends MapModel {
 	private static int unnamedMapsNumber = 1;
+	private static Timer automaticSavingTimer;
 	private LockManager lockManager;
-	private Timer timerForAutomaticSaving;
+	private TimerTask automaticSavingTask;
 	private int titleNumber = 0;
 	private boolean autosaveEnabled;
 
@@ -84,10 +85,8 @@ public class MMapModel extends MapModel {
 	@Override
 	public void releaseResources() {
 		getLockManager().release();
-		/* cancel the timer, if map is closed. */
-		if (getTimerForAutomaticSaving() != null) {
-			getTimerForAutomaticSaving().cancel();
-		}
+		/* cancel the automatic saving, if map is closed. */
+		cancelAutomaticSaving();
 		autosaveEnabled = false;
 		super.releaseResources();
 	}
@@ -96,8 +95,26 @@ public class MMapModel extends MapModel {
 		return lockManager;
 	}
 
-	public Timer getTimerForAutomaticSaving() {
-		return timerForAutomaticSaving;
+	public TimerTask getAutomaticSavingTask() {
+		return automaticSavingTask;
+	}
+
+	public void cancelAutomaticSaving() {
+		if (automaticSavingTask != null) {
+			automaticSavingTask.cancel();
+			automaticSavingTask = null;
+		}
+	}
+
+	/**
+	 * Automatic saves of all maps run on their own timer and not on the shared timer of reminders,
+	 * because they wait for the event dispatch thread and write files.
+	 */
+	private static synchronized Timer getAutomaticSavingTimer() {
+		if (automaticSavingTimer == null) {
+			automaticSavingTimer = new Timer("TimerForAutomaticSaving", true);
+		}
+		return automaticSavingTimer;
 	}
 
 	@Override
@@ -121,6 +138,7 @@ public class MMapModel extends MapModel {
 	}
 
 	public void scheduleTimerForAutomaticSaving() {
+		cancelAutomaticSaving();
 		if (!(UrlManager.getController() instanceof MFileManager)
 				|| GraphicsEnvironment.isHeadless()
 				|| ! autosaveEnabled) {
@@ -141,10 +159,10 @@ public class MMapModel extends MapModel {
 		    "single_backup_directory");
 		final String singleBackupDirectory = ResourceController.getResourceController()
 		    .getProperty("single_backup_directory_path");
-		final Timer timer = SysUtils.createTimer("TimerForAutomaticSaving");
-		timer.schedule(new DoAutomaticSave(this, numberOfTempFiles, filesShouldBeDeletedAfterShutdown,
-		    useSingleBackupDirectory, singleBackupDirectory), delay, delay);
-		this.timerForAutomaticSaving = timer;
+		final TimerTask task = new DoAutomaticSave(this, numberOfTempFiles, filesShouldBeDeletedAfterShutdown,
+		    useSingleBackupDirectory, singleBackupDirectory);
+		getAutomaticSavingTimer().schedule(task, delay, delay);
+		this.automaticSavingTask = task;
 	}
 
 	@Override
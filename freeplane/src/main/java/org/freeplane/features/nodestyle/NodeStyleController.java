@@ -23,6 +23,8 @@ import java.awt.Color;
 import java.awt.Font;
 import java.awt.font.TextAttribute;
 import java.util.Collection;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 import org.freeplane.api.LengthUnit;
 import org.freeplane.api.Quantity;
@@ -67,6 +69,12 @@ public class NodeStyleController implements IExtension {
 		modeController.addExtension(NodeStyleController.class, styleController);
 	}
 
+	/** keys of properties resolved from node styles without property handlers */
+	private enum StyledProperty {
+		NODE_FORMAT, MAX_WIDTH, MIN_WIDTH, BORDER_WIDTH_MATCHES_EDGE_WIDTH, BORDER_DASH_MATCHES_EDGE_DASH,
+		BORDER_WIDTH, BORDER_DASH, BORDER_COLOR_MATCHES_EDGE_COLOR, BORDER_COLOR
+	}
+
 	final private ExclusivePropertyChain<Color, NodeModel> backgroundColorHandlers;
 // // //	final private Controller controller;
 	final private CombinedPropertyChain<Font, NodeModel> fontHandlers;
@@ -176,11 +184,23 @@ public class NodeStyleController implements IExtension {
 	}
 
 	public Color getBackgroundColor(final NodeModel node) {
-		return backgroundColorHandlers.getProperty(node);
+		return getStyledProperty(node, backgroundColorHandlers, backgroundColorHandlers::getProperty);
 	}
 
 	public Color getColor(final NodeModel node) {
-		return textColorHandlers.getProperty(node);
+		return getStyledProperty(node, textColorHandlers, textColorHandlers::getProperty);
+	}
+
+	/** the value is kept by {@link LogicalStyleController} until the styles of the node change */
+	private <V> V getStyledProperty(final NodeModel node, final Object key, final Function<NodeModel, V> resolver) {
+		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
+		return styleController != null ? styleController.getStyledProperty(node, key, resolver) : resolver.apply(node);
+	}
+
+	private <V> V getStyleProperty(final NodeModel node, final StyledProperty key,
+	                               final BiFunction<MapModel, Collection<IStyle>, V> resolver) {
+		return getStyledProperty(node, key,
+		    n -> resolver.apply(n.getMap(), LogicalStyleController.getController(modeController).getStyles(n)));
 	}
 
 	private Color getStyleBackgroundColor(final MapModel map, final Collection<IStyle> styleKeys) {
@@ -419,7 +439,7 @@ public class NodeStyleController implements IExtension {
 	}
 
 	public HorizontalTextAlignment getHorizontalTextAlignment(final NodeModel node) {
-		return horizontalTextAlignmentHandlers.getProperty(node);
+		return getStyledProperty(node, horizontalTextAlignmentHandlers, horizontalTextAlignmentHandlers::getProperty);
 	}
 
 	private Font createFont(final Font baseFont, String family, Integer size, Boolean bold, Boolean italic, Boolean strikedThrough) {
@@ -513,7 +533,7 @@ public class NodeStyleController implements IExtension {
 		return null;
 	}
 	public Font getFont(final NodeModel node) {
-		final Font font = fontHandlers.getProperty(node, null);
+		final Font font = getStyledProperty(node, fontHandlers, n -> fontHandlers.getProperty(n, null));
 		return font;
 	}
 
@@ -528,12 +548,12 @@ public class NodeStyleController implements IExtension {
 	}
 
 	public Shape getShape(final NodeModel node) {
-		final NodeGeometryModel shapeConfiguration = shapeHandlers.getProperty(node);
+		final NodeGeometryModel shapeConfiguration = getShapeConfiguration(node);
 		return shapeConfiguration.getShape();
 	}
 	
 	public NodeGeometryModel getShapeConfiguration(NodeModel node) {
-		final NodeGeometryModel shapeConfiguration = shapeHandlers.getProperty(node);
+		final NodeGeometryModel shapeConfiguration = getStyledProperty(node, shapeHandlers, shapeHandlers::getProperty);
 		return shapeConfiguration;
 	}
 
@@ -547,8 +567,11 @@ public class NodeStyleController implements IExtension {
 	}
 
 	public String getNodeFormat(NodeModel node) {
-		Collection<IStyle> collection = LogicalStyleController.getController(modeController).getStyles(node);
-		final MapStyleModel model = MapStyleModel.getExtension(node.getMap());
+		return getStyleProperty(node, StyledProperty.NODE_FORMAT, this::getStyleNodeFormat);
+	}
+
+	private String getStyleNodeFormat(final MapModel map, final Collection<IStyle> collection) {
+		final MapStyleModel model = MapStyleModel.getExtension(map);
 		for(IStyle styleKey : collection){
 			final NodeModel styleNode = model.getStyleNode(styleKey);
 			if (styleNode == null) {
@@ -583,71 +606,39 @@ public class NodeStyleController implements IExtension {
     }
 
 	public Quantity<LengthUnit> getMaxWidth(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Quantity<LengthUnit> maxTextWidth = getMaxNodeWidth(map, style);
-		return maxTextWidth;
-    }
+		return getStyleProperty(node, StyledProperty.MAX_WIDTH, this::getMaxNodeWidth);
+	}
 
 	public Quantity<LengthUnit> getMinWidth(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> styles = styleController.getStyles(node);
-		final Quantity<LengthUnit> minWidth = getStyleMinWidth(map, styles);
-		return minWidth;
-    }
+		return getStyleProperty(node, StyledProperty.MIN_WIDTH, this::getStyleMinWidth);
+	}
 
 	public ModeController getModeController() {
 	    return modeController;
     }
 
 	public Boolean getBorderWidthMatchesEdgeWidth(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Boolean borderWidthMatchesEdgeWidth = getBorderWidthMatchesEdgeWidth(map, style);
-		return borderWidthMatchesEdgeWidth;
+		return getStyleProperty(node, StyledProperty.BORDER_WIDTH_MATCHES_EDGE_WIDTH, this::getBorderWidthMatchesEdgeWidth);
 	}
 
 	public Boolean getBorderDashMatchesEdgeDash(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Boolean borderDashMatchesEdgeDash = getBorderDashMatchesEdgeDash(map, style);
-		return borderDashMatchesEdgeDash;
+		return getStyleProperty(node, StyledProperty.BORDER_DASH_MATCHES_EDGE_DASH, this::getBorderDashMatchesEdgeDash);
 	}
 
 	public Quantity<LengthUnit> getBorderWidth(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Quantity<LengthUnit> borderWidth = getBorderWidth(map, style);
-		return borderWidth;
+		return getStyleProperty(node, StyledProperty.BORDER_WIDTH, this::getBorderWidth);
 	}
 
 	public DashVariant getBorderDash(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final DashVariant borderDash = getBorderDash(map, style);
-		return borderDash;
+		return getStyleProperty(node, StyledProperty.BORDER_DASH, this::getBorderDash);
 	}
 
 	public Boolean getBorderColorMatchesEdgeColor(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Boolean borderColorMatchesEdgeColor = getBorderColorMatchesEdgeColor(map, style);
-		return borderColorMatchesEdgeColor;
+		return getStyleProperty(node, StyledProperty.BORDER_COLOR_MATCHES_EDGE_COLOR, this::getBorderColorMatchesEdgeColor);
 	}
 
 	public Color getBorderColor(NodeModel node) {
-		final MapModel map = node.getMap();
-		final LogicalStyleController styleController = LogicalStyleController.getController(modeController);
-		final Collection<IStyle> style = styleController.getStyles(node);
-		final Color borderColor = getBorderColor(map, style);
-		return borderColor;
+		return getStyleProperty(node, StyledProperty.BORDER_COLOR, this::getBorderColor);
 	}
 
 	public boolean isStrikedThrough(NodeModel node) {
@@ -48,6 +48,12 @@ public class NoteModel extends RichTextModel implements IExtension {
 		return extension != null ? extension.getHtml() : null;
 	}
 
+	/** returns the note text converted to plain text or null */
+	public static String getPlainNoteText(final NodeModel node) {
+		final NoteModel extension = NoteModel.getNote(node);
+		return extension != null ? extension.getPlainText() : null;
+	}
+
 	public static String getXmlNoteText(final NodeModel node) {
 		final NoteModel extension = NoteModel.getNote(node);
 		return extension != null ? extension.getXml() : null;
@@ -93,8 +93,9 @@ public class SpellCheckerController implements IExtension {
 		spellCheckerInitialized = true;
 		final ResourceController resourceController = ResourceController.getResourceController();
 		final File orthoDir = new File(resourceController.getResourceBaseDir(), "ortho");
-		registerDictionaries(orthoDir);
 		final File userOrthoDir = new File(resourceController.getFreeplaneUserDirectory(), "ortho");
+		SpellChecker.setDictionaryCacheDirectory(new File(userOrthoDir, "compiled"));
+		registerDictionaries(orthoDir);
 		registerDictionaries(userOrthoDir);
 		if (!spellCheckerEnabled) {
 			return;
@@ -5,6 +5,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.swing.table.AbstractTableModel;
 import javax.swing.table.TableModel;
@@ -36,24 +37,28 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 
 		public void setCondition(ASelectableCondition condition) {
 	        this.condition = condition;
+	        modified();
         }
 		public ASelectableCondition getCondition() {
 	        return condition;
         }
 		public void setStyle(IStyle style) {
 	        this.style = style;
+	        modified();
         }
 		public IStyle getStyle() {
 	        return style;
         }
 		public void setActive(boolean isActive) {
 	        this.isActive = isActive;
+	        modified();
         }
 		public boolean isActive() {
 	        return isActive;
         }
 		public void setLast(boolean isLast) {
 	        this.isLast = isLast;
+	        modified();
         }
 		public boolean isLast() {
 	        return isLast;
@@ -99,6 +104,7 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 		}
 		
 	}
+	private static final AtomicLong modificationCount = new AtomicLong();
 	private ArrayList<Item> styles;
 	public ConditionalStyleModel() {
 	    super();
@@ -139,6 +145,7 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 	
 	void addCondition(boolean isActive, ASelectableCondition condition, IStyle style, boolean isLast){
 		styles.add(new Item(isActive, condition, style, isLast));
+		modified();
 		if(table == null){
 			return;
 		}
@@ -148,6 +155,7 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 	
 	void insertCondition(int index, boolean isActive, ASelectableCondition condition, IStyle style, boolean isLast){
 		styles.add(index, new Item(isActive, condition, style, isLast));
+		modified();
 		if(table == null){
 			return;
 		}
@@ -156,6 +164,7 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 	
 	Item removeCondition(int index){
 		final Item item = styles.remove(index);
+		modified();
 		if(table == null){
 			return item;
 		}
@@ -168,6 +177,7 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 		final Item item2 = styles.get(index2);
 		styles.set(index1, item2);
 		styles.set(index2, item1);
+		modified();
 		if(table == null){
 			return;
 		}
@@ -191,6 +201,16 @@ public class ConditionalStyleModel implements IExtension, Iterable<ConditionalSt
 	
 	void clear(){
 		styles.clear();
+		modified();
+	}
+
+	/** counts changes of all conditional style models, so that styles resolved before the changes can be discarded */
+	static long getModificationCount() {
+		return modificationCount.get();
+	}
+
+	private static void modified() {
+		modificationCount.incrementAndGet();
 	}
 
 	public Iterator<Item> iterator() {
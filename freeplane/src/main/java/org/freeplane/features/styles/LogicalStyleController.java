@@ -20,11 +20,13 @@
 package org.freeplane.features.styles;
 
 import java.awt.Component;
-import java.lang.ref.WeakReference;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.function.Function;
 
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.io.IAttributeHandler;
@@ -33,6 +35,7 @@ import org.freeplane.core.io.ITreeWriter;
 import org.freeplane.core.io.ReadManager;
 import org.freeplane.core.io.WriteManager;
 import org.freeplane.core.resources.TranslatedObject;
+import org.freeplane.core.resources.IFreeplanePropertyListener;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.undo.IActor;
 import org.freeplane.core.util.HtmlUtils;
@@ -64,8 +67,9 @@ public class LogicalStyleController implements IExtension {
 // 	final private ModeController modeController;
 
 	private static final int STYLE_TOOLTIP = 0;
-	private WeakReference<NodeModel> cachedNode;
-	private Collection<IStyle>  cachedStyle;
+	static final String CACHE_STYLED_PROPERTIES_PROPERTY = "cache_node_style_properties";
+	private final ThreadLocal<int[]> conditionEvaluationDepth = ThreadLocal.withInitial(() -> new int[1]);
+	private volatile boolean cacheStyledProperties;
 	final private CombinedPropertyChain<Collection<IStyle>, NodeModel> styleHandlers;
 
 	public LogicalStyleController(ModeController modeController) {
@@ -73,6 +77,17 @@ public class LogicalStyleController implements IExtension {
 		styleHandlers = new CombinedPropertyChain<Collection<IStyle>, NodeModel>(false);
 		createBuilder();
 		registerChangeListener();
+		final ResourceController resourceController = ResourceController.getResourceController();
+		cacheStyledProperties = resourceController.getBooleanProperty(CACHE_STYLED_PROPERTIES_PROPERTY);
+		resourceController.addPropertyChangeListener(new IFreeplanePropertyListener() {
+			@Override
+			public void propertyChanged(String propertyName, String newValue, String oldValue) {
+				if (CACHE_STYLED_PROPERTIES_PROPERTY.equals(propertyName))
+					cacheStyledProperties = Boolean.parseBoolean(newValue);
+				// styled properties can depend on default fonts and colors
+				ResolvedStyleCache.clearAll();
+			}
+		});
 		addStyleGetter(IPropertyHandler.NODE, new IPropertyHandler<Collection<IStyle>, NodeModel>() {
 			public Collection<IStyle> getProperty(NodeModel node, Collection<IStyle> currentValue) {
 				final MapStyleModel styleModel = MapStyleModel.getExtension(node.getMap());
@@ -83,7 +98,7 @@ public class LogicalStyleController implements IExtension {
 		addStyleGetter(IPropertyHandler.STYLE, new IPropertyHandler<Collection<IStyle>, NodeModel>() {
 			public Collection<IStyle> getProperty(NodeModel node, Collection<IStyle> currentValue) {
 				final MapStyleModel styleModel = MapStyleModel.getExtension(node.getMap());
-				Collection<IStyle> condStyles = styleModel.getConditionalStyleModel().getStyles(node);
+				Collection<IStyle> condStyles = getConditionalStyles(styleModel.getConditionalStyleModel(), node);
 				addAll(node, styleModel, currentValue, condStyles);
 				return currentValue;
 			}
@@ -98,7 +113,7 @@ public class LogicalStyleController implements IExtension {
 			public String getTooltip(ModeController modeController, NodeModel node, Component view) {
 				if(!ResourceController.getResourceController().getBooleanProperty("show_styles_in_tooltip"))
 					return null;
-				final Collection<IStyle> styles = getStyles(node);
+				final Collection<IStyle> styles = new ArrayList<IStyle>(getStyles(node));
 				if(styles.size() > 0)
 					styles.remove(styles.iterator().next());
 				final String label = TextUtils.getText("node_styles");
@@ -142,8 +157,7 @@ public class LogicalStyleController implements IExtension {
 			final ConditionalStyleModel conditionalStyleModel = styleNode.getExtension(ConditionalStyleModel.class);
 			if(conditionalStyleModel == null)
 				return;
-			Collection<IStyle> styles = conditionalStyleModel.getStyles(node);
-			cachedNode = null;
+			Collection<IStyle> styles = getConditionalStyles(conditionalStyleModel, node);
 			addAll(node, styleModel, currentValue, styles);
     }
 
@@ -152,32 +166,48 @@ public class LogicalStyleController implements IExtension {
 		final MapController mapController = modeController.getMapController();
 		mapController.addMapChangeListener(new IMapChangeListener() {
 			public void onPreNodeMoved(NodeMoveEvent nodeMoveEvent) {
-				clearCache();
 			}
 
 			public void onPreNodeDelete(NodeDeletionEvent nodeDeletionEvent) {
-				clearCache();
 			}
 
 			public void onNodeMoved(NodeMoveEvent nodeMoveEvent) {
-				clearCache();
+				final ResolvedStyleCache cache = ResolvedStyleCache.getExisting(nodeMoveEvent.child.getMap());
+				if (cache != null) {
+					cache.remove(nodeMoveEvent.oldParent);
+					cache.remove(nodeMoveEvent.newParent);
+					cache.removeSubtree(nodeMoveEvent.child);
+				}
 			}
 
 			public void onNodeInserted(NodeModel parent, NodeModel child, int newIndex) {
-				clearCache();
+				final ResolvedStyleCache cache = ResolvedStyleCache.getExisting(parent.getMap());
+				if (cache != null) {
+					cache.remove(parent);
+					cache.removeSubtree(child);
+				}
 			}
 
 			public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
-				clearCache();
+				final ResolvedStyleCache cache = ResolvedStyleCache.getExisting(nodeDeletionEvent.parent.getMap());
+				if (cache != null) {
+					cache.remove(nodeDeletionEvent.parent);
+					cache.removeSubtree(nodeDeletionEvent.node);
+				}
 			}
 
 			public void mapChanged(MapChangeEvent event) {
-				clearCache();
+				final ResolvedStyleCache cache = ResolvedStyleCache.getExisting(event.getMap());
+				if (cache != null)
+					cache.clear();
 			}
 		});
 		mapController.addNodeChangeListener(new INodeChangeListener() {
 			public void nodeChanged(NodeChangeEvent event) {
-				clearCache();
+				final NodeModel node = event.getNode();
+				final ResolvedStyleCache cache = ResolvedStyleCache.getExisting(node.getMap());
+				if (cache != null)
+					cache.removeWithClonesAndChildren(node);
 			}
 		});
 
@@ -298,15 +328,43 @@ public class LogicalStyleController implements IExtension {
 		}
 		return MapStyleModel.DEFAULT_STYLE;
 	}
+	/** returns unmodifiable collection of all styles of the node kept in the {@link ResolvedStyleCache} of its map */
 	public Collection<IStyle>  getStyles(final NodeModel node) {
-		if(cachedNode != null && node.equals(cachedNode.get())){
-			return cachedStyle;
+		final ResolvedStyleCache cache = ResolvedStyleCache.of(node.getMap());
+		final Collection<IStyle> cachedStyles = cache.get(node);
+		if(cachedStyles != null){
+			return cachedStyles;
+		}
+		final Collection<IStyle> styles = Collections.unmodifiableCollection(
+		    styleHandlers.getProperty(node, new LinkedHashSet<IStyle>()));
+		// conditional style models do not check conditions recursively,
+		// so styles resolved while some conditions are checked can be incomplete
+		if(conditionEvaluationDepth.get()[0] == 0)
+			cache.put(node, styles);
+		return styles;
+	}
+
+	/**
+	 * Returns the node property identified by the key and computed by the resolver.
+	 * Computed values are kept as long as the styles of the node, so the resolver may only depend on the node,
+	 * its styles and the style nodes.
+	 */
+	public <V> V getStyledProperty(final NodeModel node, final Object key, final Function<NodeModel, V> resolver) {
+		if(! cacheStyledProperties)
+			return resolver.apply(node);
+		getStyles(node);
+		return ResolvedStyleCache.of(node.getMap()).getProperty(node, key, resolver);
+	}
+
+	private Collection<IStyle> getConditionalStyles(final ConditionalStyleModel conditionalStyleModel, final NodeModel node) {
+		final int[] depth = conditionEvaluationDepth.get();
+		depth[0]++;
+		try {
+			return conditionalStyleModel.getStyles(node);
+		}
+		finally {
+			depth[0]--;
 		}
-		cachedStyle = null;
-		cachedNode = null;
-		cachedStyle = styleHandlers.getProperty(node, new LinkedHashSet<IStyle>());
-		cachedNode = new WeakReference<NodeModel>(node);
-		return cachedStyle;
 	}
 
 	public void moveConditionalStyleDown(final ConditionalStyleModel conditionalStyleModel, int index) {
@@ -331,11 +389,6 @@ public class LogicalStyleController implements IExtension {
 	    return conditionalStyleModel.removeCondition(index);
     }
 
-	private void clearCache() {
-	    cachedStyle = null;
-	    cachedNode = null;
-    }
-
 	public IPropertyHandler<Collection<IStyle>, NodeModel> addStyleGetter(
 		final Integer key,
 		final IPropertyHandler<Collection<IStyle>, NodeModel> getter) {
@@ -362,8 +415,7 @@ public class LogicalStyleController implements IExtension {
 
 	public Collection<IStyle>  getConditionalMapStyles(final NodeModel node) {
 		final MapStyleModel styleModel = MapStyleModel.getExtension(node.getMap());
-		Collection<IStyle> condStyles = styleModel.getConditionalStyleModel().getStyles(node);
-		clearCache();
+		Collection<IStyle> condStyles = getConditionalStyles(styleModel.getConditionalStyleModel(), node);
 		return getResursively(node, condStyles);
 	}
 
@@ -376,8 +428,7 @@ public class LogicalStyleController implements IExtension {
 
 		final ConditionalStyleModel conditionalStyleModel = node.getExtension(ConditionalStyleModel.class);
 		if(conditionalStyleModel != null) {
-			Collection<IStyle> styles = conditionalStyleModel.getStyles(node);
-			clearCache();
+			Collection<IStyle> styles = getConditionalStyles(conditionalStyleModel, node);
 			condStyles.addAll(styles);
 		}
 		final Collection<IStyle> all = getResursively(node, condStyles);
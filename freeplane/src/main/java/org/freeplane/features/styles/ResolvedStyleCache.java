@@ -0,0 +1,237 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.styles;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+
+/**
+ * Keeps the styles of the nodes of a map resolved by {@link LogicalStyleController#getStyles(NodeModel)}
+ * and the node properties resolved from them by {@link LogicalStyleController#getStyledProperty(NodeModel, Object, Function)}.
+ * Entries of changed, inserted, deleted and moved nodes and of the nodes whose conditional styles may depend on them
+ * are removed by {@link LogicalStyleController}, all entries are removed when the map or any conditional styles change.
+ * Styles of nodes checked by conditions which can not cache their results are never kept.
+ */
+public class ResolvedStyleCache implements IExtension {
+	/** Counters of all resolved style caches. */
+	public static class Statistics {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder invalidations = new LongAdder();
+		private final LongAdder propertyHits = new LongAdder();
+		private final LongAdder propertyMisses = new LongAdder();
+
+		public long getHitCount() {
+			return hits.sum();
+		}
+
+		public long getMissCount() {
+			return misses.sum();
+		}
+
+		/** Number of removed entries */
+		public long getInvalidationCount() {
+			return invalidations.sum();
+		}
+
+		public double getHitRate() {
+			return hitRate(getHitCount(), getMissCount());
+		}
+
+		public long getPropertyHitCount() {
+			return propertyHits.sum();
+		}
+
+		public long getPropertyMissCount() {
+			return propertyMisses.sum();
+		}
+
+		public double getPropertyHitRate() {
+			return hitRate(getPropertyHitCount(), getPropertyMissCount());
+		}
+
+		private static double hitRate(final long hitCount, final long missCount) {
+			final long requestCount = hitCount + missCount;
+			return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+		}
+
+		@Override
+		public String toString() {
+			return String.format("hits=%d, misses=%d, hit rate=%.1f%%, invalidations=%d, "
+			        + "property hits=%d, property misses=%d, property hit rate=%.1f%%", getHitCount(), getMissCount(),
+			    getHitRate() * 100, getInvalidationCount(), getPropertyHitCount(), getPropertyMissCount(),
+			    getPropertyHitRate() * 100);
+		}
+	}
+
+	public static final Statistics STATISTICS = new Statistics();
+
+	private static final Object NULL_VALUE = new Object();
+	private static final AtomicLong globalInvalidationCount = new AtomicLong();
+
+	private static class ResolvedNode {
+		final Collection<IStyle> styles;
+		final ConcurrentHashMap<Object, Object> properties = new ConcurrentHashMap<Object, Object>(8);
+
+		ResolvedNode(final Collection<IStyle> styles) {
+			this.styles = styles;
+		}
+	}
+
+	private static final ConditionPredicate CAN_NOT_CACHE_RESULT = new ConditionPredicate() {
+		@Override
+		public boolean test(ICondition condition) {
+			return condition != null && !condition.canCacheResult();
+		}
+	};
+
+	private final ConcurrentHashMap<NodeModel, ResolvedNode> resolvedNodes = new ConcurrentHashMap<NodeModel, ResolvedNode>();
+	private volatile Boolean mapStylesCanBeCached;
+	private volatile long validModificationCount = modificationCount();
+
+	/** discards the entries of all maps, e.g. after changes of default styles */
+	static void clearAll() {
+		globalInvalidationCount.incrementAndGet();
+	}
+
+	private static long modificationCount() {
+		return ConditionalStyleModel.getModificationCount() + globalInvalidationCount.get();
+	}
+
+	static synchronized ResolvedStyleCache of(final MapModel map) {
+		ResolvedStyleCache cache = map.getExtension(ResolvedStyleCache.class);
+		if (cache == null) {
+			cache = new ResolvedStyleCache();
+			map.addExtension(cache);
+		}
+		return cache;
+	}
+
+	static ResolvedStyleCache getExisting(final MapModel map) {
+		return map == null ? null : map.getExtension(ResolvedStyleCache.class);
+	}
+
+	private ResolvedNode getResolvedNode(final NodeModel node) {
+		final long modificationCount = modificationCount();
+		if (validModificationCount != modificationCount) {
+			clear();
+			validModificationCount = modificationCount;
+		}
+		return resolvedNodes.get(node);
+	}
+
+	Collection<IStyle> get(final NodeModel node) {
+		final ResolvedNode resolvedNode = getResolvedNode(node);
+		if (resolvedNode == null) {
+			STATISTICS.misses.increment();
+			return null;
+		}
+		STATISTICS.hits.increment();
+		return resolvedNode.styles;
+	}
+
+	void put(final NodeModel node, final Collection<IStyle> nodeStyles) {
+		if (canCache(node))
+			resolvedNodes.put(node, new ResolvedNode(nodeStyles));
+	}
+
+	/** returns the property value kept for the node or computes and keeps it if the styles of the node are kept */
+	@SuppressWarnings("unchecked")
+	<V> V getProperty(final NodeModel node, final Object key, final Function<NodeModel, V> resolver) {
+		final ResolvedNode resolvedNode = getResolvedNode(node);
+		if (resolvedNode == null)
+			return resolver.apply(node);
+		final Object cachedValue = resolvedNode.properties.get(key);
+		if (cachedValue != null) {
+			STATISTICS.propertyHits.increment();
+			return cachedValue == NULL_VALUE ? null : (V) cachedValue;
+		}
+		STATISTICS.propertyMisses.increment();
+		final V value = resolver.apply(node);
+		if (resolvedNodes.get(node) == resolvedNode)
+			resolvedNode.properties.put(key, value == null ? NULL_VALUE : value);
+		return value;
+	}
+
+	void remove(final NodeModel node) {
+		if (resolvedNodes.remove(node) != null)
+			STATISTICS.invalidations.increment();
+	}
+
+	/** removes the node, its clones and their children whose conditions can check their parent */
+	void removeWithClonesAndChildren(final NodeModel node) {
+		for (final NodeModel clone : node.allClones()) {
+			remove(clone);
+			for (final NodeModel child : clone.getChildren())
+				remove(child);
+		}
+	}
+
+	void removeSubtree(final NodeModel node) {
+		remove(node);
+		for (final NodeModel child : node.getChildren())
+			removeSubtree(child);
+	}
+
+	void clear() {
+		final int size = resolvedNodes.size();
+		resolvedNodes.clear();
+		mapStylesCanBeCached = null;
+		STATISTICS.invalidations.add(size);
+	}
+
+	public int size() {
+		return resolvedNodes.size();
+	}
+
+	private boolean canCache(final NodeModel node) {
+		final ConditionalStyleModel nodeConditionalStyles = node.getExtension(ConditionalStyleModel.class);
+		return (nodeConditionalStyles == null || !nodeConditionalStyles.dependOnCondition(CAN_NOT_CACHE_RESULT))
+		        && mapStylesCanBeCached(node.getMap());
+	}
+
+	private boolean mapStylesCanBeCached(final MapModel map) {
+		Boolean canBeCached = mapStylesCanBeCached;
+		if (canBeCached == null) {
+			canBeCached = !mapStylesDependOnCondition(MapStyleModel.getExtension(map), CAN_NOT_CACHE_RESULT);
+			mapStylesCanBeCached = canBeCached;
+		}
+		return canBeCached;
+	}
+
+	private static boolean mapStylesDependOnCondition(final MapStyleModel styleModel, final ConditionPredicate predicate) {
+		if (styleModel.getConditionalStyleModel().dependOnCondition(predicate))
+			return true;
+		for (final IStyle style : styleModel.getStyles()) {
+			final NodeModel styleNode = styleModel.getStyleNode(style);
+			final ConditionalStyleModel conditionalStyles = styleNode == null ? null
+			        : styleNode.getExtension(ConditionalStyleModel.class);
+			if (conditionalStyles != null && conditionalStyles.dependOnCondition(predicate))
+				return true;
+		}
+		return false;
+	}
+}
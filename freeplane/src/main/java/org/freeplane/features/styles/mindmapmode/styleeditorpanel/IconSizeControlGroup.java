@@ -26,7 +26,7 @@ class IconSizeControlGroup implements ControlGroup{
 		}
 		@Override
 		void setStyleOnExternalChange(NodeModel node) {
-			final Quantity<LengthUnit> iconSize = node.getSharedData().getIcons().getIconSize();
+			final Quantity<LengthUnit> iconSize = node.getSharedData().getIconSize();
 			final Quantity<LengthUnit> viewedIconSize = IconController.getController().getIconSize(node);
 			mSetIconSize.setValue(iconSize != null);
 			mIconSize.setQuantifiedValue(viewedIconSize);
@@ -60,6 +60,12 @@ public class DetailTextModel extends RichTextModel implements IExtension {
 		return extension != null ? extension.getHtml() : null;
 	}
 
+	/** returns the detail text converted to plain text or null */
+	public static String getPlainDetailTextText(final NodeModel node) {
+		final DetailTextModel extension = DetailTextModel.getDetailText(node);
+		return extension != null ? extension.getPlainText() : null;
+	}
+
 	public static String getXmlDetailTextText(final NodeModel node) {
 		final DetailTextModel extension = DetailTextModel.getDetailText(node);
 		return extension != null ? extension.getHtml() : null;
@@ -19,11 +19,14 @@
  */
 package org.freeplane.features.text;
 
+import java.util.function.Predicate;
+
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.filter.StringMatchingStrategy;
 import org.freeplane.features.filter.condition.ASelectableCondition;
 import org.freeplane.features.filter.condition.ConditionFactory;
 import org.freeplane.features.filter.condition.StringConditionAdapter;
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.n3.nanoxml.XMLElement;
 
@@ -77,6 +80,19 @@ public class NodeContainsCondition extends StringConditionAdapter implements Nod
 		return o != null && stringMatchingStrategy.matches(normalizedValue(), normalize(o), true);
 	}
 
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
+	@Override
+	public Predicate<NodeModel> createCandidateFilter(final MapModel map) {
+		if (matchApproximately || nodeItem.equals(TextController.FILTER_PARENT)) {
+			return null;
+		}
+		return TextIndex.nodesPossiblyContaining(map, value);
+	}
+
 	@Override
 	protected String createDescription() {
 		final String nodeCondition = TextUtils.getText(nodeItem);
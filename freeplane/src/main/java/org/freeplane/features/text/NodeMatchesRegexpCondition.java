@@ -75,6 +75,11 @@ public class NodeMatchesRegexpCondition extends ASelectableCondition implements
 		return searchPattern.matcher(text).find();
 	}
 
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
 	@Override
 	protected String createDescription() {
 		final String nodeCondition = TextUtils.getText(nodeItem);
@@ -47,6 +47,7 @@ import org.freeplane.n3.nanoxml.XMLElement;
  * 21.12.2008
  */
 class NodeTextConditionController implements IElementaryConditionController {
+	private static final Object TRANSFORMATION_LOCK = new Object();
 	private final ComboBoxModel values = new DefaultComboBoxModel();
 
 	public boolean canEditValues(final Object selectedItem, final TranslatedObject simpleCond) {
@@ -190,7 +191,10 @@ class NodeTextConditionController implements IElementaryConditionController {
 	private static Object getItemForComparison(Object nodeItem, final NodeModel node) {
 		final Object result;
 		if(nodeItem.equals(TextController.FILTER_NODE)){
-			result = transformedObject(node);
+			final Object transformedObject = transformedObject(node);
+			if(transformedObject instanceof String && transformedObject == node.getUserObject())
+				return node.getPlainText();
+			result = transformedObject;
 		}
 		else if(nodeItem.equals(TextController.FILTER_PARENT)){
 			final NodeModel parentNode = node.getParentNode();
@@ -200,10 +204,10 @@ class NodeTextConditionController implements IElementaryConditionController {
 				result = transformedObject(parentNode);
 		}
 		else if(nodeItem.equals(TextController.FILTER_DETAILS)){
-			result = DetailTextModel.getDetailTextText(node);
+			return DetailTextModel.getPlainDetailTextText(node);
 		}
 		else if(nodeItem.equals(TextController.FILTER_NOTE)){
-			result = NoteModel.getNoteText(node);
+			return NoteModel.getPlainNoteText(node);
 		}
 		else
 			result = null;
@@ -214,7 +218,15 @@ class NodeTextConditionController implements IElementaryConditionController {
 
 	private static Object transformedObject(final NodeModel node) {
 		final Object userObject = node.getUserObject();
-		return TextController.getController().getTransformedObjectNoFormattingNoThrow(userObject, node, null);
+		final TextController textController = TextController.getController();
+		/* formulas and texts of link targets are evaluated by scripts which are not thread safe,
+		 * conditions can be checked concurrently */
+		if (!(userObject instanceof String) || textController.isFormula(userObject, node, null)) {
+			synchronized (TRANSFORMATION_LOCK) {
+				return textController.getTransformedObjectNoFormattingNoThrow(userObject, node, null);
+			}
+		}
+		return textController.getTransformedObjectNoFormattingNoThrow(userObject, node, null);
 	}
 
 	public ListCellRenderer getValueRenderer(Object selectedProperty, TranslatedObject selectedCondition) {
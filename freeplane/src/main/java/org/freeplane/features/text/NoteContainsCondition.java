@@ -19,12 +19,14 @@
  */
 package org.freeplane.features.text;
 
-import org.freeplane.core.util.HtmlUtils;
+import java.util.function.Predicate;
+
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.filter.StringMatchingStrategy;
 import org.freeplane.features.filter.condition.ASelectableCondition;
 import org.freeplane.features.filter.condition.ConditionFactory;
 import org.freeplane.features.filter.condition.StringConditionAdapter;
+import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.note.NoteModel;
 import org.freeplane.n3.nanoxml.XMLElement;
@@ -75,9 +77,18 @@ public class NoteContainsCondition extends StringConditionAdapter {
 		return createDescription(nodeCondition, simpleCondition, value);
 	}
 
+	@Override
+	public boolean canBeCheckedConcurrently() {
+		return true;
+	}
+
+	@Override
+	public Predicate<NodeModel> createCandidateFilter(final MapModel map) {
+		return matchApproximately ? null : TextIndex.nodesPossiblyContaining(map, value);
+	}
+
 	protected String getText(final NodeModel node) {
-		final String noteText = NoteModel.getNoteText(node);
-		return noteText == null ? null : HtmlUtils.htmlToPlain(noteText);
+		return NoteModel.getPlainNoteText(node);
 	}
 
 	public void fillXML(final XMLElement child) {
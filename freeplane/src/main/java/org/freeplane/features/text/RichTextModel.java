@@ -1,5 +1,6 @@
 package org.freeplane.features.text;
 
+import org.freeplane.core.util.CachedPlainText;
 import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.core.util.XmlUtils;
 
@@ -7,16 +8,28 @@ import org.freeplane.core.util.XmlUtils;
 public class RichTextModel {
 	private String html = null;
 	private String xml = null;
+	private CachedPlainText plainText = null;
 
 	public String getHtml() {
 		return html;
 	}
 
+	/** returns {@link HtmlUtils#htmlToPlain(String)} of the html text, which is converted only once after each change */
+	public String getPlainText() {
+		final String html = this.html;
+		if (html == null)
+			return null;
+		final CachedPlainText plainText = CachedPlainText.of(this.plainText, html);
+		this.plainText = plainText;
+		return plainText.getPlainText();
+	}
+
 	public String getXml() {
 		return xml;
 	}
 
 	public final void setHtml(final String pNoteText) {
+		plainText = null;
 		if (pNoteText == null) {
 			xml = null;
 			html = null;
@@ -34,6 +47,7 @@ public class RichTextModel {
 	}
 
 	public final void setXml(final String pXmlNoteText) {
+		plainText = null;
 		if (pXmlNoteText == null) {
 			xml = null;
 			html = null;
@@ -99,6 +99,9 @@ public class TextController implements IExtension {
 		final MapController mapController = modeController.getMapController();
 		final ReadManager readManager = mapController.getReadManager();
 		final WriteManager writeManager = mapController.getWriteManager();
+		final TextIndex.Updater textIndexUpdater = new TextIndex.Updater();
+		mapController.addNodeChangeListener(textIndexUpdater);
+		mapController.addMapChangeListener(textIndexUpdater);
 		final NodeTextBuilder textBuilder = new NodeTextBuilder();
 		textBuilder.registerBy(readManager, writeManager);
 		writeManager.addExtensionElementWriter(DetailTextModel.class, textBuilder);
@@ -252,7 +255,7 @@ public class TextController implements IExtension {
 		final Object userObject = nodeModel.getUserObject();
 		final Object input;
 		if (userObject instanceof String && HtmlUtils.isHtml((String) userObject))
-			input = HtmlUtils.htmlToPlain((String) userObject);
+			input = nodeModel.getPlainText();
 		else
 			input = userObject;
 		final String text = getTransformedTextNoThrow(input, nodeModel, userObject);
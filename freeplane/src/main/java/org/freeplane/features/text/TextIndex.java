@@ -0,0 +1,382 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.features.text;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.attribute.IAttributeTableModel;
+import org.freeplane.features.attribute.NodeAttributeTableModel;
+import org.freeplane.features.filter.Filter;
+import org.freeplane.features.map.IMapChangeListener;
+import org.freeplane.features.map.INodeChangeListener;
+import org.freeplane.features.map.MapChangeEvent;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeChangeEvent;
+import org.freeplane.features.map.NodeDeletionEvent;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeStream;
+import org.freeplane.features.note.NoteModel;
+import org.freeplane.features.url.UrlManager;
+
+/**
+ * Inverted index of the texts of all nodes of a map: node text, details, notes, attribute names and values.
+ * The texts are folded to lower case without diacritics and split into all their sequences of three characters.
+ * A node can contain a searched text only if it contains all its sequences,
+ * so the index excludes nodes which can not match without looking at them,
+ * the remaining candidates still have to be checked.
+ * Nodes which are not indexed or changed since the last lookup are always candidates,
+ * nodes containing formulas are never indexed.
+ */
+public class TextIndex implements IExtension {
+	static final String USE_TEXT_INDEX_PROPERTY = "filter.useTextIndex";
+	private static final int SEQUENCE_LENGTH = 3;
+	private static final int MIN_REMOVED_SLOTS_FOR_COMPACTION = 1024;
+
+	static class Updater implements INodeChangeListener, IMapChangeListener {
+		@Override
+		public void nodeChanged(final NodeChangeEvent event) {
+			if (Filter.class.equals(event.getProperty())) {
+				return;
+			}
+			final NodeModel node = event.getNode();
+			final TextIndex index = getExistingIndex(node.getMap());
+			if (index != null) {
+				for (final NodeModel clone : node.allClones()) {
+					index.invalidate(clone);
+				}
+			}
+		}
+
+		@Override
+		public void mapChanged(final MapChangeEvent event) {
+			final Object property = event.getProperty();
+			final MapModel map = event.getMap();
+			if (map != null && !Filter.class.equals(property) && !UrlManager.MAP_URL.equals(property)) {
+				/* style changes can change the formatting of all nodes */
+				map.removeExtension(TextIndex.class);
+			}
+		}
+
+		@Override
+		public void onNodeDeleted(final NodeDeletionEvent nodeDeletionEvent) {
+			final TextIndex index = getExistingIndex(nodeDeletionEvent.parent.getMap());
+			if (index != null) {
+				NodeStream.of(nodeDeletionEvent.node).forEach(index::remove);
+			}
+		}
+
+		@Override
+		public void onNodeInserted(final NodeModel parent, final NodeModel child, final int newIndex) {
+			final TextIndex index = getExistingIndex(parent.getMap());
+			if (index != null) {
+				NodeStream.of(child).forEach(index::invalidate);
+			}
+		}
+
+		private TextIndex getExistingIndex(final MapModel map) {
+			return map == null ? null : map.getExtension(TextIndex.class);
+		}
+	}
+
+	private static class Slots {
+		private int[] slots = new int[2];
+		private int size;
+
+		void add(final int slot) {
+			if (size == slots.length) {
+				slots = Arrays.copyOf(slots, size * 2);
+			}
+			slots[size++] = slot;
+		}
+
+		boolean contains(final int slot) {
+			return Arrays.binarySearch(slots, 0, size, slot) >= 0;
+		}
+	}
+
+	/**
+	 * Returns a predicate which is false for nodes of the given map whose texts certainly do not contain
+	 * the given text, or null if the index can not exclude any nodes for this text.
+	 * Case and diacritics are ignored.
+	 */
+	public static Predicate<NodeModel> nodesPossiblyContaining(final MapModel map, final String text) {
+		if (map == null || text == null || text.length() < SEQUENCE_LENGTH
+		        || !ResourceController.getResourceController().getBooleanProperty(USE_TEXT_INDEX_PROPERTY)) {
+			return null;
+		}
+		TextIndex index = map.getExtension(TextIndex.class);
+		if (index == null) {
+			index = new TextIndex(map.getRootNode(), TextIndex::textsOf);
+			map.putExtension(TextIndex.class, index);
+		}
+		return index.nodesPossiblyContaining(text);
+	}
+
+	/**
+	 * Returns the searchable texts of the node, or null if they contain formulas.
+	 * Formulas can refer to other nodes and change without any event for the node itself,
+	 * so such nodes are not indexed and always remain candidates.
+	 */
+	static Collection<String> textsOf(final NodeModel node) {
+		final TextController textController = TextController.getController();
+		if (containsFormula(textController, node)) {
+			return null;
+		}
+		final List<String> texts = new ArrayList<String>();
+		texts.add(node.getPlainText());
+		for (final Object item : NodeTextConditionController.getItemsForComparison(TextController.FILTER_ANYTEXT, node)) {
+			if (item != null) {
+				texts.add(item.toString());
+			}
+		}
+		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
+		for (int i = 0; i < attributes.getRowCount(); i++) {
+			texts.add(attributes.getValueAt(i, 0).toString());
+			final Object value = attributes.getValueAt(i, 1);
+			if (value != null) {
+				texts.add(value.toString());
+				texts.add(textController.getTransformedTextNoThrow(value, node, null));
+			}
+		}
+		return texts;
+	}
+
+	private static boolean containsFormula(final TextController textController, final NodeModel node) {
+		final Object userObject = node.getUserObject();
+		if (textController.isFormula(userObject, node, userObject)) {
+			return true;
+		}
+		final DetailTextModel details = DetailTextModel.getDetailText(node);
+		if (details != null && textController.isFormula(details.getPlainText(), node, details)) {
+			return true;
+		}
+		final NoteModel note = NoteModel.getNote(node);
+		if (note != null && textController.isFormula(note.getPlainText(), node, note)) {
+			return true;
+		}
+		final IAttributeTableModel attributes = NodeAttributeTableModel.getModel(node);
+		for (int i = 0; i < attributes.getRowCount(); i++) {
+			if (textController.isFormula(attributes.getValueAt(i, 1), node, null)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Maps each character to lower case without diacritics.
+	 * Because each character is mapped independently, the folded text contains the folded searched text
+	 * whenever the text contains the searched text, no matter if case or diacritics are ignored by the search.
+	 */
+	static String fold(final CharSequence text) {
+		final StringBuilder folded = new StringBuilder(text.length());
+		for (int i = 0; i < text.length();) {
+			final int codePoint = Character.codePointAt(text, i);
+			i += Character.charCount(codePoint);
+			if (codePoint < 0x80) {
+				folded.append(Character.toLowerCase((char) codePoint));
+			}
+			else {
+				final String decomposed = Normalizer.normalize(new String(Character.toChars(codePoint)),
+				    Normalizer.Form.NFD);
+				for (int j = 0; j < decomposed.length();) {
+					final int decomposedCodePoint = decomposed.codePointAt(j);
+					j += Character.charCount(decomposedCodePoint);
+					if (!isCombiningMark(decomposedCodePoint)) {
+						folded.appendCodePoint(Character.toLowerCase(Character.toUpperCase(decomposedCodePoint)));
+					}
+				}
+			}
+		}
+		return folded.toString();
+	}
+
+	private static boolean isCombiningMark(final int codePoint) {
+		final int type = Character.getType(codePoint);
+		return type == Character.NON_SPACING_MARK || type == Character.ENCLOSING_MARK
+		        || type == Character.COMBINING_SPACING_MARK;
+	}
+
+	private final Function<NodeModel, Collection<String>> textSupplier;
+	private final Map<NodeModel, Integer> nodeSlots;
+	private final Map<Long, Slots> sequenceSlots;
+	private final Set<NodeModel> outdatedNodes;
+	private final BitSet usedSlots;
+	private int nextSlot;
+	private volatile int generation;
+
+	TextIndex(final NodeModel root, final Function<NodeModel, Collection<String>> textSupplier) {
+		this.textSupplier = textSupplier;
+		nodeSlots = new ConcurrentHashMap<NodeModel, Integer>();
+		sequenceSlots = new HashMap<Long, Slots>();
+		outdatedNodes = new LinkedHashSet<NodeModel>();
+		usedSlots = new BitSet();
+		NodeStream.of(root).forEach(this::add);
+	}
+
+	synchronized Predicate<NodeModel> nodesPossiblyContaining(final String text) {
+		final String foldedText = fold(text);
+		if (foldedText.length() < SEQUENCE_LENGTH) {
+			return null;
+		}
+		updateOutdatedNodes();
+		final BitSet matchingSlots = findSlotsContaining(foldedText);
+		final int slotLimit = nextSlot;
+		final int indexGeneration = generation;
+		return node -> {
+			final Integer slot = nodeSlots.get(node);
+			return slot == null || indexGeneration != generation || slot >= slotLimit || matchingSlots.get(slot);
+		};
+	}
+
+	private BitSet findSlotsContaining(final String foldedText) {
+		final long[] sequences = sequencesOf(foldedText);
+		final Slots[] requiredSlots = new Slots[sequences.length];
+		for (int i = 0; i < sequences.length; i++) {
+			requiredSlots[i] = sequenceSlots.get(sequences[i]);
+			if (requiredSlots[i] == null) {
+				return new BitSet();
+			}
+		}
+		Arrays.sort(requiredSlots, (first, second) -> Integer.compare(first.size, second.size));
+		final BitSet matchingSlots = new BitSet();
+		final Slots rarestSequenceSlots = requiredSlots[0];
+		candidates: for (int i = 0; i < rarestSequenceSlots.size; i++) {
+			final int slot = rarestSequenceSlots.slots[i];
+			if (!usedSlots.get(slot)) {
+				continue;
+			}
+			for (int j = 1; j < requiredSlots.length; j++) {
+				if (!requiredSlots[j].contains(slot)) {
+					continue candidates;
+				}
+			}
+			matchingSlots.set(slot);
+		}
+		return matchingSlots;
+	}
+
+	synchronized void invalidate(final NodeModel node) {
+		releaseSlot(node);
+		outdatedNodes.add(node);
+	}
+
+	synchronized void remove(final NodeModel node) {
+		releaseSlot(node);
+		outdatedNodes.remove(node);
+	}
+
+	private void releaseSlot(final NodeModel node) {
+		final Integer slot = nodeSlots.remove(node);
+		if (slot != null) {
+			usedSlots.clear(slot);
+		}
+	}
+
+	private void updateOutdatedNodes() {
+		for (final NodeModel node : outdatedNodes) {
+			add(node);
+		}
+		outdatedNodes.clear();
+		if (nextSlot - nodeSlots.size() >= Math.max(MIN_REMOVED_SLOTS_FOR_COMPACTION, nodeSlots.size())) {
+			compact();
+		}
+	}
+
+	private void add(final NodeModel node) {
+		final Collection<String> texts = textSupplier.apply(node);
+		if (texts == null) {
+			return;
+		}
+		final int slot = nextSlot++;
+		final Set<Long> nodeSequences = new HashSet<Long>();
+		for (final String text : texts) {
+			if (text != null) {
+				for (final long sequence : sequencesOf(fold(text))) {
+					nodeSequences.add(sequence);
+				}
+			}
+		}
+		for (final Long sequence : nodeSequences) {
+			Slots slots = sequenceSlots.get(sequence);
+			if (slots == null) {
+				slots = new Slots();
+				sequenceSlots.put(sequence, slots);
+			}
+			slots.add(slot);
+		}
+		nodeSlots.put(node, slot);
+		usedSlots.set(slot);
+	}
+
+	/** Renumbers the used slots removing slots of changed and deleted nodes. */
+	private void compact() {
+		final int[] newSlots = new int[nextSlot];
+		int usedSlotCount = 0;
+		for (int slot = usedSlots.nextSetBit(0); slot >= 0; slot = usedSlots.nextSetBit(slot + 1)) {
+			newSlots[slot] = usedSlotCount++;
+		}
+		for (final Iterator<Slots> iterator = sequenceSlots.values().iterator(); iterator.hasNext();) {
+			final Slots slots = iterator.next();
+			int size = 0;
+			for (int i = 0; i < slots.size; i++) {
+				final int slot = slots.slots[i];
+				if (usedSlots.get(slot)) {
+					slots.slots[size++] = newSlots[slot];
+				}
+			}
+			if (size == 0) {
+				iterator.remove();
+			}
+			slots.size = size;
+		}
+		generation++;
+		for (final Map.Entry<NodeModel, Integer> entry : nodeSlots.entrySet()) {
+			entry.setValue(newSlots[entry.getValue()]);
+		}
+		usedSlots.clear();
+		usedSlots.set(0, usedSlotCount);
+		nextSlot = usedSlotCount;
+	}
+
+	private static long[] sequencesOf(final String foldedText) {
+		final int sequenceCount = Math.max(0, foldedText.length() - SEQUENCE_LENGTH + 1);
+		final long[] sequences = new long[sequenceCount];
+		for (int i = 0; i < sequenceCount; i++) {
+			sequences[i] = (long) foldedText.charAt(i) << 32 | (long) foldedText.charAt(i + 1) << 16
+			        | foldedText.charAt(i + 2);
+		}
+		return sequences;
+	}
+}
@@ -74,6 +74,13 @@ public interface IMapViewManager {
 
 	public RenderedImage createImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int imageResolutionInDpi);
 
+	/** Like {@link #createImage(int)}, but the image is painted while it is read and must be closed afterwards. */
+	public CloseableRenderedImage createCloseableImage(int dpi);
+
+	/** Like {@link #createImage(Dimension, NodeModel, NodePosition, int)}, but the image is painted while it is read
+	 * and must be closed afterwards. */
+	public CloseableRenderedImage createCloseableImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int imageResolutionInDpi);
+
 	public Color getBackgroundColor(NodeModel node);
 
 	public Component getComponent(NodeModel node);
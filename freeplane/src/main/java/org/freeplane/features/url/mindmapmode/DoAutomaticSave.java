@@ -19,18 +19,28 @@
  */
 package org.freeplane.features.url.mindmapmode;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URL;
+import java.nio.charset.StandardCharsets;
 import java.util.TimerTask;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
 
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapWriter.Mode;
 import org.freeplane.features.map.mindmapmode.MMapModel;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.mode.mindmapmode.MModeController;
+import org.freeplane.features.ui.ViewController;
 import org.freeplane.features.url.UrlManager;
 
 public class DoAutomaticSave extends TimerTask {
@@ -46,6 +56,8 @@ public class DoAutomaticSave extends TimerTask {
 	final private int numberOfFiles;
 	private final File singleBackupDirectory;
 	static final String BACKUP_DIR = ".backup";
+	private static volatile long lastEventDispatchThreadPause;
+	private static volatile long maxEventDispatchThreadPause;
 
 	public DoAutomaticSave(final MapModel model, final int numberOfTempFiles,
 	                       final boolean filesShouldBeDeletedAfterShutdown, boolean useSingleBackupDirectory,
@@ -57,6 +69,39 @@ public class DoAutomaticSave extends TimerTask {
 		changeState = model.getNumberOfChangesSinceLastSave();
 	}
 
+	/** Time in milliseconds the event dispatch thread was blocked by the last automatic save */
+	public static long getLastEventDispatchThreadPause() {
+		return lastEventDispatchThreadPause;
+	}
+
+	/** Maximal time in milliseconds the event dispatch thread was blocked by an automatic save */
+	public static long getMaxEventDispatchThreadPause() {
+		return maxEventDispatchThreadPause;
+	}
+
+	private static void recordEventDispatchThreadPause(final long startNanos, final File file) {
+		final long pause = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+		lastEventDispatchThreadPause = pause;
+		if (pause > maxEventDispatchThreadPause) {
+			maxEventDispatchThreadPause = pause;
+		}
+		LogUtils.getLogger().log(Level.FINE, "automatic save of " + file + " blocked the event dispatch thread for "
+		        + pause + " ms");
+	}
+
+	/** Map content serialized on the event dispatch thread and the task to be replaced after it is written. */
+	private static class MapSnapshot {
+		final File file;
+		final byte[] content;
+		final TimerTask cancelledTask;
+
+		MapSnapshot(final File file, final byte[] content, final TimerTask cancelledTask) {
+			this.file = file;
+			this.content = content;
+			this.cancelledTask = cancelledTask;
+		}
+	}
+
 	@Override
 	public void run() {
 		/* Map is dirty enough? */
@@ -70,54 +115,111 @@ public class DoAutomaticSave extends TimerTask {
 		}
 		try {
 			cancel();
+			final MapSnapshot[] snapshot = new MapSnapshot[1];
 			Controller.getCurrentController().getViewController().invokeAndWait(new Runnable() {
 
 				@Override
 				public void run() {
-					/* Now, it is dirty, we save it. */
+					/* Now, it is dirty, we serialize it. The XML is still written on the event dispatch thread
+					 * because the map model may only be accessed there, only the file is written outside of it. */
+					final long startNanos = System.nanoTime();
 					try {
 						final ModeController currentModeController = Controller.getCurrentModeController();
 						if(!(currentModeController instanceof MModeController))
 							return;
-						MModeController modeController = ((MModeController) currentModeController);
-						final File pathToStore;
 						final URL url = model.getURL();
 						final File file = new File(url != null ? url.getFile() //
 						        : model.getTitle() + UrlManager.FREEPLANE_FILE_EXTENSION);
-						if (url == null) {
-							pathToStore = new File(ResourceController.getResourceController()
-							    .getFreeplaneUserDirectory(), BACKUP_DIR);
-						}
-						else if (singleBackupDirectory != null) {
-							pathToStore = singleBackupDirectory;
-						}
-						else {
-							pathToStore = new File(file.getParent(), BACKUP_DIR);
-						}
-						pathToStore.mkdirs();
-						final File tempFile = MFileManager.renameBackupFiles(pathToStore, file, numberOfFiles,
-						    AUTOSAVE_EXTENSION);
-						if (tempFile == null) {
-							return;
-						}
-						if (filesShouldBeDeletedAfterShutdown) {
-							tempFile.deleteOnExit();
-						}
 						if(file.canWrite()) {
-							((MFileManager) UrlManager.getController())
-							.saveInternal((MMapModel) model, tempFile, true /*=internal call*/);
-							modeController.getController().getViewController()
-							.out(TextUtils.format("automatically_save_message", tempFile));
+							final TimerTask task = ((MMapModel) model).getAutomaticSavingTask();
+							if (task != null) {
+								task.cancel();
+							}
+							snapshot[0] = new MapSnapshot(file, serialize(currentModeController), task);
 						}
 					}
 					catch (final Exception e) {
 						LogUtils.severe("Error in automatic MapModel.save(): ", e);
 					}
+					finally {
+						if (snapshot[0] != null) {
+							recordEventDispatchThreadPause(startNanos, snapshot[0].file);
+						}
+					}
 				}
 			});
+			if (snapshot[0] != null) {
+				save(snapshot[0]);
+			}
 		}
 		catch (final Exception e) {
 			LogUtils.severe(e);
 		}
 	}
+
+	private byte[] serialize(final ModeController modeController) throws IOException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream();
+		final Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		modeController.getMapController().getMapWriter().writeMapAsXml(model, writer, Mode.FILE, true, false);
+		return out.toByteArray();
+	}
+
+	private void save(final MapSnapshot snapshot) {
+		final ViewController viewController = Controller.getCurrentController().getViewController();
+		try {
+			final File file = snapshot.file;
+			final File pathToStore;
+			if (model.getURL() == null) {
+				pathToStore = new File(ResourceController.getResourceController()
+				    .getFreeplaneUserDirectory(), BACKUP_DIR);
+			}
+			else if (singleBackupDirectory != null) {
+				pathToStore = singleBackupDirectory;
+			}
+			else {
+				pathToStore = new File(file.getParent(), BACKUP_DIR);
+			}
+			pathToStore.mkdirs();
+			final File tempFile = MFileManager.renameBackupFiles(pathToStore, file, numberOfFiles,
+			    AUTOSAVE_EXTENSION);
+			if (tempFile == null) {
+				return;
+			}
+			if (filesShouldBeDeletedAfterShutdown) {
+				tempFile.deleteOnExit();
+			}
+			try {
+				MFileManager.writeToFile(snapshot.content, tempFile);
+				viewController.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						viewController.out(TextUtils.format("automatically_save_message", tempFile));
+					}
+				});
+			}
+			catch (final IOException e) {
+				final String message = TextUtils.format("save_failed", tempFile.getName());
+				viewController.invokeLater(new Runnable() {
+					@Override
+					public void run() {
+						viewController.out(message);
+					}
+				});
+			}
+		}
+		catch (final Exception e) {
+			LogUtils.severe("Error in automatic MapModel.save(): ", e);
+		}
+		finally {
+			viewController.invokeLater(new Runnable() {
+				@Override
+				public void run() {
+					final MMapModel map = (MMapModel) model;
+					if (map.getAutomaticSavingTask() == snapshot.cancelledTask) {
+						map.scheduleTimerForAutomaticSaving();
+					}
+				}
+			});
+		}
+	}
 }
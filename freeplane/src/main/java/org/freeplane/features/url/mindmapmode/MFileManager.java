@@ -832,9 +832,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 	 */
 	boolean saveInternal(final MMapModel map, final File file, final boolean isInternal) {
 		try {
-			if (map.getTimerForAutomaticSaving() != null) {
-				map.getTimerForAutomaticSaving().cancel();
-			}
+			map.cancelAutomaticSaving();
 			writeToFile(map, file);
 			map.scheduleTimerForAutomaticSaving();
 			return true;
@@ -861,17 +859,7 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 	public void writeToFile(final MapModel map, final File file) throws FileNotFoundException, IOException {
 		FileLock lock = null;
 		try (final FileOutputStream out = new FileOutputStream(file)){
-			boolean lockedByOtherApplication = false;
-			try {
-				lock = out.getChannel().tryLock();
-				lockedByOtherApplication = lock == null;
-			}
-			catch (Exception e) {
-				LogUtils.warn(e.getMessage(), e);
-			}
-			if (lockedByOtherApplication) {
-				throw new IOException("can not obtain file lock for " + file);
-			}
+			lock = lockForWriting(out, file);
 			final BufferedWriter fileout = new BufferedWriter(new OutputStreamWriter(out,//
 				StandardCharsets.UTF_8));
 			Controller.getCurrentModeController().getMapController().getMapWriter()
@@ -883,6 +871,35 @@ public class MFileManager extends UrlManager implements IMapViewChangeListener {
 		}
 	}
 
+	/** Writes map content serialized before, may be called outside of the event dispatch thread. */
+	static void writeToFile(final byte[] mapContent, final File file) throws FileNotFoundException, IOException {
+		FileLock lock = null;
+		try (final FileOutputStream out = new FileOutputStream(file)){
+			lock = lockForWriting(out, file);
+			out.write(mapContent);
+		}
+		finally {
+			if (lock != null && lock.isValid())
+				lock.release();
+		}
+	}
+
+	private static FileLock lockForWriting(final FileOutputStream out, final File file) throws IOException {
+		FileLock lock = null;
+		boolean lockedByOtherApplication = false;
+		try {
+			lock = out.getChannel().tryLock();
+			lockedByOtherApplication = lock == null;
+		}
+		catch (Exception e) {
+			LogUtils.warn(e.getMessage(), e);
+		}
+		if (lockedByOtherApplication) {
+			throw new IOException("can not obtain file lock for " + file);
+		}
+		return lock;
+	}
+
 	public void setFile(final MapModel map, final File file) {
 		try {
 			final URL url = Compat.fileToUrl(file);
@@ -44,6 +44,7 @@ import org.freeplane.features.map.IMapSelectionListener;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.ui.CloseableRenderedImage;
 import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.ui.IMapViewManager;
 
@@ -147,6 +148,16 @@ public class HeadlessMapViewController implements IMapViewManager {
 		throw new RuntimeException("Method not implemented");
 	}
 
+	@Override
+	public CloseableRenderedImage createCloseableImage(int dpi) {
+		throw new RuntimeException("Method not implemented");
+	}
+
+	@Override
+	public CloseableRenderedImage createCloseableImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int dpi) {
+		throw new RuntimeException("Method not implemented");
+	}
+
 	@Override
 	public Color getBackgroundColor(NodeModel node) {
 		throw new RuntimeException("Method not implemented");
@@ -21,9 +21,10 @@ package org.freeplane.view.swing.features.filepreview;
 
 import java.awt.Dimension;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
 import java.awt.Image;
+import java.awt.RenderingHints;
 import java.awt.image.BufferedImage;
-import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
@@ -34,21 +35,19 @@ import java.net.URL;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
 import java.util.Iterator;
+import java.util.concurrent.CompletionException;
 
 import javax.imageio.IIOException;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReader;
 import javax.imageio.stream.ImageInputStream;
 import javax.swing.JComponent;
-import javax.swing.JFileChooser;
 import javax.swing.SwingUtilities;
 
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.util.LogUtils;
 import org.freeplane.view.swing.map.MapView;
 
-import com.thebuzzmedia.imgscalr.Scalr;
-
 /**
  * @author Dimitry Polivaev
  * 22.08.2009
@@ -60,21 +59,22 @@ public class BitmapViewerComponent extends JComponent implements ScalableCompone
 	}
 
 	private static final long serialVersionUID = 1L;
-	private File cacheFile;
 	private int hint;
 	private BufferedImage cachedImage;
 	private WeakReference<BufferedImage> cachedImageWeakRef;
+	private ScaledImageCache.Key requestedImageKey;
 	private final URL url;
+	private final long urlLastModified;
 	private final Dimension originalSize;
 	private int imageX;
 	private int imageY;
 	private boolean scaleEnabled;
 	private Dimension maximumSize = null;
-	private final static Object LOCK = new Object();
 	private static boolean disabledDueToJavaBug = false;
 
 	public BitmapViewerComponent(final URI uri) throws MalformedURLException, IOException {
 		url = uri.toURL();
+		urlLastModified = ScaledImageCache.Key.lastModified(url);
 		originalSize = readImageSize(url);
 		hint = Image.SCALE_SMOOTH;
 		scaleEnabled = true;
@@ -140,61 +140,119 @@ public class BitmapViewerComponent extends JComponent implements ScalableCompone
 			cachedImage = cachedImageWeakRef.get();
 			cachedImageWeakRef = null;
 		}
-		if (cachedImage == null && cacheFile != null) {
-			loadImageFromCacheFile();
-			if (!isCachedImageValid()) {
-				cacheFile.delete();
-				cacheFile = null;
-			}
-		}
 		if (!isCachedImageValid()) {
-			final BufferedImage image = loadImageFromURL();
-			if (image == null || hasNoArea(image)) {
-				return null;
+			final BufferedImage scaledImage = getScaledImage();
+			if (scaledImage != null) {
+				centerImagePosition(scaledImage.getWidth(), scaledImage.getHeight());
+				cachedImage = scaledImage;
 			}
-			BufferedImage scaledImage = null;
-			try {
-				scaledImage = Scalr.resize(image, Scalr.Mode.BEST_FIT_BOTH, getWidth(), getHeight());
-			}
-			catch (final Exception e) {
-				LogUtils.severe(e);
-				return null;
+		}
+		if (cachedImage == null) {
+			return null;
+		}
+		if (isCachedImageValid()) {
+			drawImage(g, cachedImage, imageX, imageY, cachedImage.getWidth(), cachedImage.getHeight());
+		}
+		else {
+			paintPlaceholder(g);
+		}
+		flushImage();
+		return null;
+    }
+
+	/**
+	 * Returns the image scaled to the component size if it is available in memory,
+	 * otherwise starts its loading in background and returns null.
+	 * Images which failed to load are not requested again.
+	 */
+	private BufferedImage getScaledImage() {
+		final ScaledImageCache.Key key = new ScaledImageCache.Key(url, urlLastModified, getWidth(), getHeight());
+		final CacheType cacheType = getCacheType();
+		final ScaledImageCache imageCache = ScaledImageCache.getInstance();
+		if (cacheType != CacheType.IC_DISABLE) {
+			final BufferedImage image = imageCache.get(key);
+			if (image != null) {
+				return image;
 			}
-			finally {
-				image.flush();
+		}
+		if (!key.equals(requestedImageKey) && !imageCache.hasFailed(key)) {
+			requestedImageKey = key;
+			imageCache.load(key, cacheType != CacheType.IC_DISABLE, cacheType == CacheType.IC_FILE)
+			    .whenComplete((image, exception) -> SwingUtilities.invokeLater(() -> imageLoaded(key, image, exception)));
+		}
+		return null;
+	}
+
+	private void imageLoaded(final ScaledImageCache.Key key, final BufferedImage image, final Throwable exception) {
+		final boolean failed = exception != null || image == null || hasNoArea(image);
+		if (failed && key.equals(requestedImageKey)) {
+			/* the image cache remembers the failure, so that it is not requested and logged again */
+			requestedImageKey = null;
+		}
+		if (exception != null) {
+			final Throwable cause = exception instanceof CompletionException ? exception.getCause() : exception;
+			if (cause instanceof IOException) {
+				logImageReadingException((IOException) cause);
 			}
-			final int scaledImageHeight = scaledImage.getHeight();
-			final int scaledImageWidth = scaledImage.getWidth();
-			centerImagePosition(scaledImageWidth, scaledImageHeight);
-			cachedImage = scaledImage;
-			if (getCacheType().equals(CacheType.IC_FILE)) {
-				writeCacheFile();
+			else {
+				LogUtils.severe(cause);
 			}
+			return;
+		}
+		if (failed) {
+			return;
+		}
+		if (key.equals(requestedImageKey)) {
+			requestedImageKey = null;
+			centerImagePosition(image.getWidth(), image.getHeight());
+			cachedImage = image;
+			cachedImageWeakRef = null;
 		}
+		else if (cachedImage == null && (cachedImageWeakRef == null || cachedImageWeakRef.get() == null)) {
+			cachedImage = image;
+		}
+		else {
+			return;
+		}
+		repaint();
+	}
+
+	/** paints the image loaded for another size until the image of the current size is loaded */
+	private void paintPlaceholder(final Graphics g) {
+		final int width = cachedImage.getWidth();
+		final int height = cachedImage.getHeight();
+		final double scale = Math.min(getWidth() / (double) width, getHeight() / (double) height);
+		final int scaledWidth = (int) (width * scale);
+		final int scaledHeight = (int) (height * scale);
+		final Graphics2D g2 = (Graphics2D) g.create();
 		try {
-			g.drawImage(cachedImage, imageX, imageY, null);
+			g2.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+			drawImage(g2, cachedImage, (getWidth() - scaledWidth) / 2, (getHeight() - scaledHeight) / 2, scaledWidth,
+			    scaledHeight);
 		}
-		catch (ClassCastException e) {
-			LogUtils.severe("Disabled bitmap image painting due to java bug https://bugs.openjdk.java.net/browse/JDK-8160328. Modify freeplane.sh to run java with option '-Dsun.java2d.xrender=false'");
-			disabledDueToJavaBug = true;
+		finally {
+			g2.dispose();
 		}
-		flushImage();
-		return null;
-    }
+	}
 
 	private void paintOriginalImage(Graphics g) {
         final BufferedImage image = loadImageFromURL();
         if (image != null && !hasNoArea(image)) {
-            try {
-                g.drawImage(image, imageX, imageY, getWidth(), getHeight(), null);
-            }
-            catch (ClassCastException e) {
-                LogUtils.severe("Disabled bitmap image painting due to java bug https://bugs.openjdk.java.net/browse/JDK-8160328. Modify freeplane.sh to run java with option '-Dsun.java2d.xrender=false'");
-                disabledDueToJavaBug = true;
-            }
+            drawImage(g, image, imageX, imageY, getWidth(), getHeight());
         }
     }
 
+	private void drawImage(final Graphics g, final BufferedImage image, final int x, final int y, final int width,
+	                       final int height) {
+		try {
+			g.drawImage(image, x, y, width, height, null);
+		}
+		catch (ClassCastException e) {
+			LogUtils.severe("Disabled bitmap image painting due to java bug https://bugs.openjdk.java.net/browse/JDK-8160328. Modify freeplane.sh to run java with option '-Dsun.java2d.xrender=false'");
+			disabledDueToJavaBug = true;
+		}
+	}
+
 
     private boolean isPrinting() {
 	    MapView map = (MapView) SwingUtilities.getAncestorOfClass(MapView.class, this);
@@ -219,15 +277,6 @@ public class BitmapViewerComponent extends JComponent implements ScalableCompone
 		return false;
 	}
 
-	private void loadImageFromCacheFile() {
-		try {
-			cachedImage = ImageIO.read(cacheFile);
-		}
-		catch (final IOException e) {
-			logImageReadingException(e);
-		}
-	}
-
 	private boolean isCachedImageValid() {
 		return cachedImage != null
 		        && (!scaleEnabled || componentHasSameWidthAsCachedImage()
@@ -291,38 +340,6 @@ public class BitmapViewerComponent extends JComponent implements ScalableCompone
 		return ResourceController.getResourceController().getEnumProperty("image_cache", CacheType.IC_DISABLE);
 	}
 
-	private void writeCacheFile() {
-		final File tempDir = new File(System.getProperty("java.io.tmpdir"), "freeplane");
-		tempDir.mkdirs();
-		try {
-			synchronized(LOCK) {
-				if(cacheFile == null)
-					cacheFile = File.createTempFile("cachedImage", ".jpg", tempDir);
-				else{
-					cacheFile.delete();
-					cacheFile.createNewFile();
-				}
-
-			}
-			ImageIO.write(cachedImage, "jpg", cacheFile);
-		}
-		catch (final IOException e) {
-			if(cacheFile != null) {
-				cacheFile.delete();
-				cacheFile = null;
-			}
-		}
-	}
-
-	@Override
-	public void removeNotify() {
-		super.removeNotify();
-		if (cacheFile != null) {
-			cacheFile.delete();
-			cacheFile = null;
-		}
-	}
-
 	@Override
 	public void setFinalViewerSize(final Dimension size) {
 		final Dimension sizeWithScaleCorrection = fitToMaximumSize(size);
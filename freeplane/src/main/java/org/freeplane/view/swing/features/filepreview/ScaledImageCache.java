@@ -0,0 +1,333 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.features.filepreview;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.util.LogUtils;
+
+import com.thebuzzmedia.imgscalr.Scalr;
+
+/**
+ * Decodes bitmap images scaled to the size of their viewers in background threads.
+ * The scaled images are kept in a memory cache limited by their pixel data size
+ * and optionally in a disk cache in the user directory limited by its file size,
+ * both keyed by image URL, file modification time and target size.
+ * Large images are decoded with subsampling so that only about twice the target resolution is read.
+ * Images which can not be loaded are not loaded again until their URL or modification time changes.
+ */
+class ScaledImageCache {
+	static final class Key {
+		final URL url;
+		final long lastModified;
+		final int width;
+		final int height;
+
+		Key(final URL url, final long lastModified, final int width, final int height) {
+			this.url = url;
+			this.lastModified = lastModified;
+			this.width = width;
+			this.height = height;
+		}
+
+		static long lastModified(final URL url) {
+			if (!"file".equals(url.getProtocol()))
+				return 0;
+			try {
+				return new File(url.toURI()).lastModified();
+			}
+			catch (URISyntaxException | IllegalArgumentException e) {
+				return 0;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			return ((url.toString().hashCode() * 31 + Long.hashCode(lastModified)) * 31 + width) * 31 + height;
+		}
+
+		@Override
+		public boolean equals(final Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			final Key other = (Key) obj;
+			return width == other.width && height == other.height && lastModified == other.lastModified
+			        && url.toString().equals(other.url.toString());
+		}
+
+		@Override
+		public String toString() {
+			return url + "|" + lastModified + "|" + width + "x" + height;
+		}
+
+		/** identifies the image version independently of the target size */
+		String source() {
+			return url + "|" + lastModified;
+		}
+
+		String fileName() {
+			return UUID.nameUUIDFromBytes(toString().getBytes(StandardCharsets.UTF_8)) + ".img";
+		}
+	}
+
+	private static final long MB = 1024 * 1024;
+	private static ScaledImageCache instance;
+
+	static synchronized ScaledImageCache getInstance() {
+		if (instance == null) {
+			final ResourceController resourceController = ResourceController.getResourceController();
+			instance = new ScaledImageCache(resourceController.getIntProperty("image_cache_memory_size", 64) * MB,
+			    new File(resourceController.getFreeplaneUserDirectory(), "image_cache"),
+			    resourceController.getIntProperty("image_cache_disk_size", 256) * MB);
+		}
+		return instance;
+	}
+
+	private static final ExecutorService decodingExecutor = Executors.newFixedThreadPool(
+	    Math.max(1, Math.min(2, Runtime.getRuntime().availableProcessors() - 1)), new ThreadFactory() {
+		    @Override
+		    public Thread newThread(Runnable r) {
+			    final Thread thread = new Thread(r, "Image decoder");
+			    thread.setDaemon(true);
+			    thread.setPriority(Thread.NORM_PRIORITY - 1);
+			    return thread;
+		    }
+	    });
+
+	private final long maximumMemorySize;
+	private final LinkedHashMap<Key, BufferedImage> images = new LinkedHashMap<Key, BufferedImage>(16, 0.75f, true);
+	private long memorySize = 0;
+	private final ConcurrentHashMap<Key, CompletableFuture<BufferedImage>> loadingImages = new ConcurrentHashMap<>();
+	private final Set<String> failedSources = ConcurrentHashMap.newKeySet();
+	private final File directory;
+	private final long maximumDiskSize;
+	private long diskSize = -1;
+
+	ScaledImageCache(final long maximumMemorySize, final File directory, final long maximumDiskSize) {
+		this.maximumMemorySize = maximumMemorySize;
+		this.directory = directory;
+		this.maximumDiskSize = maximumDiskSize;
+	}
+
+	/** returns the image if it is kept in memory */
+	synchronized BufferedImage get(final Key key) {
+		return images.get(key);
+	}
+
+	private synchronized void put(final Key key, final BufferedImage image) {
+		final long size = imageSize(image);
+		if (size > maximumMemorySize)
+			return;
+		final BufferedImage oldImage = images.put(key, image);
+		if (oldImage != null)
+			memorySize -= imageSize(oldImage);
+		memorySize += size;
+		for (final Iterator<BufferedImage> it = images.values().iterator(); memorySize > maximumMemorySize
+		        && it.hasNext();) {
+			memorySize -= imageSize(it.next());
+			it.remove();
+		}
+	}
+
+	synchronized long getMemorySize() {
+		return memorySize;
+	}
+
+	private static long imageSize(final BufferedImage image) {
+		return 4L * image.getWidth() * image.getHeight();
+	}
+
+	/** returns true if an earlier loading of the same image version failed */
+	boolean hasFailed(final Key key) {
+		return failedSources.contains(key.source());
+	}
+
+	/**
+	 * Loads the image scaled to fit into the key size in a background thread.
+	 * Loadings of the same key are shared. The future completes with null if the image can not be decoded
+	 * or has failed before.
+	 */
+	CompletableFuture<BufferedImage> load(final Key key, final boolean keepInMemory, final boolean useDisk) {
+		if (hasFailed(key))
+			return CompletableFuture.completedFuture(null);
+		final CompletableFuture<BufferedImage> future = new CompletableFuture<BufferedImage>();
+		final CompletableFuture<BufferedImage> loadingImage = loadingImages.putIfAbsent(key, future);
+		if (loadingImage != null)
+			return loadingImage;
+		decodingExecutor.execute(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					final BufferedImage image = loadImage(key, useDisk);
+					if (image == null)
+						failedSources.add(key.source());
+					else if (keepInMemory)
+						put(key, image);
+					loadingImages.remove(key);
+					future.complete(image);
+				}
+				catch (Throwable e) {
+					failedSources.add(key.source());
+					loadingImages.remove(key);
+					future.completeExceptionally(e);
+				}
+			}
+		});
+		return future;
+	}
+
+	private BufferedImage loadImage(final Key key, final boolean useDisk) throws IOException {
+		final File cacheFile = useDisk ? new File(directory, key.fileName()) : null;
+		if (cacheFile != null && cacheFile.exists()) {
+			final BufferedImage image = readCacheFile(cacheFile);
+			if (image != null)
+				return image;
+		}
+		final BufferedImage image = decode(key.url, key.width, key.height);
+		if (image == null || image.getWidth() == 0 || image.getHeight() == 0)
+			return null;
+		final BufferedImage scaledImage;
+		try {
+			scaledImage = Scalr.resize(image, Scalr.Mode.BEST_FIT_BOTH, key.width, key.height);
+		}
+		finally {
+			image.flush();
+		}
+		if (cacheFile != null)
+			writeCacheFile(cacheFile, scaledImage);
+		return scaledImage;
+	}
+
+	/** decodes the image with the highest subsampling which keeps at least twice the target resolution */
+	static BufferedImage decode(final URL url, final int width, final int height) throws IOException {
+		try (InputStream inputStream = url.openStream();
+		     ImageInputStream in = ImageIO.createImageInputStream(inputStream)) {
+			final Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+			if (!readers.hasNext())
+				return null;
+			final ImageReader reader = readers.next();
+			try {
+				reader.setInput(in, true, true);
+				final double reduction = Math.max(reader.getWidth(0) / (double) width,
+				    reader.getHeight(0) / (double) height);
+				final int subsampling = Math.max(1, (int) (reduction / 2));
+				final ImageReadParam param = reader.getDefaultReadParam();
+				param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+				return reader.read(0, param);
+			}
+			finally {
+				reader.dispose();
+			}
+		}
+	}
+
+	private BufferedImage readCacheFile(final File cacheFile) {
+		try {
+			final BufferedImage image = ImageIO.read(cacheFile);
+			if (image != null) {
+				cacheFile.setLastModified(System.currentTimeMillis());
+				return image;
+			}
+		}
+		catch (IOException e) {
+			LogUtils.warn(e.getMessage());
+		}
+		cacheFile.delete();
+		return null;
+	}
+
+	private void writeCacheFile(final File cacheFile, final BufferedImage image) {
+		File tempFile = null;
+		try {
+			directory.mkdirs();
+			tempFile = File.createTempFile("cachedImage", ".tmp", directory);
+			final String format = image.getColorModel().hasAlpha() ? "png" : "jpg";
+			if (ImageIO.write(image, format, tempFile)) {
+				Files.move(tempFile.toPath(), cacheFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+				addToDiskSize(cacheFile.length());
+			}
+		}
+		catch (IOException e) {
+			LogUtils.warn(e.getMessage());
+		}
+		finally {
+			if (tempFile != null)
+				tempFile.delete();
+		}
+	}
+
+	/** removes the least recently used files if the disk cache gets larger than its maximum size */
+	private synchronized void addToDiskSize(final long fileSize) {
+		if (diskSize < 0) {
+			diskSize = 0;
+			for (final File file : listCacheFiles())
+				diskSize += file.length();
+		}
+		else
+			diskSize += fileSize;
+		if (diskSize <= maximumDiskSize)
+			return;
+		final File[] files = listCacheFiles();
+		Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+		for (final File file : files) {
+			if (diskSize <= maximumDiskSize * 3 / 4)
+				break;
+			final long length = file.length();
+			if (file.delete())
+				diskSize -= length;
+		}
+	}
+
+	private File[] listCacheFiles() {
+		final File[] files = directory.listFiles((dir, name) -> name.endsWith(".img"));
+		return files != null ? files : new File[0];
+	}
+
+	synchronized long getDiskSize() {
+		if (diskSize < 0)
+			addToDiskSize(0);
+		return diskSize;
+	}
+}
@@ -42,6 +42,11 @@ public class ReminderConditionExecuted extends ASelectableCondition {
 		return before;
 	}
 
+	@Override
+	public boolean canCacheResult() {
+		return false;
+	}
+
 	@Override
 	protected String createDescription() {
 		final String reminder = TextUtils.getText(ReminderConditionController.FILTER_REMINDER);
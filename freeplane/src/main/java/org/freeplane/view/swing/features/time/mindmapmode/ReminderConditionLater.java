@@ -43,6 +43,11 @@ public class ReminderConditionLater extends ASelectableCondition {
 		return later;
 	}
 
+	@Override
+	public boolean canCacheResult() {
+		return false;
+	}
+
 	@Override
 	protected String createDescription() {
 		final String reminder = TextUtils.getText(ReminderConditionController.FILTER_REMINDER);
@@ -20,7 +20,6 @@
 package org.freeplane.view.swing.features.time.mindmapmode;
 
 import java.util.Date;
-import java.util.Timer;
 
 import org.freeplane.core.extension.IExtension;
 import org.freeplane.core.util.SysUtils;
@@ -46,7 +45,6 @@ public class ReminderExtension implements IExtension, IMapChangeListener {
 	private long remindUserAt = 0;
 	private PeriodUnit periodUnit;
 	private int period;
-	private Timer timer;
 	private String script;
 	private TimerBlinkTask task;
 
@@ -100,19 +98,16 @@ public class ReminderExtension implements IExtension, IMapChangeListener {
     }
 
 	public void scheduleTimer(final TimerBlinkTask task, final Date date) {
-		if (timer == null) {
-			timer = SysUtils.createTimer(getClass().getSimpleName());
-		}
-		timer.schedule(task, date, BLINKING_PERIOD);
+		deactivateTimer();
+		SysUtils.getSharedTimer().schedule(task, date, BLINKING_PERIOD);
 		this.task = task;
 	}
 
 	public void deactivateTimer() {
-		if (timer == null) {
+		if (task == null) {
 			return;
 		}
-		timer.cancel();
-		timer = null;
+		SysUtils.cancelSharedTimerTask(task);
 		task = null;
 	}
 
@@ -0,0 +1,251 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.map;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.SystemColor;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Vector;
+
+import org.freeplane.core.ui.svgicons.GraphicsHints;
+import org.freeplane.features.ui.CloseableRenderedImage;
+
+/**
+ * Image of a printed map area which paints the map view into horizontal bands on demand
+ * instead of keeping the whole image in memory.
+ * Image writers reading the image row by row like the PNG writer need memory for one band only,
+ * writers requesting the whole raster like the JPEG writer get it painted at once.
+ * <p>
+ * The map view stays prepared for printing until all bands have been painted or the image is closed.
+ * Bands are painted by the thread reading the image, which must be the event dispatch thread.
+ */
+class BandedMapImage implements CloseableRenderedImage {
+	private static final ColorModel COLOR_MODEL = new BufferedImage(1, 1, BufferedImage.TYPE_INT_RGB).getColorModel();
+
+	private final MapView view;
+	private final double scaleFactor;
+	private final Rectangle printedArea;
+	private final int width;
+	private final int height;
+	private final int bandHeight;
+	private final boolean[] paintedBands;
+	private int paintedBandCount = 0;
+	private int cachedBandIndex = -1;
+	private BufferedImage cachedBand;
+	private boolean closed = false;
+
+	BandedMapImage(final MapView view, final double scaleFactor, final Rectangle printedArea, final int width,
+	               final int height, final int bandHeight) {
+		this.view = view;
+		this.scaleFactor = scaleFactor;
+		this.printedArea = printedArea;
+		this.width = width;
+		this.height = height;
+		this.bandHeight = Math.max(1, Math.min(height, bandHeight));
+		this.paintedBands = new boolean[getNumYTiles()];
+	}
+
+	/** paints the printed area of the view scaled by the scale factor into the image starting at image row y */
+	static void paint(final MapView view, final BufferedImage image, final double scaleFactor,
+	                  final Rectangle printedArea, final int y) {
+		final Graphics2D g = image.createGraphics();
+		try {
+			Color background = view.getBackground();
+			if (background == null) {
+				background = SystemColor.window;
+			}
+			g.setBackground(background);
+			g.clearRect(0, 0, image.getWidth(), image.getHeight());
+			// the view paints only the components intersecting the clip, which is unbounded without it
+			g.setClip(0, 0, image.getWidth(), image.getHeight());
+			g.translate(0, -y);
+			g.scale(scaleFactor, scaleFactor);
+			g.translate(-printedArea.x, -printedArea.y);
+			g.setRenderingHint(GraphicsHints.CACHE_ICONS, Boolean.TRUE);
+			view.print(g);
+		}
+		finally {
+			g.dispose();
+		}
+	}
+
+	private BufferedImage getBand(final int bandIndex) {
+		if (bandIndex != cachedBandIndex) {
+			final int bandY = bandIndex * bandHeight;
+			final BufferedImage band = new BufferedImage(width, Math.min(bandHeight, height - bandY),
+			    BufferedImage.TYPE_INT_RGB);
+			paint(view, band, scaleFactor, printedArea, bandY);
+			cachedBand = band;
+			cachedBandIndex = bandIndex;
+			if (!paintedBands[bandIndex]) {
+				paintedBands[bandIndex] = true;
+				paintedBandCount++;
+				if (paintedBandCount == paintedBands.length)
+					close();
+			}
+		}
+		return cachedBand;
+	}
+
+	/** ends printing of the map view */
+	@Override
+	public void close() {
+		if (closed)
+			return;
+		closed = true;
+		view.endPrinting();
+	}
+
+	boolean isClosed() {
+		return closed;
+	}
+
+	@Override
+	public Raster getTile(final int tileX, final int tileY) {
+		final BufferedImage band = getBand(tileY);
+		return band.getData().createTranslatedChild(0, tileY * bandHeight);
+	}
+
+	@Override
+	public Raster getData() {
+		return getData(new Rectangle(0, 0, width, height));
+	}
+
+	@Override
+	public Raster getData(final Rectangle rect) {
+		final int firstBand = rect.y / bandHeight;
+		final int lastBand = (rect.y + rect.height - 1) / bandHeight;
+		if (firstBand == lastBand) {
+			final Rectangle bandRect = new Rectangle(rect.x, rect.y - firstBand * bandHeight, rect.width, rect.height);
+			return getBand(firstBand).getData(bandRect).createTranslatedChild(rect.x, rect.y);
+		}
+		return copyData(COLOR_MODEL.createCompatibleWritableRaster(rect.width, rect.height)
+		    .createWritableTranslatedChild(rect.x, rect.y));
+	}
+
+	@Override
+	public WritableRaster copyData(final WritableRaster raster) {
+		final WritableRaster target = raster != null ? raster : COLOR_MODEL.createCompatibleWritableRaster(width, height);
+		final Rectangle rect = target.getBounds().intersection(new Rectangle(0, 0, width, height));
+		if (rect.isEmpty())
+			return target;
+		final int firstBand = rect.y / bandHeight;
+		final int lastBand = (rect.y + rect.height - 1) / bandHeight;
+		for (int bandIndex = firstBand; bandIndex <= lastBand; bandIndex++) {
+			final int bandY = bandIndex * bandHeight;
+			final Rectangle bandRect = rect.intersection(new Rectangle(0, bandY, width, bandHeight));
+			final Raster bandData = getBand(bandIndex).getData(
+			    new Rectangle(bandRect.x, bandRect.y - bandY, bandRect.width, bandRect.height));
+			target.setRect(bandRect.x - bandData.getMinX(), bandRect.y - bandData.getMinY(), bandData);
+		}
+		return target;
+	}
+
+	@Override
+	public Vector<RenderedImage> getSources() {
+		return null;
+	}
+
+	@Override
+	public Object getProperty(final String name) {
+		return Image.UndefinedProperty;
+	}
+
+	@Override
+	public String[] getPropertyNames() {
+		return null;
+	}
+
+	@Override
+	public ColorModel getColorModel() {
+		return COLOR_MODEL;
+	}
+
+	@Override
+	public SampleModel getSampleModel() {
+		return COLOR_MODEL.createCompatibleSampleModel(width, bandHeight);
+	}
+
+	@Override
+	public int getWidth() {
+		return width;
+	}
+
+	@Override
+	public int getHeight() {
+		return height;
+	}
+
+	@Override
+	public int getMinX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinY() {
+		return 0;
+	}
+
+	@Override
+	public int getNumXTiles() {
+		return 1;
+	}
+
+	@Override
+	public int getNumYTiles() {
+		return (height + bandHeight - 1) / bandHeight;
+	}
+
+	@Override
+	public int getMinTileX() {
+		return 0;
+	}
+
+	@Override
+	public int getMinTileY() {
+		return 0;
+	}
+
+	@Override
+	public int getTileWidth() {
+		return width;
+	}
+
+	@Override
+	public int getTileHeight() {
+		return bandHeight;
+	}
+
+	@Override
+	public int getTileGridXOffset() {
+		return 0;
+	}
+
+	@Override
+	public int getTileGridYOffset() {
+		return 0;
+	}
+}
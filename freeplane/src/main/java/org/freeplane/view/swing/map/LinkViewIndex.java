@@ -0,0 +1,115 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.map;
+
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.freeplane.view.swing.map.link.ILinkView;
+
+/**
+ * Grid of the connector views painted by a map view.
+ * Each view is registered in all grid cells touched by its bounds known after it has been painted,
+ * views without known bounds are returned for every area.
+ * The index is valid for the area it was created for until the map view is laid out again
+ * or the map or its painting settings change.
+ */
+class LinkViewIndex {
+	private static final int CELL_SIZE = 256;
+	private final List<ILinkView> linkViews = new ArrayList<ILinkView>();
+	private final Map<Long, List<Integer>> cells = new HashMap<Long, List<Integer>>();
+	private final BitSet viewsWithoutBounds = new BitSet();
+	private final Rectangle indexedArea;
+	private final int margin;
+	private final Object paintingSettings;
+
+	/**
+	 * @param indexedArea contains all painted connectors, null for the whole map
+	 * @param margin added to the view bounds to cover arrows and collision detection distance
+	 */
+	LinkViewIndex(final Rectangle indexedArea, final int margin, final Object paintingSettings) {
+		this.indexedArea = indexedArea;
+		this.margin = margin;
+		this.paintingSettings = paintingSettings;
+	}
+
+	/** adds the painted view */
+	void add(final ILinkView linkView) {
+		final int viewIndex = linkViews.size();
+		linkViews.add(linkView);
+		final Rectangle bounds = new Rectangle(0, 0, -1, -1);
+		linkView.increaseBounds(bounds);
+		if (bounds.isEmpty()) {
+			viewsWithoutBounds.set(viewIndex);
+			return;
+		}
+		bounds.grow(margin, margin);
+		for (int column = cellOf(bounds.x); column <= cellOf(bounds.x + bounds.width); column++) {
+			for (int row = cellOf(bounds.y); row <= cellOf(bounds.y + bounds.height); row++) {
+				final Long key = key(column, row);
+				List<Integer> cellViews = cells.get(key);
+				if (cellViews == null) {
+					cellViews = new ArrayList<Integer>(4);
+					cells.put(key, cellViews);
+				}
+				cellViews.add(viewIndex);
+			}
+		}
+	}
+
+	boolean isValidFor(final Rectangle area, final Object paintingSettings) {
+		return this.paintingSettings.equals(paintingSettings)
+		        && (indexedArea == null || area != null && indexedArea.contains(area));
+	}
+
+	List<ILinkView> getLinkViews() {
+		return linkViews;
+	}
+
+	/** returns views possibly intersecting given area in the order they were added */
+	List<ILinkView> getLinkViews(final Rectangle area) {
+		final BitSet viewIndices = (BitSet) viewsWithoutBounds.clone();
+		for (int column = cellOf(area.x); column <= cellOf(area.x + area.width); column++) {
+			for (int row = cellOf(area.y); row <= cellOf(area.y + area.height); row++) {
+				final List<Integer> cellViews = cells.get(key(column, row));
+				if (cellViews != null) {
+					for (final Integer viewIndex : cellViews) {
+						viewIndices.set(viewIndex);
+					}
+				}
+			}
+		}
+		final List<ILinkView> views = new ArrayList<ILinkView>(viewIndices.cardinality());
+		for (int i = viewIndices.nextSetBit(0); i >= 0; i = viewIndices.nextSetBit(i + 1)) {
+			views.add(linkViews.get(i));
+		}
+		return views;
+	}
+
+	private static int cellOf(final int coordinate) {
+		return Math.floorDiv(coordinate, CELL_SIZE);
+	}
+
+	private static Long key(final int column, final int row) {
+		return (long) column << 32 | row & 0xFFFFFFFFL;
+	}
+}
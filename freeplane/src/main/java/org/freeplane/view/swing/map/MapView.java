@@ -52,21 +52,28 @@ import java.net.URISyntaxException;
 import java.util.AbstractList;
 import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.Vector;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import javax.swing.JComponent;
 import javax.swing.JOptionPane;
 import javax.swing.JPanel;
 import javax.swing.JViewport;
 import javax.swing.SwingUtilities;
+import javax.swing.event.ChangeEvent;
+import javax.swing.event.ChangeListener;
 
 import org.freeplane.core.extension.Configurable;
 import org.freeplane.core.extension.HighlightedElements;
@@ -128,6 +135,7 @@ import org.freeplane.view.swing.map.link.ILinkView;
 public class MapView extends JPanel implements Printable, Autoscroll, IMapChangeListener, IFreeplanePropertyListener, Configurable {
 
 	private static final String UNFOLD_ON_NAVIGATION = "unfold_on_navigation";
+	private static final String LAZY_NODE_VIEWS_THRESHOLD = "lazy_node_views_threshold";
 	private final MapScroller mapScroller;
 	private MapViewLayout layoutType;
 	private boolean paintConnectorsBehind;
@@ -179,6 +187,35 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		repaint();
 	}
 
+	/** Counters of node views created by all map views. */
+	public static class NodeViewStatistics {
+		final LongAdder createdViews = new LongAdder();
+		final LongAdder deferredSubtrees = new LongAdder();
+		final LongAdder materializedSubtrees = new LongAdder();
+
+		public long getCreatedViewCount() {
+			return createdViews.sum();
+		}
+
+		/** Number of node views whose child views were not created with them */
+		public long getDeferredSubtreeCount() {
+			return deferredSubtrees.sum();
+		}
+
+		/** Number of deferred child views created later */
+		public long getMaterializedSubtreeCount() {
+			return materializedSubtrees.sum();
+		}
+
+		@Override
+		public String toString() {
+			return String.format("created views=%d, deferred subtrees=%d, materialized subtrees=%d",
+			    getCreatedViewCount(), getDeferredSubtreeCount(), getMaterializedSubtreeCount());
+		}
+	}
+
+	public static final NodeViewStatistics NODE_VIEW_STATISTICS = new NodeViewStatistics();
+
 	private class MapSelection implements IMapSelection {
 		@Override
 		public void centerNode(final NodeModel node) {
@@ -193,7 +230,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		}
 
 		private void centerNode(final NodeModel node, final boolean slowScroll) {
-			final NodeView nodeView = getNodeView(node);
+			final NodeView nodeView = materializeNodeView(node);
 			if (nodeView != null) {
 				mapScroller.scrollNode(nodeView, ScrollingDirective.SCROLL_NODE_TO_CENTER, slowScroll);
 			}
@@ -212,7 +249,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		}
 
 		private void moveNodeTo(final NodeModel node, final NodePosition position, final boolean slowScroll) {
-			final NodeView nodeView = getNodeView(node);
+			final NodeView nodeView = materializeNodeView(node);
 			if (nodeView != null) {
 				mapScroller.scrollNode(nodeView, ScrollingDirective.of(position), slowScroll);
 			}
@@ -259,19 +296,19 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
         @Override
         public void preserveNodeLocationOnScreen(NodeModel node) {
-            final NodeView nodeView = getNodeView(node);
+            final NodeView nodeView = materializeNodeView(node);
             MapView.this.preserveNodeLocationOnScreen(nodeView);
         }
 
         @Override
         public void preserveNodeLocationOnScreen(final NodeModel node, final float horizontalPoint, final float verticalPoint) {
-            final NodeView nodeView = getNodeView(node);
+            final NodeView nodeView = materializeNodeView(node);
             MapView.this.preserveNodeLocationOnScreen(nodeView, horizontalPoint, verticalPoint);
         }
 
 		@Override
 		public void scrollNodeTreeToVisible(final NodeModel  node) {
-			final NodeView nodeView = getNodeView(node);
+			final NodeView nodeView = materializeNodeView(node);
 			if(nodeView != null)
 				mapScroller.scrollNodeTreeToVisible(nodeView);
 		}
@@ -279,7 +316,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 		@Override
 		public void makeTheSelected(final NodeModel node) {
-			final NodeView nodeView = getNodeView(node);
+			final NodeView nodeView = materializeNodeView(node);
 			if (nodeView != null) {
 				addSelected(nodeView, false);
 			}
@@ -287,7 +324,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 		@Override
 		public void scrollNodeToVisible(final NodeModel node) {
-			mapScroller.scrollNodeToVisible(getNodeView(node));
+			mapScroller.scrollNodeToVisible(materializeNodeView(node));
 		}
 
 		@Override
@@ -304,12 +341,12 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		public void selectBranch(final NodeModel node, final boolean extend) {
 			if(! extend)
 				selectAsTheOnlyOneSelected(node);
-			addBranchToSelection(getNodeView(node));
+			addBranchToSelection(materializeNodeView(node));
 		}
 
 		@Override
 		public void selectContinuous(final NodeModel node) {
-			MapView.this.selectContinuous(getNodeView(node));
+			MapView.this.selectContinuous(materializeNodeView(node));
 		}
 
 		@Override
@@ -569,12 +606,22 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	static Color standardSelectRectangleColor;
 	/** Used to identify a right click onto a link curve. */
 	private Vector<ILinkView> arrowLinkViews;
+	private static final int LINK_VIEW_INDEX_MARGIN = 32;
+	/** Connector views reused for painting and hit-testing until the next layout or map change. */
+	private LinkViewIndex linkViewIndex;
 	private Color background = null;
 	private JComponent backgroundComponent;
 	private Rectangle boundingRectangle = null;
 	private FitMap fitMap = FitMap.USER_DEFINED;
 	private boolean isPreparedForPrinting = false;
 	private boolean isPrinting = false;
+	private final boolean createsNodeViewsLazily;
+	private boolean nodeViewMaterializationScheduled = false;
+	private final Set<NodeModel> connectorEndsToMaterialize = new LinkedHashSet<NodeModel>();
+	/** counted while node views are materialized, so that the views created level by level
+	 * do not count the descendants counted for their parent views again */
+	private Map<NodeModel, VisibleDescendants> visibleDescendantsOfMaterializedNodes = null;
+	private long openingStartTime;
 	private final ModeController modeController;
 	final private MapModel model;
 
@@ -602,6 +649,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	private static boolean outlineViewFitsWindowWidth;
 
 	final private ComponentAdapter viewportSizeChangeListener;
+	final private ChangeListener viewportChangeListener;
 	private final INodeChangeListener connectorChangeListener;
 	public static final String SPOTLIGHT_ENABLED = "spotlight";
 
@@ -644,6 +692,12 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		final NoteController noteController = NoteController.getController(getModeController());
 		showNotes= noteController != null && noteController.showNotesInMap(getModel());
         updateContentStyle();
+		final int lazyNodeViewsThreshold = ResourceController.getResourceController().getIntProperty(
+		    LAZY_NODE_VIEWS_THRESHOLD, 0);
+		createsNodeViewsLazily = lazyNodeViewsThreshold > 0
+		        && countNodes(model.getRootNode(), lazyNodeViewsThreshold) >= lazyNodeViewsThreshold;
+		if (createsNodeViewsLazily)
+			openingStartTime = System.nanoTime();
         initRoot();
 		setBackground(requiredBackground());
 		final MapStyleModel mapStyleModel = MapStyleModel.getExtension(model);
@@ -673,6 +727,12 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 				}
 			}
 		};
+		viewportChangeListener = new ChangeListener() {
+			@Override
+			public void stateChanged(final ChangeEvent e) {
+				materializeVisibleNodeViewsLater();
+			}
+		};
 		final String fitToViewportAsString = MapStyle.getController(modeController).getPropertySetDefault(model,
 		    MapStyle.FIT_TO_VIEWPORT);
 		fitToViewport = Boolean.parseBoolean(fitToViewportAsString);
@@ -680,8 +740,10 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			@Override
 			public void nodeChanged(final NodeChangeEvent event) {
 				if(NodeLinks.CONNECTOR.equals(event.getProperty()) &&
-						event.getNode().getMap().equals(getModel()))
+						event.getNode().getMap().equals(getModel())) {
+					invalidateLinkViews();
 					repaint();
+				}
 			}
 		};
 		addPropertyChangeListener(SPOTLIGHT_ENABLED, repaintOnClientPropertyChangeListener);
@@ -724,12 +786,16 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	    super.addNotify();
 	    modeController.getMapController().addUINodeChangeListener(connectorChangeListener);
 	    getParent().addComponentListener(viewportSizeChangeListener);
+	    if (createsNodeViewsLazily && getParent() instanceof JViewport)
+	    	((JViewport) getParent()).addChangeListener(viewportChangeListener);
     }
 
 	@Override
     public void removeNotify() {
 		modeController.getMapController().removeNodeChangeListener(connectorChangeListener);
 		getParent().removeComponentListener(viewportSizeChangeListener);
+		if (getParent() instanceof JViewport)
+			((JViewport) getParent()).removeChangeListener(viewportChangeListener);
 	    super.removeNotify();
     }
 
@@ -827,6 +893,8 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		if (arrowLinkViews == null) {
 			return null;
 		}
+		final List<ILinkView> arrowLinkViews = linkViewIndex != null
+		        ? linkViewIndex.getLinkViews(new Rectangle(p.x, p.y, 1, 1)) : this.arrowLinkViews;
 		for (int i = 0; i < arrowLinkViews.size(); ++i) {
 			final ILinkView arrowView = arrowLinkViews.get(i);
 			if (arrowView.detectCollision(p, true)) {
@@ -935,6 +1003,197 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 			return null;
 	}
 
+	/**
+	 * Returns the node view like {@link #getNodeView(NodeModel)},
+	 * creating the deferred child views of its ancestors if necessary.
+	 */
+	NodeView materializeNodeView(final NodeModel node) {
+		final NodeView nodeView = getNodeView(node);
+		if (nodeView != null || ! createsNodeViewsLazily || node == null)
+			return nodeView;
+		final NodeModel parentNode = node.getParentNode();
+		if (parentNode == null)
+			return null;
+		final NodeView parentView = materializeNodeView(parentNode);
+		if (parentView == null || ! parentView.hasPendingChildViews())
+			return null;
+		parentView.materializeChildViews();
+		return getNodeView(node);
+	}
+
+	boolean createsNodeViewsLazily() {
+		return createsNodeViewsLazily;
+	}
+
+	private static int countNodes(final NodeModel node, final int limit) {
+		int count = 1;
+		for (final NodeModel child : node.getChildren()) {
+			if (count >= limit)
+				break;
+			count += countNodes(child, limit - count);
+		}
+		return count;
+	}
+
+	/**
+	 * Returns the view of the nearest ancestor of a node without view,
+	 * if the node is going to be shown when the deferred child views of the ancestor are created.
+	 */
+	private NodeView getDeferringAncestorView(final NodeModel node) {
+		final MapController mapController = modeController.getMapController();
+		for (NodeModel ancestor = node.getParentNode(); ancestor != null; ancestor = ancestor.getParentNode()) {
+			final NodeView ancestorView = getNodeView(ancestor);
+			if (ancestorView != null)
+				return ancestorView.hasPendingChildViews() ? ancestorView : null;
+			if (mapController.isFolded(ancestor))
+				return null;
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the view of a connector end. A node in deferred child views is represented by its nearest ancestor view
+	 * until its own view is created later.
+	 */
+	private NodeView getConnectorEndView(final NodeModel node) {
+		final NodeView nodeView = getNodeView(node);
+		if (nodeView != null || ! createsNodeViewsLazily)
+			return nodeView;
+		final NodeView deferringAncestorView = getDeferringAncestorView(node);
+		if (deferringAncestorView != null)
+			materializeConnectorEndLater(node);
+		return deferringAncestorView;
+	}
+
+	private void materializeConnectorEndLater(final NodeModel node) {
+		if (! connectorEndsToMaterialize.add(node) || connectorEndsToMaterialize.size() > 1)
+			return;
+		EventQueue.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				final NodeModel[] nodes = connectorEndsToMaterialize.toArray(new NodeModel[connectorEndsToMaterialize.size()]);
+				connectorEndsToMaterialize.clear();
+				for (final NodeModel connectorEnd : nodes)
+					materializeNodeView(connectorEnd);
+			}
+		});
+	}
+
+	private void materializeVisibleNodeViewsLater() {
+		if (! createsNodeViewsLazily || nodeViewMaterializationScheduled)
+			return;
+		nodeViewMaterializationScheduled = true;
+		EventQueue.invokeLater(new Runnable() {
+			@Override
+			public void run() {
+				nodeViewMaterializationScheduled = false;
+				materializeVisibleNodeViews();
+			}
+		});
+	}
+
+	/**
+	 * Creates the deferred child views of the node views
+	 * which are laid out in the viewport or within half of its size around it.
+	 */
+	void materializeVisibleNodeViews() {
+		if (! createsNodeViewsLazily || isPrinting || ! isDisplayable() || ! (getParent() instanceof JViewport))
+			return;
+		final Rectangle area = ((JViewport) getParent()).getViewRect();
+		area.grow(area.width / 2, area.height / 2);
+		boolean materialized = false;
+		visibleDescendantsOfMaterializedNodes = new HashMap<>();
+		try {
+			while (materializeChildViews(rootView, rootView.getX(), rootView.getY(), area)) {
+				materialized = true;
+				rootView.validate();
+			}
+		}
+		finally {
+			visibleDescendantsOfMaterializedNodes = null;
+		}
+		if (materialized) {
+			revalidate();
+			repaint();
+		}
+		else if (openingStartTime != 0) {
+			LogUtils.info("map view " + getName() + " opened in "
+			        + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - openingStartTime) + " ms, node view statistics: "
+			        + NODE_VIEW_STATISTICS);
+			openingStartTime = 0;
+		}
+	}
+
+	static class VisibleDescendants {
+		static final VisibleDescendants NONE = new VisibleDescendants(0, 0);
+		final int count;
+		final int levels;
+
+		VisibleDescendants(final int count, final int levels) {
+			this.count = count;
+			this.levels = levels;
+		}
+	}
+
+	/** counts the visible descendants of the node which are not hidden by folded nodes and the levels they take */
+	VisibleDescendants countVisibleDescendants(final NodeModel node) {
+		if (visibleDescendantsOfMaterializedNodes != null) {
+			final VisibleDescendants knownDescendants = visibleDescendantsOfMaterializedNodes.get(node);
+			if (knownDescendants != null)
+				return knownDescendants;
+		}
+		final MapController mapController = getModeController().getMapController();
+		final Filter filter = getFilter();
+		int count = 0;
+		int levels = 0;
+		for (final NodeModel child : node.getChildren()) {
+			if (child.hasVisibleContent(filter)) {
+				count++;
+				levels = Math.max(levels, 1);
+			}
+			if (! mapController.isFolded(child)) {
+				final VisibleDescendants childDescendants = countVisibleDescendants(child);
+				count += childDescendants.count;
+				if (childDescendants.count > 0)
+					levels = Math.max(levels, childDescendants.levels + 1);
+			}
+		}
+		final VisibleDescendants visibleDescendants = count == 0 ? VisibleDescendants.NONE
+		        : new VisibleDescendants(count, levels);
+		if (visibleDescendantsOfMaterializedNodes != null)
+			visibleDescendantsOfMaterializedNodes.put(node, visibleDescendants);
+		return visibleDescendants;
+	}
+
+	private boolean materializeChildViews(final NodeView view, final int x, final int y, final Rectangle area) {
+		if (! area.intersects(x, y, view.getWidth(), view.getHeight()))
+			return false;
+		if (view.hasPendingChildViews()) {
+			view.materializeChildViews();
+			return true;
+		}
+		boolean materialized = false;
+		for (int i = 0; i < view.getComponentCount(); i++) {
+			final Component component = view.getComponent(i);
+			if (component instanceof NodeView)
+				materialized |= materializeChildViews((NodeView) component, x + component.getX(),
+				    y + component.getY(), area);
+		}
+		return materialized;
+	}
+
+	private boolean materializeAllNodeViews() {
+		return createsNodeViewsLazily && materializeAllChildViews(rootView);
+	}
+
+	private static boolean materializeAllChildViews(final NodeView view) {
+		boolean materialized = view.hasPendingChildViews();
+		view.materializeChildViews();
+		for (final NodeView child : view.getChildrenViews())
+			materialized |= materializeAllChildViews(child);
+		return materialized;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see javax.swing.JComponent#getPreferredSize()
@@ -1264,6 +1523,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 
 	@Override
 	public void mapChanged(final MapChangeEvent event) {
+		invalidateLinkViews();
 		final Object property = event.getProperty();
 		if (property.equals(MapStyle.RESOURCES_BACKGROUND_COLOR)) {
 			setBackground(requiredBackground());
@@ -1278,6 +1538,8 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		        || property.equals(Filter.class)
 		        || property.equals(UrlManager.MAP_URL)) {
 			setBackground(requiredBackground());
+			if (property.equals(Filter.class))
+				getRoot().filterChanged();
 			getRoot().updateAll();
 			return;
 		}
@@ -1717,8 +1979,10 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 						continue;
 					}
 					final NodeModel source = ref.getSource();
-					final NodeView sourceView = getNodeView(source);
-					final NodeView targetView = getNodeView(target);
+					final NodeView sourceView = getConnectorEndView(source);
+					final NodeView targetView = getConnectorEndView(target);
+					if (sourceView != null && sourceView == targetView && source != target)
+						continue;
 					final ILinkView arrowLink;
 					final boolean areBothNodesVisible = sourceView != null && targetView != null && source.hasVisibleContent(filter) && target.hasVisibleContent(filter);
 					final boolean showConnector = SHOW_CONNECTOR_LINES == showConnectors
@@ -1744,15 +2008,68 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	}
 
 	private void paintConnectors(final Graphics2D graphics) {
-		arrowLinkViews = new Vector<ILinkView>();
 		final Object renderingHint = getModeController().getController().getMapViewManager().setEdgesRenderingHint(
 		    graphics);
-		if(hasNodeLinks())
-			paintConnectors(rootView, graphics, new HashSet<ConnectorModel>());
+		final boolean useLinkViewIndex = !isPrinting && SHOW_CONNECTORS_FOR_SELECTION != showConnectors
+		        && getParent() instanceof JViewport;
+		final List<Object> paintingSettings = Arrays.<Object> asList(showConnectors, hideSingleEndConnectors,
+		    getBackground(), filter);
+		final Rectangle clipBounds = graphics.getClipBounds();
+		if (useLinkViewIndex && linkViewIndex != null && linkViewIndex.isValidFor(clipBounds, paintingSettings)) {
+			final Font font = graphics.getFont();
+			try {
+				for (final ILinkView arrowLink : clipBounds != null ? linkViewIndex.getLinkViews(clipBounds)
+				        : linkViewIndex.getLinkViews())
+					arrowLink.paint(graphics);
+			}
+			finally {
+				graphics.setFont(font);
+			}
+		}
+		else {
+			arrowLinkViews = new Vector<ILinkView>();
+			final Rectangle paintedArea;
+			if (isPrinting) {
+				paintedArea = null;
+			}
+			else {
+				paintedArea = ((JViewport) getParent()).getViewRect();
+				paintedArea.x -= paintedArea.width;
+				paintedArea.y -= paintedArea.height;
+				paintedArea.width *= 3;
+				paintedArea.height *= 3;
+			}
+			if(hasNodeLinks())
+				paintConnectors(rootView, graphics, new HashSet<ConnectorModel>(), paintedArea);
+			if (useLinkViewIndex) {
+				linkViewIndex = new LinkViewIndex(paintedArea, Math.max(LINK_VIEW_INDEX_MARGIN,
+				    getZoomed(LINK_VIEW_INDEX_MARGIN)), paintingSettings);
+				for (final ILinkView arrowLink : arrowLinkViews)
+					linkViewIndex.add(arrowLink);
+			}
+			else
+				linkViewIndex = null;
+		}
 		graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, renderingHint);
 	}
 
-	private void paintConnectors(final NodeView source, final Graphics2D graphics, final HashSet<ConnectorModel> alreadyPaintedConnectors) {
+	void invalidateLinkViews() {
+		linkViewIndex = null;
+	}
+
+	LinkViewIndex getLinkViewIndex() {
+		return linkViewIndex;
+	}
+
+	@Override
+	public void doLayout() {
+		invalidateLinkViews();
+		super.doLayout();
+		materializeVisibleNodeViewsLater();
+	}
+
+	private void paintConnectors(final NodeView source, final Graphics2D graphics,
+	                             final HashSet<ConnectorModel> alreadyPaintedConnectors, final Rectangle paintedArea) {
 		final NodeModel node = source.getModel();
 		final Collection<? extends NodeLinkModel> outLinks = getLinksFrom(node);
 		paintConnectors(outLinks, graphics, alreadyPaintedConnectors);
@@ -1765,21 +2082,15 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 				continue;
 			}
 			final NodeView child = (NodeView) component;
-			if (!isPrinting) {
+			if (paintedArea != null) {
 				if(!child.isSubtreeVisible())
 					continue;
 				final Rectangle bounds = SwingUtilities.convertRectangle(source, child.getBounds(), this);
-				final JViewport vp = (JViewport) getParent();
-				final Rectangle viewRect = vp.getViewRect();
-				viewRect.x -= viewRect.width;
-				viewRect.y -= viewRect.height;
-				viewRect.width *= 3;
-				viewRect.height *= 3;
-				if (!viewRect.intersects(bounds)) {
+				if (!paintedArea.intersects(bounds)) {
 					continue;
 				}
 			}
-			paintConnectors(child, graphics, alreadyPaintedConnectors);
+			paintConnectors(child, graphics, alreadyPaintedConnectors, paintedArea);
 		}
 	}
 
@@ -1863,8 +2174,10 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	public void preparePrinting() {
 		isPrinting = true;
 		if (!isPreparedForPrinting) {
-			if (zoom == 1f) {
+			final boolean nodeViewsAdded = materializeAllNodeViews();
+			if (zoom == 1f)
 				getRoot().updateAll();
+			if (zoom == 1f || nodeViewsAdded) {
 				synchronized (getTreeLock()) {
 					validateTree();
 				}
@@ -2039,6 +2352,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	 * if yes, the selection will extended with this node and its children
 	 */
 	private void addBranchToSelection(final NodeView newlySelectedNodeView) {
+		newlySelectedNodeView.materializeChildViews();
 		if (newlySelectedNodeView.isContentVisible()) {
 			addSelected(newlySelectedNodeView, false);
 		}
@@ -2196,6 +2510,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 	}
 
 	public void repaintVisible() {
+		invalidateLinkViews();
 		final JViewport vp = (JViewport) getParent();
 		repaint(vp.getViewRect());
 	}
@@ -2319,6 +2634,7 @@ public class MapView extends JPanel implements Printable, Autoscroll, IMapChange
 		if(parentView == null)
 			return;
 		parentView.setFolded(false);
+		parentView.materializeChildViews();
 	}
 
 	public boolean showsConnectorLines() {
@@ -30,7 +30,6 @@ import java.awt.KeyboardFocusManager;
 import java.awt.Point;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
-import java.awt.SystemColor;
 import java.awt.Window;
 import java.awt.image.BufferedImage;
 import java.awt.image.RenderedImage;
@@ -62,7 +61,6 @@ import org.freeplane.core.resources.IFreeplanePropertyListener;
 import org.freeplane.core.resources.ResourceController;
 import org.freeplane.core.ui.components.JComboBoxWithBorder;
 import org.freeplane.core.ui.components.UITools;
-import org.freeplane.core.ui.svgicons.GraphicsHints;
 import org.freeplane.core.util.TextUtils;
 import org.freeplane.features.map.IMapLifeCycleListener;
 import org.freeplane.features.map.IMapSelection;
@@ -75,6 +73,7 @@ import org.freeplane.features.mode.Controller;
 import org.freeplane.features.mode.ModeController;
 import org.freeplane.features.styles.MapStyle;
 import org.freeplane.features.styles.MapViewLayout;
+import org.freeplane.features.ui.CloseableRenderedImage;
 import org.freeplane.features.ui.IMapViewChangeListener;
 import org.freeplane.features.ui.IMapViewManager;
 import org.freeplane.features.ui.ViewController;
@@ -87,6 +86,8 @@ import org.freeplane.features.ui.ViewController;
  */
 public class MapViewController implements IMapViewManager , IMapViewChangeListener, IFreeplanePropertyListener, IMapLifeCycleListener {
 
+	private static final long MAXIMUM_IMAGE_BAND_SIZE = 32L * 1024 * 1024;
+
 	private String lastModeName;
 	/** reference to the current mapmapView; null is allowed, too. */
 	private MapView selectedMapView;
@@ -372,24 +373,46 @@ public class MapViewController implements IMapViewManager , IMapViewChangeListen
 
 	@Override
 	public RenderedImage createImage(int dpi) {
+		final Rectangle printedArea = getPrintedArea();
+		return printedArea == null ? null : createImage(dpi, printedArea);
+	}
+
+	@Override
+	public RenderedImage createImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int dpi) {
+		final Rectangle printedArea = getPrintedArea(slideSize, placedNode, placedNodePosition);
+		return printedArea == null ? null : createImage(dpi, printedArea);
+	}
+
+	@Override
+	public CloseableRenderedImage createCloseableImage(int dpi) {
+		final Rectangle printedArea = getPrintedArea();
+		return printedArea == null ? null : createBandedImage(dpi, printedArea);
+	}
+
+	@Override
+	public CloseableRenderedImage createCloseableImage(final Dimension slideSize, NodeModel placedNode,
+	                                                   NodePosition placedNodePosition, int dpi) {
+		final Rectangle printedArea = getPrintedArea(slideSize, placedNode, placedNodePosition);
+		return printedArea == null ? null : createBandedImage(dpi, printedArea);
+	}
+
+	private Rectangle getPrintedArea() {
 		final MapView view = getMapView();
 		if (view == null) {
 			return null;
 		}
 		view.preparePrinting();
-		final Rectangle innerBounds = view.getInnerBounds();
-		return createImage(dpi, innerBounds);
+		return view.getInnerBounds();
 	}
 
-	@Override
-	public RenderedImage createImage(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition, int dpi) {
+	private Rectangle getPrintedArea(final Dimension slideSize, NodeModel placedNode, NodePosition placedNodePosition) {
 		final MapView view = getMapView();
 		if (view == null) {
 			return null;
 		}
 		final NodeView placedNodeView = view.getNodeView(placedNode);
 		if (placedNodeView == null) {
-			return createImage(dpi);
+			return getPrintedArea();
 		}
 
 		view.preparePrinting();
@@ -406,37 +429,36 @@ public class MapViewController implements IMapViewManager , IMapViewChangeListen
 		if(placedNodePosition == NodePosition.EAST){
 			printedGraphicsBounds.x -= distanceToMargin;
 		}
-		return createImage(dpi, printedGraphicsBounds);
+		return printedGraphicsBounds;
+	}
+
+	private static double getScaleFactor(int dpi) {
+		return (double) dpi / (double) (UITools.FONT_SCALE_FACTOR * 72);
 	}
 
-	public RenderedImage createImage(int dpi, final Rectangle printedArea) {
+	/** creates the fully painted image of the printed area */
+	public BufferedImage createImage(int dpi, final Rectangle printedArea) {
 		final MapView view = getMapView();
 		view.preparePrinting();
-		final BufferedImage myImage = printToImage(dpi, view, printedArea);
+		final double scaleFactor = getScaleFactor(dpi);
+		int imageWidth = (int) Math.ceil(printedArea.width * scaleFactor);
+		int imageHeight = (int) Math.ceil(printedArea.height * scaleFactor);
+		final BufferedImage myImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
+		BandedMapImage.paint(view, myImage, scaleFactor, printedArea, 0);
 		view.endPrinting();
 		return myImage;
 	}
 
-	private BufferedImage printToImage(int dpi, final MapView view, final Rectangle innerBounds) {
-		double scaleFactor = (double) dpi / (double) (UITools.FONT_SCALE_FACTOR * 72);
-
-		int imageWidth = (int) Math.ceil(innerBounds.width * scaleFactor);
-		int imageHeight = (int) Math.ceil(innerBounds.height * scaleFactor);
-
-		final BufferedImage myImage = new BufferedImage(imageWidth, imageHeight, BufferedImage.TYPE_INT_RGB);
-		final Graphics2D g = (Graphics2D) myImage.getGraphics();
-		Color background = view.getBackground();
-        if(background == null) {
-            background = SystemColor.window;
-        }
-
-		g.setBackground(background);
-		g.clearRect(0, 0, imageWidth, imageHeight);
-		g.scale(scaleFactor, scaleFactor);
-		g.translate(-innerBounds.x, -innerBounds.y);
-		g.setRenderingHint(GraphicsHints.CACHE_ICONS, Boolean.TRUE);
-		view.print(g);
-		return myImage;
+	/** creates the image of the printed area which is painted in bands of at most {@link #MAXIMUM_IMAGE_BAND_SIZE} bytes
+	 * while it is read, the map view stays prepared for printing until all bands are painted or the image is closed. */
+	CloseableRenderedImage createBandedImage(int dpi, final Rectangle printedArea) {
+		final MapView view = getMapView();
+		view.preparePrinting();
+		final double scaleFactor = getScaleFactor(dpi);
+		int imageWidth = (int) Math.ceil(printedArea.width * scaleFactor);
+		int imageHeight = (int) Math.ceil(printedArea.height * scaleFactor);
+		final int bandHeight = (int) Math.max(1, MAXIMUM_IMAGE_BAND_SIZE / (4L * imageWidth));
+		return new BandedMapImage(view, scaleFactor, printedArea, imageWidth, imageHeight, bandHeight);
 	}
 
 	/* (non-Javadoc)
@@ -489,7 +511,7 @@ public class MapViewController implements IMapViewManager , IMapViewChangeListen
 	public void setFoldedOnCurrentView(NodeModel node, boolean folded){
 		if(selectedMapView == null || ! node.hasChildren())
 			return;
-		final NodeView nodeView = selectedMapView.getNodeView(node);
+		final NodeView nodeView = selectedMapView.materializeNodeView(node);
 		if(nodeView == null)
 			return;
 		nodeView.setFolded(folded);
@@ -135,6 +135,9 @@ public class NodeView extends JComponent implements INodeView {
 	private int topOverlap;
 	private int bottomOverlap;
 	private boolean isFolded;
+	private boolean childViewsPending;
+	private int pendingDescendantCount;
+	private int pendingLevelCount;
 	private DashVariant edgeDash = DashVariant.DEFAULT;
 
 	public static final int DETAIL_VIEWER_POSITION = 2;
@@ -350,6 +353,7 @@ public class NodeView extends JComponent implements INodeView {
 	}
 
 	NodeView getFirst(Component startAfter, final boolean leftOnly, final boolean rightOnly) {
+		materializeChildViews();
 		final Component[] components = getComponents();
 		for (int i = 0; i < components.length; i++) {
 			if (startAfter != null) {
@@ -381,6 +385,7 @@ public class NodeView extends JComponent implements INodeView {
 	}
 
 	private NodeView getLast(Component startBefore, final boolean leftOnly, final boolean rightOnly) {
+		materializeChildViews();
 		final Component[] components = getComponents();
 		for (int i = components.length - 1; i >= 0; i--) {
 			if (startBefore != null) {
@@ -564,6 +569,7 @@ public class NodeView extends JComponent implements INodeView {
 		if (getModel().isLeaf()) {
 			return null;
 		}
+		materializeChildViews();
 		if (getUpper) {
 			preferredChild = null;
 		}
@@ -805,6 +811,7 @@ public class NodeView extends JComponent implements INodeView {
 	}
 
 	void addChildViews() {
+		childViewsPending = false;
 		if(isFolded)
 			return;
 		int index = 0;
@@ -821,6 +828,80 @@ public class NodeView extends JComponent implements INodeView {
 			NodeViewFactory.getInstance().newNodeView(newNode, getMap(), this, index);
 	}
 
+	/**
+	 * Defers creation of the child views until {@link #materializeChildViews()} is called.
+	 * Until then the laid out view reserves space estimated for its visible descendants.
+	 */
+	void deferChildViews() {
+		childViewsPending = ! isFolded && getModel().hasChildren();
+		if (childViewsPending) {
+			pendingDescendantCount = -1;
+			MapView.NODE_VIEW_STATISTICS.deferredSubtrees.increment();
+		}
+	}
+
+	boolean hasPendingChildViews() {
+		return childViewsPending;
+	}
+
+	/** Folded views neither create their child views nor reserve space for them. */
+	private void discardPendingChildViews() {
+		if (! childViewsPending)
+			return;
+		childViewsPending = false;
+		pendingDescendantCount = -1;
+		revalidate();
+	}
+
+	void materializeChildViews() {
+		if (! childViewsPending)
+			return;
+		MapView.NODE_VIEW_STATISTICS.materializedSubtrees.increment();
+		addChildViews();
+		revalidate();
+	}
+
+	private void pendingDescendantsChanged() {
+		pendingDescendantCount = -1;
+		revalidate();
+	}
+
+	/** The filter decides which pending descendants are visible, so their counts are estimated again. */
+	void filterChanged() {
+		if (childViewsPending) {
+			pendingDescendantsChanged();
+			return;
+		}
+		for (final NodeView child : getChildrenViews()) {
+			child.filterChanged();
+		}
+	}
+
+	/**
+	 * Enlarges the laid out view by the size estimated for the pending child views
+	 * from the number of visible descendants and the size of the own content,
+	 * so that the map extent changes little when they are created.
+	 */
+	void reserveSpaceForPendingChildViews() {
+		if (pendingDescendantCount < 0) {
+			final MapView.VisibleDescendants visibleDescendants = map.countVisibleDescendants(getModel());
+			pendingDescendantCount = visibleDescendants.count;
+			pendingLevelCount = visibleDescendants.levels;
+		}
+		final JComponent content = getContent();
+		if (pendingDescendantCount == 0 || content == null)
+			return;
+		final int childViewsHeight = pendingDescendantCount * (content.getHeight() + getMinimalDistanceBetweenChildren());
+		final int childViewsWidth = pendingLevelCount * (content.getWidth() + getHGap());
+		if (map.getLayoutType() == MapViewLayout.OUTLINE)
+			setSize(Math.max(getWidth(), content.getX() + childViewsWidth), getHeight() + childViewsHeight);
+		else {
+			final int additionalHeight = Math.max(0, childViewsHeight - content.getHeight());
+			content.setLocation(content.getX() + (isLeft() ? childViewsWidth : 0), content.getY() + additionalHeight / 2);
+			setSize(getWidth() + childViewsWidth, getHeight() + additionalHeight);
+		}
+	}
+
 	/* fc, 25.1.2004: Refactoring necessary: should call the model. */
 	public boolean isChildOf(final NodeView myNodeView) {
 		return getParentView() == myNodeView;
@@ -876,6 +957,7 @@ public class NodeView extends JComponent implements INodeView {
 		if (!node.isRoot() && node.getParentNode() == null) {
 			return;
 		}
+		map.invalidateLinkViews();
 		final Object property = event.getProperty();
 		if (property == NodeChangeType.FOLDING || property == Properties.HIDDEN_CHILDREN || property == EncryptionModel.class) {
 			if(map.isSelected() || property == EncryptionModel.class && ! isFolded){
@@ -934,6 +1016,8 @@ public class NodeView extends JComponent implements INodeView {
 	private void setFolded(boolean folded, boolean force) {
 		boolean wasFolded = isFolded;
 		this.isFolded = folded;
+		if (folded)
+			discardPendingChildViews();
 		if(wasFolded != isFolded || force) {
 			treeStructureChanged();
 			getMap().selectIfSelectionIsEmpty(this);
@@ -945,6 +1029,11 @@ public class NodeView extends JComponent implements INodeView {
 
 	@Override
 	public void onNodeDeleted(NodeDeletionEvent nodeDeletionEvent) {
+		map.invalidateLinkViews();
+		if (childViewsPending) {
+			pendingDescendantsChanged();
+			return;
+		}
 		if (nodeDeletionEvent.index >= getComponentCount() - 1) {
 			return;
 		}
@@ -992,6 +1081,11 @@ public class NodeView extends JComponent implements INodeView {
 	@Override
 	public void onNodeInserted(final NodeModel parent, final NodeModel child, final int index) {
 		assert parent == model;
+		map.invalidateLinkViews();
+		if (childViewsPending) {
+			pendingDescendantsChanged();
+			return;
+		}
 		if (isFolded) {
 			return;
 		}
@@ -140,6 +140,7 @@ class NodeViewFactory {
 	 */
 	NodeView newNodeView(final NodeModel model, final MapView map, final Container parent, final int index) {
 		final NodeView newView = new NodeView(model, map, parent);
+		MapView.NODE_VIEW_STATISTICS.createdViews.increment();
 		parent.add(newView, index);
 		newView.setMainView(newMainView(newView));
 		if(map.isDisplayable())
@@ -174,7 +175,10 @@ class NodeViewFactory {
 		newView.setLayout(SelectableLayout.getInstance());
 		newView.update();
         fireNodeViewCreated(newView);
-        newView.addChildViews();
+        if (newView.getMap().createsNodeViewsLazily() && ! newView.isRoot())
+        	newView.deferChildViews();
+        else
+        	newView.addChildViews();
 	}
 
 	private static final IMouseListener DETAILS_MOUSE_LISTENER = new DetailsViewMouseListener();
@@ -38,6 +38,9 @@ public class SelectableLayout implements INodeViewLayout {
 
 	public void layoutContainer(final Container parent) {
 		getLayout(parent).layoutContainer(parent);
+		final NodeView view = (NodeView) parent;
+		if (view.hasPendingChildViews())
+			view.reserveSpaceForPendingChildViews();
 	}
 
 	public Dimension minimumLayoutSize(final Container parent) {
@@ -0,0 +1,140 @@
+package org.freeplane.core.io.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.freeplane.core.io.IAttributeHandler;
+import org.freeplane.core.io.IElementContentHandler;
+import org.freeplane.core.io.IElementDOMHandler;
+import org.freeplane.core.io.IElementHandler;
+import org.freeplane.core.io.ReadManager;
+import org.freeplane.n3.nanoxml.XMLElement;
+import org.freeplane.n3.nanoxml.XMLWriter;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TreeXmlPullReaderShould {
+	private static final String MAP = "<map version=\"freeplane 1.8.0\" UNKNOWN=\"x\">\n"
+	        + "<!-- comment -->\n"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">\n"
+	        + "<font SIZE=\"12\"/>\n"
+	        + "<unknown A=\"1\"><child>text &amp; more</child></unknown>\n"
+	        + "<richcontent TYPE=\"NOTE\">\n<html><body><p a=\"&quot;\">x &lt; y</p><br/></body></html>\n</richcontent>\n"
+	        + "<node TEXT=\"child\" ID=\"ID_2\" POSITION=\"right\"/>\n"
+	        + "</node>\n"
+	        + "</map>\n";
+
+	private ReadManager readManager;
+	private List<String> events;
+
+	@Before
+	public void setup() {
+		readManager = new ReadManager();
+		events = new ArrayList<>();
+		readManager.addElementHandler("map", new IElementDOMHandler() {
+			@Override
+			public Object createElement(Object parent, String tag, XMLElement attributes) {
+				return "map";
+			}
+
+			@Override
+			public void endElement(Object parent, String tag, Object element, XMLElement dom) {
+				events.add("end " + element + " " + toXml(dom));
+			}
+		});
+		readManager.addElementHandler("node", new IElementDOMHandler() {
+			@Override
+			public Object createElement(Object parent, String tag, XMLElement attributes) {
+				return parent + "/node";
+			}
+
+			@Override
+			public void endElement(Object parent, String tag, Object element, XMLElement dom) {
+				events.add("end " + element + " " + toXml(dom));
+			}
+		});
+		readManager.addElementHandler("font", new IElementHandler() {
+			@Override
+			public Object createElement(Object parent, String tag, XMLElement attributes) {
+				return parent + "/font";
+			}
+		});
+		readManager.addElementHandler("richcontent", new IElementContentHandler() {
+			@Override
+			public Object createElement(Object parent, String tag, XMLElement attributes) {
+				return parent + "/richcontent";
+			}
+
+			@Override
+			public void endElement(Object parent, String tag, Object node, XMLElement attributes, String content) {
+				events.add("content " + attributes.getAttribute("TYPE", null) + " " + content.trim());
+			}
+		});
+		final IAttributeHandler attributeRecorder = new IAttributeHandler() {
+			@Override
+			public void setAttribute(Object node, String value) {
+				events.add("attribute " + node + " " + value);
+			}
+		};
+		readManager.addAttributeHandler("node", "TEXT", attributeRecorder);
+		readManager.addAttributeHandler("font", "SIZE", attributeRecorder);
+	}
+
+	private static String toXml(XMLElement dom) {
+		final StringWriter out = new StringWriter();
+		try {
+			new XMLWriter(out).write(dom);
+		}
+		catch (IOException e) {
+			throw new RuntimeException(e);
+		}
+		return out.toString().replace('\n', ' ').trim();
+	}
+
+	private List<String> eventsOf(boolean pullReader) throws Exception {
+		return eventsOf(pullReader, MAP);
+	}
+
+	private List<String> eventsOf(boolean pullReader, String map) throws Exception {
+		events.clear();
+		if (pullReader)
+			new TreeXmlPullReader(readManager).load(new StringReader(map));
+		else
+			new TreeXmlReader(readManager).load(new StringReader(map));
+		return new ArrayList<>(events);
+	}
+
+	@Test
+	public void dispatchSameEventsAsTreeXmlReader() throws Exception {
+		final List<String> expected = eventsOf(false);
+		final List<String> actual = eventsOf(true);
+		assertThat(actual).isEqualTo(expected);
+	}
+
+	@Test
+	public void keepUnknownElementsAndUnhandledAttributesInDom() throws Exception {
+		assertThat(eventsOf(true)).contains(
+		    "end map/node <node ID=\"ID_1\"><unknown A=\"1\"><child>text &amp; more</child></unknown></node>");
+	}
+
+	@Test
+	public void passRawElementContentToContentHandlers() throws Exception {
+		assertThat(eventsOf(true)).contains(
+		    "content NOTE <html><body><p a=\"&quot;\">x &lt; y</p><br/></body></html>");
+	}
+
+	@Test
+	public void passUndeclaredHtmlEntitiesInElementContentLikeTreeXmlReader() throws Exception {
+		final String map = "<map><node TEXT=\"root\">"
+		        + "<richcontent TYPE=\"NOTE\"><html><body><p>a&nbsp;b</p></body></html></richcontent>"
+		        + "</node></map>";
+		final List<String> expected = eventsOf(false, map);
+		assertThat(eventsOf(true, map)).isEqualTo(expected)
+		    .contains("content NOTE <html><body><p>a&nbsp;b</p></body></html>");
+	}
+}
@@ -0,0 +1,83 @@
+package org.freeplane.core.io.xml;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.freeplane.core.io.IAttributeWriter;
+import org.freeplane.core.io.IElementWriter;
+import org.freeplane.core.io.ITreeWriter;
+import org.freeplane.core.io.WriteManager;
+import org.junit.Test;
+
+public class TreeXmlWriterShould {
+	private static class Node {
+		final String text;
+		final List<Node> children;
+
+		Node(String text, Node... children) {
+			this.text = text;
+			this.children = Arrays.asList(children);
+		}
+	}
+
+	private final Node leaf = new Node("leaf ä");
+	private final Node inner = new Node("inner", new Node("grandchild"));
+	private final Node root = new Node("root", leaf, inner);
+	private final Map<Node, String> recordedElements = new HashMap<>();
+	private final Map<Node, String> replayedElements = new HashMap<>();
+
+	private String write() throws IOException {
+		final WriteManager writeManager = new WriteManager();
+		final StringWriter out = new StringWriter();
+		final TreeXmlWriter treeWriter = new TreeXmlWriter(writeManager, out, true);
+		writeManager.addAttributeWriter("node", new IAttributeWriter() {
+			@Override
+			public void writeAttributes(ITreeWriter writer, Object userObject, String tag) {
+				writer.addAttribute("TEXT", ((Node) userObject).text);
+			}
+		});
+		writeManager.addElementWriter("node", new IElementWriter() {
+			@Override
+			public void writeContent(ITreeWriter writer, Object element, String tag) throws IOException {
+				final List<Node> children = ((Node) element).children;
+				if (!children.isEmpty())
+					treeWriter.writePendingStartTag();
+				for (Node child : children) {
+					final String replayed = replayedElements.get(child);
+					if (replayed != null) {
+						writer.addElementContent(replayed);
+						continue;
+					}
+					final int start = treeWriter.getRecordedLength();
+					writer.addElement(child, "node");
+					recordedElements.put(child, treeWriter.getRecordedOutput(start, treeWriter.getRecordedLength()));
+				}
+			}
+		});
+		treeWriter.startRecording();
+		treeWriter.addElement(root, "node");
+		treeWriter.stopRecording();
+		treeWriter.flush();
+		return out.toString();
+	}
+
+	@Test
+	public void recordWrittenOutput() throws Exception {
+		final String output = write();
+		assertThat(recordedElements.get(leaf)).isEqualTo("<node TEXT=\"leaf &#xe4;\"/>" + System.lineSeparator());
+		assertThat(output).contains(recordedElements.get(inner));
+	}
+
+	@Test
+	public void writeSameOutputFromRecordedElements() throws Exception {
+		final String expected = write();
+		replayedElements.putAll(recordedElements);
+		assertThat(write()).isEqualTo(expected);
+	}
+}
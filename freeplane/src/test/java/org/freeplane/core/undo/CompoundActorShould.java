@@ -0,0 +1,49 @@
+package org.freeplane.core.undo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedList;
+
+import org.junit.Test;
+
+public class CompoundActorShould {
+	private static IActor actorOfSize(final long retainedSize) {
+		return new IActor() {
+			@Override
+			public void act() {
+			}
+
+			@Override
+			public String getDescription() {
+				return "";
+			}
+
+			@Override
+			public void undo() {
+			}
+
+			@Override
+			public long getRetainedSize() {
+				return retainedSize;
+			}
+		};
+	}
+
+	@Test
+	public void sumRetainedSizesOfAddedActors() throws Exception {
+		final CompoundActor compoundActor = new CompoundActor();
+		compoundActor.add(actorOfSize(100));
+		compoundActor.add(actorOfSize(20));
+		assertThat(compoundActor.getRetainedSize()).isEqualTo(120);
+	}
+
+	@Test
+	public void sumRetainedSizesOfNestedActors() throws Exception {
+		final CompoundActor nestedActor = new CompoundActor();
+		nestedActor.add(actorOfSize(100));
+		final LinkedList<IActor> actors = new LinkedList<IActor>();
+		actors.add(nestedActor);
+		actors.add(actorOfSize(3));
+		assertThat(new CompoundActor(actors).getRetainedSize()).isEqualTo(103);
+	}
+}
@@ -0,0 +1,132 @@
+package org.freeplane.core.undo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.map.MapModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+public class UndoHandlerShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final String UNDO_LEVELS_PROPERTY = "undo_levels";
+	private static final String UNDO_MEMORY_SIZE_PROPERTY = "undo_memory_size";
+	private static final long MB = 1024 * 1024;
+
+	private final List<String> performedActions = new ArrayList<String>();
+	private UndoHandler undoHandler;
+	private String undoLevels;
+	private String undoMemorySize;
+
+	@Before
+	public void setup() {
+		final Properties properties = ResourceController.getResourceController().getProperties();
+		undoLevels = properties.getProperty(UNDO_LEVELS_PROPERTY);
+		undoMemorySize = properties.getProperty(UNDO_MEMORY_SIZE_PROPERTY);
+		undoHandler = new UndoHandler(Mockito.mock(MapModel.class));
+	}
+
+	@After
+	public void restoreProperties() {
+		restoreProperty(UNDO_LEVELS_PROPERTY, undoLevels);
+		restoreProperty(UNDO_MEMORY_SIZE_PROPERTY, undoMemorySize);
+	}
+
+	private static void restoreProperty(final String name, final String value) {
+		final Properties properties = ResourceController.getResourceController().getProperties();
+		if (value == null)
+			properties.remove(name);
+		else
+			properties.setProperty(name, value);
+	}
+
+	private static void setLimits(final int undoLevels, final int undoMemorySizeMB) {
+		final Properties properties = ResourceController.getResourceController().getProperties();
+		properties.setProperty(UNDO_LEVELS_PROPERTY, Integer.toString(undoLevels));
+		properties.setProperty(UNDO_MEMORY_SIZE_PROPERTY, Integer.toString(undoMemorySizeMB));
+	}
+
+	private void addActors(final long retainedSize, final int count) {
+		for (int i = 1; i <= count; i++) {
+			final String name = Integer.toString(i);
+			undoHandler.forceNewTransaction();
+			undoHandler.addActor(new IActor() {
+				@Override
+				public void act() {
+					performedActions.add("act " + name);
+				}
+
+				@Override
+				public String getDescription() {
+					return name;
+				}
+
+				@Override
+				public void undo() {
+					performedActions.add("undo " + name);
+				}
+
+				@Override
+				public long getRetainedSize() {
+					return retainedSize;
+				}
+			});
+		}
+	}
+
+	private void undoAll() {
+		while (undoHandler.canUndo())
+			undoHandler.undo();
+	}
+
+	private void redoAll() {
+		while (undoHandler.canRedo())
+			undoHandler.redo();
+	}
+
+	@Test
+	public void dropOldestEntries_whenUndoLevelsAreExceeded() {
+		setLimits(3, 64);
+		addActors(1, 5);
+		undoAll();
+		redoAll();
+		assertThat(performedActions).containsExactly("undo 5", "undo 4", "undo 3", "act 3", "act 4", "act 5");
+	}
+
+	@Test
+	public void dropOldestEntries_whenUndoMemorySizeIsExceeded() {
+		setLimits(100, 1);
+		addActors(400 * 1024, 4);
+		undoAll();
+		redoAll();
+		assertThat(performedActions).containsExactly("undo 4", "undo 3", "act 3", "act 4");
+	}
+
+	@Test
+	public void keepLatestEntry_whenItExceedsUndoMemorySize() {
+		setLimits(100, 1);
+		addActors(2 * MB, 2);
+		undoAll();
+		assertThat(performedActions).containsExactly("undo 2");
+	}
+
+	@Test
+	public void addNewEntries_afterUndoingTrimmedEntries() {
+		setLimits(2, 64);
+		addActors(1, 3);
+		undoHandler.undo();
+		addActors(1, 1);
+		undoAll();
+		assertThat(performedActions).containsExactly("undo 3", "undo 1", "undo 2");
+	}
+}
@@ -0,0 +1,73 @@
+package org.freeplane.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HtmlToPlainConverterShould {
+	private static final String[] SAMPLES = {
+			"",
+			"<html><body><p>text</p></body></html>",
+			"<html>\n  <head>\n    \n  </head>\n  <body>\n    <p>\n      first line\n    </p>\n    <p>\n      second  line\n    </p>\n  </body>\n</html>\n",
+			"<html><body><p>a<br>b<br/>c<BR />d</p></body></html>",
+			"<html><body><div> <p> <br> text</p></div><tr> <div><p>x</p></div></tr></body></html>",
+			"<html><body><ul><li>one</li><li> two </li></ul><ol><li>three</li></ol></body></html>",
+			"<html><body><table><tr><td>a</td><td> b </td></tr><tr><td></td><td>c</td></tr></table></body></html>",
+			"<html><body><dl><dt>term</dt><dd>definition</dd></dl></body></html>",
+			"<html><body><b> bold </b> <i>italic</i> x <b></i> <b><td>y</td></body></html>",
+			"<html><body><p>&lt;tag&gt; &amp;lt; &quot;quoted&quot; a&nbsp;&nbsp;b &AMP; &#60; &#x3c; &#38;lt; &unknown;</p></body></html>",
+			"<html><body><p>trailing &nbsp; <br>\u00a0<br>\t<br>tab</p></body></html>",
+			"<html><body><pre>  pre\n  formatted\n</pre><param name=x></body></html>",
+			"<html><body><p>a > b</p> and 1 &lt; 2</body></html> 1 < 2",
+			"<html><body>\r\n<p>\r\n windows \r\n</p>\r\n</body></html>",
+			"<html><body><!-- comment > with bracket --><style>p {}</style>text</body></html>",
+	};
+
+	private static final String[] TOKENS = { "<p>", "<P class='x'>", "</p>", "<br>", "<br/>", "<div>", "</div>",
+	        "<tr>", "<td>", "</td>", "<dt>", "<dd>", "<ul>", "<ol>", "<li>", "</li>", "<b>", "</b>", "<html>",
+	        "<body>", " ", "  ", "\n", "\t", "\r", "x", "ab", "&lt;", "&amp;", "&#38;", "&nbsp;", "&#160;", "\u00a0",
+	        "&quot;", "&#10;", ">", "<", "&", "</>", "< >", "<>" };
+
+	@Test
+	public void produceSamePlainTextAsRegularExpressions() throws Exception {
+		for (final String sample : SAMPLES) {
+			for (final boolean removeNewLines : new boolean[] { true, false }) {
+				final String plainText = HtmlToPlainConverter.convert(sample, removeNewLines);
+				assertThat(plainText).as(sample).isEqualTo(HtmlUtils.htmlToPlainByPatterns(sample, removeNewLines));
+			}
+		}
+	}
+
+	@Test
+	public void produceSamePlainTextAsRegularExpressionsForRandomTexts() throws Exception {
+		final Random random = new Random(1);
+		int scannedTextCount = 0;
+		for (int i = 0; i < 20000; i++) {
+			final StringBuilder text = new StringBuilder();
+			final int tokenCount = random.nextInt(20);
+			for (int j = 0; j < tokenCount; j++)
+				text.append(TOKENS[random.nextInt(TOKENS.length)]);
+			final String html = text.toString();
+			final boolean removeNewLines = random.nextBoolean();
+			final String plainText = HtmlToPlainConverter.convert(html, removeNewLines);
+			if (plainText != null) {
+				scannedTextCount++;
+				assertThat(plainText).as(html).isEqualTo(HtmlUtils.htmlToPlainByPatterns(html, removeNewLines));
+			}
+		}
+		assertThat(scannedTextCount).isGreaterThan(10000);
+	}
+
+	@Test
+	public void returnNull_forTagsContainingLessThanCharacters() throws Exception {
+		assertThat(HtmlToPlainConverter.convert("<html><p a<b>text</p></html>", true)).isNull();
+	}
+
+	@Test
+	public void fallBackToRegularExpressions_forTextsWhichCanNotBeScanned() throws Exception {
+		final String html = "<html><p a<b>text</p> 1 < 2 <b>x</b></html>";
+		assertThat(HtmlUtils.htmlToPlain(html)).isEqualTo(HtmlUtils.htmlToPlainByPatterns(html, true));
+	}
+}
@@ -0,0 +1,51 @@
+package org.freeplane.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.stream.StreamResult;
+import javax.xml.transform.stream.StreamSource;
+
+import org.junit.Test;
+
+public class XsltPipeTransformationShould {
+	private static final String COUNT_NODES = "<xsl:stylesheet version='1.0' xmlns:xsl='http://www.w3.org/1999/XSL/Transform'>"
+	        + "<xsl:output method='text'/>"
+	        + "<xsl:template match='/'><xsl:value-of select='count(//node)'/></xsl:template>"
+	        + "</xsl:stylesheet>";
+
+	private static Transformer countNodes() throws Exception {
+		return TransformerFactory.newInstance().newTransformer(new StreamSource(new StringReader(COUNT_NODES)));
+	}
+
+	@Test
+	public void transformXmlLargerThanPipeCapacityWithSeveralTransformers() throws Exception {
+		final StringWriter first = new StringWriter();
+		final StringWriter second = new StringWriter();
+		new XsltPipeTransformation().add(countNodes(), new StreamResult(first))
+		    .add(countNodes(), new StreamResult(second))
+		    .transform(writer -> {
+			    writer.write("<map>");
+			    for (int i = 0; i < 100000; i++)
+				    writer.write("<node TEXT='node text'/>");
+			    writer.write("</map>");
+		    });
+		assertThat(first.toString()).isEqualTo("100000");
+		assertThat(second.toString()).isEqualTo("100000");
+	}
+
+	@Test(expected = TransformerException.class)
+	public void reportErrorsOfTransformationWithoutBlockingTheWriter() throws Exception {
+		new XsltPipeTransformation().add(countNodes(), new StreamResult(new StringWriter()))
+		    .transform(writer -> {
+			    writer.write("<map><unclosed>");
+			    for (int i = 0; i < 100000; i++)
+				    writer.write("</node>");
+		    });
+	}
+}
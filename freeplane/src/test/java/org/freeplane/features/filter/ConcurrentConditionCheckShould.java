@@ -0,0 +1,90 @@
+package org.freeplane.features.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.freeplane.features.map.MapFake;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class ConcurrentConditionCheckShould {
+	private final MapFake mapFake = new MapFake();
+	private final MapModel map = mapFake.getRoot().getMap();
+
+	private NodeModel[] nodes(final int count) {
+		final NodeModel[] nodes = new NodeModel[count];
+		for (int i = 0; i < count; i++) {
+			nodes[i] = mapFake.addNode(i % 2 == 0 ? "a" : "bx");
+		}
+		return nodes;
+	}
+
+	@Test
+	public void checkAllNodes() {
+		final ConcurrentConditionCheck check = new ConcurrentConditionCheck(node -> node.getText().contains("x"),
+		    nodes(3));
+		assertThat(check.run(map)).isTrue();
+		assertThat(check.isSatisfied(0)).isFalse();
+		assertThat(check.isSatisfied(1)).isTrue();
+		assertThat(check.isSatisfied(2)).isFalse();
+	}
+
+	@Test
+	public void stopWithoutCheckingNodes_afterCancellation() {
+		final AtomicInteger checkedNodes = new AtomicInteger();
+		final ConcurrentConditionCheck check = new ConcurrentConditionCheck(node -> checkedNodes.incrementAndGet() > 0,
+		    nodes(3));
+		check.cancel();
+		assertThat(check.run(map)).isFalse();
+		assertThat(checkedNodes.get()).isZero();
+	}
+
+	@Test
+	public void stopEarly_whenNewerCheckForSameMapStarts() throws Exception {
+		final int nodeCount = 10000;
+		final NodeModel[] nodes = nodes(nodeCount);
+		final AtomicInteger checkedNodes = new AtomicInteger();
+		final CountDownLatch checkStarted = new CountDownLatch(1);
+		final CountDownLatch newerCheckStarted = new CountDownLatch(1);
+		final ConcurrentConditionCheck supersededCheck = new ConcurrentConditionCheck(node -> {
+			checkedNodes.incrementAndGet();
+			checkStarted.countDown();
+			try {
+				newerCheckStarted.await(10, TimeUnit.SECONDS);
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return true;
+		}, nodes);
+		final ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			final Future<Boolean> supersededResult = executor.submit(() -> supersededCheck.run(map));
+			assertThat(checkStarted.await(10, TimeUnit.SECONDS)).isTrue();
+			final ConcurrentConditionCheck newerCheck = new ConcurrentConditionCheck(node -> true, new NodeModel[0]);
+			assertThat(newerCheck.run(map)).isTrue();
+			newerCheckStarted.countDown();
+			assertThat(supersededResult.get(10, TimeUnit.SECONDS)).isFalse();
+			assertThat(checkedNodes.get()).isLessThan(nodeCount);
+		}
+		finally {
+			newerCheckStarted.countDown();
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	public void notCancelChecksWithoutMap() {
+		final ConcurrentConditionCheck checkWithoutMap = new ConcurrentConditionCheck(node -> true, nodes(1));
+		final ConcurrentConditionCheck checkForMap = new ConcurrentConditionCheck(node -> true, nodes(1));
+		assertThat(checkWithoutMap.run(null)).isTrue();
+		assertThat(checkForMap.run(map)).isTrue();
+	}
+}
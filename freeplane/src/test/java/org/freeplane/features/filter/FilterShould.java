@@ -0,0 +1,162 @@
+package org.freeplane.features.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.filter.condition.ICondition;
+import org.freeplane.features.map.MapFake;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+public class FilterShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final int[] FLAGS = { FilterInfo.FILTER_SHOW_AS_MATCHED, FilterInfo.FILTER_SHOW_AS_HIDDEN,
+	        FilterInfo.FILTER_SHOW_AS_ANCESTOR, FilterInfo.FILTER_SHOW_AS_DESCENDANT };
+	private final ICondition containsX = node -> node.getText().contains("x");
+	private MapFake mapFake;
+	private NodeModel root;
+	private NodeModel a;
+	private NodeModel ax;
+	private NodeModel bx;
+	private NodeModel b1;
+	private NodeModel c;
+	private NodeModel c1;
+	private NodeModel c11;
+
+	@Before
+	public void setup() {
+		mapFake = new MapFake();
+		root = mapFake.getRoot();
+		a = mapFake.addNode("a");
+		ax = addChild(a, "ax");
+		bx = mapFake.addNode("bx");
+		b1 = addChild(bx, "b1");
+		c = mapFake.addNode("c");
+		c1 = addChild(c, "c1");
+		c11 = addChild(c1, "c11");
+	}
+
+	private NodeModel addChild(NodeModel parent, String text) {
+		final NodeModel child = mapFake.createNode(text);
+		parent.insert(child);
+		return child;
+	}
+
+	private Filter calculatedFilter() {
+		final Filter filter = new Filter(containsX, false, true, true, null);
+		filter.calculateFilterResults(root.getMap());
+		return filter;
+	}
+
+	private void assertSameResults(Filter actual, Filter expected) {
+		assertSameResults(actual, expected, root);
+	}
+
+	private void assertSameResults(Filter actual, Filter expected, NodeModel node) {
+		for (int flag : FLAGS) {
+			assertThat(actual.getFilterInfo(node).matches(flag)).as(node.getText() + " " + flag)
+			    .isEqualTo(expected.getFilterInfo(node).matches(flag));
+		}
+		for (NodeModel child : node.getChildren())
+			assertSameResults(actual, expected, child);
+	}
+
+	@Test
+	public void updateAncestorsOfNewlyMatchingNode() {
+		final Filter filter = calculatedFilter();
+		c11.setText("c11x");
+		final Collection<NodeModel> changedNodes = filter.updateFilterResults(c11);
+		assertSameResults(filter, calculatedFilter());
+		assertThat(changedNodes).containsExactlyInAnyOrder(c11, c1, c);
+	}
+
+	@Test
+	public void updateDescendantsOfNoLongerMatchingNode() {
+		final Filter filter = calculatedFilter();
+		bx.setText("b");
+		final Collection<NodeModel> changedNodes = filter.updateFilterResults(bx);
+		assertSameResults(filter, calculatedFilter());
+		assertThat(changedNodes).containsExactlyInAnyOrder(bx, b1);
+	}
+
+	@Test
+	public void updateMovedNodeAndBothParents() {
+		final Filter filter = calculatedFilter();
+		a.remove(0);
+		c11.insert(ax);
+		filter.updateFilterResultsAfterMove(a, ax);
+		assertSameResults(filter, calculatedFilter());
+	}
+
+	/** condition checked concurrently, starts a newer check for the same map when it checks the first child node */
+	private ICondition supersededContainsX() {
+		final AtomicBoolean newerCheckStarted = new AtomicBoolean();
+		return new ICondition() {
+			@Override
+			public boolean checkNode(NodeModel node) {
+				if (!node.isRoot() && newerCheckStarted.compareAndSet(false, true))
+					new ConcurrentConditionCheck(this, new NodeModel[0]).run(root.getMap());
+				return containsX.checkNode(node);
+			}
+
+			@Override
+			public boolean canBeCheckedConcurrently() {
+				return true;
+			}
+		};
+	}
+
+	private boolean calculateConcurrently(Filter filter, boolean appliedToMap) {
+		final ResourceController resourceController = ResourceController.getResourceController();
+		final String minNodeCount = resourceController.getProperty(ConcurrentConditionCheck.MIN_NODE_COUNT_PROPERTY);
+		resourceController.setProperty(ConcurrentConditionCheck.MIN_NODE_COUNT_PROPERTY, 1);
+		try {
+			if (appliedToMap)
+				return filter.calculateAppliedFilterResults(root.getMap());
+			filter.calculateFilterResults(root.getMap());
+			return true;
+		}
+		finally {
+			resourceController.setProperty(ConcurrentConditionCheck.MIN_NODE_COUNT_PROPERTY, minNodeCount);
+		}
+	}
+
+	@Test
+	public void calculateSameResultsConcurrently() {
+		final ICondition concurrentContainsX = new ICondition() {
+			@Override
+			public boolean checkNode(NodeModel node) {
+				return containsX.checkNode(node);
+			}
+
+			@Override
+			public boolean canBeCheckedConcurrently() {
+				return true;
+			}
+		};
+		final Filter filter = new Filter(concurrentContainsX, false, true, true, null);
+		assertThat(calculateConcurrently(filter, true)).isTrue();
+		assertSameResults(filter, calculatedFilter());
+	}
+
+	@Test
+	public void reportSupersededCalculation_whenNewerFilterIsAppliedToSameMap() {
+		final Filter filter = new Filter(supersededContainsX(), false, true, true, null);
+		assertThat(calculateConcurrently(filter, true)).isFalse();
+	}
+
+	@Test
+	public void completeCalculation_whenFilterIsNotAppliedToMap() {
+		final Filter filter = new Filter(supersededContainsX(), false, true, true, null);
+		calculateConcurrently(filter, false);
+		assertSameResults(filter, calculatedFilter());
+	}
+}
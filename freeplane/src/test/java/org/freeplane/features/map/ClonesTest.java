@@ -19,10 +19,12 @@
  */
 package org.freeplane.features.map;
 
+import static org.freeplane.features.map.NodeModel.CloneType.CONTENT;
 import static org.freeplane.features.map.NodeModel.CloneType.TREE;
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 
 import org.hamcrest.collection.IsEmptyIterable;
@@ -129,4 +131,97 @@ public class ClonesTest {
 		assertThat(clone.subtreeContainsCloneOf(child), is(true));
 	}
 
+	@Test
+	public void attachedNodeWithoutClonesKeepsNoCloneLists() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		assertThat(node.hasCloneLists(), is(false));
+		parent.insert(node);
+		assertThat(node.isAttached(), is(true));
+		assertThat(node.hasCloneLists(), is(false));
+	}
+
+	@Test
+	public void nodeKeepsNoCloneListsAfterItsCloneIsRemoved() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel clone = node.cloneTree();
+		parent.insert(clone);
+		assertThat(node.hasCloneLists(), is(true));
+		parent.remove(parent.getIndex(clone));
+		assertThat(node.hasCloneLists(), is(false));
+		assertThat(node.isAttached(), is(true));
+		assertThat(node.allClones(), contains(node));
+		parent.remove(parent.getIndex(node));
+		assertThat(node.hasCloneLists(), is(false));
+		assertThat(node.isAttached(), is(false));
+	}
+
+	@Test
+	public void swapDataOfNodesWithoutClones() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel duplicate = new NodeModel("duplicate", map);
+		node.swapData(duplicate);
+		assertThat(node.getText(), is("duplicate"));
+		assertThat(duplicate.getText(), is("node"));
+		assertThat(node.isAttached(), is(true));
+		assertThat(node.hasCloneLists(), is(false));
+		assertThat(node.allClones(), contains(node));
+		assertThat(duplicate.isAttached(), is(false));
+		assertThat(duplicate.hasCloneLists(), is(false));
+	}
+
+	@Test
+	public void swapDataOfCloneWithNodeWithoutClones() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel clone = node.cloneTree();
+		parent.insert(clone);
+		final NodeModel duplicate = new NodeModel("duplicate", map);
+		clone.swapData(duplicate);
+		assertThat(clone.getText(), is("duplicate"));
+		assertThat(clone.hasCloneLists(), is(false));
+		assertThat(clone.allClones(), contains(clone));
+		assertThat(node.hasCloneLists(), is(false));
+		assertThat(node.allClones(), contains(node));
+		clone.swapData(duplicate);
+		assertThat(clone.getText(), is("node"));
+		assertThat(node.subtreeClones(), contains(node, clone));
+		assertThat(duplicate.hasCloneLists(), is(false));
+		assertThat(duplicate.isAttached(), is(false));
+	}
+
+	@Test
+	public void convertNodeWithoutClonesToTreeClone() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel converted = new NodeModel("converted", map);
+		converted.convertToClone(node, TREE);
+		assertThat(converted.getSharedData(), sameInstance(node.getSharedData()));
+		assertThat(converted.hasCloneLists(), is(true));
+		parent.insert(converted);
+		assertThat(node.subtreeClones(), contains(node, converted));
+		assertThat(node.allClones(), contains(node, converted));
+	}
+
+	@Test
+	public void convertNodeWithoutClonesToContentClone() {
+		final NodeModel parent = root();
+		final NodeModel node = new NodeModel("node", map);
+		parent.insert(node);
+		final NodeModel converted = new NodeModel("converted", map);
+		converted.convertToClone(node, CONTENT);
+		parent.insert(converted);
+		assertThat(node.subtreeClones(), contains(node));
+		assertThat(node.allClones(), contains(node, converted));
+		parent.remove(parent.getIndex(converted));
+		assertThat(node.hasCloneLists(), is(false));
+		assertThat(node.allClones(), contains(node));
+	}
+
 }
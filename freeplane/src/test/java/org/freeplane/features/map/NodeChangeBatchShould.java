@@ -0,0 +1,163 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.map.mindmapmode.MMapController;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NodeChangeBatchShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final String MAP = "<map version=\"freeplane 1.6.0\">"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">"
+	        + "<node TEXT=\"first\" ID=\"ID_2\" POSITION=\"left\"/>"
+	        + "<node TEXT=\"second\" ID=\"ID_3\" POSITION=\"right\"/>"
+	        + "</node></map>";
+
+	private MMapController mapController;
+	private NodeModel first;
+	private NodeModel second;
+	private final List<NodeChangeEvent> modelEvents = Collections.synchronizedList(new ArrayList<NodeChangeEvent>());
+	private final List<NodeChangeEvent> viewEvents = Collections.synchronizedList(new ArrayList<NodeChangeEvent>());
+	private final INodeChangeListener modelListener = modelEvents::add;
+	private final INodeView view = new INodeView() {
+		@Override
+		public void nodeChanged(final NodeChangeEvent event) {
+			viewEvents.add(event);
+		}
+	};
+
+	@Before
+	public void setup() throws Exception {
+		final ModeController modeController = Controller.getCurrentModeController();
+		mapController = (MMapController) modeController.getMapController();
+		final MapModel map = new MapLoader(modeController)
+		    .setInputStream(new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8))).unsetMapLocation()
+		    .getMap();
+		first = map.getNodeForID("ID_2");
+		second = map.getNodeForID("ID_3");
+		first.addViewer(view);
+		second.addViewer(view);
+		mapController.addNodeChangeListener(modelListener);
+	}
+
+	@After
+	public void tearDown() {
+		mapController.removeNodeChangeListener(modelListener);
+	}
+
+	@Test
+	public void notifyModelListenersImmediatelyAndViewsAtEndOfBatch() {
+		mapController.beginNodeChangeBatch();
+		mapController.nodeRefresh(first, "property", "old", "new");
+		assertThat(modelEvents).hasSize(1);
+		assertThat(viewEvents).isEmpty();
+		mapController.endNodeChangeBatch();
+		assertThat(viewEvents).hasSize(1);
+		assertThat(viewEvents.get(0).getNode()).isSameAs(first);
+	}
+
+	@Test
+	public void coalesceChangesOfSameNodeAndProperty() {
+		mapController.runInNodeChangeBatch(() -> {
+			mapController.nodeRefresh(first, "property", "1", "2");
+			mapController.nodeRefresh(first, "property", "2", "3");
+			mapController.nodeRefresh(first, "other property", "a", "b");
+			mapController.nodeRefresh(second, "property", "x", "y");
+		});
+		assertThat(modelEvents).hasSize(4);
+		assertThat(viewEvents).hasSize(3);
+		final NodeChangeEvent coalescedEvent = viewEvents.get(0);
+		assertThat(coalescedEvent.getNode()).isSameAs(first);
+		assertThat(coalescedEvent.getProperty()).isEqualTo("property");
+		assertThat(coalescedEvent.getOldValue()).isEqualTo("1");
+		assertThat(coalescedEvent.getNewValue()).isEqualTo("3");
+	}
+
+	@Test
+	public void deliverChangesAtEndOfOutermostBatch() {
+		mapController.runInNodeChangeBatch(() -> {
+			mapController.runInNodeChangeBatch(() -> mapController.nodeRefresh(first, "property", "1", "2"));
+			assertThat(viewEvents).isEmpty();
+			mapController.nodeRefresh(first, "property", "2", "3");
+		});
+		assertThat(viewEvents).hasSize(1);
+		assertThat(viewEvents.get(0).getNewValue()).isEqualTo("3");
+	}
+
+	@Test
+	public void notCollectChangesOfOtherThreads() throws Exception {
+		mapController.runInNodeChangeBatch(() -> {
+			final Thread otherThread = new Thread(
+			    () -> mapController.runInNodeChangeBatch(() -> mapController.nodeRefresh(second, "property", "x", "y")));
+			otherThread.start();
+			try {
+				otherThread.join();
+			}
+			catch (final InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			assertThat(viewEvents).hasSize(1);
+			mapController.nodeRefresh(first, "property", "1", "2");
+			assertThat(viewEvents).hasSize(1);
+		});
+		assertThat(viewEvents).hasSize(2);
+	}
+
+	@Test
+	public void deliverAllChanges_whenThreadsRunBatchesConcurrently() throws Exception {
+		final int threadCount = 4;
+		final int batchCount = 500;
+		final Thread[] threads = new Thread[threadCount];
+		for (int i = 0; i < threadCount; i++) {
+			final NodeModel node = i % 2 == 0 ? first : second;
+			final String property = "property " + i;
+			threads[i] = new Thread(() -> {
+				for (int batch = 0; batch < batchCount; batch++) {
+					final String value = Integer.toString(batch);
+					mapController.runInNodeChangeBatch(() -> mapController.nodeRefresh(node, property, "", value));
+				}
+			});
+		}
+		for (final Thread thread : threads)
+			thread.start();
+		for (final Thread thread : threads)
+			thread.join();
+		assertThat(modelEvents).hasSize(threadCount * batchCount);
+		assertThat(viewEvents).hasSize(threadCount * batchCount);
+
+		viewEvents.clear();
+		mapController.beginNodeChangeBatch();
+		mapController.nodeRefresh(first, "property", "old", "new");
+		assertThat(viewEvents).isEmpty();
+		mapController.endNodeChangeBatch();
+		assertThat(viewEvents).hasSize(1);
+	}
+
+	@Test
+	public void dropChangesOfNodesDeletedDuringBatch() throws Exception {
+		SwingUtilities.invokeAndWait(() -> mapController.runInNodeChangeBatch(() -> {
+			mapController.nodeRefresh(first, "property", "1", "2");
+			mapController.nodeRefresh(second, "property", "x", "y");
+			mapController.deleteNode(first);
+		}));
+		assertThat(viewEvents).hasSize(1);
+		assertThat(viewEvents.get(0).getNode()).isSameAs(second);
+	}
+}
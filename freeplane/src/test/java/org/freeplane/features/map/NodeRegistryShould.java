@@ -0,0 +1,59 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Test;
+
+public class NodeRegistryShould {
+	private final NodeRegistry uut = new NodeRegistry();
+
+	@Test
+	public void convertGeneratedIds_toNumbers() throws Exception {
+		assertThat(NodeRegistry.idNumber("ID_0")).isEqualTo(0);
+		assertThat(NodeRegistry.idNumber("ID_1234567890")).isEqualTo(1234567890);
+		assertThat(NodeRegistry.idNumber("ID_" + Integer.MAX_VALUE)).isEqualTo(Integer.MAX_VALUE);
+		assertThat(NodeRegistry.id(1234567890)).isEqualTo("ID_1234567890");
+	}
+
+	@Test
+	public void notConvertIds_whichDoNotConvertBackToTheSameString() throws Exception {
+		for (final String id : new String[] { null, "", "ID_", "ID_01", "ID_-1", "ID_1a", "ID_2147483648",
+		        "ID_99999999999", "id_1", "Freeplane_Link_1" })
+			assertThat(NodeRegistry.idNumber(id)).as(id).isEqualTo(NodeRegistry.NO_ID_NUMBER);
+	}
+
+	@Test
+	public void returnRegisteredNodes_forGeneratedAndOtherIds() throws Exception {
+		final NodeModel[] nodes = new NodeModel[1000];
+		for (int i = 0; i < nodes.length; i++) {
+			nodes[i] = mock(NodeModel.class);
+			assertThat(uut.put("ID_" + i, nodes[i])).isNull();
+		}
+		final NodeModel otherNode = mock(NodeModel.class);
+		uut.put("ID_01", otherNode);
+		for (int i = 0; i < nodes.length; i++)
+			assertThat(uut.get("ID_" + i)).isSameAs(nodes[i]);
+		assertThat(uut.get("ID_01")).isSameAs(otherNode);
+		assertThat(uut.get("ID_1000")).isNull();
+	}
+
+	@Test
+	public void returnNodesRegisteredByNumber_forGeneratedIds() throws Exception {
+		final NodeModel node = mock(NodeModel.class);
+		assertThat(uut.put(42, node)).isNull();
+		assertThat(uut.get("ID_42")).isSameAs(node);
+		assertThat(uut.put("ID_42", null)).isSameAs(node);
+		assertThat(uut.contains(42)).isTrue();
+	}
+
+	@Test
+	public void keepUnregisteredIds() throws Exception {
+		final NodeModel node = mock(NodeModel.class);
+		uut.put("ID_5", node);
+		assertThat(uut.put("ID_5", null)).isSameAs(node);
+		assertThat(uut.get("ID_5")).isNull();
+		assertThat(uut.contains(5)).isTrue();
+		assertThat(uut.contains(6)).isFalse();
+	}
+}
@@ -0,0 +1,268 @@
+package org.freeplane.features.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.io.StringWriter;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.core.undo.IUndoHandler;
+import org.freeplane.features.encrypt.EncryptionController;
+import org.freeplane.features.encrypt.PasswordStrategy;
+import org.freeplane.features.encrypt.SingleDesEncrypter;
+import org.freeplane.features.map.MapWriter.Mode;
+import org.freeplane.features.map.mindmapmode.MMapController;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.nodestyle.NodeStyleController;
+import org.freeplane.features.nodestyle.mindmapmode.MNodeStyleController;
+import org.freeplane.features.styles.IStyle;
+import org.freeplane.features.styles.MapStyleModel;
+import org.freeplane.features.styles.mindmapmode.MLogicalStyleController;
+import org.freeplane.features.text.mindmapmode.MTextController;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class SerializedNodeCacheShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final String MAP = "<map version=\"freeplane 1.6.0\">"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">"
+	        + "<node TEXT=\"left\" ID=\"ID_2\" POSITION=\"left\">"
+	        + "<node TEXT=\"left child\" ID=\"ID_3\">"
+	        + "<node TEXT=\"left grandchild\" ID=\"ID_4\"/>"
+	        + "</node></node>"
+	        + "<node TEXT=\"right\" ID=\"ID_5\" POSITION=\"right\">"
+	        + "<node TEXT=\"right child\" ID=\"ID_6\"/>"
+	        + "<node TEXT=\"linked\" ID=\"ID_7\" LINK=\"#ID_4\"/>"
+	        + "</node></node></map>";
+
+	private static final String PASSWORD = "password";
+	private static final Pattern ENCRYPTED_CONTENT = Pattern.compile("ENCRYPTED_CONTENT=\"([^\"]*)\"");
+
+	private ModeController modeController;
+	private MMapController mapController;
+	private MapModel map;
+	private IUndoHandler undoHandler;
+
+	@Before
+	public void setup() throws Exception {
+		ResourceController.getResourceController().getProperties().setProperty(MapWriter.NODE_CACHE_PROPERTY, "true");
+		modeController = Controller.getCurrentModeController();
+		mapController = (MMapController) modeController.getMapController();
+		map = new MapLoader(modeController)
+		    .setInputStream(new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8))).unsetMapLocation()
+		    .getMap();
+		map.beforeViewCreated();
+		undoHandler = map.getExtension(IUndoHandler.class);
+	}
+
+	@After
+	public void tearDown() {
+		ResourceController.getResourceController().getProperties().setProperty(MapWriter.NODE_CACHE_PROPERTY, "false");
+	}
+
+	private NodeModel node(final String id) {
+		return map.getNodeForID(id);
+	}
+
+	private String save() throws Exception {
+		final StringWriter writer = new StringWriter();
+		mapController.getMapWriter().writeMapAsXml(map, writer, Mode.FILE, true, false);
+		return writer.toString();
+	}
+
+	/** saves the map using the cache filled by the previous save and checks it against a save without cache */
+	private void assertCachedSaveEqualsFreshSave() throws Exception {
+		final String cached = save();
+		final SerializedNodeCache cache = map.getExtension(SerializedNodeCache.class);
+		map.removeExtension(SerializedNodeCache.class);
+		final String fresh = save();
+		map.putExtension(SerializedNodeCache.class, cache);
+		assertThat(decrypted(cached)).isEqualTo(decrypted(fresh));
+	}
+
+	/** encrypted content is salted randomly each time it is written, so it is compared after decryption */
+	private String decrypted(final String xml) {
+		final Matcher matcher = ENCRYPTED_CONTENT.matcher(xml);
+		final StringBuffer result = new StringBuffer();
+		while (matcher.find()) {
+			final String content = new SingleDesEncrypter(new StringBuilder(PASSWORD)).decrypt(matcher.group(1));
+			matcher.appendReplacement(result, Matcher.quoteReplacement(content));
+		}
+		matcher.appendTail(result);
+		return result.toString();
+	}
+
+	private void onEventDispatchThread(final Runnable runnable) throws InterruptedException, InvocationTargetException {
+		SwingUtilities.invokeAndWait(runnable);
+	}
+
+	private interface Change {
+		void apply() throws Exception;
+	}
+
+	private void checkAfter(final Change... changes) throws Exception {
+		final Exception[] exception = new Exception[1];
+		onEventDispatchThread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					save();
+					for (final Change change : changes) {
+						/* each change can be undone separately */
+						undoHandler.forceNewTransaction();
+						change.apply();
+						assertCachedSaveEqualsFreshSave();
+					}
+				}
+				catch (final Exception e) {
+					exception[0] = e;
+				}
+			}
+		});
+		if (exception[0] != null)
+			throw exception[0];
+	}
+
+	@Test
+	public void reuseOutputOfUnchangedMap() throws Exception {
+		checkAfter(() -> {});
+	}
+
+	@Test
+	public void writeEditedNodes() throws Exception {
+		checkAfter(() -> MTextController.getController().setNodeText(node("ID_4"), "edited grandchild"),
+		    () -> MTextController.getController().setNodeText(node("ID_1"), "edited root"));
+	}
+
+	@Test
+	public void writeFoldedNodes() throws Exception {
+		checkAfter(() -> node("ID_3").setFolded(true), () -> node("ID_3").setFolded(false));
+	}
+
+	@Test
+	public void writeInsertedMovedAndDeletedNodes() throws Exception {
+		checkAfter(() -> mapController.addNewNode(node("ID_3"), 0, true),
+		    () -> mapController.moveNodes(Arrays.asList(node("ID_3")), node("ID_5"), 0, false, true),
+		    () -> mapController.deleteNode(node("ID_6")));
+	}
+
+	@Test
+	public void writeMapAfterUndoAndRedo() throws Exception {
+		checkAfter(() -> MTextController.getController().setNodeText(node("ID_3"), "edited"),
+		    () -> mapController.deleteNode(node("ID_4")),
+		    () -> undoHandler.undo(),
+		    () -> undoHandler.redo(),
+		    () -> undoHandler.undo());
+	}
+
+	@Test
+	public void writeClonesAndTheirOriginals() throws Exception {
+		final NodeModel[] clone = new NodeModel[1];
+		checkAfter(() -> {
+			clone[0] = node("ID_3").cloneTree();
+			mapController.insertNode(clone[0], node("ID_6"));
+		},
+		    () -> MTextController.getController().setNodeText(node("ID_4"), "edited clone"),
+		    () -> mapController.deleteNode(clone[0]));
+	}
+
+	@Test
+	public void writeNodesWithChangedStyles() throws Exception {
+		checkAfter(() -> MLogicalStyleController.getController().setStyle(node("ID_6"), MapStyleModel.FLOATING_STYLE),
+		    () -> MLogicalStyleController.getController().setStyle(node("ID_6"), null));
+	}
+
+	@Test
+	public void writeNodesAfterStyleDefinitionsChanged() throws Exception {
+		final MapStyleModel styles = MapStyleModel.getExtension(map);
+		final IStyle floatingStyle = MapStyleModel.FLOATING_STYLE;
+		checkAfter(() -> MLogicalStyleController.getController().setStyle(node("ID_6"), floatingStyle),
+		    () -> ((MNodeStyleController) NodeStyleController.getController()).setBold(styles.getStyleNode(floatingStyle), Boolean.TRUE),
+		    () -> undoHandler.undo());
+	}
+
+	@Test
+	public void writeEncryptedNodes() throws Exception {
+		final EncryptionController encryptionController = modeController.getExtension(EncryptionController.class);
+		final PasswordStrategy password = new PasswordStrategy() {
+			@Override
+			public StringBuilder getPassword(final NodeModel node) {
+				return new StringBuilder(PASSWORD);
+			}
+
+			@Override
+			public StringBuilder getPasswordWithConfirmation(final NodeModel node) {
+				return getPassword(node);
+			}
+
+			@Override
+			public void onWrongPassword() {
+			}
+
+			@Override
+			public boolean isCancelled() {
+				return false;
+			}
+		};
+		checkAfter(() -> encryptionController.toggleLock(node("ID_3"), password),
+		    () -> MTextController.getController().setNodeText(node("ID_4"), "edited secret"),
+		    () -> setLocked(node("ID_3"), true),
+		    () -> setLocked(node("ID_3"), false),
+		    () -> undoHandler.undo(),
+		    () -> undoHandler.undo());
+	}
+
+	/* toggling the lock by the encryption controller needs a selection */
+	private void setLocked(final NodeModel node, final boolean locked) {
+		final EncryptionModel encryptionModel = EncryptionModel.getModel(node);
+		if (locked)
+			encryptionModel.lock(mapController.getMapWriter());
+		else
+			encryptionModel.unlock();
+		mapController.nodeRefresh(node, EncryptionModel.class, null, null);
+	}
+
+	@Test
+	public void writeLinksToDeletedAndRestoredNodes() throws Exception {
+		checkAfter(() -> mapController.deleteNode(node("ID_4")),
+		    () -> undoHandler.undo());
+	}
+
+	@Test
+	public void copyUnchangedSubtreesFromLastOutput() throws Exception {
+		onEventDispatchThread(new Runnable() {
+			@Override
+			public void run() {
+				try {
+					final String saved = save();
+					final SerializedNodeCache cache = map.getExtension(SerializedNodeCache.class);
+					final NodeModel left = node("ID_2");
+					final int start = cache.getStart(left, cache.getRootStart());
+					final SerializedNodeCache.Fragment fragment = cache.get(left, mapController.isFolded(left));
+					assertThat(fragment.isSubtreeUnchanged()).isTrue();
+					assertThat(saved).contains(cache.getOutput(start, start + fragment.length));
+					MTextController.getController().setNodeText(node("ID_4"), "edited grandchild");
+					assertThat(cache.get(left, mapController.isFolded(left)).isSubtreeUnchanged()).isFalse();
+					assertThat(cache.get(node("ID_4"), false)).isNull();
+				}
+				catch (final Exception e) {
+					throw new RuntimeException(e);
+				}
+			}
+		});
+	}
+}
@@ -0,0 +1,95 @@
+package org.freeplane.features.styles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.filter.condition.ASelectableCondition;
+import org.freeplane.features.link.ConnectorExistsCondition;
+import org.freeplane.features.link.ConnectorLabelContainsCondition;
+import org.freeplane.features.link.ConnectorModel;
+import org.freeplane.features.link.LinkController;
+import org.freeplane.features.link.mindmapmode.MLinkController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ResolvedStyleCacheShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final String MAP = "<map version=\"freeplane 1.6.0\">"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">"
+	        + "<node TEXT=\"source\" ID=\"ID_2\" POSITION=\"left\"/>"
+	        + "<node TEXT=\"target\" ID=\"ID_3\" POSITION=\"right\"/>"
+	        + "</node></map>";
+
+	private MapModel map;
+	private NodeModel source;
+	private NodeModel target;
+	private MLinkController linkController;
+	private LogicalStyleController styleController;
+
+	@Before
+	public void setup() throws Exception {
+		final ModeController modeController = Controller.getCurrentModeController();
+		map = new MapLoader(modeController)
+		    .setInputStream(new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8))).unsetMapLocation()
+		    .getMap();
+		source = map.getNodeForID("ID_2");
+		target = map.getNodeForID("ID_3");
+		linkController = (MLinkController) LinkController.getController(modeController);
+		styleController = LogicalStyleController.getController(modeController);
+	}
+
+	private void addConditionalStyle(final NodeModel node, final ASelectableCondition condition) {
+		final ConditionalStyleModel conditionalStyles = new ConditionalStyleModel();
+		node.addExtension(conditionalStyles);
+		styleController.addConditionalStyle(conditionalStyles, true, condition, MapStyleModel.FLOATING_STYLE, false);
+	}
+
+	private boolean hasConditionalStyle(final NodeModel node) {
+		return styleController.getStyles(node).contains(MapStyleModel.FLOATING_STYLE);
+	}
+
+	@Test
+	public void resolveStylesOfConnectorTargetsAgain_afterConnectorsAreAddedAndRemoved() throws Exception {
+		addConditionalStyle(target, new ConnectorExistsCondition());
+		SwingUtilities.invokeAndWait(() -> {
+			assertThat(hasConditionalStyle(target)).isFalse();
+			final ConnectorModel connector = linkController.addConnector(source, target);
+			assertThat(hasConditionalStyle(target)).isTrue();
+			linkController.removeArrowLink(connector);
+			assertThat(hasConditionalStyle(target)).isFalse();
+		});
+	}
+
+	@Test
+	public void resolveStylesOfConnectorTargetsAgain_afterConnectorLabelsChange() throws Exception {
+		addConditionalStyle(target, new ConnectorLabelContainsCondition("label", false, false, false));
+		SwingUtilities.invokeAndWait(() -> {
+			final ConnectorModel connector = linkController.addConnector(source, target);
+			assertThat(hasConditionalStyle(target)).isFalse();
+			linkController.setMiddleLabel(connector, "label");
+			assertThat(hasConditionalStyle(target)).isTrue();
+			linkController.setMiddleLabel(connector, "other");
+			assertThat(hasConditionalStyle(target)).isFalse();
+		});
+	}
+
+	@Test
+	public void notKeepStylesOfNodesWithConnectorConditions() {
+		addConditionalStyle(target, new ConnectorExistsCondition());
+		styleController.getStyles(target);
+		assertThat(ResolvedStyleCache.of(map).get(target)).isNull();
+	}
+}
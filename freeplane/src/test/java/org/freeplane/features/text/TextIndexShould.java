@@ -0,0 +1,114 @@
+package org.freeplane.features.text;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+import java.util.function.Predicate;
+
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.map.MapFake;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TextIndexShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private MapFake mapFake;
+	private NodeModel root;
+	private NodeModel hello;
+	private NodeModel world;
+	private TextIndex index;
+
+	@Before
+	public void setup() {
+		mapFake = new MapFake();
+		root = mapFake.getRoot();
+		hello = mapFake.addNode("Héllo");
+		world = mapFake.addNode("world");
+		index = new TextIndex(root, node -> Collections.singletonList(node.getText()));
+	}
+
+	@Test
+	public void foldCaseAndDiacritics() {
+		assertThat(TextIndex.fold("ÄbC İ")).isEqualTo("abc i");
+	}
+
+	@Test
+	public void excludeNodesNotContainingText() {
+		final Predicate<NodeModel> candidates = index.nodesPossiblyContaining("ELL");
+		assertThat(candidates.test(hello)).isTrue();
+		assertThat(candidates.test(world)).isFalse();
+	}
+
+	@Test
+	public void excludeNoNodesForShortTexts() {
+		assertThat(index.nodesPossiblyContaining("el")).isNull();
+	}
+
+	@Test
+	public void acceptChangedNodesUntilTheyAreIndexedAgain() {
+		final Predicate<NodeModel> candidates = index.nodesPossiblyContaining("hello");
+		world.setText("hello world");
+		index.invalidate(world);
+		assertThat(candidates.test(world)).isTrue();
+		hello.setText("bye");
+		index.invalidate(hello);
+		final Predicate<NodeModel> updatedCandidates = index.nodesPossiblyContaining("hello");
+		assertThat(updatedCandidates.test(world)).isTrue();
+		assertThat(updatedCandidates.test(hello)).isFalse();
+	}
+
+	@Test
+	public void acceptNodesNotIndexed() {
+		final NodeModel newNode = mapFake.addNode("new");
+		assertThat(index.nodesPossiblyContaining("hello").test(newNode)).isTrue();
+	}
+
+	@Test
+	public void findNodesAfterManyChanges() {
+		for (int i = 0; i < 3000; i++) {
+			world.setText("world " + i);
+			index.invalidate(world);
+			index.nodesPossiblyContaining("wor");
+		}
+		final Predicate<NodeModel> candidates = index.nodesPossiblyContaining("2999");
+		assertThat(candidates.test(world)).isTrue();
+		assertThat(candidates.test(hello)).isFalse();
+		assertThat(index.nodesPossiblyContaining("1234").test(world)).isFalse();
+	}
+
+	@Test
+	public void acceptNodesWithFormulasReferringToChangedNodes() {
+		final NodeModel formula = mapFake.addNode("=world");
+		final TextController textController = TextController.getController();
+		final IContentTransformer referenceEvaluator = new AbstractContentTransformer(1) {
+			@Override
+			public Object transformContent(final TextController textController, final Object content,
+			                               final NodeModel node, final Object transformedExtension) {
+				return isFormula(textController, content, node, transformedExtension) ? world.getText() : content;
+			}
+
+			@Override
+			public boolean isFormula(final TextController textController, final Object content, final NodeModel node,
+			                         final Object transformedExtension) {
+				return "=world".equals(content);
+			}
+		};
+		textController.addTextTransformer(referenceEvaluator);
+		try {
+			final TextIndex formulaIndex = new TextIndex(root, TextIndex::textsOf);
+			assertThat(formulaIndex.nodesPossiblyContaining("world").test(hello)).isFalse();
+			world.setText("changed");
+			formulaIndex.invalidate(world);
+			final Predicate<NodeModel> candidates = formulaIndex.nodesPossiblyContaining("changed");
+			assertThat(candidates.test(formula)).isTrue();
+			assertThat(candidates.test(hello)).isFalse();
+		}
+		finally {
+			textController.removeTextTransformer(referenceEvaluator);
+		}
+	}
+}
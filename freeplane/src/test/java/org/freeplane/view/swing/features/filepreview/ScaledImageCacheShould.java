@@ -0,0 +1,83 @@
+package org.freeplane.view.swing.features.filepreview;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import javax.imageio.ImageIO;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ScaledImageCacheShould {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private URL createImage(final String name, final int width, final int height) throws Exception {
+		final File file = folder.newFile(name);
+		ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), "png", file);
+		return file.toURI().toURL();
+	}
+
+	private static ScaledImageCache.Key key(final URL url, final int width, final int height) {
+		return new ScaledImageCache.Key(url, ScaledImageCache.Key.lastModified(url), width, height);
+	}
+
+	@Test
+	public void loadImageScaledToFitKeySize() throws Exception {
+		final ScaledImageCache cache = new ScaledImageCache(1024 * 1024, folder.newFolder(), 1024 * 1024);
+		final ScaledImageCache.Key key = key(createImage("image.png", 800, 400), 100, 100);
+		final BufferedImage image = cache.load(key, true, false).get();
+		assertThat(image.getWidth()).isEqualTo(100);
+		assertThat(image.getHeight()).isEqualTo(50);
+		assertThat(cache.get(key)).isSameAs(image);
+	}
+
+	@Test
+	public void removeLeastRecentlyUsedImagesAboveMemoryLimit() throws Exception {
+		final ScaledImageCache cache = new ScaledImageCache(4 * 100 * 100, folder.newFolder(), 1024 * 1024);
+		final ScaledImageCache.Key first = key(createImage("first.png", 200, 200), 100, 100);
+		final ScaledImageCache.Key second = key(createImage("second.png", 200, 200), 100, 100);
+		cache.load(first, true, false).get();
+		cache.load(second, true, false).get();
+		assertThat(cache.get(first)).isNull();
+		assertThat(cache.get(second)).isNotNull();
+		assertThat(cache.getMemorySize()).isEqualTo(4 * 100 * 100);
+	}
+
+	@Test
+	public void keepScaledImagesOnDiskPerKeySize() throws Exception {
+		final File directory = folder.newFolder();
+		final URL url = createImage("image.png", 200, 200);
+		new ScaledImageCache(0, directory, 1024 * 1024).load(key(url, 100, 100), false, true).get();
+		new ScaledImageCache(0, directory, 1024 * 1024).load(key(url, 50, 50), false, true).get();
+		assertThat(directory.list()).hasSize(2);
+		final BufferedImage image = new ScaledImageCache(0, directory, 1024 * 1024).load(key(url, 50, 50), false, true)
+		    .get();
+		assertThat(image.getWidth()).isEqualTo(50);
+	}
+
+	@Test
+	public void notLoadFailedImageAgain_untilItIsModified() throws Exception {
+		final ScaledImageCache cache = new ScaledImageCache(1024 * 1024, folder.newFolder(), 1024 * 1024);
+		final File file = folder.newFile("broken.png");
+		Files.write(file.toPath(), "no image".getBytes(StandardCharsets.UTF_8));
+		final URL url = file.toURI().toURL();
+		final ScaledImageCache.Key key = key(url, 100, 100);
+		assertThat(cache.load(key, true, false).get()).isNull();
+		assertThat(cache.hasFailed(key)).isTrue();
+		assertThat(cache.hasFailed(key(url, 50, 50))).isTrue();
+
+		ImageIO.write(new BufferedImage(200, 200, BufferedImage.TYPE_INT_RGB), "png", file);
+		assertThat(cache.load(key, true, false).get()).isNull();
+		file.setLastModified(key.lastModified + 2000);
+		final ScaledImageCache.Key modifiedKey = key(url, 100, 100);
+		assertThat(cache.hasFailed(modifiedKey)).isFalse();
+		assertThat(cache.load(modifiedKey, true, false).get().getWidth()).isEqualTo(100);
+	}
+}
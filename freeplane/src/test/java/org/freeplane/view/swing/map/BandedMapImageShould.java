@@ -0,0 +1,92 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.junit.Before;
+import org.junit.Test;
+
+public class BandedMapImageShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final Rectangle PRINTED_AREA = new Rectangle(20, 30, 40, 50);
+	private static final double SCALE_FACTOR = 2;
+	private static final int WIDTH = 80;
+	private static final int HEIGHT = 100;
+
+	private MapView mapView;
+
+	@Before
+	public void setup() {
+		mapView = mock(MapView.class);
+		// paints stripes of different colors, so that bands painted with a wrong offset differ
+		doAnswer(invocation -> {
+			final Graphics g = invocation.getArgument(0);
+			for (int y = 0; y < PRINTED_AREA.y + PRINTED_AREA.height; y++) {
+				g.setColor(new Color(y * 3 % 256, 255 - y * 3 % 256, y * 37 % 256));
+				g.fillRect(PRINTED_AREA.x + y % 7, y, PRINTED_AREA.width - y % 5, 1);
+			}
+			return null;
+		}).when(mapView).print(any(Graphics.class));
+	}
+
+	private BandedMapImage bandedImage(final int bandHeight) {
+		return new BandedMapImage(mapView, SCALE_FACTOR, PRINTED_AREA, WIDTH, HEIGHT, bandHeight);
+	}
+
+	private static int[] pixels(final Raster raster) {
+		return raster.getPixels(raster.getMinX(), raster.getMinY(), raster.getWidth(), raster.getHeight(),
+		    (int[]) null);
+	}
+
+	@Test
+	public void paintSameImageInBandsAsAtOnce() throws Exception {
+		final BufferedImage expected = new BufferedImage(WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB);
+		BandedMapImage.paint(mapView, expected, SCALE_FACTOR, PRINTED_AREA, 0);
+		final BandedMapImage image = bandedImage(30);
+		assertThat(image.getNumYTiles()).isEqualTo(4);
+		for (int tileY = 0; tileY < image.getNumYTiles(); tileY++) {
+			final Raster tile = image.getTile(0, tileY);
+			assertThat(tile.getMinY()).isEqualTo(tileY * 30);
+			assertThat(pixels(tile)).isEqualTo(pixels(expected.getData(tile.getBounds())));
+		}
+		assertThat(pixels(image.getData(new Rectangle(5, 25, 40, 70))))
+		    .isEqualTo(pixels(expected.getData(new Rectangle(5, 25, 40, 70))));
+	}
+
+	@Test
+	public void endPrinting_afterAllBandsArePainted() throws Exception {
+		final BandedMapImage image = bandedImage(50);
+		image.getTile(0, 0);
+		assertThat(image.isClosed()).isFalse();
+		verify(mapView, never()).endPrinting();
+		image.getTile(0, 0);
+		assertThat(image.isClosed()).isFalse();
+		image.getTile(0, 1);
+		assertThat(image.isClosed()).isTrue();
+		verify(mapView, times(1)).endPrinting();
+	}
+
+	@Test
+	public void endPrintingOnce_whenClosedBeforeAllBandsArePainted() throws Exception {
+		final BandedMapImage image = bandedImage(50);
+		image.getTile(0, 0);
+		image.close();
+		image.close();
+		verify(mapView, times(1)).endPrinting();
+	}
+}
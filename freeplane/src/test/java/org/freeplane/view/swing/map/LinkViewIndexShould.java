@@ -0,0 +1,291 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.link.ConnectorModel;
+import org.freeplane.features.link.LinkController;
+import org.freeplane.features.link.NodeLinks;
+import org.freeplane.features.link.mindmapmode.MLinkController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.mindmapmode.MMapController;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.ui.IMapViewManager;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.freeplane.view.swing.map.link.ConnectorView;
+import org.freeplane.view.swing.map.link.ILinkView;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+public class LinkViewIndexShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final Object SETTINGS = "settings";
+	private static final String MAP = "<map version=\"freeplane 1.6.0\">"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">"
+	        + "<node TEXT=\"source\" ID=\"ID_2\" POSITION=\"right\">"
+	        + "<arrowlink DESTINATION=\"ID_3\"/>"
+	        + "</node>"
+	        + "<node TEXT=\"target\" ID=\"ID_3\" POSITION=\"left\"/>"
+	        + "<node TEXT=\"other\" ID=\"ID_4\" POSITION=\"right\"/>"
+	        + "</node></map>";
+
+	private IMapViewManager mapViewManager;
+	private ModeController modeController;
+	private MapModel map;
+	private MapView mapView;
+
+	@Before
+	public void setup() throws Exception {
+		// painting needs a map view manager setting edge rendering hints
+		final Controller controller = Controller.getCurrentController();
+		mapViewManager = controller.getMapViewManager();
+		final IMapViewManager paintingMapViewManager = mock(IMapViewManager.class);
+		when(paintingMapViewManager.setEdgesRenderingHint(any())).thenReturn(RenderingHints.VALUE_ANTIALIAS_ON);
+		controller.setMapViewManager(paintingMapViewManager);
+		modeController = Controller.getCurrentModeController();
+		map = new MapLoader(modeController)
+		    .setInputStream(new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8))).unsetMapLocation()
+		    .getMap();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				mapView = new MapView(map, modeController);
+				map.addMapChangeListener(mapView);
+				final JViewport viewport = new MapViewScrollPane.MapViewPort();
+				viewport.setView(mapView);
+				viewport.addNotify();
+				viewport.setSize(800, 600);
+				viewport.doLayout();
+				mapView.validate();
+			}
+		});
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				map.removeMapChangeListener(mapView);
+				mapView.getParent().removeNotify();
+			}
+		});
+		Controller.getCurrentController().setMapViewManager(mapViewManager);
+	}
+
+	private static ILinkView linkView(final Rectangle bounds) {
+		final ILinkView linkView = mock(ILinkView.class);
+		doAnswer(new Answer<Void>() {
+			@Override
+			public Void answer(final InvocationOnMock invocation) throws Throwable {
+				if (bounds != null)
+					((Rectangle) invocation.getArgument(0)).add(bounds);
+				return null;
+			}
+		}).when(linkView).increaseBounds(any(Rectangle.class));
+		return linkView;
+	}
+
+	private static LinkViewIndex index(final ILinkView... linkViews) {
+		final LinkViewIndex index = new LinkViewIndex(new Rectangle(-1000, -1000, 3000, 3000), 0, SETTINGS);
+		for (final ILinkView linkView : linkViews)
+			index.add(linkView);
+		return index;
+	}
+
+	@Test
+	public void returnViewsIntersectingArea_inOrderOfAddition() throws Exception {
+		final ILinkView first = linkView(new Rectangle(500, 10, 100, 10));
+		final ILinkView second = linkView(new Rectangle(10, 10, 600, 10));
+		final ILinkView third = linkView(new Rectangle(520, 0, 10, 600));
+		final LinkViewIndex index = index(first, second, third);
+		assertThat(index.getLinkViews(new Rectangle(510, 5, 20, 20))).containsExactly(first, second, third);
+		assertThat(index.getLinkViews()).containsExactly(first, second, third);
+	}
+
+	@Test
+	public void skipViewsOutsideArea() throws Exception {
+		final ILinkView near = linkView(new Rectangle(10, 10, 100, 10));
+		final ILinkView far = linkView(new Rectangle(1500, 1500, 100, 10));
+		final LinkViewIndex index = index(near, far);
+		assertThat(index.getLinkViews(new Rectangle(0, 0, 50, 50))).containsExactly(near);
+		assertThat(index.getLinkViews(new Rectangle(1400, 1400, 50, 50))).containsExactly(far);
+		assertThat(index.getLinkViews(new Rectangle(700, 700, 50, 50))).isEmpty();
+	}
+
+	@Test
+	public void returnViewsWithoutBounds_forEveryArea() throws Exception {
+		final ILinkView withoutBounds = linkView(null);
+		final ILinkView withBounds = linkView(new Rectangle(10, 10, 100, 10));
+		final LinkViewIndex index = index(withoutBounds, withBounds);
+		assertThat(index.getLinkViews(new Rectangle(1400, 1400, 50, 50))).containsExactly(withoutBounds);
+		assertThat(index.getLinkViews(new Rectangle(0, 0, 50, 50))).containsExactly(withoutBounds, withBounds);
+	}
+
+	@Test
+	public void findViewsInNegativeCoordinates() throws Exception {
+		final ILinkView linkView = linkView(new Rectangle(-600, -300, 100, 10));
+		final LinkViewIndex index = index(linkView);
+		assertThat(index.getLinkViews(new Rectangle(-550, -295, 1, 1))).containsExactly(linkView);
+		assertThat(index.getLinkViews(new Rectangle(0, 0, 1, 1))).isEmpty();
+	}
+
+	@Test
+	public void extendViewBoundsByMargin() throws Exception {
+		final ILinkView linkView = linkView(new Rectangle(10, 10, 10, 10));
+		final LinkViewIndex index = new LinkViewIndex(null, 300, SETTINGS);
+		index.add(linkView);
+		assertThat(index.getLinkViews(new Rectangle(300, 300, 1, 1))).containsExactly(linkView);
+		assertThat(index.getLinkViews(new Rectangle(600, 600, 1, 1))).isEmpty();
+	}
+
+	@Test
+	public void beValidOnlyForAreasInsideIndexedAreaWithSameSettings() throws Exception {
+		final LinkViewIndex index = new LinkViewIndex(new Rectangle(0, 0, 100, 100), 0, SETTINGS);
+		assertThat(index.isValidFor(new Rectangle(10, 10, 50, 50), "settings")).isTrue();
+		assertThat(index.isValidFor(new Rectangle(10, 10, 50, 50), "other settings")).isFalse();
+		assertThat(index.isValidFor(new Rectangle(60, 60, 50, 50), SETTINGS)).isFalse();
+		assertThat(index.isValidFor(null, SETTINGS)).isFalse();
+		final LinkViewIndex indexOfWholeMap = new LinkViewIndex(null, 0, SETTINGS);
+		assertThat(indexOfWholeMap.isValidFor(null, SETTINGS)).isTrue();
+	}
+
+	private void paint() {
+		final BufferedImage image = new BufferedImage(800, 600, BufferedImage.TYPE_INT_ARGB);
+		final Graphics2D graphics = image.createGraphics();
+		try {
+			graphics.setClip(0, 0, 800, 600);
+			mapView.paint(graphics);
+		}
+		finally {
+			graphics.dispose();
+		}
+	}
+
+	private ConnectorModel connector() {
+		return (ConnectorModel) NodeLinks.getLinks(map.getNodeForID("ID_2")).iterator().next();
+	}
+
+	private void checkIndexIsInvalidated(final Runnable change) throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				paint();
+				final LinkViewIndex index = mapView.getLinkViewIndex();
+				assertThat(index).isNotNull();
+				paint();
+				assertThat(mapView.getLinkViewIndex()).isSameAs(index);
+				change.run();
+				assertThat(mapView.getLinkViewIndex()).isNull();
+			}
+		});
+	}
+
+	@Test
+	public void indexPaintedConnectors() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				paint();
+				final LinkViewIndex index = mapView.getLinkViewIndex();
+				assertThat(index.getLinkViews()).hasSize(1);
+				final ILinkView connectorView = index.getLinkViews().get(0);
+				assertThat(connectorView).isInstanceOf(ConnectorView.class);
+				assertThat(connectorView.getModel()).isSameAs(connector());
+				final Rectangle bounds = new Rectangle(0, 0, -1, -1);
+				connectorView.increaseBounds(bounds);
+				assertThat(index.getLinkViews(bounds)).containsExactly(connectorView);
+			}
+		});
+	}
+
+	@Test
+	public void invalidateIndex_whenConnectorIsChanged() throws Exception {
+		checkIndexIsInvalidated(new Runnable() {
+			@Override
+			public void run() {
+				((MLinkController) LinkController.getController(modeController))
+				    .setArrowLinkEndPoints(connector(), new Point(10, 100), new Point(-10, 100));
+			}
+		});
+	}
+
+	@Test
+	public void invalidateIndex_whenConnectorIsRemoved() throws Exception {
+		checkIndexIsInvalidated(new Runnable() {
+			@Override
+			public void run() {
+				((MLinkController) LinkController.getController(modeController)).removeArrowLink(connector());
+			}
+		});
+	}
+
+	@Test
+	public void invalidateIndex_whenNodeIsMoved() throws Exception {
+		checkIndexIsInvalidated(new Runnable() {
+			@Override
+			public void run() {
+				((MMapController) modeController.getMapController()).moveNode(map.getNodeForID("ID_4"), 0);
+			}
+		});
+	}
+
+	@Test
+	public void invalidateIndex_whenNodeIsDeleted() throws Exception {
+		checkIndexIsInvalidated(new Runnable() {
+			@Override
+			public void run() {
+				((MMapController) modeController.getMapController()).deleteNode(map.getNodeForID("ID_4"));
+			}
+		});
+	}
+
+	@Test
+	public void invalidateIndex_whenMapViewIsLaidOut() throws Exception {
+		checkIndexIsInvalidated(new Runnable() {
+			@Override
+			public void run() {
+				mapView.doLayout();
+			}
+		});
+	}
+}
@@ -0,0 +1,128 @@
+package org.freeplane.view.swing.map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.core.ui.menubuilders.HeadlessFreeplaneRunner;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.ui.IMapViewManager;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class MapViewShould {
+	static {
+		new HeadlessFreeplaneRunner();
+	}
+
+	private static final String LAZY_NODE_VIEWS_THRESHOLD = "lazy_node_views_threshold";
+	private static final String MAP = "<map version=\"freeplane 1.6.0\">"
+	        + "<node TEXT=\"root\" ID=\"ID_1\">"
+	        + "<node TEXT=\"child\" ID=\"ID_2\" FOLDED=\"false\">"
+	        + "<node TEXT=\"grandchild\" ID=\"ID_3\" FOLDED=\"false\">"
+	        + "<node TEXT=\"great grandchild\" ID=\"ID_4\"/>"
+	        + "</node></node></node></map>";
+
+	private String lazyNodeViewsThreshold;
+	private MapModel map;
+	private MapView mapView;
+
+	@Before
+	public void setup() throws Exception {
+		// set without notifying property listeners of map views, which need a map view controller
+		final Properties properties = ResourceController.getResourceController().getProperties();
+		lazyNodeViewsThreshold = properties.getProperty(LAZY_NODE_VIEWS_THRESHOLD);
+		properties.setProperty(LAZY_NODE_VIEWS_THRESHOLD, "1");
+		final ModeController modeController = Controller.getCurrentModeController();
+		map = new MapLoader(modeController)
+		    .setInputStream(new ByteArrayInputStream(MAP.getBytes(StandardCharsets.UTF_8))).unsetMapLocation()
+		    .getMap();
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				mapView = new MapView(map, modeController);
+				final JViewport viewport = new JViewport();
+				viewport.setView(mapView);
+				// node views create their child views when they become displayable
+				viewport.addNotify();
+			}
+		});
+	}
+
+	@After
+	public void restoreProperty() {
+		final Properties properties = ResourceController.getResourceController().getProperties();
+		if (lazyNodeViewsThreshold != null)
+			properties.setProperty(LAZY_NODE_VIEWS_THRESHOLD, lazyNodeViewsThreshold);
+		else
+			properties.remove(LAZY_NODE_VIEWS_THRESHOLD);
+	}
+
+	private NodeModel node(final String id) {
+		return map.getNodeForID(id);
+	}
+
+	@Test
+	public void deferChildViewsOfNonRootNodes() throws Exception {
+		assertThat(mapView.createsNodeViewsLazily()).isTrue();
+		final NodeView childView = mapView.getNodeView(node("ID_2"));
+		assertThat(childView.hasPendingChildViews()).isTrue();
+		assertThat(mapView.getNodeView(node("ID_3"))).isNull();
+	}
+
+	@Test
+	public void createDeferredViewsOfAncestors_whenNodeViewIsMaterialized() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				final NodeView view = mapView.materializeNodeView(node("ID_4"));
+				assertThat(view.getModel()).isSameAs(node("ID_4"));
+				assertThat(mapView.getNodeView(node("ID_2")).hasPendingChildViews()).isFalse();
+				assertThat(mapView.getNodeView(node("ID_3")).getParentView())
+				    .isSameAs(mapView.getNodeView(node("ID_2")));
+			}
+		});
+	}
+
+	@Test
+	public void discardPendingChildViews_whenFolded() throws Exception {
+		// the headless map view manager does not provide the selected map view needed for folding
+		final Controller controller = Controller.getCurrentController();
+		final IMapViewManager mapViewManager = controller.getMapViewManager();
+		controller.setMapViewManager(mock(IMapViewManager.class));
+		try {
+			SwingUtilities.invokeAndWait(new Runnable() {
+				@Override
+				public void run() {
+					final NodeView childView = mapView.getNodeView(node("ID_2"));
+					childView.setFolded(true);
+					assertThat(childView.hasPendingChildViews()).isFalse();
+					assertThat(mapView.materializeNodeView(node("ID_3"))).isNull();
+				}
+			});
+		}
+		finally {
+			controller.setMapViewManager(mapViewManager);
+		}
+	}
+
+	@Test
+	public void countVisibleDescendantsAndTheirLevels() throws Exception {
+		final MapView.VisibleDescendants visibleDescendants = mapView.countVisibleDescendants(node("ID_2"));
+		assertThat(visibleDescendants.count).isEqualTo(2);
+		assertThat(visibleDescendants.levels).isEqualTo(2);
+		assertThat(mapView.countVisibleDescendants(node("ID_4")).count).isZero();
+	}
+}
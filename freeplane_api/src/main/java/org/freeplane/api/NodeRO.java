@@ -3,6 +3,7 @@ package org.freeplane.api;
 import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.stream.Stream;
 
 
 
@@ -423,6 +424,35 @@ public interface NodeRO {
 	 * @since 1.2 */
 	List<? extends Node> findAllDepthFirst();
 
+	/** Starting from this node, searches for the first node for which <code>condition.check(node)</code>
+	 * returns true in the order of {@link #findAll()}. The search stops at the first match.
+	 * @return the first matching node or null if no node matches.
+	 * @since 1.8.11 */
+	Node findFirst(final NodeCondition condition);
+
+	/** Like {@link #find(NodeCondition)} but returns at most <code>maximumCount</code> nodes.
+	 * The search stops as soon as they are found:
+	 * <pre>
+	 * def firstTodos = node.find(10) { it.hasStyle('todo') }
+	 * </pre>
+	 * @since 1.8.11 */
+	List<? extends Node> find(int maximumCount, final NodeCondition condition);
+
+	/** Returns the nodes of the branch that starts with this node in the order of {@link #findAll()}
+	 * as a lazily evaluated stream. The nodes are visited only as far as the stream is consumed,
+	 * so that short-circuiting operations stop the traversal early:
+	 * <pre>
+	 * def firstMatches = node.stream().filter{ it.text.contains('kitchen') }.limit(10).collect(Collectors.toList())
+	 * def hasNotes = node.stream().anyMatch{ it.noteText != null }
+	 * </pre>
+	 * The branch must not be changed while the stream is consumed.
+	 * @since 1.8.11 */
+	Stream<? extends Node> stream();
+
+	/** Like {@link #stream()} but in the order of {@link #findAllDepthFirst()}.
+	 * @since 1.8.11 */
+	Stream<? extends Node> streamDepthFirst();
+
 	Date getLastModifiedAt();
 
 	Date getCreatedAt();
@@ -0,0 +1,75 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.filter.Filter;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.text.NodeContainsCondition;
+import org.freeplane.features.text.TextController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Filter#calculateFilterResults(MapModel)} searching node texts of generated maps.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FilterBenchmark {
+	@Param({"1000", "10000", "100000"})
+	public int nodeCount;
+
+	@Param({"lambda", "strasse"})
+	public String searchedText;
+
+	@Param({"false", "true"})
+	public boolean ignoreDiacritics;
+
+	private MapModel map;
+	private Filter filter;
+
+	@Setup
+	public void setup() {
+		HeadlessFreeplane.start();
+		map = HeadlessFreeplane.loadMap(new MapGenerator(nodeCount, Content.TEXT_AND_ATTRIBUTES).generate());
+		final NodeContainsCondition condition = new NodeContainsCondition(TextController.FILTER_NODE, searchedText,
+		    false, false, ignoreDiacritics);
+		filter = new Filter(condition, false, true, false, null);
+	}
+
+	@Benchmark
+	public Filter calculateFilterResults() {
+		filter.calculateFilterResults(map);
+		return filter;
+	}
+}
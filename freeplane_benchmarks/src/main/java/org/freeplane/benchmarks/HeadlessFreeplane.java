@@ -0,0 +1,65 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.filter.FilterController;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.mode.Controller;
+import org.freeplane.features.mode.ModeController;
+import org.freeplane.features.url.mindmapmode.MapLoader;
+import org.freeplane.main.headlessmode.FreeplaneHeadlessStarter;
+import org.freeplane.plugin.script.ScriptingPermissions;
+
+/**
+ * Starts freeplane in headless mode once per benchmark JVM.
+ */
+public class HeadlessFreeplane {
+	private static ModeController modeController;
+
+	public static synchronized ModeController start() {
+		if (modeController == null) {
+			if (null == System.getProperty("org.freeplane.core.dir.lib", null)) {
+				System.setProperty("org.freeplane.core.dir.lib", "/lib/");
+			}
+			final FreeplaneHeadlessStarter starter = new FreeplaneHeadlessStarter();
+			final Controller controller = starter.createController();
+			starter.createModeControllers(controller);
+			FilterController.getController(controller).loadDefaultConditions();
+			starter.createFrame();
+			final ResourceController resourceController = ResourceController.getResourceController();
+			resourceController.setProperty(ScriptingPermissions.RESOURCES_EXECUTE_SCRIPTS_WITHOUT_ASKING, true);
+			resourceController.setProperty("load_folding", "always_unfold_all_after_load");
+			modeController = Controller.getCurrentModeController();
+		}
+		return modeController;
+	}
+
+	/** loads the map like a file opened by the user but without creating a view */
+	public static MapModel loadMap(final String xml) {
+		return new MapLoader(start()).setInputStream(new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8)))
+		    .unsetMapLocation().getMap();
+	}
+
+	public static void setProperty(final String key, final String value) {
+		ResourceController.getResourceController().setProperty(key, value);
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.benchmarks;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.SwingUtilities;
+
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.map.MapModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the heap footprint of loaded generated maps.
+ * Each iteration loads the map once, the heap retained by it is printed as bytes per node after the iteration.
+ * Run a single fork with a fixed heap size, e.g. {@code -jvmArgs -Xms2g}, to get stable numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class MapFootprintBenchmark {
+	@Param({"100000", "1000000"})
+	public int nodeCount;
+
+	@Param({"TEXT", "TEXT_AND_ATTRIBUTES"})
+	public Content content;
+
+	private String xml;
+	private MapModel map;
+
+	@Setup
+	public void setup() {
+		HeadlessFreeplane.start();
+		xml = new MapGenerator(nodeCount, content).generate();
+	}
+
+	@Benchmark
+	public MapModel load() {
+		map = HeadlessFreeplane.loadMap(xml);
+		return map;
+	}
+
+	/**
+	 * The difference of the used heap with and without the loaded map is the heap retained by it.
+	 * Events queued while loading keep temporary objects reachable until they are processed.
+	 */
+	@TearDown(Level.Iteration)
+	public void printRetainedHeap() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+			}
+		});
+		final long usedHeapWithMap = usedHeapAfterGc();
+		map = null;
+		final long retainedBytes = usedHeapWithMap - usedHeapAfterGc();
+		System.out.printf("%n%d nodes retain %d bytes, %d bytes per node%n", nodeCount, retainedBytes,
+		    retainedBytes / nodeCount);
+	}
+
+	static long usedHeapAfterGc() {
+		final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+		long usedHeap = Long.MAX_VALUE;
+		// the memory of unreachable objects is not always freed by the first collection,
+		// objects reachable from finalizers or from tasks of other threads are freed only after they have run
+		for (int i = 0; i < 10; i++) {
+			System.gc();
+			System.runFinalization();
+			usedHeap = Math.min(usedHeap, memoryBean.getHeapMemoryUsage().getUsed());
+			try {
+				Thread.sleep(100);
+			}
+			catch (final InterruptedException e) {
+				Thread.currentThread().interrupt();
+				break;
+			}
+		}
+		return usedHeap;
+	}
+}
@@ -0,0 +1,89 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.benchmarks;
+
+import java.util.Random;
+
+import org.freeplane.core.util.HtmlUtils;
+
+/**
+ * Generates the xml of maps with given node count.
+ * Node i is a child of node (i - 1) / {@value #CHILD_COUNT}, so the maps are balanced trees.
+ * The same arguments always generate the same map.
+ */
+public class MapGenerator {
+	public enum Content {
+		TEXT, TEXT_AND_ATTRIBUTES,
+		/** each node has a formula summing up attribute values of its subtree */
+		FORMULAS
+	}
+
+	public static final int CHILD_COUNT = 8;
+	private static final String[] WORDS = {"alpha", "beta", "gamma", "delta", "epsilon", "zeta", "eta", "theta",
+	        "iota", "kappa", "lambda", "mu", "nu", "xi", "omicron", "pi", "rho", "sigma", "tau", "upsilon", "phi",
+	        "chi", "psi", "omega", "Müller", "Straße", "café", "naïve"};
+	/** value of each node plus the values of all its descendants */
+	private static final String SUBTREE_SUM_FORMULA = "=node['value'].num0 + node.children.sum(0){ it.to.num0 }";
+
+	private final int nodeCount;
+	private final Content content;
+	private final Random random;
+
+	public MapGenerator(final int nodeCount, final Content content) {
+		this.nodeCount = nodeCount;
+		this.content = content;
+		this.random = new Random(nodeCount);
+	}
+
+	public String generate() {
+		final StringBuilder xml = new StringBuilder(nodeCount * 120);
+		xml.append("<map version=\"freeplane 1.8.0\">\n");
+		appendNode(xml, 0);
+		xml.append("</map>\n");
+		return xml.toString();
+	}
+
+	private void appendNode(final StringBuilder xml, final int index) {
+		xml.append("<node TEXT=\"").append(HtmlUtils.toXMLEscapedText(text(index))).append("\" ID=\"ID_")
+		    .append(index).append('"');
+		if (index > 0 && (index - 1) / CHILD_COUNT == 0)
+			xml.append(" POSITION=\"").append(index % 2 == 0 ? "left" : "right").append('"');
+		xml.append(">\n");
+		if (content == Content.FORMULAS || content == Content.TEXT_AND_ATTRIBUTES && index % 4 == 0) {
+			xml.append("<attribute NAME=\"value\" VALUE=\"").append(index % 100).append("\"/>\n");
+		}
+		final int firstChild = index * CHILD_COUNT + 1;
+		for (int child = firstChild; child < firstChild + CHILD_COUNT && child < nodeCount; child++) {
+			appendNode(xml, child);
+		}
+		xml.append("</node>\n");
+	}
+
+	private String text(final int index) {
+		if (content == Content.FORMULAS)
+			return SUBTREE_SUM_FORMULA;
+		final int wordCount = 2 + random.nextInt(5);
+		final StringBuilder text = new StringBuilder();
+		for (int i = 0; i < wordCount; i++) {
+			if (i > 0)
+				text.append(' ');
+			text.append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.append(' ').append(index).toString();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.benchmarks;
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.MapReader;
+import org.freeplane.features.map.MapWriter;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.mode.ModeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures parsing of generated maps by {@link MapReader#createNodeTreeFromXml(MapModel, java.io.Reader, MapWriter.Mode)}
+ * with the tree reader and with the streaming pull reader selected by {@value MapReader#STREAMING_LOADER_PROPERTY}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapLoadBenchmark {
+	@Param({"10000", "100000", "1000000"})
+	public int nodeCount;
+
+	@Param({"false", "true"})
+	public boolean streamingParser;
+
+	private String xml;
+	private MapReader mapReader;
+
+	@Setup
+	public void setup() {
+		final ModeController modeController = HeadlessFreeplane.start();
+		HeadlessFreeplane.setProperty(MapReader.STREAMING_LOADER_PROPERTY, Boolean.toString(streamingParser));
+		mapReader = modeController.getMapController().getMapReader();
+		xml = new MapGenerator(nodeCount, Content.TEXT_AND_ATTRIBUTES).generate();
+	}
+
+	@Benchmark
+	public NodeModel load() throws Exception {
+		return mapReader.createNodeTreeFromXml(new MapModel(), new StringReader(xml), MapWriter.Mode.FILE);
+	}
+}
@@ -0,0 +1,71 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.core.util;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the single scan of {@link HtmlToPlainConverter} with the regular expression replacements
+ * used for texts it can not scan, for node texts formatted like the ones written by the html editor.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class HtmlToPlainBenchmark {
+	@Param({"1", "10"})
+	public int paragraphCount;
+
+	private String html;
+
+	@Setup
+	public void setup() {
+		final StringBuilder text = new StringBuilder("<html>\n  <head>\n    \n  </head>\n  <body>\n");
+		for (int i = 0; i < paragraphCount; i++) {
+			text.append("    <p>\n      Paragraph ").append(i)
+			    .append(" with <b>bold</b> and <i>italic</i> words, a&nbsp;non breaking space,\n")
+			    .append("      &lt;escaped&gt; characters &amp; a <a href=\"https://www.freeplane.org\">link</a>.\n")
+			    .append("    </p>\n");
+		}
+		html = text.append("  </body>\n</html>\n").toString();
+	}
+
+	@Benchmark
+	public String scan() {
+		return HtmlToPlainConverter.convert(html, true);
+	}
+
+	@Benchmark
+	public String patterns() {
+		return HtmlUtils.htmlToPlainByPatterns(html, true);
+	}
+}
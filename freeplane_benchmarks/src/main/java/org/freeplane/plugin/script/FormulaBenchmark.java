@@ -0,0 +1,72 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.plugin.script;
+
+import java.util.concurrent.TimeUnit;
+
+import org.freeplane.benchmarks.HeadlessFreeplane;
+import org.freeplane.benchmarks.MapGenerator;
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.map.MapModel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link FormulaUtils#evaluateAllFormulas(MapModel)} for generated maps
+ * where the formula of each node sums up the values of its subtree.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class FormulaBenchmark {
+	@Param({"1000", "10000"})
+	public int nodeCount;
+
+	@Param({"false", "true"})
+	public boolean evaluateInParallel;
+
+	private MapModel map;
+
+	@Setup
+	public void setup() {
+		HeadlessFreeplane.start();
+		new ScriptingConfiguration();
+		HeadlessFreeplane.setProperty(ConcurrentFormulaEvaluation.EVALUATE_IN_PARALLEL_PROPERTY,
+		    Boolean.toString(evaluateInParallel));
+		map = HeadlessFreeplane.loadMap(new MapGenerator(nodeCount, Content.FORMULAS).generate());
+		FormulaUtils.evaluateAllFormulas(map);
+	}
+
+	@Benchmark
+	public MapModel evaluateAllFormulas() {
+		FormulaUtils.evaluateAllFormulas(map);
+		return map;
+	}
+}
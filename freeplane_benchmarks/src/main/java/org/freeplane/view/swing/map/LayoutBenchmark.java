@@ -0,0 +1,88 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.map;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JViewport;
+
+import org.freeplane.benchmarks.HeadlessFreeplane;
+import org.freeplane.benchmarks.MapGenerator;
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.mode.ModeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link VerticalNodeViewLayoutStrategy#calculateLayoutData()} for all node views of generated maps,
+ * child views are laid out before their parents like in a complete layout of the map view.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class LayoutBenchmark {
+	@Param({"1000", "10000"})
+	public int nodeCount;
+
+	private final List<NodeView> nodeViews = new ArrayList<NodeView>();
+	private MapView mapView;
+
+	@Setup
+	public void setup() {
+		final ModeController modeController = HeadlessFreeplane.start();
+		// the layout of all nodes is measured, so all their views are created
+		HeadlessFreeplane.setProperty("lazy_node_views_threshold", "0");
+		final MapModel map = HeadlessFreeplane.loadMap(new MapGenerator(nodeCount, Content.TEXT).generate());
+		mapView = new MapView(map, modeController);
+		final JViewport viewport = new JViewport();
+		viewport.setView(mapView);
+		// node views create their child views when they become displayable
+		viewport.addNotify();
+		addNodeViews(mapView.getRoot());
+	}
+
+	private void addNodeViews(final NodeView nodeView) {
+		for (final NodeView child : nodeView.getChildrenViews())
+			addNodeViews(child);
+		nodeViews.add(nodeView);
+	}
+
+	@Benchmark
+	public List<NodeView> calculateLayoutData() {
+		synchronized (mapView.getTreeLock()) {
+			for (final NodeView nodeView : nodeViews)
+				new VerticalNodeViewLayoutStrategy(nodeView).calculateLayoutData();
+		}
+		return nodeViews;
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.view.swing.map;
+
+import java.awt.Point;
+import java.util.concurrent.TimeUnit;
+
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+import org.freeplane.benchmarks.HeadlessFreeplane;
+import org.freeplane.benchmarks.MapGenerator;
+import org.freeplane.benchmarks.MapGenerator.Content;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.mode.ModeController;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures opening of a map view of a fully unfolded generated map in a viewport of a typical window size,
+ * with node views created for all nodes or only for the subtrees laid out near the viewport.
+ * Run with {@code -prof gc} to compare the allocated memory,
+ * {@link MapView#NODE_VIEW_STATISTICS} counts the created node views.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapViewOpenBenchmark {
+	@Param({"10000", "100000"})
+	public int nodeCount;
+
+	@Param({"false", "true"})
+	public boolean lazyNodeViews;
+
+	private ModeController modeController;
+	private MapModel map;
+	private MapView mapView;
+	private JViewport viewport;
+
+	@Setup
+	public void setup() {
+		modeController = HeadlessFreeplane.start();
+		HeadlessFreeplane.setProperty("lazy_node_views_threshold", lazyNodeViews ? "1" : "0");
+		map = HeadlessFreeplane.loadMap(new MapGenerator(nodeCount, Content.TEXT).generate());
+	}
+
+	@Benchmark
+	public MapView open() throws Exception {
+		// deferred child views are created in the event dispatch thread
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				mapView = new MapView(map, modeController);
+				viewport = new JViewport();
+				viewport.setSize(1280, 800);
+				viewport.setView(mapView);
+				// node views create their child views when they become displayable
+				viewport.addNotify();
+				viewport.validate();
+				final Point rootContentLocation = mapView.getNodeContentLocation(mapView.getRoot());
+				// centers the root like a shown map view, the view position is set directly without a window
+				mapView.setLocation(viewport.getWidth() / 2 - rootContentLocation.x,
+				    viewport.getHeight() / 2 - rootContentLocation.y);
+				mapView.materializeVisibleNodeViews();
+			}
+		});
+		return mapView;
+	}
+
+	@TearDown(Level.Invocation)
+	public void close() throws Exception {
+		SwingUtilities.invokeAndWait(new Runnable() {
+			@Override
+			public void run() {
+				viewport.setView(null);
+				mapView.getRoot().remove();
+				mapView = null;
+			}
+		});
+	}
+}
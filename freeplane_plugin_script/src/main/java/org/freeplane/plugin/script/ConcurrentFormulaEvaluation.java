@@ -0,0 +1,184 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.plugin.script;
+
+import java.security.AccessController;
+import java.security.PrivilegedAction;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Consumer;
+
+import org.freeplane.core.resources.ResourceController;
+import org.freeplane.features.attribute.Attribute;
+import org.freeplane.features.attribute.NodeAttributeTableModel;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.freeplane.features.map.NodeStream;
+import org.freeplane.plugin.script.dependencies.RelatedElements;
+
+/**
+ * Evaluates the formulas of a map in the order given by the nodes their last evaluation accessed.
+ * Nodes whose formulas only access nodes already evaluated are evaluated at the same time by a thread pool
+ * of its own. Its threads are created with the permissions of this plugin, unlike the threads of the common
+ * fork join pool which have no permissions if a security manager is installed.
+ * Nodes with unknown dependencies, dependencies on other maps or cyclic dependencies are skipped
+ * together with all nodes depending on them, they are evaluated sequentially afterwards.
+ */
+class ConcurrentFormulaEvaluation {
+	static final String EVALUATE_IN_PARALLEL_PROPERTY = "formula_evaluate_in_parallel";
+
+	private static final int THREAD_COUNT = Runtime.getRuntime().availableProcessors();
+	private static final ExecutorService evaluationExecutor = Executors.newFixedThreadPool(THREAD_COUNT,
+	    new ThreadFactory() {
+		    @Override
+		    public Thread newThread(final Runnable r) {
+			    return AccessController.doPrivileged(new PrivilegedAction<Thread>() {
+				    @Override
+				    public Thread run() {
+					    final Thread thread = new Thread(r, "Formula evaluation");
+					    thread.setDaemon(true);
+					    return thread;
+				    }
+			    });
+		    }
+	    });
+
+	static boolean isEnabled() {
+		return FormulaCache.ENABLE_CACHING
+		        && ResourceController.getResourceController().getBooleanProperty(EVALUATE_IN_PARALLEL_PROPERTY);
+	}
+
+	/** Must be called before the formula cache of the map is cleared. */
+	static ConcurrentFormulaEvaluation ofPreviousEvaluation(final MapModel map) {
+		final FormulaCache formulaCache = map.getExtension(FormulaCache.class);
+		final ConcurrentFormulaEvaluation evaluation = new ConcurrentFormulaEvaluation();
+		NodeStream.of(map.getRootNode()).forEach(node -> evaluation.addFormulaNode(node, formulaCache));
+		return evaluation;
+	}
+
+	/** maps each node containing formulas to the nodes they accessed or to null if they are unknown */
+	private final Map<NodeModel, Collection<NodeModel>> accessedNodes = new LinkedHashMap<>();
+
+	private void addFormulaNode(final NodeModel node, final FormulaCache formulaCache) {
+		final List<Object> formulas = new ArrayList<>();
+		addIfFormula(formulas, node.getUserObject());
+		final NodeAttributeTableModel attributeTableModel = node.getExtension(NodeAttributeTableModel.class);
+		if (attributeTableModel != null) {
+			for (final Attribute attribute : attributeTableModel.getAttributes())
+				addIfFormula(formulas, attribute.getValue());
+		}
+		if (formulas.isEmpty())
+			return;
+		Collection<NodeModel> nodes = new HashSet<>();
+		for (final Object formula : formulas) {
+			final RelatedElements relatedElements = formulaCache != null && FormulaUtils.textContainsFormula((String) formula)
+			        ? formulaCache.getAccessedValues(node, FormulaUtils.scriptOf((String) formula)) : null;
+			if (relatedElements == null || relatedElements.relatesToOtherMaps()) {
+				nodes = null;
+				break;
+			}
+			nodes.addAll(relatedElements.getRelatedNodes());
+		}
+		accessedNodes.put(node, nodes);
+	}
+
+	private void addIfFormula(final List<Object> formulas, final Object value) {
+		if (FormulaUtils.containsFormula(value))
+			formulas.add(value);
+	}
+
+	void run() {
+		final Map<NodeModel, List<NodeModel>> dependentNodes = new HashMap<>();
+		final Map<NodeModel, Integer> pendingDependencyCounters = new HashMap<>();
+		List<NodeModel> evaluatedNodes = new ArrayList<>();
+		for (final Entry<NodeModel, Collection<NodeModel>> entry : accessedNodes.entrySet()) {
+			final NodeModel node = entry.getKey();
+			final Collection<NodeModel> nodeAccessedNodes = entry.getValue();
+			if (nodeAccessedNodes == null)
+				continue;
+			int pendingDependencyCounter = 0;
+			for (final NodeModel accessedNode : nodeAccessedNodes) {
+				if (accessedNode != node && accessedNodes.containsKey(accessedNode)) {
+					pendingDependencyCounter++;
+					dependentNodes.computeIfAbsent(accessedNode, x -> new ArrayList<>()).add(node);
+				}
+			}
+			if (pendingDependencyCounter == 0)
+				evaluatedNodes.add(node);
+			else
+				pendingDependencyCounters.put(node, pendingDependencyCounter);
+		}
+		while (!evaluatedNodes.isEmpty()) {
+			forEachInParallel(evaluatedNodes, FormulaUtils::cacheFormulas);
+			final List<NodeModel> nextEvaluatedNodes = new ArrayList<>();
+			for (final NodeModel evaluatedNode : evaluatedNodes) {
+				for (final NodeModel dependentNode : dependentNodes.getOrDefault(evaluatedNode,
+				    Collections.<NodeModel> emptyList())) {
+					if (pendingDependencyCounters.merge(dependentNode, -1, Integer::sum) == 0)
+						nextEvaluatedNodes.add(dependentNode);
+				}
+			}
+			evaluatedNodes = nextEvaluatedNodes;
+		}
+	}
+
+	/** returns after the action is performed for all nodes, the calling thread performs it for a part of them */
+	static void forEachInParallel(final List<NodeModel> nodes, final Consumer<NodeModel> action) {
+		final int taskCount = Math.min(THREAD_COUNT, nodes.size());
+		final List<Future<?>> futures = new ArrayList<>(taskCount);
+		for (int task = 1; task < taskCount; task++)
+			futures.add(evaluationExecutor.submit(forEachOfTask(nodes, action, task, taskCount)));
+		try {
+			if (taskCount > 0)
+				forEachOfTask(nodes, action, 0, taskCount).run();
+			for (final Future<?> future : futures)
+				future.get();
+		}
+		catch (final InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new RuntimeException(e);
+		}
+		catch (final ExecutionException e) {
+			throw new RuntimeException(e.getCause());
+		}
+		finally {
+			for (final Future<?> future : futures)
+				future.cancel(false);
+		}
+	}
+
+	private static Runnable forEachOfTask(final List<NodeModel> nodes, final Consumer<NodeModel> action,
+	                                      final int task, final int taskCount) {
+		return () -> {
+			for (int i = task; i < nodes.size(); i += taskCount)
+				action.accept(nodes.get(i));
+		};
+	}
+}
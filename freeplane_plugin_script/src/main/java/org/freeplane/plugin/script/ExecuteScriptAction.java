@@ -81,42 +81,48 @@ public class ExecuteScriptAction extends AFreeplaneAction {
 			}
 			final MModeController modeController = (MModeController) Controller.getCurrentModeController();
 			modeController.startTransaction();
-			for (final NodeModel node : nodes) {
-				try {
-					if (mode == ExecutionMode.ON_SELECTED_NODE_RECURSIVELY) {
-						// TODO: ensure that a script is invoked only once on every node?
-						// (might be a problem with recursive actions if parent and child
-						// are selected.)
-						executeScriptRecursive(node);
-					}
-					else {
-						scriptRunner.execute(node);
-					}
-				}
-				catch (ExecuteScriptException ex) {
-					final String cause;
-					// The ExecuteScriptException should have a cause. Print
-					// that, it is what we want to know.
-					if (ex.getCause() != null) {
-						if (ex.getCause().getCause() != null) {
-							LogUtils.warn("ExecuteScriptAction failed:", ex.getCause().getCause());
-							cause = ex.getCause().getCause().toString();
-						} else {
-							LogUtils.warn("ExecuteScriptAction failed:", ex.getCause());
-							cause = ex.getCause().toString();
+			modeController.getMapController().beginNodeChangeBatch();
+			try {
+				for (final NodeModel node : nodes) {
+					try {
+						if (mode == ExecutionMode.ON_SELECTED_NODE_RECURSIVELY) {
+							// TODO: ensure that a script is invoked only once on every node?
+							// (might be a problem with recursive actions if parent and child
+							// are selected.)
+							executeScriptRecursive(node);
+						}
+						else {
+							scriptRunner.execute(node);
 						}
 					}
-					else {
-						LogUtils.warn("ExecuteScriptAction failed:", ex);
-						cause = ex.toString();
+					catch (ExecuteScriptException ex) {
+						final String cause;
+						// The ExecuteScriptException should have a cause. Print
+						// that, it is what we want to know.
+						if (ex.getCause() != null) {
+							if (ex.getCause().getCause() != null) {
+								LogUtils.warn("ExecuteScriptAction failed:", ex.getCause().getCause());
+								cause = ex.getCause().getCause().toString();
+							} else {
+								LogUtils.warn("ExecuteScriptAction failed:", ex.getCause());
+								cause = ex.getCause().toString();
+							}
+						}
+						else {
+							LogUtils.warn("ExecuteScriptAction failed:", ex);
+							cause = ex.toString();
+						}
+						LogUtils.warn("error executing script " + scriptFile + " - giving up\n" + cause);
+						modeController.delayedRollback();
+						ScriptingEngine.showScriptExceptionErrorMessage(ex);
+						return;
 					}
-					LogUtils.warn("error executing script " + scriptFile + " - giving up\n" + cause);
-					modeController.delayedRollback();
-					ScriptingEngine.showScriptExceptionErrorMessage(ex);
-					return;
 				}
+				modeController.delayedCommit();
+			}
+			finally {
+				modeController.getMapController().endNodeChangeBatch();
 			}
-			modeController.delayedCommit();
 		}
 		finally {
 			Controller.getCurrentController().getViewController().setWaitingCursor(false);
@@ -2,18 +2,109 @@ package org.freeplane.plugin.script;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.freeplane.core.extension.IExtension;
+import org.freeplane.core.resources.ResourceController;
 import org.freeplane.features.map.MapModel;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.features.mode.Controller;
 import org.freeplane.plugin.script.dependencies.RelatedElements;
 
+/**
+ * Keeps the results of the formulas of a map.
+ * The number of results is limited by property {@value #CACHE_SIZE_PROPERTY}, the least recently used results are evicted
+ * and evaluated again when needed. Dependencies between formulas are kept by {@link FormulaDependencies}
+ * independently of the cache, so evicted results do not prevent updates of dependent formulas.
+ * Formulas of the same map can be evaluated in several threads, see {@link ConcurrentFormulaEvaluation}.
+ */
 public class FormulaCache implements IExtension{
-	private final HashMap<String, LinkedHashMap<String, CachedResult>> cache = new HashMap<String, LinkedHashMap<String, CachedResult>>();
-	// don't let caching use too much memory - but currently there are little means to cope with unavailable
-	// dependency data. It has to be tested but it should "only" lead to some missing updates.
+	static final String CACHE_SIZE_PROPERTY = "formula_cache_size";
+
+	/** Counters of all formula caches. */
+	public static class Statistics {
+		private final LongAdder hits = new LongAdder();
+		private final LongAdder misses = new LongAdder();
+		private final LongAdder evictions = new LongAdder();
+		private final LongAdder evaluations = new LongAdder();
+		private final LongAdder evaluationNanos = new LongAdder();
+
+		public long getHitCount() {
+			return hits.sum();
+		}
+
+		public long getMissCount() {
+			return misses.sum();
+		}
+
+		public long getEvictionCount() {
+			return evictions.sum();
+		}
+
+		public long getEvaluationCount() {
+			return evaluations.sum();
+		}
+
+		/** Evaluation time of formulas including evaluation of other formulas they depend on. */
+		public long getEvaluationTime(TimeUnit unit) {
+			return unit.convert(evaluationNanos.sum(), TimeUnit.NANOSECONDS);
+		}
+
+		public double getHitRate() {
+			final long hitCount = getHitCount();
+			final long requestCount = hitCount + getMissCount();
+			return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+		}
+
+		void recordEvaluation(long nanos) {
+			evaluations.increment();
+			evaluationNanos.add(nanos);
+		}
+
+		@Override
+		public String toString() {
+			return String.format("hits=%d, misses=%d, hit rate=%.1f%%, evictions=%d, evaluations=%d, evaluation time=%d ms",
+			    getHitCount(), getMissCount(), getHitRate() * 100, getEvictionCount(), getEvaluationCount(),
+			    getEvaluationTime(TimeUnit.MILLISECONDS));
+		}
+	}
+
+	private static class Key {
+		final String nodeId;
+		final String script;
+
+		Key(String nodeId, String script) {
+			this.nodeId = nodeId;
+			this.script = script;
+		}
+
+		@Override
+		public int hashCode() {
+			return 31 * nodeId.hashCode() + script.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (this == obj)
+				return true;
+			if (!(obj instanceof Key))
+				return false;
+			final Key other = (Key) obj;
+			return nodeId.equals(other.nodeId) && script.equals(other.script);
+		}
+	}
+
+	public static final Statistics STATISTICS = new Statistics();
+
+	private final LinkedHashMap<Key, CachedResult> cache;
+	private final HashMap<String, Set<String>> scriptsByNodeId = new HashMap<String, Set<String>>();
+	private final int maximumSize;
+
 	static final boolean ENABLE_CACHING = !Controller.getCurrentController().getResourceController()
 	    .getBooleanProperty("formula_disable_caching");
 
@@ -25,13 +116,29 @@ public class FormulaCache implements IExtension{
 			}
 		}
 
-	Object getOrThrowCachedResult(final NodeScript nodeScript) {
-		final LinkedHashMap<String, CachedResult> cacheEntry = cache.get(nodeScript.node.getID());
-		if (cacheEntry == null)
-			return null;
-		final CachedResult cachedResult = cacheEntry.get(nodeScript.script);
-		if (cachedResult == null)
+	private FormulaCache(final int maximumSize) {
+		this.maximumSize = maximumSize;
+		cache = new LinkedHashMap<Key, CachedResult>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Key, CachedResult> eldest) {
+				if (FormulaCache.this.maximumSize <= 0 || size() <= FormulaCache.this.maximumSize)
+					return false;
+				removeScript(eldest.getKey());
+				STATISTICS.evictions.increment();
+				return true;
+			}
+		};
+	}
+
+	synchronized Object getOrThrowCachedResult(final NodeScript nodeScript) {
+		final CachedResult cachedResult = cache.get(new Key(nodeScript.node.getID(), nodeScript.script));
+		if (cachedResult == null) {
+			STATISTICS.misses.increment();
 			return null;
+		}
+		STATISTICS.hits.increment();
 		return getOrThrowCachedResult(cachedResult.returnedValue);
 	}
 
@@ -42,31 +149,43 @@ public class FormulaCache implements IExtension{
 		return object;
 	}
 
-	void put(final NodeScript nodeScript, final CachedResult result) {
-		getOrAdd(nodeScript.node).put(nodeScript.script, result);
+	synchronized void put(final NodeScript nodeScript, final CachedResult result) {
+		final String nodeId = nodeScript.node.getID();
+		Set<String> scripts = scriptsByNodeId.get(nodeId);
+		if (scripts == null) {
+			scripts = new HashSet<String>(4);
+			scriptsByNodeId.put(nodeId, scripts);
+		}
+		scripts.add(nodeScript.script);
+		cache.put(new Key(nodeId, nodeScript.script), result);
 	}
 
-	private LinkedHashMap<String, CachedResult> getOrAdd(final NodeModel node) {
-		LinkedHashMap<String, CachedResult> cacheEntry = cache.get(node.getID());
-		if (cacheEntry == null) {
-			cacheEntry = new LinkedHashMap<String, CachedResult>(8);
-			cache.put(node.getID(), cacheEntry);
+	private void removeScript(final Key key) {
+		final Set<String> scripts = scriptsByNodeId.get(key.nodeId);
+		if (scripts != null) {
+			scripts.remove(key.script);
+			if (scripts.isEmpty())
+				scriptsByNodeId.remove(key.nodeId);
 		}
-		return cacheEntry;
 	}
 
-	void remove(final NodeModel node) {
-		final LinkedHashMap<String, CachedResult> entry = cache.get(node.getID());
-		if (entry != null) {
-//			System.out.println("clearing cache for " + node);
-			entry.clear();
+	synchronized void remove(final NodeModel node) {
+		final String nodeId = node.getID();
+		final Set<String> scripts = scriptsByNodeId.remove(nodeId);
+		if (scripts != null) {
+			for (final String script : scripts)
+				cache.remove(new Key(nodeId, script));
 		}
 	}
 
-	static FormulaCache of(final MapModel map) {
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	static synchronized FormulaCache of(final MapModel map) {
 		FormulaCache formulaCache = map.getExtension(FormulaCache.class);
 		if (formulaCache == null) {
-			formulaCache = new FormulaCache();
+			formulaCache = new FormulaCache(ResourceController.getResourceController().getIntProperty(CACHE_SIZE_PROPERTY, 0));
 			map.addExtension(formulaCache);
 		}
 		return formulaCache;
@@ -75,11 +194,9 @@ public class FormulaCache implements IExtension{
 		map.removeExtension(FormulaCache.class);
 	}
 
-	RelatedElements getAccessedValues(final NodeModel node, final String script) {
+	synchronized RelatedElements getAccessedValues(final NodeModel node, final String script) {
 		if(ENABLE_CACHING) {
-			final LinkedHashMap<String, CachedResult> cacheEntry = cache.get(node.getID());
-			if (cacheEntry == null) return null;
-			final CachedResult cachedResult = cacheEntry.get(script);
+			final CachedResult cachedResult = cache.get(new Key(node.getID(), script));
 			if(cachedResult != null)
 				return cachedResult.relatedElements;
 		}
@@ -82,6 +82,7 @@ public class FormulaUtils {
 			final FormulaCache formulaCache = FormulaCache.of(nodeModel.getMap());
 			Object value = formulaCache.getOrThrowCachedResult(nodeScript);
 			if (value == null) {
+				final long evaluationStart = System.nanoTime();
 				try {
 					value = evaluateLoggingExceptions(scriptContext, restrictedPermissions);
 					formulaCache.put(nodeScript, new CachedResult(value, scriptContext.getRelatedElements()));
@@ -90,6 +91,9 @@ public class FormulaUtils {
 					formulaCache.put(nodeScript, new CachedResult(e, scriptContext.getRelatedElements()));
 					throw e;
 				}
+				finally {
+					FormulaCache.STATISTICS.recordEvaluation(System.nanoTime() - evaluationStart);
+				}
 			}
 			return value;
 		}
@@ -171,8 +175,14 @@ public class FormulaUtils {
 	}
 
 	public static void evaluateAllFormulas(MapModel map) {
+		final ConcurrentFormulaEvaluation concurrentEvaluation = ConcurrentFormulaEvaluation.isEnabled()
+		        ? ConcurrentFormulaEvaluation.ofPreviousEvaluation(map) : null;
 		clearCache(map);
+		if (concurrentEvaluation != null)
+			concurrentEvaluation.run();
 		evaluateOutdatedFormulas(map);
+		if (FormulaCache.ENABLE_CACHING)
+			LogUtils.info("formula cache statistics: " + FormulaCache.STATISTICS);
 	}
 
 	public static void evaluateOutdatedFormulas(MapModel map) {
@@ -180,11 +190,15 @@ public class FormulaUtils {
 	}
 
 	static private void cacheAllRecursively(NodeModel node) {
+		cacheFormulas(node);
+		node.getChildren().stream().forEach(FormulaUtils::cacheAllRecursively);
+	}
+
+	static void cacheFormulas(NodeModel node) {
 		cacheIfFormula(node, node.getUserObject());
 		NodeAttributeTableModel attributeTableModel = node.getExtension(NodeAttributeTableModel.class);
 		if(attributeTableModel != null)
 			attributeTableModel.getAttributes().stream().forEach(a -> cacheIfFormula(node, a.getValue()));
-		node.getChildren().stream().forEach(FormulaUtils::cacheAllRecursively);
 	}
 
 	public static void cacheIfFormula(NodeModel node, Object maybeFormula) {
@@ -133,9 +133,11 @@ public abstract class FreeplaneScriptBaseClass extends Script {
 		this.script = script;
 	}
 
+	/** returns a new instance for each call, the compiled script itself is never run
+	 * because it is shared by formulas evaluated at the same time. */
 	FreeplaneScriptBaseClass withBinding(final NodeModel node, ScriptContext scriptContext) {
 		try {
-        	FreeplaneScriptBaseClass instance = boundVariables != null ? getClass().newInstance() : this;
+        	FreeplaneScriptBaseClass instance = getClass().newInstance();
         	instance.script = script;
             ControllerRO controllerProxy = ProxyFactory.createController(scriptContext);
             NodeRO nodeProxy = ProxyFactory.createNode(node, scriptContext);
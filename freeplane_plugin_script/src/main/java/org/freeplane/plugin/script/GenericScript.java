@@ -184,7 +184,7 @@ public class GenericScript implements IScript {
             if (errorsInScript != null && compileTimeStrategy.canUseOldCompiledScript()) {
                 throw new ExecuteScriptException(errorsInScript.getMessage(), errorsInScript);
             }
-            final PrintStream oldOut = System.out;
+            final PrintStream oldOut = ThreadLocalPrintStream.redirect(outStream);
 			ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
             try {
 				AccessController.doPrivileged(new PrivilegedAction<Void>() {
@@ -200,14 +200,12 @@ public class GenericScript implements IScript {
                 final SimpleScriptContext context = createScriptContext(node, scriptContext, outStream);
                 if (compilationEnabled && engine instanceof Compilable) {
                     compileAndCache((Compilable) engine);
-                    System.setOut(outStream);
 					return compiledScript.eval(context);
                 } else {
-                    System.setOut(outStream);
 					return engine.eval(scriptSource.getScript(), context);
                 }
             } finally {
-                System.setOut(oldOut);
+                ThreadLocalPrintStream.restore(oldOut);
 				Thread.currentThread().setContextClassLoader(contextClassLoader);
             }
         } catch (final ScriptException e) {
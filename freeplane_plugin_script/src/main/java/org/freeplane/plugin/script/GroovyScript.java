@@ -101,22 +101,25 @@ public class GroovyScript implements IScript {
             if (errorsInScript != null && compileTimeStrategy.canUseOldCompiledScript()) {
                 throw new ExecuteScriptException(errorsInScript.getMessage(), errorsInScript);
             }
-            final PrintStream oldOut = System.out;
+            final PrintStream oldOut = ThreadLocalPrintStream.redirect(outStream);
             ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
             try {
-                trustedCompileAndCache(outStream);
-                Thread.currentThread().setContextClassLoader(scriptClassLoader);
-                FreeplaneScriptBaseClass scriptWithBinding = AccessController.doPrivileged(new PrivilegedAction<FreeplaneScriptBaseClass>() {
-					@Override
-					public FreeplaneScriptBaseClass run() {
-						return compiledScript.withBinding(node, scriptContext);
-					}
-				}); 
-                System.setOut(outStream);
+                final FreeplaneScriptBaseClass scriptWithBinding;
+                /* compiled scripts are shared by formulas evaluated in different threads */
+                synchronized (this) {
+                    trustedCompileAndCache(outStream);
+                    Thread.currentThread().setContextClassLoader(scriptClassLoader);
+                    scriptWithBinding = AccessController.doPrivileged(new PrivilegedAction<FreeplaneScriptBaseClass>() {
+                        @Override
+                        public FreeplaneScriptBaseClass run() {
+                            return compiledScript.withBinding(node, scriptContext);
+                        }
+                    });
+                }
 				final Object result = scriptWithBinding.run();
 				return result;
             } finally {
-                System.setOut(oldOut);
+                ThreadLocalPrintStream.restore(oldOut);
                 Thread.currentThread().setContextClassLoader(contextClassLoader);
             }
         } catch (final GroovyRuntimeException e) {
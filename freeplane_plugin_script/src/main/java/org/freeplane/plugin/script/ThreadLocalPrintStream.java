@@ -0,0 +1,91 @@
+/*
+ *  Freeplane - mind map editor
+ *  Copyright (C) 2026 Freeplane team and others
+ *
+ *  This program is free software: you can redistribute it and/or modify
+ *  it under the terms of the GNU General Public License as published by
+ *  the Free Software Foundation, either version 2 of the License, or
+ *  (at your option) any later version.
+ *
+ *  This program is distributed in the hope that it will be useful,
+ *  but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *  MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ *  GNU General Public License for more details.
+ *
+ *  You should have received a copy of the GNU General Public License
+ *  along with this program.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.freeplane.plugin.script;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+
+/**
+ * Replaces System.out once and passes the output of each thread to the stream set for it,
+ * so that scripts evaluated in parallel can redirect their output without
+ * replacing System.out concurrently.
+ * Threads without redirected output write to the System.out replaced on installation.
+ */
+class ThreadLocalPrintStream extends PrintStream {
+	private static ThreadLocalPrintStream installedStream;
+
+	private static class DispatchingOutputStream extends OutputStream {
+		private final PrintStream defaultTarget;
+		private final ThreadLocal<PrintStream> targets = new ThreadLocal<PrintStream>();
+
+		DispatchingOutputStream(final PrintStream defaultTarget) {
+			this.defaultTarget = defaultTarget;
+		}
+
+		private PrintStream target() {
+			final PrintStream target = targets.get();
+			return target != null ? target : defaultTarget;
+		}
+
+		@Override
+		public void write(final int b) throws IOException {
+			target().write(b);
+		}
+
+		@Override
+		public void write(final byte[] b, final int off, final int len) throws IOException {
+			target().write(b, off, len);
+		}
+
+		@Override
+		public void flush() throws IOException {
+			target().flush();
+		}
+	}
+
+	private final DispatchingOutputStream dispatchingStream;
+
+	private ThreadLocalPrintStream(final DispatchingOutputStream dispatchingStream) {
+		super(dispatchingStream, true);
+		this.dispatchingStream = dispatchingStream;
+	}
+
+	/** redirects the output of the current thread and returns the previous redirection to be passed to {@link #restore(PrintStream)} */
+	static synchronized PrintStream redirect(final PrintStream target) {
+		if (System.out != installedStream) {
+			installedStream = new ThreadLocalPrintStream(new DispatchingOutputStream(System.out));
+			System.setOut(installedStream);
+		}
+		final ThreadLocal<PrintStream> targets = installedStream.dispatchingStream.targets;
+		final PrintStream previousTarget = targets.get();
+		targets.set(target);
+		return previousTarget;
+	}
+
+	static synchronized void restore(final PrintStream previousTarget) {
+		if (installedStream == null)
+			return;
+		installedStream.flush();
+		final ThreadLocal<PrintStream> targets = installedStream.dispatchingStream.targets;
+		if (previousTarget != null)
+			targets.set(previousTarget);
+		else
+			targets.remove();
+	}
+}
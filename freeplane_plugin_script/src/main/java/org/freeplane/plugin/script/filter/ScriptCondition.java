@@ -99,6 +99,11 @@ public class ScriptCondition extends ASelectableCondition {
 	}
 
 
+	@Override
+	public boolean canCacheResult() {
+		return false;
+	}
+
 	private void setErrorStatus(final String info) {
 		if(! errorReported){
 			errorReported = true;
@@ -272,9 +272,11 @@ class AttributesProxy extends AbstractProxy<NodeModel> implements Proxy.Attribut
 			}
 		}
 		// do it backwards in order not to invalidate the first indexes
-		for (int i = toRemove.size() - 1; i >= 0; --i) {
-			getAttributeController().removeAttribute(getDelegate(), toRemove.get(i));
-		}
+		getModeController().getMapController().runInNodeChangeBatch(() -> {
+			for (int i = toRemove.size() - 1; i >= 0; --i) {
+				getAttributeController().removeAttribute(getDelegate(), toRemove.get(i));
+			}
+		});
 		return !toRemove.isEmpty();
 	}
 
@@ -288,9 +290,11 @@ class AttributesProxy extends AbstractProxy<NodeModel> implements Proxy.Attribut
 	public void clear() {
 		final NodeAttributeTableModel attributeTableModel = getNodeAttributeTableModel();
 		final int size = attributeTableModel.getRowCount();
-		for (int i = size - 1; i >= 0; i--) {
-			getAttributeController().removeAttribute(getDelegate(), i);
-		}
+		getModeController().getMapController().runInNodeChangeBatch(() -> {
+			for (int i = size - 1; i >= 0; i--) {
+				getAttributeController().removeAttribute(getDelegate(), i);
+			}
+		});
 	}
 
 	@Override
@@ -1,6 +1,5 @@
 package org.freeplane.plugin.script.proxy;
 
-import org.freeplane.core.util.HtmlUtils;
 import org.freeplane.features.map.NodeModel;
 import org.freeplane.plugin.script.FormulaUtils;
 import org.freeplane.plugin.script.ScriptContext;
@@ -19,6 +18,6 @@ public class ConvertibleNodeText extends Convertible {
 	 * @throws ExecuteScriptException 
 	 */
 	public ConvertibleNodeText(NodeModel nodeModel, ScriptContext scriptContext) {
-		super(FormulaUtils.evalIfScript(nodeModel, HtmlUtils.htmlToPlain(nodeModel.getText(), true)));
+		super(FormulaUtils.evalIfScript(nodeModel, nodeModel.getPlainText()));
 	}
 }
@@ -12,6 +12,7 @@ import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.stream.Stream;
 
 import org.codehaus.groovy.runtime.DefaultGroovyMethods;
 import org.codehaus.groovy.runtime.typehandling.NumberMath;
@@ -311,8 +312,7 @@ class NodeProxy extends AbstractProxy<NodeModel> implements Proxy.Node {
 
 	// NodeRO: R
 	public String getPlainNote() {
-		final String noteText = NoteModel.getNoteText(getDelegate());
-		return noteText == null ? null : HtmlUtils.htmlToPlain(noteText);
+		return NoteModel.getPlainNoteText(getDelegate());
 	}
 
 	// NodeRO: R
@@ -366,7 +366,7 @@ class NodeProxy extends AbstractProxy<NodeModel> implements Proxy.Node {
 	@Override
 	public String getPlainText() {
 		final NodeModel node = getDelegateForValueAccess();
-		return HtmlUtils.htmlToPlain(node.getText());
+		return node.getPlainText();
 	}
 
 	private NodeModel getDelegateForValueAccess() {
@@ -727,6 +727,38 @@ class NodeProxy extends AbstractProxy<NodeModel> implements Proxy.Node {
 		return ProxyUtils.findAll(delegate, getScriptContext(), true);
     }
 
+	// NodeRO: R
+	@Override
+	public Node findFirst(final NodeCondition condition) {
+		final NodeModel delegate = getDelegate();
+		reportBranchAccess(delegate);
+		return ProxyUtils.findFirst(condition, delegate, getScriptContext());
+	}
+
+	// NodeRO: R
+	@Override
+	public List<? extends Node> find(final int maximumCount, final NodeCondition condition) {
+		final NodeModel delegate = getDelegate();
+		reportBranchAccess(delegate);
+		return ProxyUtils.find(maximumCount, condition, delegate, getScriptContext());
+	}
+
+	// NodeRO: R
+	@Override
+	public Stream<? extends Node> stream() {
+		final NodeModel delegate = getDelegate();
+		reportBranchAccess(delegate);
+		return ProxyUtils.stream(delegate, getScriptContext(), false);
+	}
+
+	// NodeRO: R
+	@Override
+	public Stream<? extends Node> streamDepthFirst() {
+		final NodeModel delegate = getDelegate();
+		reportBranchAccess(delegate);
+		return ProxyUtils.stream(delegate, getScriptContext(), true);
+	}
+
 	// NodeRO: R
 	@Override
 	public Date getLastModifiedAt() {
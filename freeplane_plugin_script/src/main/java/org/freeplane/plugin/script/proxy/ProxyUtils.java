@@ -64,15 +64,34 @@ public class ProxyUtils {
 		return ProxyUtils.find(withAncestors, withDescendants, createCondition(closure, scriptContext), node, scriptContext);
 	}
 
+	/** Unlike the other find methods this one checks the whole branch before returning any node,
+	 * because an ancestor is only known to be found after its descendants have been checked.
+	 * The branch is checked by a filter which applies the same ancestor and descendant rules as map filters. */
 	private static List<? extends Node> find(boolean withAncestors, boolean withDescendants, ICondition createCondition,
 											 NodeModel node, ScriptContext scriptContext) {
 		final Filter filter = Filter.createFilter(createCondition, withAncestors, withDescendants, null);
 		filter.calculateFilterResults(node);
-		final List<NodeModel> allNodes = ProxyUtils.findImpl(null, node, false);
-		return ProxyUtils.createNodeList(allNodes.stream().filter(filter::isVisible)
+		return ProxyUtils.createNodeList(NodeStream.of(node).filter(filter::isVisible)
 			.collect(Collectors.toList()), scriptContext);
 	}
 
+	static Node findFirst(final NodeCondition condition, final NodeModel node, final ScriptContext scriptContext) {
+		return stream(node, scriptContext, false).filter(condition::check).findFirst().orElse(null);
+	}
+
+	static List<? extends Node> find(final int maximumCount, final NodeCondition condition, final NodeModel node,
+	                                 final ScriptContext scriptContext) {
+		final ICondition filterCondition = createCondition(condition, scriptContext);
+		return ProxyUtils.createNodeList(NodeStream.of(node).filter(filterCondition::checkNode).limit(maximumCount)
+		    .collect(Collectors.toList()), scriptContext);
+	}
+
+	/** node proxies are created only for the nodes the stream is consumed for. */
+	static Stream<? extends Node> stream(final NodeModel node, final ScriptContext scriptContext, boolean depthFirst) {
+		final Stream<NodeModel> nodes = depthFirst ? NodeStream.bottomUpOf(node) : NodeStream.of(node);
+		return nodes.map(nodeModel -> new NodeProxy(nodeModel, scriptContext));
+	}
+
 	static ICondition createCondition(final Closure<Boolean> closure, final ScriptContext scriptContext) {
 	    final ICondition condition = closure == null ? null : 
 	        new DelegateCondition(node -> checkNode(closure, scriptContext, node), "Closure");
@@ -0,0 +1,62 @@
+package org.freeplane.plugin.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.security.Permission;
+import java.security.Policy;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConcurrentFormulaEvaluationShould {
+	private Policy oldPolicy;
+
+	/** grants all permissions to classes loaded from a code source like the security manager of the launcher */
+	private static class CodeSourcePolicy extends Policy {
+		@Override
+		public boolean implies(final ProtectionDomain domain, final Permission permission) {
+			return domain.getCodeSource() != null;
+		}
+	}
+
+	@Before
+	public void installSecurityManager() {
+		oldPolicy = Policy.getPolicy();
+		Policy.setPolicy(new CodeSourcePolicy());
+		System.setSecurityManager(new SecurityManager());
+	}
+
+	@After
+	public void removeSecurityManager() {
+		System.setSecurityManager(null);
+		Policy.setPolicy(oldPolicy);
+	}
+
+	@Test
+	public void evaluateNodesInThreadsWithPermissions() throws Exception {
+		final MapModel map = mock(MapModel.class);
+		final List<NodeModel> nodes = new ArrayList<>();
+		for (int i = 0; i < 100; i++)
+			nodes.add(new NodeModel("node " + i, map));
+		final Set<NodeModel> evaluatedNodes = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+		ConcurrentFormulaEvaluation.forEachInParallel(nodes, node -> {
+			System.getProperty("user.home");
+			final Thread thread = Thread.currentThread();
+			thread.setContextClassLoader(thread.getContextClassLoader());
+			evaluatedNodes.add(node);
+		});
+
+		assertThat(evaluatedNodes).containsExactlyInAnyOrderElementsOf(nodes);
+	}
+}
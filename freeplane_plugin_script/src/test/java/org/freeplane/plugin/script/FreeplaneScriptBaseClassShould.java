@@ -0,0 +1,80 @@
+package org.freeplane.plugin.script;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.codehaus.groovy.control.CompilerConfiguration;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+import groovy.lang.Binding;
+import groovy.lang.GroovyShell;
+
+public class FreeplaneScriptBaseClassShould {
+	private static final String SCRIPT = "for (i in 0..<100) binding.setVariable('v' + i, i); node.delegate.text";
+	private final MapModel map = mock(MapModel.class);
+	private FreeplaneScriptBaseClass compiledScript;
+
+	@Before
+	public void setup() {
+		final CompilerConfiguration config = new CompilerConfiguration();
+		config.setScriptBaseClass(FreeplaneScriptBaseClass.class.getName());
+		// resolves classes by loading them, asm of this groovy version can not read newer class files
+		config.getOptimizationOptions().put("asmResolving", false);
+		compiledScript = (FreeplaneScriptBaseClass) new GroovyShell(getClass().getClassLoader(), new Binding(), config)
+		    .parse(SCRIPT);
+	}
+
+	private Object runWithBinding(final NodeModel node) {
+		final FreeplaneScriptBaseClass scriptWithBinding;
+		synchronized (compiledScript) {
+			scriptWithBinding = compiledScript.withBinding(node, null);
+		}
+		return scriptWithBinding.run();
+	}
+
+	@Test
+	public void keepCompiledScriptBindingUnchanged() throws Exception {
+		final NodeModel node = new NodeModel("node", map);
+
+		assertThat(runWithBinding(node)).isEqualTo("node");
+		assertThat(runWithBinding(node)).isEqualTo("node");
+
+		assertThat(compiledScript.getBinding().hasVariable("v0")).isFalse();
+	}
+
+	@Test
+	public void runSameCompiledScriptForDifferentNodesAtTheSameTime() throws Exception {
+		final int threadCount = 4;
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			final List<Future<List<String>>> futures = new ArrayList<>();
+			for (int thread = 0; thread < threadCount; thread++) {
+				final String nodeText = "node " + thread;
+				futures.add(executor.submit(new Callable<List<String>>() {
+					@Override
+					public List<String> call() throws Exception {
+						final List<String> results = new ArrayList<>();
+						for (int i = 0; i < 200; i++)
+							results.add((String) runWithBinding(new NodeModel(nodeText, map)));
+						return results;
+					}
+				}));
+			}
+			for (int thread = 0; thread < threadCount; thread++)
+				assertThat(futures.get(thread).get()).hasSize(200).containsOnly("node " + thread);
+		}
+		finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,32 @@
+package org.freeplane.plugin.script.dependencies;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.freeplane.features.map.NodeModel;
+import org.junit.Test;
+
+public class EvaluationDependenciesShould {
+	private final EvaluationDependencies dependencies = new EvaluationDependencies();
+	private final NodeModel accessedNode = new NodeModel(null);
+
+	@Test
+	public void returnNodesAccessingTheNode() {
+		final NodeModel accessingNode = new NodeModel(null);
+		dependencies.accessNode(accessingNode, accessedNode);
+		assertThat(dependencies.getPossibleDependencies(accessedNode)).containsExactly(accessingNode);
+	}
+
+	@Test
+	public void returnPossibleDependenciesUnchangedByLaterAccesses() {
+		final NodeModel firstAccessingNode = new NodeModel(null);
+		dependencies.accessNode(firstAccessingNode, accessedNode);
+		final Iterable<NodeModel> possibleDependencies = dependencies.getPossibleDependencies(accessedNode);
+		dependencies.accessNode(new NodeModel(null), accessedNode);
+		assertThat(possibleDependencies).containsExactly(firstAccessingNode);
+	}
+
+	@Test
+	public void returnNoPossibleDependencies_forNodesNotAccessed() {
+		assertThat(dependencies.getPossibleDependencies(accessedNode)).isEmpty();
+	}
+}
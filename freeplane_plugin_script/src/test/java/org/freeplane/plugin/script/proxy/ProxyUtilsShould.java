@@ -0,0 +1,80 @@
+package org.freeplane.plugin.script.proxy;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.freeplane.api.Node;
+import org.freeplane.api.NodeCondition;
+import org.freeplane.api.NodeRO;
+import org.freeplane.features.map.MapModel;
+import org.freeplane.features.map.NodeModel;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ProxyUtilsShould {
+	private final MapModel map = mock(MapModel.class);
+	private final List<String> checkedNodes = new ArrayList<String>();
+	private NodeModel root;
+
+	@Before
+	public void setup() {
+		root = new NodeModel("root", map);
+		final NodeModel a = addChild(root, "a");
+		addChild(a, "a1");
+		addChild(a, "a2");
+		final NodeModel b = addChild(root, "b");
+		addChild(b, "b1");
+	}
+
+	private NodeModel addChild(final NodeModel parent, final String text) {
+		final NodeModel child = new NodeModel(text, map);
+		parent.insert(child);
+		return child;
+	}
+
+	private static String text(final NodeRO node) {
+		return ((NodeProxy) node).getDelegate().getText();
+	}
+
+	private static List<String> texts(final List<? extends Node> nodes) {
+		return nodes.stream().map(ProxyUtilsShould::text).collect(Collectors.toList());
+	}
+
+	private NodeCondition textStartsWith(final String prefix) {
+		return node -> {
+			checkedNodes.add(text(node));
+			return text(node).startsWith(prefix);
+		};
+	}
+
+	@Test
+	public void streamNodesInOrderOfFindAll() throws Exception {
+		assertThat(texts(ProxyUtils.stream(root, null, false).collect(Collectors.toList())))
+		    .containsExactlyElementsOf(texts(ProxyUtils.findAll(root, null, false)))
+		    .containsExactly("root", "a", "a1", "a2", "b", "b1");
+		assertThat(texts(ProxyUtils.stream(root, null, true).collect(Collectors.toList())))
+		    .containsExactlyElementsOf(texts(ProxyUtils.findAll(root, null, true)))
+		    .containsExactly("a1", "a2", "a", "b1", "b", "root");
+	}
+
+	@Test
+	public void findFirstMatchingNode_withoutCheckingFollowingNodes() throws Exception {
+		assertThat(text(ProxyUtils.findFirst(textStartsWith("a"), root, null))).isEqualTo("a");
+		assertThat(checkedNodes).containsExactly("root", "a");
+	}
+
+	@Test
+	public void returnNull_ifNoNodeMatches() throws Exception {
+		assertThat(ProxyUtils.findFirst(textStartsWith("c"), root, null)).isNull();
+	}
+
+	@Test
+	public void findAtMostMaximumCountNodes_withoutCheckingFollowingNodes() throws Exception {
+		assertThat(texts(ProxyUtils.find(2, textStartsWith("a"), root, null))).containsExactly("a", "a1");
+		assertThat(checkedNodes).containsExactly("root", "a", "a1");
+	}
+}